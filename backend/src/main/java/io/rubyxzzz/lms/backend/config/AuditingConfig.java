@@ -1,6 +1,6 @@
 package io.rubyxzzz.lms.backend.config;
 
-import io.rubyxzzz.lms.backend.model.User;
+import io.rubyxzzz.lms.backend.security.UserPrincipal;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.domain.AuditorAware;
@@ -29,8 +29,8 @@ public class AuditingConfig {
 
             Object principal = authentication.getPrincipal();
 
-            if (principal instanceof User) {
-                return Optional.of(((User) principal).getId());
+            if (principal instanceof UserPrincipal) {
+                return Optional.of(((UserPrincipal) principal).getId());
             }
 
             return Optional.of("SYSTEM");
@@ -0,0 +1,88 @@
+package io.rubyxzzz.lms.backend.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Drop the legacy global unique key on courses.course_code
+ * (course codes are unique per session since idx_course_session;
+ * ddl-auto: update never removes the old key, so cloning a session fails)
+ * Idempotent - only drops a unique index whose single column is course_code
+ *
+ * Manual equivalent (MySQL): SHOW INDEX FROM courses WHERE Column_name = 'course_code' AND Non_unique = 0;
+ * then ALTER TABLE courses DROP INDEX <Key_name>; for the single-column key
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CourseCodeIndexMigration implements ApplicationRunner {
+
+    private static final String TABLE = "courses";
+    private static final String COLUMN = "course_code";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            List<String> legacy = findLegacyIndexes();
+            if (legacy.isEmpty()) {
+                return;
+            }
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            if (product == null || !product.toLowerCase(Locale.ROOT).matches(".*(mysql|mariadb).*")) {
+                log.warn("Legacy unique index {} on {}.{} not dropped: unsupported database {}",
+                        legacy, TABLE, COLUMN, product);
+                return;
+            }
+            for (String index : legacy) {
+                jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP INDEX `" + index.replace("`", "``") + "`");
+                log.info("Dropped legacy unique index {} on {}.{}", index, TABLE, COLUMN);
+            }
+        } catch (Exception e) {
+            log.error("Course code index migration failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Unique indexes (not the primary key) whose only column is course_code
+     */
+    private List<String> findLegacyIndexes() {
+        return jdbcTemplate.execute((ConnectionCallback<List<String>>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            Map<String, List<String>> columnsByIndex = new HashMap<>();
+            try (ResultSet rows = metaData.getIndexInfo(
+                    connection.getCatalog(), connection.getSchema(), TABLE, true, false)) {
+                while (rows.next()) {
+                    String index = rows.getString("INDEX_NAME");
+                    String column = rows.getString("COLUMN_NAME");
+                    if (index != null && column != null && !"PRIMARY".equalsIgnoreCase(index)) {
+                        columnsByIndex.computeIfAbsent(index, key -> new ArrayList<>()).add(column);
+                    }
+                }
+            }
+
+            List<String> legacy = new ArrayList<>();
+            columnsByIndex.forEach((index, columns) -> {
+                if (columns.size() == 1 && COLUMN.equalsIgnoreCase(columns.get(0))) {
+                    legacy.add(index);
+                }
+            });
+            return legacy;
+        });
+    }
+}
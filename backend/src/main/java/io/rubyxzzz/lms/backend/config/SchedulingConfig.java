@@ -0,0 +1,13 @@
+package io.rubyxzzz.lms.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Scheduling Configuration
+ * Enables @Scheduled background jobs (write-behind flushes, etc.)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
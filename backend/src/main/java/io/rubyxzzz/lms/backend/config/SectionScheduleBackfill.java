@@ -0,0 +1,30 @@
+package io.rubyxzzz.lms.backend.config;
+
+import io.rubyxzzz.lms.backend.service.CourseSectionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Populate course_sections.day_mask / start_minute / end_minute for sections
+ * saved before the columns existed
+ * Idempotent - only updates rows without a meeting pattern
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SectionScheduleBackfill implements ApplicationRunner {
+
+    private final CourseSectionService courseSectionService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            courseSectionService.backfillMeetingPatterns();
+        } catch (Exception e) {
+            log.error("Section meeting pattern backfill failed: {}", e.getMessage());
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package io.rubyxzzz.lms.backend.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.rubyxzzz.lms.backend.security.AuthFilter;
+import io.rubyxzzz.lms.backend.security.IdempotencyFilter;
+import io.rubyxzzz.lms.backend.security.IdempotencyStore;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -11,11 +15,13 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
@@ -30,6 +36,14 @@ import java.util.List;
 public class SecurityConfig {
 
     private final AuthFilter authFilter;
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+
+    @Value("${idempotency.paths:/api/enrollments,/api/submissions}")
+    private List<String> idempotencyPaths;
+
+    @Value("${idempotency.wait-timeout:PT10S}")
+    private Duration idempotencyWaitTimeout;
 
     @Value("${cors.allowed-origins}")
     private String[] allowedOrigins;
@@ -58,6 +72,10 @@ public class SecurityConfig {
 
                 // Configure authorization
                 .authorizeHttpRequests(auth -> auth
+                        // Re-dispatches of an already authorized request (StreamingResponseBody,
+                        // SseEmitter completion, error pages): AuthFilter does not run on them
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+
                         // Public endpoints (no authentication required)
                         .requestMatchers(
                                 "/api/auth/**",
@@ -71,6 +89,16 @@ public class SecurityConfig {
                 .addFilterBefore(
                         authFilter,
                         UsernamePasswordAuthenticationFilter.class
+                )
+                // Idempotency-Key replays, only for authorized requests
+                .addFilterAfter(
+                        new IdempotencyFilter(
+                                idempotencyStore,
+                                objectMapper,
+                                idempotencyPaths,
+                                idempotencyWaitTimeout
+                        ),
+                        AuthorizationFilter.class
                 );
 
         return http.build();
@@ -86,6 +114,7 @@ public class SecurityConfig {
 
         // headers
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(List.of(IdempotencyFilter.REPLAYED_HEADER));
 
         // cookies
         configuration.setAllowCredentials(true);
@@ -0,0 +1,33 @@
+package io.rubyxzzz.lms.backend.config;
+
+import io.rubyxzzz.lms.backend.service.EnrollmentOutboxProcessor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recount sessions.total_enrollments for sessions whose enrollments
+ * predate the outbox
+ * Idempotent - sessions already in step are left alone
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SessionEnrollmentBackfill implements ApplicationRunner {
+
+    private final EnrollmentOutboxProcessor enrollmentOutboxProcessor;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            int changed = enrollmentOutboxProcessor.reconcileSessionTotals();
+            if (changed > 0) {
+                log.info("Session enrollment backfill: {} sessions updated", changed);
+            }
+        } catch (Exception e) {
+            log.error("Session enrollment backfill failed: {}", e.getMessage());
+        }
+    }
+}
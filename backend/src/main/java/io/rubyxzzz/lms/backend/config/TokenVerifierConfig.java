@@ -0,0 +1,92 @@
+package io.rubyxzzz.lms.backend.config;
+
+import com.google.firebase.auth.FirebaseAuth;
+import io.rubyxzzz.lms.backend.security.FileKeySource;
+import io.rubyxzzz.lms.backend.security.FirebaseTokenVerifier;
+import io.rubyxzzz.lms.backend.security.GoogleKeySource;
+import io.rubyxzzz.lms.backend.security.LocalTokenVerifier;
+import io.rubyxzzz.lms.backend.security.SigningKeyCache;
+import io.rubyxzzz.lms.backend.security.SigningKeySource;
+import io.rubyxzzz.lms.backend.security.TokenVerifier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+import java.time.Duration;
+
+/**
+ * Token Verifier Configuration
+ *
+ * auth.token.verifier:
+ * - firebase (default): Firebase Admin SDK
+ * - local:              in-process verification with a background-refreshed key set
+ *
+ * auth.token.keys.source (local mode only):
+ * - google: x509 endpoint (auth.token.keys.url, can point to a local stub server)
+ * - file:   local keystore file (auth.token.keys.file), no network needed;
+ *           tokens for it are minted by the StubTokenIssuer of the tests / loadsim
+ */
+@Slf4j
+@Configuration
+public class TokenVerifierConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "auth.token.verifier", havingValue = "firebase", matchIfMissing = true)
+    public TokenVerifier firebaseTokenVerifier(FirebaseAuth firebaseAuth) {
+        return new FirebaseTokenVerifier(firebaseAuth);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "auth.token.verifier", havingValue = "local")
+    public SigningKeySource signingKeySource(
+            @Value("${auth.token.keys.source:google}") String source,
+            @Value("${auth.token.keys.url:" + GoogleKeySource.DEFAULT_URL + "}") String url,
+            @Value("${auth.token.keys.file:}") String file,
+            @Value("${auth.token.keys.ttl:PT1H}") Duration ttl,
+            ResourceLoader resourceLoader
+    ) {
+        return switch (source) {
+            case "google" -> new GoogleKeySource(url);
+            case "file" -> {
+                Resource resource = file.isBlank() ? null : resourceLoader.getResource(file);
+                if (resource == null || !resource.exists()) {
+                    throw new IllegalStateException(
+                            "auth.token.keys.file must point to an existing key file for source=file: '" + file + "'");
+                }
+                yield new FileKeySource(resource, ttl);
+            }
+            default -> throw new IllegalStateException("Unknown auth.token.keys.source: " + source);
+        };
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "auth.token.verifier", havingValue = "local")
+    public SigningKeyCache signingKeyCache(
+            SigningKeySource signingKeySource,
+            @Value("${auth.token.keys.refresh-ahead:PT10M}") Duration refreshAhead,
+            @Value("${auth.token.keys.retry-delay:PT30S}") Duration retryDelay,
+            @Value("${auth.token.keys.max-staleness:PT1H}") Duration maxStaleness
+    ) {
+        SigningKeyCache cache = new SigningKeyCache(signingKeySource, refreshAhead, retryDelay, maxStaleness);
+        cache.start();
+        return cache;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "auth.token.verifier", havingValue = "local")
+    public TokenVerifier localTokenVerifier(
+            SigningKeyCache signingKeyCache,
+            @Value("${auth.token.project-id:}") String projectId,
+            @Value("${auth.token.clock-skew:PT5M}") Duration clockSkew
+    ) {
+        if (projectId.isBlank()) {
+            throw new IllegalStateException("auth.token.project-id is required for local token verification");
+        }
+        log.info("Using local token verification for project {}", projectId);
+        return new LocalTokenVerifier(signingKeyCache, projectId, clockSkew);
+    }
+}
@@ -0,0 +1,38 @@
+package io.rubyxzzz.lms.backend.config;
+
+import io.rubyxzzz.lms.backend.service.UserIdentityService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Populate user_identity for users created before the table existed
+ * Idempotent - only inserts missing rows
+ *
+ * Login does not depend on it: users without a row are still found
+ * through the role tables (FirebaseAuthService). Conflicting rows are
+ * listed here so they can be fixed by hand.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserIdentityBackfill implements ApplicationRunner {
+
+    private final UserIdentityService userIdentityService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            UserIdentityService.BackfillResult result = userIdentityService.backfill();
+            if (!result.conflicts().isEmpty()) {
+                log.warn("User identity backfill: {} users could not be indexed (duplicate email / firebaseUid), "
+                        + "they keep logging in through the role tables: {}",
+                        result.conflicts().size(), result.conflicts());
+            }
+        } catch (Exception e) {
+            log.error("User identity backfill failed: {}", e.getMessage(), e);
+        }
+    }
+}
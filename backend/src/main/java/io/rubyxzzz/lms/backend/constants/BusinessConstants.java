@@ -199,6 +199,18 @@ public class BusinessConstants {
 
 // Below 60 = F
 
+    // ===== List Pagination =====
+
+    /**
+     * Page size for keyset-paginated list endpoints when none is given
+     */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    /**
+     * Largest page size a client may request
+     */
+    public static final int MAX_PAGE_SIZE = 200;
+
     // Private constructor to prevent instantiation
     private BusinessConstants() {
         throw new AssertionError("Cannot instantiate constants class");
@@ -5,6 +5,7 @@ import io.rubyxzzz.lms.backend.dto.listItem.AdminList;
 import io.rubyxzzz.lms.backend.dto.request.CreateAdminReq;
 import io.rubyxzzz.lms.backend.dto.request.UpdateAdminReq;
 import io.rubyxzzz.lms.backend.dto.response.AdminRes;
+import io.rubyxzzz.lms.backend.dto.response.PageRes;
 import io.rubyxzzz.lms.backend.model.User;
 import io.rubyxzzz.lms.backend.model.UserStatus;
 import io.rubyxzzz.lms.backend.service.AdminService;
@@ -33,7 +34,7 @@ public class AdminController {
      * Create new admin
      * POST /api/admins
      */
-    @PreAuthorize("hasAuthority('ADMINS_CREATE')")
+    @PreAuthorize("@perm.has('ADMINS_CREATE')")
     @PostMapping
     public ResponseEntity<AdminRes> createAdmin(
             @Valid @RequestBody CreateAdminReq request) {
@@ -46,7 +47,7 @@ public class AdminController {
      * Get admin by UUID
      * GET /api/admins/{id}
      */
-    @PreAuthorize("hasAuthority('ADMINS_VIEW')")
+    @PreAuthorize("@perm.has('ADMINS_VIEW')")
     @GetMapping("/{id}")
     public ResponseEntity<AdminRes> getAdmin(@PathVariable String id) {
         AdminRes admin = adminService.getAdmin(id);
@@ -57,7 +58,7 @@ public class AdminController {
      * Get all admins (detailed)
      * GET /api/admins/all
      */
-    @PreAuthorize("hasAuthority('ADMINS_VIEW')")
+    @PreAuthorize("@perm.has('ADMINS_VIEW')")
     @GetMapping("/all")
     public ResponseEntity<List<AdminRes>> getAllAdmins() {
         List<AdminRes> admins = adminService.getAllAdmins();
@@ -68,18 +69,44 @@ public class AdminController {
      * Get admins list (simplified)
      * GET /api/admins
      */
-    @PreAuthorize("hasAuthority('ADMINS_VIEW')")
+    @PreAuthorize("@perm.has('ADMINS_VIEW')")
     @GetMapping
     public ResponseEntity<List<AdminList>> getAdminsList() {
         List<AdminList> admins = adminService.getAdminsList();
         return ResponseEntity.ok(admins);
     }
 
+    /**
+     * Get admins list page (keyset-paginated, newest first)
+     * GET /api/admins/page?cursor=&limit=
+     *
+     * limit defaults to 50, max 200; pass nextCursor back for the next page
+     */
+    @PreAuthorize("@perm.has('ADMINS_VIEW')")
+    @GetMapping("/page")
+    public ResponseEntity<PageRes<AdminList>> getAdminsListPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(adminService.getAdminsListPage(cursor, limit));
+    }
+
+    /**
+     * Get admins page (detailed, keyset-paginated)
+     * GET /api/admins/all/page?cursor=&limit=
+     */
+    @PreAuthorize("@perm.has('ADMINS_VIEW')")
+    @GetMapping("/all/page")
+    public ResponseEntity<PageRes<AdminRes>> getAdminsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(adminService.getAdminsPage(cursor, limit));
+    }
+
     /**
      * Get super admins
      * GET /api/admins/super-admins
      */
-    @PreAuthorize("hasAuthority('ADMINS_VIEW')")
+    @PreAuthorize("@perm.has('ADMINS_VIEW')")
     @GetMapping("/super-admins")
     public ResponseEntity<List<AdminRes>> getSuperAdmins() {
         List<AdminRes> admins = adminService.getSuperAdmins();
@@ -90,7 +117,7 @@ public class AdminController {
      * Update admin information
      * PUT /api/admins/{id}
      */
-    @PreAuthorize("hasAuthority('ADMINS_EDIT')")
+    @PreAuthorize("@perm.has('ADMINS_EDIT')")
     @PutMapping("/{id}")
     public ResponseEntity<AdminRes> updateAdmin(
             @PathVariable String id,
@@ -106,7 +133,7 @@ public class AdminController {
      * Promote admin to super admin
      * POST /api/admins/{id}/promote-super
      */
-    @PreAuthorize("hasAuthority('ADMINS_PROMOTE_SUPER')")
+    @PreAuthorize("@perm.has('ADMINS_PROMOTE_SUPER')")
     @PostMapping("/{id}/promote-super")
     public ResponseEntity<AdminRes> promoteToSuperAdmin(
             @PathVariable String id) {
@@ -119,7 +146,7 @@ public class AdminController {
      * Demote admin from super admin
      * POST /api/admins/{id}/demote-super
      */
-    @PreAuthorize("hasAuthority('ADMINS_DEMOTE_SUPER')")
+    @PreAuthorize("@perm.has('ADMINS_DEMOTE_SUPER')")
     @PostMapping("/{id}/demote-super")
     public ResponseEntity<AdminRes> demoteFromSuperAdmin(
             @PathVariable String id) {
@@ -133,7 +160,7 @@ public class AdminController {
 //     * Verify admin email
 //     * POST /api/admins/{id}/verify-email
 //     */
-//    @PreAuthorize("hasAuthority('ADMINS_VERIFY_EMAIL')")
+//    @PreAuthorize("@perm.has('ADMINS_VERIFY_EMAIL')")
 //    @PostMapping("/{id}/verify-email")
 //    public ResponseEntity<AdminRes> verifyEmail(
 //            @PathVariable String id) {
@@ -146,7 +173,7 @@ public class AdminController {
      * Suspend admin
      * POST /api/admins/{id}/suspend
      */
-    @PreAuthorize("hasAuthority('ADMINS_EDIT')")
+    @PreAuthorize("@perm.has('ADMINS_EDIT')")
     @PostMapping("/{id}/suspend")
     public ResponseEntity<AdminRes> suspendAdmin(
             @PathVariable String id) {
@@ -159,7 +186,7 @@ public class AdminController {
      * Reactivate admin
      * POST /api/admins/{id}/reactivate
      */
-    @PreAuthorize("hasAuthority('ADMINS_EDIT')")
+    @PreAuthorize("@perm.has('ADMINS_EDIT')")
     @PostMapping("/{id}/reactivate")
     public ResponseEntity<AdminRes> reactivateAdmin(
             @PathVariable String id) {
@@ -172,7 +199,7 @@ public class AdminController {
      * Deactivate admin
      * POST /api/admins/{id}/deactivate
      */
-    @PreAuthorize("hasAuthority('ADMINS_EDIT')")
+    @PreAuthorize("@perm.has('ADMINS_EDIT')")
     @PostMapping("/{id}/deactivate")
     public ResponseEntity<AdminRes> deactivateAdmin(
             @PathVariable String id) {
@@ -185,7 +212,7 @@ public class AdminController {
      * Delete admin (hard delete)
      * DELETE /api/admins/{id}
      */
-    @PreAuthorize("hasAuthority('ADMINS_DELETE')")
+    @PreAuthorize("@perm.has('ADMINS_DELETE')")
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteAdmin(@PathVariable String id) {
         adminService.deleteAdmin(id);
@@ -196,7 +223,7 @@ public class AdminController {
      * Get admin by employee number
      * GET /api/admins/by-employee/{employeeNumber}
      */
-    @PreAuthorize("hasAuthority('ADMINS_VIEW')")
+    @PreAuthorize("@perm.has('ADMINS_VIEW')")
     @GetMapping("/by-employee/{employeeNumber}")
     public ResponseEntity<AdminRes> getAdminByEmployeeNumber(
             @PathVariable String employeeNumber) {
@@ -208,7 +235,7 @@ public class AdminController {
      * Get admins by department
      * GET /api/admins/department/{department}
      */
-    @PreAuthorize("hasAuthority('ADMINS_VIEW')")
+    @PreAuthorize("@perm.has('ADMINS_VIEW')")
     @GetMapping("/department/{department}")
     public ResponseEntity<List<AdminRes>> getAdminsByDepartment(
             @PathVariable String department) {
@@ -220,7 +247,7 @@ public class AdminController {
      * Get admins by status
      * GET /api/admins/status/{status}
      */
-    @PreAuthorize("hasAuthority('ADMINS_VIEW')")
+    @PreAuthorize("@perm.has('ADMINS_VIEW')")
     @GetMapping("/status/{status}")
     public ResponseEntity<List<AdminRes>> getAdminsByStatus(
             @PathVariable UserStatus status) {
@@ -26,7 +26,7 @@ public class AssignmentController {
      * Create a new assignment
      * POST /api/assignments
      */
-    @PreAuthorize("hasAuthority('ASSIGNMENTS_CREATE')")
+    @PreAuthorize("@perm.has('ASSIGNMENTS_CREATE')")
     @PostMapping
     public ResponseEntity<AssignmentRes> createAssignment(
             @Valid @RequestBody CreateAsgnReq request
@@ -39,7 +39,7 @@ public class AssignmentController {
      * Get assignment by ID
      * GET /api/assignments/{id}
      */
-    @PreAuthorize("hasAnyAuthority('ASSIGNMENTS_VIEW_ALL', 'ASSIGNMENTS_VIEW_PUBLISHED')")
+    @PreAuthorize("@perm.hasAny('ASSIGNMENTS_VIEW_ALL', 'ASSIGNMENTS_VIEW_PUBLISHED')")
     @GetMapping("/{id}")
     public ResponseEntity<AssignmentRes> getAssignment(@PathVariable String id) {
         AssignmentRes response = assignmentService.getAssignment(id);
@@ -50,7 +50,7 @@ public class AssignmentController {
      * Update assignment
      * PUT /api/assignments/{id}
      */
-    @PreAuthorize("hasAuthority('ASSIGNMENTS_EDIT')")
+    @PreAuthorize("@perm.has('ASSIGNMENTS_EDIT')")
     @PutMapping("/{id}")
     public ResponseEntity<AssignmentRes> updateAssignment(
             @PathVariable String id,
@@ -64,7 +64,7 @@ public class AssignmentController {
      * Delete assignment
      * DELETE /api/assignments/{id}
      */
-    @PreAuthorize("hasAuthority('ASSIGNMENTS_DELETE')")
+    @PreAuthorize("@perm.has('ASSIGNMENTS_DELETE')")
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteAssignment(@PathVariable String id) {
         assignmentService.deleteAssignment(id);
@@ -75,7 +75,7 @@ public class AssignmentController {
      * Get assignments by section (instructor view - all assignments)
      * GET /api/sections/{sectionId}/assignments
      */
-    @PreAuthorize("hasAuthority('ASSIGNMENTS_VIEW_ALL')")
+    @PreAuthorize("@perm.has('ASSIGNMENTS_VIEW_ALL')")
     @GetMapping("/sections/{sectionId}")
     public ResponseEntity<List<AssignmentRes>> getAssignmentsBySection(
             @PathVariable String sectionId
@@ -88,7 +88,7 @@ public class AssignmentController {
      * Get published assignments by section (student view)
      * GET /api/sections/{sectionId}/assignments/published
      */
-    @PreAuthorize("hasAuthority('ASSIGNMENTS_VIEW_PUBLISHED')")
+    @PreAuthorize("@perm.has('ASSIGNMENTS_VIEW_PUBLISHED')")
     @GetMapping("/sections/{sectionId}/published")
     public ResponseEntity<List<AssignmentRes>> getPublishedAssignmentsBySection(
             @PathVariable String sectionId
@@ -101,7 +101,7 @@ public class AssignmentController {
 //     * Get assignments by type
 //     * GET /api/sections/{sectionId}/assignments/type/{type}
 //     */
-//    @PreAuthorize("hasAuthority('ASSIGNMENTS_VIEW')")
+//    @PreAuthorize("@perm.has('ASSIGNMENTS_VIEW')")
 //    @GetMapping("/sections/{sectionId}/type/{type}")
 //    public ResponseEntity<List<AssignmentRes>> getAssignmentsBySectionAndType(
 //            @PathVariable String sectionId,
@@ -115,7 +115,7 @@ public class AssignmentController {
      * Get upcoming assignments
      * GET /api/sections/{sectionId}/assignments/upcoming
      */
-    @PreAuthorize("hasAnyAuthority('ASSIGNMENTS_VIEW_ALL', 'ASSIGNMENTS_VIEW_PUBLISHED')")
+    @PreAuthorize("@perm.hasAny('ASSIGNMENTS_VIEW_ALL', 'ASSIGNMENTS_VIEW_PUBLISHED')")
     @GetMapping("/sections/{sectionId}/upcoming")
     public ResponseEntity<List<AssignmentRes>> getUpcomingAssignments(
             @PathVariable String sectionId
@@ -128,7 +128,7 @@ public class AssignmentController {
      * Get overdue assignments
      * GET /api/sections/{sectionId}/assignments/overdue
      */
-    @PreAuthorize("hasAnyAuthority('ASSIGNMENTS_VIEW_ALL', 'ASSIGNMENTS_VIEW_PUBLISHED')")
+    @PreAuthorize("@perm.hasAny('ASSIGNMENTS_VIEW_ALL', 'ASSIGNMENTS_VIEW_PUBLISHED')")
     @GetMapping("/sections/{sectionId}/overdue")
     public ResponseEntity<List<AssignmentRes>> getOverdueAssignments(
             @PathVariable String sectionId
@@ -141,7 +141,7 @@ public class AssignmentController {
      * Publish assignment
      * POST /api/assignments/{id}/publish
      */
-    @PreAuthorize("hasAuthority('ASSIGNMENTS_EDIT')")
+    @PreAuthorize("@perm.has('ASSIGNMENTS_EDIT')")
     @PostMapping("/{id}/publish")
     public ResponseEntity<AssignmentRes> publishAssignment(@PathVariable String id) {
         AssignmentRes response = assignmentService.publishAssignment(id);
@@ -152,7 +152,7 @@ public class AssignmentController {
      * Unpublish assignment
      * POST /api/assignments/{id}/unpublish
      */
-    @PreAuthorize("hasAuthority('ASSIGNMENTS_EDIT')")
+    @PreAuthorize("@perm.has('ASSIGNMENTS_EDIT')")
     @PostMapping("/{id}/unpublish")
     public ResponseEntity<AssignmentRes> unpublishAssignment(@PathVariable String id) {
         AssignmentRes response = assignmentService.unpublishAssignment(id);
@@ -2,8 +2,8 @@ package io.rubyxzzz.lms.backend.controller;
 
 import io.rubyxzzz.lms.backend.dto.request.LoginReq;
 import io.rubyxzzz.lms.backend.dto.response.LoginRes;
-import io.rubyxzzz.lms.backend.model.User;
 import io.rubyxzzz.lms.backend.service.AuthService;
+import io.rubyxzzz.lms.backend.security.UserPrincipal;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -45,7 +45,7 @@ public class AuthController {
      */
     @GetMapping("/me")
     public ResponseEntity<LoginRes> getCurrentUser(
-            @AuthenticationPrincipal User currentUser
+            @AuthenticationPrincipal UserPrincipal currentUser
     ) {
         if (currentUser == null) {
             return ResponseEntity.status(401).build();
@@ -64,7 +64,7 @@ public class AuthController {
      */
     @PostMapping("/logout")
     public ResponseEntity<Void> logout(
-            @AuthenticationPrincipal User currentUser
+            @AuthenticationPrincipal UserPrincipal currentUser
     ) {
         if (currentUser != null) {
             authService.logout(currentUser.getId());
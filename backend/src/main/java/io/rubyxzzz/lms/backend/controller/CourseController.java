@@ -32,7 +32,7 @@ public class CourseController {
      * Create new course template
      * POST /api/courses
      */
-    @PreAuthorize("hasAuthority('COURSES_CREATE')")
+    @PreAuthorize("@perm.has('COURSES_CREATE')")
     @PostMapping
     public ResponseEntity<CourseRes> createCourse(
             @Valid @RequestBody CreateCourseReq request) {
@@ -45,7 +45,7 @@ public class CourseController {
      * Get course by UUID
      * GET /api/courses/{id}
      */
-    @PreAuthorize("hasAuthority('COURSES_VIEW')")
+    @PreAuthorize("@perm.has('COURSES_VIEW')")
     @GetMapping("/{id}")
     public ResponseEntity<CourseRes> getCourse(@PathVariable String id) {
         CourseRes course = courseService.getCourse(id);
@@ -56,7 +56,7 @@ public class CourseController {
      * Get course by course code
      * GET /api/courses/by-code/{courseCode}
      */
-    @PreAuthorize("hasAuthority('COURSES_VIEW')")
+    @PreAuthorize("@perm.has('COURSES_VIEW')")
     @GetMapping("/by-code/{courseCode}")
     public ResponseEntity<CourseRes> getCourseByCourseCode(
             @PathVariable String courseCode) {
@@ -68,7 +68,7 @@ public class CourseController {
      * Get all courses (detailed)
      * GET /api/courses/all
      */
-    @PreAuthorize("hasAuthority('COURSES_VIEW')")
+    @PreAuthorize("@perm.has('COURSES_VIEW')")
     @GetMapping("/all")
     public ResponseEntity<List<CourseRes>> getAllCourses() {
         List<CourseRes> courses = courseService.getAllCourses();
@@ -81,7 +81,7 @@ public class CourseController {
      * Get active courses only
      * GET /api/courses/active
      */
-    @PreAuthorize("hasAuthority('COURSES_VIEW')")
+    @PreAuthorize("@perm.has('COURSES_VIEW')")
     @GetMapping("/active")
     public ResponseEntity<List<CourseRes>> getActiveCourses() {
         List<CourseRes> courses = courseService.getActiveCourses();
@@ -93,7 +93,7 @@ public class CourseController {
      * Update course template
      * PUT /api/courses/{id}
      */
-    @PreAuthorize("hasAuthority('COURSES_EDIT')")
+    @PreAuthorize("@perm.has('COURSES_EDIT')")
     @PutMapping("/{id}")
     public ResponseEntity<CourseRes> updateCourse(
             @PathVariable String id,
@@ -107,7 +107,7 @@ public class CourseController {
      * Deactivate course (soft delete)
      * POST /api/courses/{id}/deactivate
      */
-    @PreAuthorize("hasAuthority('COURSES_EDIT')")
+    @PreAuthorize("@perm.has('COURSES_EDIT')")
     @PostMapping("/{id}/deactivate")
     public ResponseEntity<CourseRes> deactivateCourse(@PathVariable String id) {
 
@@ -119,7 +119,7 @@ public class CourseController {
      * Activate course
      * POST /api/courses/{id}/activate
      */
-    @PreAuthorize("hasAuthority('COURSES_EDIT')")
+    @PreAuthorize("@perm.has('COURSES_EDIT')")
     @PostMapping("/{id}/activate")
     public ResponseEntity<CourseRes> activateCourse(@PathVariable String id) {
 
@@ -131,7 +131,7 @@ public class CourseController {
      * Delete course (hard delete)
      * DELETE /api/courses/{uuid}
      */
-    @PreAuthorize("hasAuthority('COURSES_DELETE')")
+    @PreAuthorize("@perm.has('COURSES_DELETE')")
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteCourse(@PathVariable String id) {
         courseService.deleteCourse(id);
@@ -142,7 +142,7 @@ public class CourseController {
      * Add section to course
      * POST /api/courses/{courseId}/sections
      */
-    @PreAuthorize("hasAuthority('COURSES_EDIT')")
+    @PreAuthorize("@perm.has('COURSES_EDIT')")
     @PostMapping("/{courseId}/sections")
     public ResponseEntity<SectionRes> addSection(
             @PathVariable String courseId,
@@ -156,7 +156,7 @@ public class CourseController {
      * Remove section from course
      * DELETE /api/courses/{courseId}/sections/{sectionId}
      */
-    @PreAuthorize("hasAuthority('COURSES_EDIT')")
+    @PreAuthorize("@perm.has('COURSES_EDIT')")
     @DeleteMapping("/{courseId}/sections/{sectionId}")
     public ResponseEntity<Void> removeSection(
             @PathVariable String courseId,
@@ -170,7 +170,7 @@ public class CourseController {
      * Get courses by session code
      * GET /api/courses/session-code/{sessionCode}
      */
-    @PreAuthorize("hasAuthority('COURSES_VIEW')")
+    @PreAuthorize("@perm.has('COURSES_VIEW')")
     @GetMapping("/session-code/{sessionCode}")
     public ResponseEntity<List<CourseRes>> getCoursesBySessionCode(
             @PathVariable String sessionCode) {
@@ -183,7 +183,7 @@ public class CourseController {
      * Get courses by session (use session ID)
      * GET /api/courses/session/{sessionId}
      */
-    @PreAuthorize("hasAuthority('COURSES_VIEW')")
+    @PreAuthorize("@perm.has('COURSES_VIEW')")
     @GetMapping("/session/{sessionId}")
     public ResponseEntity<List<CourseRes>> getCoursesBySession(
             @PathVariable String sessionId) {
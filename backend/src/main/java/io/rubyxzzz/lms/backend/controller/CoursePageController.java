@@ -24,7 +24,7 @@ public class CoursePageController {
      * Create a new page
      * POST /api/pages
      */
-    @PreAuthorize("hasAuthority('PAGES_CREATE')")
+    @PreAuthorize("@perm.has('PAGES_CREATE')")
     @PostMapping
     public ResponseEntity<CoursePageRes> createCoursePage(
             @Valid @RequestBody CreateCoursePageReq request
@@ -37,7 +37,7 @@ public class CoursePageController {
      * Get page by ID
      * GET /api/pages/{id}
      */
-    @PreAuthorize("hasAnyAuthority('PAGES_VIEW_ALL', 'PAGES_VIEW_PUBLISHED')")
+    @PreAuthorize("@perm.hasAny('PAGES_VIEW_ALL', 'PAGES_VIEW_PUBLISHED')")
     @GetMapping("/{id}")
     public ResponseEntity<CoursePageRes> getCoursePage(@PathVariable String id) {
         CoursePageRes response = coursePageService.getCoursePage(id);
@@ -48,7 +48,7 @@ public class CoursePageController {
      * Update page
      * PUT /api/pages/{id}
      */
-    @PreAuthorize("hasAuthority('PAGES_EDIT')")
+    @PreAuthorize("@perm.has('PAGES_EDIT')")
     @PutMapping("/{id}")
     public ResponseEntity<CoursePageRes> updateCoursePage(
             @PathVariable String id,
@@ -62,7 +62,7 @@ public class CoursePageController {
      * Delete page
      * DELETE /api/pages/{id}
      */
-    @PreAuthorize("hasAuthority('PAGES_DELETE')")
+    @PreAuthorize("@perm.has('PAGES_DELETE')")
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deletePage(@PathVariable String id) {
         coursePageService.deletePage(id);
@@ -73,7 +73,7 @@ public class CoursePageController {
      * Get pages by section (instructor view - all pages)
      * GET /api/sections/{sectionId}/pages
      */
-    @PreAuthorize("hasAuthority('PAGES_VIEW_ALL')")
+    @PreAuthorize("@perm.has('PAGES_VIEW_ALL')")
     @GetMapping("/sections/{sectionId}")
     public ResponseEntity<List<CoursePageRes>> getPagesBySection(
             @PathVariable String sectionId
@@ -86,7 +86,7 @@ public class CoursePageController {
      * Get published pages by section (student view)
      * GET /api/sections/{sectionId}/pages/published
      */
-    @PreAuthorize("hasAuthority('PAGES_VIEW_PUBLISHED')")
+    @PreAuthorize("@perm.has('PAGES_VIEW_PUBLISHED')")
     @GetMapping("/sections/{sectionId}/published")
     public ResponseEntity<List<CoursePageRes>> getPublishedPagesBySection(
             @PathVariable String sectionId
@@ -99,7 +99,7 @@ public class CoursePageController {
      * Get pages by module (instructor view - all pages)
      * GET /api/modules/{moduleId}/pages
      */
-    @PreAuthorize("hasAuthority('PAGES_VIEW_ALL')")
+    @PreAuthorize("@perm.has('PAGES_VIEW_ALL')")
     @GetMapping("/modules/{moduleId}")
     public ResponseEntity<List<CoursePageRes>> getPagesByModule(
             @PathVariable String moduleId
@@ -112,7 +112,7 @@ public class CoursePageController {
      * Get published pages by module (student view)
      * GET /api/modules/{moduleId}/pages/published
      */
-    @PreAuthorize("hasAuthority('PAGES_VIEW_PUBLISHED')")
+    @PreAuthorize("@perm.has('PAGES_VIEW_PUBLISHED')")
     @GetMapping("/modules/{moduleId}/published")
     public ResponseEntity<List<CoursePageRes>> getPublishedPagesByModule(
             @PathVariable String moduleId
@@ -126,7 +126,7 @@ public class CoursePageController {
      * Publish page
      * POST /api/pages/{id}/publish
      */
-    @PreAuthorize("hasAuthority('PAGES_EDIT')")
+    @PreAuthorize("@perm.has('PAGES_EDIT')")
     @PostMapping("/{id}/publish")
     public ResponseEntity<CoursePageRes> publishPage(@PathVariable String id) {
         CoursePageRes response = coursePageService.publishPage(id);
@@ -137,7 +137,7 @@ public class CoursePageController {
      * Unpublish page
      * POST /api/pages/{id}/unpublish
      */
-    @PreAuthorize("hasAuthority('PAGES_EDIT')")
+    @PreAuthorize("@perm.has('PAGES_EDIT')")
     @PostMapping("/{id}/unpublish")
     public ResponseEntity<CoursePageRes> unpublishPage(@PathVariable String id) {
         CoursePageRes response = coursePageService.unpublishPage(id);
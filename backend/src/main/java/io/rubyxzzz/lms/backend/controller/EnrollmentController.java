@@ -1,22 +1,33 @@
 package io.rubyxzzz.lms.backend.controller;
 
+import io.rubyxzzz.lms.backend.config.AsyncConfig;
 import io.rubyxzzz.lms.backend.dto.listItem.EnrollmentList;
 import io.rubyxzzz.lms.backend.dto.request.BatchEnrollReq;
 import io.rubyxzzz.lms.backend.dto.request.CompleteEnrollReq;
+import io.rubyxzzz.lms.backend.dto.request.CompleteSectionReq;
 import io.rubyxzzz.lms.backend.dto.request.DropCourseReq;
 import io.rubyxzzz.lms.backend.dto.request.EnrollCourseReq;
+import io.rubyxzzz.lms.backend.dto.response.BatchEnrollRes;
+import io.rubyxzzz.lms.backend.dto.response.CompleteSectionRes;
 import io.rubyxzzz.lms.backend.dto.response.EnrollmentRes;
+import io.rubyxzzz.lms.backend.dto.response.PageRes;
 import io.rubyxzzz.lms.backend.model.EnrollmentStatus;
-import io.rubyxzzz.lms.backend.model.User;
 import io.rubyxzzz.lms.backend.model.UserRole;
+import io.rubyxzzz.lms.backend.service.EnrollmentExportService;
 import io.rubyxzzz.lms.backend.service.EnrollmentService;
+import io.rubyxzzz.lms.backend.service.RegistrationEngine;
+import io.rubyxzzz.lms.backend.security.UserPrincipal;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Collections;
 import java.util.List;
@@ -36,6 +47,8 @@ import java.util.List;
 public class EnrollmentController {
 
     private final EnrollmentService enrollmentService;
+    private final RegistrationEngine registrationEngine;
+    private final EnrollmentExportService enrollmentExportService;
 
     /**
      * Enroll a student in a course section
@@ -44,36 +57,44 @@ public class EnrollmentController {
      * Can be called by:
      * - Student (self-enrollment)
      * - Admin (enrolling student)
+     *
+     * Goes through the registration engine when it is enabled
      */
-    @PreAuthorize("hasAuthority('ENROLLMENTS_CREATE')")
+    @PreAuthorize("@perm.has('ENROLLMENTS_CREATE')")
     @PostMapping
     public ResponseEntity<EnrollmentRes> enrollCourse(
             @Valid @RequestBody EnrollCourseReq request) {
 
-        EnrollmentRes enrollment = enrollmentService.enrollCourse(request);
+        EnrollmentRes enrollment = registrationEngine.isEnabled()
+                ? registrationEngine.enroll(request)
+                : enrollmentService.enrollCourse(request);
         return new ResponseEntity<>(enrollment, HttpStatus.CREATED);
     }
 
-//    /**
-//     * Admin batch enrollment
-//     * POST /api/enrollments/batch
-//     */
-//    @PostMapping("/batch")
-//    public ResponseEntity<List<EnrollmentRes>> batchEnroll(
-//            @Valid @RequestBody BatchEnrollReq request) {
-//
-//        // TODO: Validate Admin permissions
-//        // if (!currentUser.getUserRole().equals(UserRole.ADMIN)) {
-//        //     throw new ForbiddenException("Only admins can batch enroll");
-//        // }
-//
-//        List<EnrollmentRes> enrollments = enrollmentService.batchEnrollStudents(
-//                request.getStudentId(),
-//                request.getCourseSectionId()
-//        );
-//
-//        return ResponseEntity.status(HttpStatus.CREATED).body(enrollments);
-//    }
+    /**
+     * Admin batch enrollment
+     * POST /api/enrollments/batch
+     *
+     * Enrolls many students into one section in one transaction
+     * Returns per-student success/failure
+     */
+    @PreAuthorize("@perm.has('ENROLLMENTS_CREATE')")
+    @PostMapping("/batch")
+    public ResponseEntity<BatchEnrollRes> batchEnroll(
+            @Valid @RequestBody BatchEnrollReq request,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+
+        if (currentUser.getUserRole() != UserRole.ADMIN) {
+            return ResponseEntity.status(403).build();
+        }
+
+        BatchEnrollRes result = enrollmentService.batchEnrollStudents(
+                request.getStudentId(),
+                request.getCourseSectionId()
+        );
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(result);
+    }
 
     /**
      * Drop an enrollment
@@ -83,16 +104,15 @@ public class EnrollmentController {
      * - Student (dropping own enrollment)
      * - Admin (dropping student's enrollment)
      */
-    @PreAuthorize("hasAuthority('ENROLLMENTS_DROP')")
+    @PreAuthorize("@perm.has('ENROLLMENTS_DROP')")
     @PostMapping("/drop")
     public ResponseEntity<EnrollmentRes> dropCourse(
             @Valid @RequestBody DropCourseReq request,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal UserPrincipal currentUser) {
 
-        EnrollmentRes enrollment = enrollmentService.dropCourse(
-                request,
-                currentUser.getId()
-        );
+        EnrollmentRes enrollment = registrationEngine.isEnabled()
+                ? registrationEngine.drop(request, currentUser.getId())
+                : enrollmentService.dropCourse(request, currentUser.getId());
         return ResponseEntity.ok(enrollment);
     }
 
@@ -101,7 +121,7 @@ public class EnrollmentController {
      * POST /api/enrollments/complete
      * Admin only
      */
-    @PreAuthorize("hasAuthority('ENROLLMENTS_GRADE')")
+    @PreAuthorize("@perm.has('ENROLLMENTS_GRADE')")
     @PostMapping("/complete")
     public ResponseEntity<EnrollmentRes> completeEnrollment(
             @Valid @RequestBody CompleteEnrollReq request) {
@@ -110,6 +130,27 @@ public class EnrollmentController {
         return ResponseEntity.ok(enrollment);
     }
 
+    /**
+     * Complete a whole section with final grades (studentId -> grade)
+     * POST /api/enrollments/section/{sectionId}/complete
+     * Admin, or the section's instructor
+     */
+    @PreAuthorize("@perm.has('ENROLLMENTS_GRADE')")
+    @PostMapping("/section/{sectionId}/complete")
+    public ResponseEntity<CompleteSectionRes> completeSection(
+            @PathVariable String sectionId,
+            @Valid @RequestBody CompleteSectionReq request,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+
+        CompleteSectionRes result = enrollmentService.completeSection(
+                sectionId,
+                request.getGrades(),
+                currentUser.getId(),
+                currentUser.getUserRole()
+        );
+        return ResponseEntity.ok(result);
+    }
+
 //    /**
 //     * Record attendance
 //     * POST /api/enrollments/{id}/attendance
@@ -131,7 +172,7 @@ public class EnrollmentController {
      * Get enrollment by UUID
      * GET /api/enrollments/{id}
      */
-    @PreAuthorize("hasAnyAuthority('ENROLLMENTS_VIEW_ALL', 'ENROLLMENTS_VIEW_SECTION', 'ENROLLMENTS_VIEW_OWN')")
+    @PreAuthorize("@perm.hasAny('ENROLLMENTS_VIEW_ALL', 'ENROLLMENTS_VIEW_SECTION', 'ENROLLMENTS_VIEW_OWN')")
     @GetMapping("/{id}")
     public ResponseEntity<EnrollmentRes> getEnrollment(@PathVariable String id) {
         EnrollmentRes enrollment = enrollmentService.getEnrollment(id);
@@ -142,18 +183,45 @@ public class EnrollmentController {
      * Get all enrollments (detailed) - for admins
      * GET /api/enrollments/all
      */
-    @PreAuthorize("hasAuthority('ENROLLMENTS_VIEW_ALL')")
+    @PreAuthorize("@perm.has('ENROLLMENTS_VIEW_ALL')")
     @GetMapping("/all")
     public ResponseEntity<List<EnrollmentRes>> getAllEnrollments() {
         List<EnrollmentRes> enrollments = enrollmentService.getAllEnrollments();
         return ResponseEntity.ok(enrollments);
     }
 
+    /**
+     * Export all enrollments of a session (streamed)
+     * GET /api/enrollments/export/session/{sessionCode}?format=csv|ndjson
+     *
+     * Rows are written while they are read from the database cursor
+     */
+    @PreAuthorize("@perm.has('ENROLLMENTS_VIEW_ALL')")
+    @GetMapping("/export/session/{sessionCode}")
+    public ResponseEntity<StreamingResponseBody> exportSessionEnrollments(
+            @PathVariable String sessionCode,
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletRequest request) {
+
+        EnrollmentExportService.Format exportFormat = EnrollmentExportService.Format.from(format);
+        enrollmentExportService.requireSession(sessionCode);
+        request.setAttribute(AsyncConfig.TIMEOUT_ATTRIBUTE, enrollmentExportService.getTimeout());
+
+        StreamingResponseBody body = output ->
+                enrollmentExportService.exportSession(sessionCode, exportFormat, output);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"enrollments-" + sessionCode + "." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
     /**
      * Get enrollments by section - for ADMIN (includes all statuses)
      * GET /api/enrollments/section/{sectionId}/admin
      */
-    @PreAuthorize("hasAuthority('ENROLLMENTS_VIEW_ALL')")
+    @PreAuthorize("@perm.has('ENROLLMENTS_VIEW_ALL')")
     @GetMapping("/section/{sectionId}/admin")
     public ResponseEntity<List<EnrollmentRes>> getEnrollmentsBySectionForAdmin(
             @PathVariable String sectionId) {
@@ -165,18 +233,44 @@ public class EnrollmentController {
      * Get enrollments list (simplified)
      * GET /api/enrollments
      */
-    @PreAuthorize("hasAuthority('ENROLLMENTS_VIEW_ALL')")
+    @PreAuthorize("@perm.has('ENROLLMENTS_VIEW_ALL')")
     @GetMapping
     public ResponseEntity<List<EnrollmentList>> getEnrollmentsList() {
         List<EnrollmentList> enrollments = enrollmentService.getEnrollmentsList();
         return ResponseEntity.ok(enrollments);
     }
 
+    /**
+     * Get enrollments list page (keyset-paginated, newest first)
+     * GET /api/enrollments/page?cursor=&limit=
+     *
+     * limit defaults to 50, max 200; pass nextCursor back for the next page
+     */
+    @PreAuthorize("@perm.has('ENROLLMENTS_VIEW_ALL')")
+    @GetMapping("/page")
+    public ResponseEntity<PageRes<EnrollmentList>> getEnrollmentsListPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(enrollmentService.getEnrollmentsListPage(cursor, limit));
+    }
+
+    /**
+     * Get enrollments page (detailed, keyset-paginated)
+     * GET /api/enrollments/all/page?cursor=&limit=
+     */
+    @PreAuthorize("@perm.has('ENROLLMENTS_VIEW_ALL')")
+    @GetMapping("/all/page")
+    public ResponseEntity<PageRes<EnrollmentRes>> getEnrollmentsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(enrollmentService.getEnrollmentsPage(cursor, limit));
+    }
+
     /**
      * Get enrollments by student
      * GET /api/enrollments/student/{studentId}
      */
-    @PreAuthorize("hasAnyAuthority('ENROLLMENTS_VIEW_ALL', 'ENROLLMENTS_VIEW_OWN')")
+    @PreAuthorize("@perm.hasAny('ENROLLMENTS_VIEW_ALL', 'ENROLLMENTS_VIEW_OWN')")
     @GetMapping("/student/{studentId}")
     public ResponseEntity<List<EnrollmentRes>> getEnrollmentsByStudent(
             @PathVariable String studentId) {
@@ -190,7 +284,7 @@ public class EnrollmentController {
      * Get active enrollments by student
      * GET /api/enrollments/student/{studentId}/active
      */
-    @PreAuthorize("hasAnyAuthority('ENROLLMENTS_VIEW_ALL', 'ENROLLMENTS_VIEW_OWN')")
+    @PreAuthorize("@perm.hasAny('ENROLLMENTS_VIEW_ALL', 'ENROLLMENTS_VIEW_OWN')")
     @GetMapping("/student/{studentId}/active")
     public ResponseEntity<List<EnrollmentRes>> getActiveEnrollmentsByStudent(
             @PathVariable String studentId) {
@@ -203,11 +297,11 @@ public class EnrollmentController {
      * Get enrollments by course section( for instructor/student to view own)
      * GET /api/enrollments/section/{sectionId}
      */
-    @PreAuthorize("hasAnyAuthority( 'ENROLLMENTS_VIEW_SECTION')")
+    @PreAuthorize("@perm.hasAny('ENROLLMENTS_VIEW_SECTION')")
     @GetMapping("/section/{sectionId}")
     public ResponseEntity<List<EnrollmentRes>> getEnrollmentsBySection(
             @PathVariable String sectionId,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal UserPrincipal currentUser) {
         List<EnrollmentRes> enrollments = enrollmentService.getEnrollmentsBySection(
                 sectionId,
                 currentUser.getId()
@@ -220,7 +314,7 @@ public class EnrollmentController {
      * Get enrollments by student and session
      * GET /api/enrollments/student/{studentNumber}/session/{sessionCode}
      */
-    @PreAuthorize("hasAnyAuthority('ENROLLMENTS_VIEW_ALL', 'ENROLLMENTS_VIEW_OWN')")
+    @PreAuthorize("@perm.hasAny('ENROLLMENTS_VIEW_ALL', 'ENROLLMENTS_VIEW_OWN')")
     @GetMapping("/student/{studentNumber}/session/{sessionCode}")
     public ResponseEntity<List<EnrollmentRes>> getEnrollmentsByStudentAndSession(
             @PathVariable String studentNumber,
@@ -236,7 +330,7 @@ public class EnrollmentController {
      * Get completed enrollments by student
      * GET /api/enrollments/student/{studentId}/completed
      */
-    @PreAuthorize("hasAnyAuthority('ENROLLMENTS_VIEW_ALL', 'ENROLLMENTS_VIEW_OWN')")
+    @PreAuthorize("@perm.hasAny('ENROLLMENTS_VIEW_ALL', 'ENROLLMENTS_VIEW_OWN')")
     @GetMapping("/student/{studentId}/completed")
     public ResponseEntity<List<EnrollmentRes>> getCompletedEnrollmentsByStudent(
             @PathVariable String studentId) {
@@ -249,7 +343,7 @@ public class EnrollmentController {
      * Get enrollments by status
      * GET /api/enrollments/status/{status}
      */
-    @PreAuthorize("hasAuthority('ENROLLMENTS_VIEW_ALL')")
+    @PreAuthorize("@perm.has('ENROLLMENTS_VIEW_ALL')")
     @GetMapping("/status/{status}")
     public ResponseEntity<List<EnrollmentRes>> getEnrollmentsByStatus(
             @PathVariable EnrollmentStatus status) {
@@ -263,10 +357,10 @@ public class EnrollmentController {
      * Get current student's enrollments
      * GET /api/enrollments/me
      */
-    @PreAuthorize("hasAuthority('ENROLLMENTS_VIEW_OWN')")
+    @PreAuthorize("@perm.has('ENROLLMENTS_VIEW_OWN')")
     @GetMapping("/me")
     public ResponseEntity<List<EnrollmentRes>> getMyEnrollments(
-            @AuthenticationPrincipal User currentUser
+            @AuthenticationPrincipal UserPrincipal currentUser
     ) {
         if (currentUser.getUserRole() != UserRole.STUDENT) {
             return ResponseEntity.status(403)
@@ -6,6 +6,7 @@ import io.rubyxzzz.lms.backend.dto.request.CreateInstructorReq;
 import io.rubyxzzz.lms.backend.dto.request.UpdateInstructorReq;
 import io.rubyxzzz.lms.backend.dto.response.AdminRes;
 import io.rubyxzzz.lms.backend.dto.response.InstructorRes;
+import io.rubyxzzz.lms.backend.dto.response.PageRes;
 import io.rubyxzzz.lms.backend.model.User;
 import io.rubyxzzz.lms.backend.model.UserStatus;
 import io.rubyxzzz.lms.backend.service.InstructorService;
@@ -34,7 +35,7 @@ public class InstructorController {
      * Create new instructor
      * POST /api/instructors
      */
-    @PreAuthorize("hasAuthority('INSTRUCTORS_CREATE')")
+    @PreAuthorize("@perm.has('INSTRUCTORS_CREATE')")
     @PostMapping
     public ResponseEntity<InstructorRes> createInstructor(
             @Valid @RequestBody CreateInstructorReq request
@@ -48,7 +49,7 @@ public class InstructorController {
      * Get instructor by UUID
      * GET /api/instructors/{id}
      */
-    @PreAuthorize("hasAuthority('INSTRUCTORS_VIEW')")
+    @PreAuthorize("@perm.has('INSTRUCTORS_VIEW')")
     @GetMapping("/{id}")
     public ResponseEntity<InstructorRes> getInstructor(@PathVariable String id) {
         InstructorRes instructor = instructorService.getInstructor(id);
@@ -59,7 +60,7 @@ public class InstructorController {
      * Get all instructors (detailed)
      * GET /api/instructors/all
      */
-    @PreAuthorize("hasAuthority('INSTRUCTORS_VIEW')")
+    @PreAuthorize("@perm.has('INSTRUCTORS_VIEW')")
     @GetMapping("/all")
     public ResponseEntity<List<InstructorRes>> getAllInstructors() {
         List<InstructorRes> instructors = instructorService.getAllInstructors();
@@ -70,18 +71,44 @@ public class InstructorController {
      * Get instructors list (simplified)
      * GET /api/instructors
      */
-    @PreAuthorize("hasAuthority('INSTRUCTORS_VIEW')")
+    @PreAuthorize("@perm.has('INSTRUCTORS_VIEW')")
     @GetMapping
     public ResponseEntity<List<InstructorList>> getInstructorsList() {
         List<InstructorList> instructors = instructorService.getInstructorsList();
         return ResponseEntity.ok(instructors);
     }
 
+    /**
+     * Get instructors list page (keyset-paginated, newest first)
+     * GET /api/instructors/page?cursor=&limit=
+     *
+     * limit defaults to 50, max 200; pass nextCursor back for the next page
+     */
+    @PreAuthorize("@perm.has('INSTRUCTORS_VIEW')")
+    @GetMapping("/page")
+    public ResponseEntity<PageRes<InstructorList>> getInstructorsListPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(instructorService.getInstructorsListPage(cursor, limit));
+    }
+
+    /**
+     * Get instructors page (detailed, keyset-paginated)
+     * GET /api/instructors/all/page?cursor=&limit=
+     */
+    @PreAuthorize("@perm.has('INSTRUCTORS_VIEW')")
+    @GetMapping("/all/page")
+    public ResponseEntity<PageRes<InstructorRes>> getInstructorsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(instructorService.getInstructorsPage(cursor, limit));
+    }
+
     /**
      * Get instructors by department
      * GET /api/instructors/department/{department}
      */
-    @PreAuthorize("hasAuthority('INSTRUCTORS_VIEW')")
+    @PreAuthorize("@perm.has('INSTRUCTORS_VIEW')")
     @GetMapping("/department/{department}")
     public ResponseEntity<List<InstructorRes>> getInstructorsByDepartment(
             @PathVariable String department) {
@@ -94,7 +121,7 @@ public class InstructorController {
      * Update instructor information
      * PUT /api/instructors/{id}
      */
-    @PreAuthorize("hasAuthority('INSTRUCTORS_EDIT')")
+    @PreAuthorize("@perm.has('INSTRUCTORS_EDIT')")
     @PutMapping("/{id}")
     public ResponseEntity<InstructorRes> updateInstructor(
             @PathVariable String id,
@@ -108,7 +135,7 @@ public class InstructorController {
 //     * Verify instructor email
 //     * POST /api/instructors/{id}/verify-email
 //     */
-//    @PreAuthorize("hasAuthority('INSTRUCTORS_EDIT')")
+//    @PreAuthorize("@perm.has('INSTRUCTORS_EDIT')")
 //    @PostMapping("/{id}/verify-email")
 //    public ResponseEntity<InstructorRes> verifyEmail(
 //            @PathVariable String id) {
@@ -121,7 +148,7 @@ public class InstructorController {
      * Suspend instructor
      * POST /api/instructors/{id}/suspend
      */
-    @PreAuthorize("hasAuthority('INSTRUCTORS_EDIT')")
+    @PreAuthorize("@perm.has('INSTRUCTORS_EDIT')")
     @PostMapping("/{id}/suspend")
     public ResponseEntity<InstructorRes> suspendInstructor(
             @PathVariable String id) {
@@ -134,7 +161,7 @@ public class InstructorController {
      * Reactivate instructor
      * POST /api/instructors/{id}/reactivate
      */
-    @PreAuthorize("hasAuthority('INSTRUCTORS_EDIT')")
+    @PreAuthorize("@perm.has('INSTRUCTORS_EDIT')")
     @PostMapping("/{id}/reactivate")
     public ResponseEntity<InstructorRes> reactivateInstructor(
             @PathVariable String id) {
@@ -147,7 +174,7 @@ public class InstructorController {
      * Deactivate instructor
      * POST /api/instructors/{id}/deactivate
      */
-    @PreAuthorize("hasAuthority('INSTRUCTORS_EDIT')")
+    @PreAuthorize("@perm.has('INSTRUCTORS_EDIT')")
     @PostMapping("/{id}/deactivate")
     public ResponseEntity<InstructorRes> deactivateInstructor(
             @PathVariable String id) {
@@ -160,7 +187,7 @@ public class InstructorController {
      * Delete instructor (hard delete)
      * DELETE /api/instructors/{id}
      */
-    @PreAuthorize("hasAuthority('INSTRUCTORS_DELETE')")
+    @PreAuthorize("@perm.has('INSTRUCTORS_DELETE')")
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteInstructor(@PathVariable String id) {
         instructorService.deleteInstructor(id);
@@ -171,7 +198,7 @@ public class InstructorController {
      * Get instructor by employee number
      * GET /api/instructors/by-employee/{employeeNumber}
      */
-    @PreAuthorize("hasAuthority('INSTRUCTORS_VIEW')")
+    @PreAuthorize("@perm.has('INSTRUCTORS_VIEW')")
     @GetMapping("/by-employee/{employeeNumber}")
     public ResponseEntity<InstructorRes> getInstructorByEmployeeNumber(
             @PathVariable String employeeNumber) {
@@ -184,7 +211,7 @@ public class InstructorController {
      * Get instructor with all teaching sections (history)
      * Frontend filters by session/status as needed
      */
-    @PreAuthorize("hasAuthority('INSTRUCTORS_VIEW')")
+    @PreAuthorize("@perm.has('INSTRUCTORS_VIEW')")
     @GetMapping("/{id}/with-sections")
     public ResponseEntity<InstructorRes> getInstructorWithSections(@PathVariable String id) {
         InstructorRes instructor = instructorService.getInstructorWithSections(id);
@@ -195,7 +222,7 @@ public class InstructorController {
      * Get instuctors by status
      * GET /api/instructors/status/{status}
      */
-    @PreAuthorize("hasAuthority('INSTRUCTORS_VIEW')")
+    @PreAuthorize("@perm.has('INSTRUCTORS_VIEW')")
     @GetMapping("/status/{status}")
     public ResponseEntity<List<InstructorRes>> getInstructorsByStatus(
             @PathVariable UserStatus status) {
@@ -23,7 +23,7 @@ public class ModuleController {
      * Create a new module
      * POST /api/modules
      */
-    @PreAuthorize("hasAuthority('MODULES_CREATE')")
+    @PreAuthorize("@perm.has('MODULES_CREATE')")
     @PostMapping
     public ResponseEntity<ModuleRes> createModule(
             @Valid @RequestBody CreateModuleReq request
@@ -36,7 +36,7 @@ public class ModuleController {
      * Get module by ID
      * GET /api/modules/{id}
      */
-    @PreAuthorize("hasAnyAuthority('MODULES_VIEW_ALL', 'MODULES_VIEW_PUBLISHED')")
+    @PreAuthorize("@perm.hasAny('MODULES_VIEW_ALL', 'MODULES_VIEW_PUBLISHED')")
     @GetMapping("/{id}")
     public ResponseEntity<ModuleRes> getModule(@PathVariable String id) {
         ModuleRes response = moduleService.getModule(id);
@@ -47,7 +47,7 @@ public class ModuleController {
      * Update module
      * PUT /api/modules/{id}
      */
-    @PreAuthorize("hasAuthority('MODULES_EDIT')")
+    @PreAuthorize("@perm.has('MODULES_EDIT')")
     @PutMapping("/{id}")
     public ResponseEntity<ModuleRes> updateModule(
             @PathVariable String id,
@@ -61,7 +61,7 @@ public class ModuleController {
      * Delete module
      * DELETE /api/modules/{id}
      */
-    @PreAuthorize("hasAuthority('MODULES_DELETE')")
+    @PreAuthorize("@perm.has('MODULES_DELETE')")
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteModule(@PathVariable String id) {
         moduleService.deleteModule(id);
@@ -72,7 +72,7 @@ public class ModuleController {
      * Get modules by section (instructor view - all modules)
      * GET /api/sections/{sectionId}/modules
      */
-    @PreAuthorize("hasAuthority('MODULES_VIEW_ALL')")
+    @PreAuthorize("@perm.has('MODULES_VIEW_ALL')")
     @GetMapping("/sections/{sectionId}")
     public ResponseEntity<List<ModuleRes>> getModulesBySection(
             @PathVariable String sectionId
@@ -85,7 +85,7 @@ public class ModuleController {
      * Get published modules by section (student view)
      * GET /api/sections/{sectionId}/modules/published
      */
-    @PreAuthorize("hasAuthority('MODULES_VIEW_PUBLISHED')")
+    @PreAuthorize("@perm.has('MODULES_VIEW_PUBLISHED')")
     @GetMapping("/sections/{sectionId}/published")
     public ResponseEntity<List<ModuleRes>> getPublishedModulesBySection(
             @PathVariable String sectionId
@@ -98,7 +98,7 @@ public class ModuleController {
      * Publish module
      * POST /api/modules/{id}/publish
      */
-    @PreAuthorize("hasAuthority('MODULES_EDIT')")
+    @PreAuthorize("@perm.has('MODULES_EDIT')")
     @PostMapping("/{id}/publish")
     public ResponseEntity<ModuleRes> publishModule(@PathVariable String id) {
         ModuleRes response = moduleService.publishModule(id);
@@ -109,7 +109,7 @@ public class ModuleController {
      * Unpublish module
      * POST /api/modules/{id}/unpublish
      */
-    @PreAuthorize("hasAuthority('MODULES_EDIT')")
+    @PreAuthorize("@perm.has('MODULES_EDIT')")
     @PostMapping("/{id}/unpublish")
     public ResponseEntity<ModuleRes> unpublishModule(@PathVariable String id) {
         ModuleRes response = moduleService.unpublishModule(id);
@@ -122,7 +122,7 @@ public class ModuleController {
      * Body: { "orderNum": 3 }
      */
     // TODO: REORDER FEATURE
-    @PreAuthorize("hasAuthority('MODULES_EDIT')")
+    @PreAuthorize("@perm.has('MODULES_EDIT')")
     @PutMapping("/{id}/reorder")
     public ResponseEntity<ModuleRes> reorderModule(
             @PathVariable String id,
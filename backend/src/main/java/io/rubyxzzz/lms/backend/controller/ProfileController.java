@@ -1,11 +1,11 @@
 package io.rubyxzzz.lms.backend.controller;
 
 import io.rubyxzzz.lms.backend.dto.request.UpdateProfileReq;
-import io.rubyxzzz.lms.backend.model.User;
 import io.rubyxzzz.lms.backend.model.UserRole;
 import io.rubyxzzz.lms.backend.service.AdminService;
 import io.rubyxzzz.lms.backend.service.InstructorService;
 import io.rubyxzzz.lms.backend.service.StudentService;
+import io.rubyxzzz.lms.backend.security.UserPrincipal;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -33,10 +33,10 @@ public class ProfileController {
      * Get current user's profile
      * GET /api/profile
      */
-    @PreAuthorize("hasAuthority('PROFILE_VIEW_OWN')")
+    @PreAuthorize("@perm.has('PROFILE_VIEW_OWN')")
     @GetMapping
     public ResponseEntity<?> getMyProfile(
-            @AuthenticationPrincipal User currentUser
+            @AuthenticationPrincipal UserPrincipal currentUser
     ) {
         log.debug("Getting profile for user: {} ({})",
                 currentUser.getEmail(), currentUser.getUserRole());
@@ -65,10 +65,10 @@ public class ProfileController {
      * Update current user's profile
      * PUT /api/profile
      */
-    @PreAuthorize("hasAuthority('PROFILE_EDIT_OWN')")
+    @PreAuthorize("@perm.has('PROFILE_EDIT_OWN')")
     @PutMapping
     public ResponseEntity<?> updateMyProfile(
-            @AuthenticationPrincipal User currentUser,
+            @AuthenticationPrincipal UserPrincipal currentUser,
             @Valid @RequestBody UpdateProfileReq request
     ) {
         log.debug("User updating own profile: {} ({})",
@@ -93,10 +93,10 @@ public class ProfileController {
         }
     }
 
-    @PreAuthorize("hasAuthority('PROFILE_VIEW_OWN')")
+    @PreAuthorize("@perm.has('PROFILE_VIEW_OWN')")
     @GetMapping("/with-enrollments")
     public ResponseEntity<?> getMyProfileWithEnrollments(
-            @AuthenticationPrincipal User currentUser
+            @AuthenticationPrincipal UserPrincipal currentUser
     ) {
         if (currentUser.getUserRole() != UserRole.STUDENT) {
             return ResponseEntity.status(403)
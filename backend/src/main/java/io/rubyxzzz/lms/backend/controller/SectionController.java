@@ -4,20 +4,33 @@ import io.rubyxzzz.lms.backend.dto.listItem.CourseSectionList;
 import io.rubyxzzz.lms.backend.dto.request.CreateSectionReq;
 import io.rubyxzzz.lms.backend.dto.request.UpdateSectionReq;
 import io.rubyxzzz.lms.backend.dto.response.SectionRes;
+import io.rubyxzzz.lms.backend.dto.response.SectionSearchRes;
 import io.rubyxzzz.lms.backend.model.CourseSectionStatus;
-import io.rubyxzzz.lms.backend.model.User;
 import io.rubyxzzz.lms.backend.model.UserRole;
 import io.rubyxzzz.lms.backend.service.CourseSectionService;
+import io.rubyxzzz.lms.backend.service.SeatFeed;
+import io.rubyxzzz.lms.backend.service.SectionCatalog;
+import io.rubyxzzz.lms.backend.service.SectionSearchService;
+import io.rubyxzzz.lms.backend.service.TimetableService;
+import io.rubyxzzz.lms.backend.security.UserPrincipal;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalTime;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Course Section REST Controller
@@ -28,12 +41,15 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SectionController {
     private final CourseSectionService sectionService;
+    private final TimetableService timetableService;
+    private final SectionSearchService sectionSearchService;
+    private final SeatFeed seatFeed;
 
     /**
      * Create new course section
      * POST /api/sections
      */
-    @PreAuthorize("hasAuthority('SECTIONS_CREATE')")
+    @PreAuthorize("@perm.has('SECTIONS_CREATE')")
     @PostMapping
     public ResponseEntity<SectionRes> createSection(
             @Valid @RequestBody CreateSectionReq request) {
@@ -46,7 +62,7 @@ public class SectionController {
      * Get section by UUID
      * GET /api/sections/{id}
      */
-    @PreAuthorize("hasAuthority('SECTIONS_VIEW')")
+    @PreAuthorize("@perm.has('SECTIONS_VIEW')")
     @GetMapping("/{id}")
     public ResponseEntity<SectionRes> getSection(@PathVariable String id) {
         SectionRes section = sectionService.getSection(id);
@@ -71,7 +87,7 @@ public class SectionController {
      * Get all sections (detailed)
      * GET /api/sections/all
      */
-    @PreAuthorize("hasAuthority('SECTIONS_VIEW')")
+    @PreAuthorize("@perm.has('SECTIONS_VIEW')")
     @GetMapping("/all")
     public ResponseEntity<List<SectionRes>> getAllSections() {
         List<SectionRes> sections = sectionService.getAllSections();
@@ -82,7 +98,7 @@ public class SectionController {
 //     * Get sections list (simplified)
 //     * GET /api/sections
 //     */
-//    @PreAuthorize("hasAuthority('SECTIONS_VIEW')")
+//    @PreAuthorize("@perm.has('SECTIONS_VIEW')")
 //    @GetMapping
 //    public ResponseEntity<List<CourseSectionList>> getSectionsList() {
 //        List<CourseSectionList> sections = sectionService.getSectionsList();
@@ -93,7 +109,7 @@ public class SectionController {
      * Get sections by course template
      * GET /api/sections/course/{courseUUID}
      */
-    @PreAuthorize("hasAuthority('SECTIONS_VIEW')")
+    @PreAuthorize("@perm.has('SECTIONS_VIEW')")
     @GetMapping("/course/{courseId}")
     public ResponseEntity<List<CourseSectionList>> getSectionsByCourse(
             @PathVariable String courseId) {
@@ -103,11 +119,89 @@ public class SectionController {
         return ResponseEntity.ok(sections);
     }
 
+    /**
+     * Sections the current student can enroll in without a timetable clash
+     * GET /api/sections/fits-my-schedule?sessionCode=2025-S1
+     *
+     * Only sections open for direct enrollment (free seats, no waitlist)
+     */
+    @PreAuthorize("@perm.has('SECTIONS_VIEW')")
+    @GetMapping("/fits-my-schedule")
+    public ResponseEntity<List<CourseSectionList>> getSectionsFittingMySchedule(
+            @RequestParam String sessionCode,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+
+        if (currentUser.getUserRole() != UserRole.STUDENT) {
+            return ResponseEntity.status(403)
+                    .body(Collections.emptyList());
+        }
+
+        return ResponseEntity.ok(
+                timetableService.findFittingSections(currentUser.getId(), sessionCode)
+        );
+    }
+
+    /**
+     * Sections meeting on some days, optionally within a time window
+     * GET /api/sections/meeting?sessionCode=2025-S1&days=Monday,Wednesday&from=09:00&to=12:00
+     */
+    @PreAuthorize("@perm.has('SECTIONS_VIEW')")
+    @GetMapping("/meeting")
+    public ResponseEntity<List<CourseSectionList>> getSectionsMeetingOn(
+            @RequestParam String sessionCode,
+            @RequestParam String days,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "HH:mm") LocalTime from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "HH:mm") LocalTime to) {
+        return ResponseEntity.ok(sectionService.getSectionsMeetingOn(sessionCode, days, from, to));
+    }
+
+    /**
+     * Faceted search over enrollable sections of a session
+     * GET /api/sections/search?sessionCode=2025-S1&day=MONDAY&day=WEDNESDAY&time=MORNING
+     *
+     * Values of one facet are OR-ed, facets are AND-ed; facet counts are returned with the results
+     */
+    @PreAuthorize("@perm.has('SECTIONS_VIEW')")
+    @GetMapping("/search")
+    public ResponseEntity<SectionSearchRes> searchSections(
+            @RequestParam String sessionCode,
+            @RequestParam(required = false) List<String> program,
+            @RequestParam(required = false) List<String> level,
+            @RequestParam(required = false) List<String> day,
+            @RequestParam(required = false) List<String> time,
+            @RequestParam(required = false) List<String> format,
+            @RequestParam(required = false) List<String> instructor,
+            @RequestParam(required = false) List<String> seats) {
+
+        Map<String, List<String>> selected = new HashMap<>();
+        selected.put(SectionSearchService.PROGRAM, program);
+        selected.put(SectionSearchService.LEVEL, level);
+        selected.put(SectionSearchService.DAY, day);
+        selected.put(SectionSearchService.TIME, time);
+        selected.put(SectionSearchService.FORMAT, format);
+        selected.put(SectionSearchService.INSTRUCTOR, instructor);
+        selected.put(SectionSearchService.SEATS, seats);
+
+        return ResponseEntity.ok(sectionSearchService.search(sessionCode, selected));
+    }
+
+    /**
+     * Live seat availability for some sections (Server-Sent Events)
+     * GET /api/sections/seats/stream?ids=id1,id2
+     *
+     * Current seats are sent first, then a "seats" event whenever an enroll / drop changes them
+     */
+    @PreAuthorize("@perm.has('SECTIONS_VIEW')")
+    @GetMapping(value = "/seats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSeats(@RequestParam List<String> ids) {
+        return seatFeed.subscribe(ids);
+    }
+
     /**
      * Get sections by session UUID
      * GET /api/sections/session/{sessionUUID}
      */
-    @PreAuthorize("hasAuthority('SECTIONS_VIEW')")
+    @PreAuthorize("@perm.has('SECTIONS_VIEW')")
     @GetMapping("/session/{sessionUUID}")
     public ResponseEntity<List<SectionRes>> getSectionsBySession(
             @PathVariable String sessionUUID) {
@@ -123,7 +217,7 @@ public class SectionController {
      * Get sections by instructor
      * GET /api/sections/instructor/{id}
      */
-    @PreAuthorize("hasAuthority('SECTIONS_VIEW')")
+    @PreAuthorize("@perm.has('SECTIONS_VIEW')")
     @GetMapping("/instructor/{id}")
     public ResponseEntity<List<SectionRes>> getSectionsByInstructor(
             @PathVariable String id) {
@@ -137,11 +231,24 @@ public class SectionController {
     /**
      * Get open sections (available for enrollment)
      * GET /api/sections/enrollable
+     * Served from the section catalog; If-None-Match with the current ETag returns 304
      */
-    @PreAuthorize("hasAuthority('SECTIONS_VIEW')")
+    @PreAuthorize("@perm.has('SECTIONS_VIEW')")
     @GetMapping("/enrollable")
-    public ResponseEntity<List<SectionRes>> getEnrollableSections() {
-        return ResponseEntity.ok(sectionService.getEnrollableSections());
+    public ResponseEntity<List<SectionRes>> getEnrollableSections(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        SectionCatalog.Snapshot catalog = sectionService.getEnrollableCatalog();
+
+        if (catalog.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(catalog.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(catalog.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(catalog.sections());
     }
 
 
@@ -149,7 +256,7 @@ public class SectionController {
      * Update section
      * PUT /api/sections/{id}
      */
-    @PreAuthorize("hasAuthority('SECTIONS_EDIT')")
+    @PreAuthorize("@perm.has('SECTIONS_EDIT')")
     @PutMapping("/{id}")
     public ResponseEntity<SectionRes> updateSection(
             @PathVariable String id,
@@ -163,7 +270,7 @@ public class SectionController {
      * Publish section (make it open for enrollment)
      * POST /api/sections/{id}/publish
      */
-    @PreAuthorize("hasAuthority('SECTIONS_EDIT')")
+    @PreAuthorize("@perm.has('SECTIONS_EDIT')")
     @PostMapping("/{id}/publish")
     public ResponseEntity<SectionRes> publishSection(@PathVariable String id) {
 
@@ -177,7 +284,7 @@ public class SectionController {
      * Cancel section
      * POST /api/sections/{id}/cancel
      */
-    @PreAuthorize("hasAuthority('SECTIONS_EDIT')")
+    @PreAuthorize("@perm.has('SECTIONS_EDIT')")
     @PostMapping("/{id}/cancel")
     public ResponseEntity<SectionRes> cancelSection(@PathVariable String id) {
 
@@ -189,7 +296,7 @@ public class SectionController {
      * Delete section
      * DELETE /api/sections/{id}
      */
-    @PreAuthorize("hasAuthority('SECTIONS_DELETE')")
+    @PreAuthorize("@perm.has('SECTIONS_DELETE')")
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteSection(@PathVariable String id) {
         sectionService.deleteSection(id);
@@ -200,7 +307,7 @@ public class SectionController {
      * Get sections by status
      * GET /api/sections/status/{status}
      */
-    @PreAuthorize("hasAuthority('SECTIONS_VIEW')")
+    @PreAuthorize("@perm.has('SECTIONS_VIEW')")
     @GetMapping("/status/{status}")
     public ResponseEntity<List<SectionRes>> getSectionsByStatus(
             @PathVariable CourseSectionStatus status) {
@@ -213,7 +320,7 @@ public class SectionController {
      * Get sections by instructor and session
      * GET /api/sections/instructor/{instructorId}/session/{sessionId}
      */
-    @PreAuthorize("hasAuthority('SECTIONS_VIEW')")
+    @PreAuthorize("@perm.has('SECTIONS_VIEW')")
     @GetMapping("/instructor/{instructorId}/session/{sessionId}")
     public ResponseEntity<List<SectionRes>> getSectionsByInstructorAndSession(
             @PathVariable String instructorId,
@@ -228,7 +335,7 @@ public class SectionController {
      * Get full sections (capacity reached)
      * GET /api/sections/full
      */
-    @PreAuthorize("hasAuthority('SECTIONS_VIEW')")
+    @PreAuthorize("@perm.has('SECTIONS_VIEW')")
     @GetMapping("/full")
     public ResponseEntity<List<SectionRes>> getFullSections() {
         List<SectionRes> sections = sectionService.getFullSections();
@@ -239,7 +346,7 @@ public class SectionController {
      * Get underfull sections (below minimum enrollment)
      * GET /api/sections/underfull
      */
-    @PreAuthorize("hasAuthority('SECTIONS_VIEW')")
+    @PreAuthorize("@perm.has('SECTIONS_VIEW')")
     @GetMapping("/underfull")
     public ResponseEntity<List<SectionRes>> getUnderfullSections() {
         List<SectionRes> sections = sectionService.getUnderfullSections();
@@ -250,10 +357,10 @@ public class SectionController {
      * Get current instructor's teaching sections
      * GET /api/sections/me
      */
-    @PreAuthorize("hasAuthority('SECTIONS_VIEW')")
+    @PreAuthorize("@perm.has('SECTIONS_VIEW')")
     @GetMapping("/me")
     public ResponseEntity<List<SectionRes>> getMySections(
-            @AuthenticationPrincipal User currentUser
+            @AuthenticationPrincipal UserPrincipal currentUser
     ) {
         if (currentUser.getUserRole() != UserRole.INSTRUCTOR) {
             return ResponseEntity.status(403)
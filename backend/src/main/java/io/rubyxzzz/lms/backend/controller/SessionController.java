@@ -3,8 +3,10 @@ package io.rubyxzzz.lms.backend.controller;
 
 import io.rubyxzzz.lms.backend.dto.request.CreateSessionReq;
 import io.rubyxzzz.lms.backend.dto.request.UpdateSessionReq;
+import io.rubyxzzz.lms.backend.dto.response.SessionCloneRes;
 import io.rubyxzzz.lms.backend.dto.response.SessionRes;
 import io.rubyxzzz.lms.backend.model.SessionStatus;
+import io.rubyxzzz.lms.backend.service.SessionCloneService;
 import io.rubyxzzz.lms.backend.service.SessionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -26,13 +28,14 @@ import java.util.List;
 public class SessionController {
 
     private final SessionService sessionService;
+    private final SessionCloneService sessionCloneService;
 
 
     /**
      * Create new session
      * POST /api/sessions
      */
-    @PreAuthorize("hasAuthority('SESSIONS_CREATE')")
+    @PreAuthorize("@perm.has('SESSIONS_CREATE')")
     @PostMapping
     public ResponseEntity<SessionRes> createSession(
             @Valid @RequestBody CreateSessionReq request) {
@@ -45,7 +48,7 @@ public class SessionController {
      * Update session
      * PUT /api/sessions/{id}
      */
-    @PreAuthorize("hasAuthority('SESSIONS_UPDATE')")
+    @PreAuthorize("@perm.has('SESSIONS_UPDATE')")
     @PutMapping("/{id}")
     public ResponseEntity<SessionRes> updateSession(
             @PathVariable String id,
@@ -59,7 +62,7 @@ public class SessionController {
      * Get current active session
      * GET /api/sessions/current
      */
-    @PreAuthorize("hasAuthority('SESSIONS_VIEW')")
+    @PreAuthorize("@perm.has('SESSIONS_VIEW')")
     @GetMapping("/current")
     public ResponseEntity<SessionRes> getCurrentSession() {
         SessionRes session = sessionService.getCurrentSession();
@@ -70,7 +73,7 @@ public class SessionController {
      * Get all sessions
      * GET /api/sessions
      */
-    @PreAuthorize("hasAuthority('SESSIONS_VIEW')")
+    @PreAuthorize("@perm.has('SESSIONS_VIEW')")
     @GetMapping
     public ResponseEntity<List<SessionRes>> getAllSessions() {
         return ResponseEntity.ok(sessionService.getAllSessions());
@@ -102,11 +105,36 @@ public class SessionController {
 //        );
 //    }
 
+    /**
+     * Clone another session's courses, sections and content into this one
+     * POST /api/sessions/{id}/clone?from={sourceSessionId}
+     * Runs in the background; poll the returned job
+     */
+    @PreAuthorize("@perm.has('SESSIONS_CLONE')")
+    @PostMapping("/{id}/clone")
+    public ResponseEntity<SessionCloneRes> cloneSession(
+            @PathVariable String id,
+            @RequestParam("from") String sourceSessionId) {
+
+        SessionCloneRes job = sessionCloneService.startClone(sourceSessionId, id);
+        return new ResponseEntity<>(job, HttpStatus.ACCEPTED);
+    }
+
+    /**
+     * Get session clone progress
+     * GET /api/sessions/clone-jobs/{jobId}
+     */
+    @PreAuthorize("@perm.has('SESSIONS_CLONE')")
+    @GetMapping("/clone-jobs/{jobId}")
+    public ResponseEntity<SessionCloneRes> getCloneJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(sessionCloneService.getJob(jobId));
+    }
+
     /**
      * Get session by UUID
      * GET /api/sessions/{id}
      */
-    @PreAuthorize("hasAuthority('SESSIONS_VIEW')")
+    @PreAuthorize("@perm.has('SESSIONS_VIEW')")
     @GetMapping("/{id}")
     public ResponseEntity<SessionRes> getSession(@PathVariable String id) {
         SessionRes session = sessionService.getSession(id);
@@ -117,7 +145,7 @@ public class SessionController {
      * Get session by session code
      * GET /api/sessions/by-code/{sessionCode}
      */
-    @PreAuthorize("hasAuthority('SESSIONS_VIEW')")
+    @PreAuthorize("@perm.has('SESSIONS_VIEW')")
     @GetMapping("/by-code/{sessionCode}")
     public ResponseEntity<SessionRes> getSessionByCode(
             @PathVariable String sessionCode) {
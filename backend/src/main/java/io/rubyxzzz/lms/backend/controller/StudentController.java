@@ -4,6 +4,7 @@ package io.rubyxzzz.lms.backend.controller;
 import io.rubyxzzz.lms.backend.dto.listItem.StudentList;
 import io.rubyxzzz.lms.backend.dto.request.CreateStudentReq;
 import io.rubyxzzz.lms.backend.dto.request.UpdateStudentReq;
+import io.rubyxzzz.lms.backend.dto.response.PageRes;
 import io.rubyxzzz.lms.backend.dto.response.StudentRes;
 import io.rubyxzzz.lms.backend.model.StudentType;
 import io.rubyxzzz.lms.backend.model.User;
@@ -35,7 +36,7 @@ public class StudentController {
      * Create student (admin direct creation)
      * POST /api/students
      */
-    @PreAuthorize("hasAuthority('STUDENTS_CREATE')")
+    @PreAuthorize("@perm.has('STUDENTS_CREATE')")
     @PostMapping
     public ResponseEntity<StudentRes> createStudent(
             @Valid @RequestBody CreateStudentReq request) {
@@ -64,7 +65,7 @@ public class StudentController {
      * Get students by type
      * GET /api/students/type/{studentType}
      */
-    @PreAuthorize("hasAuthority('STUDENTS_VIEW')")
+    @PreAuthorize("@perm.has('STUDENTS_VIEW')")
     @GetMapping("/type/{studentType}")
     public ResponseEntity<List<StudentRes>> getStudentsByType(@PathVariable StudentType studentType) {
         List<StudentRes> students = studentService.getStudentsByType(studentType);
@@ -76,7 +77,7 @@ public class StudentController {
      * Get student by UUID
      * GET /api/students/{id}
      */
-    @PreAuthorize("hasAuthority('STUDENTS_VIEW')")
+    @PreAuthorize("@perm.has('STUDENTS_VIEW')")
     @GetMapping("/{id}")
     public ResponseEntity<StudentRes> getStudent(@PathVariable String id) {
         StudentRes student = studentService.getStudent(id);
@@ -88,7 +89,7 @@ public class StudentController {
      * Get student by student number
      * GET /api/students/by-student-number/{studentNumber}
      */
-    @PreAuthorize("hasAuthority('STUDENTS_VIEW')")
+    @PreAuthorize("@perm.has('STUDENTS_VIEW')")
     @GetMapping("/by-student-number/{studentNumber}")
     public ResponseEntity<StudentRes> getStudentByStudentNumber(@PathVariable String studentNumber) {
         StudentRes student = studentService.getStudentByStudentNumber(studentNumber);
@@ -99,7 +100,7 @@ public class StudentController {
      * Get all students (detailed)
      * GET /api/students/all
      */
-    @PreAuthorize("hasAuthority('STUDENTS_VIEW')")
+    @PreAuthorize("@perm.has('STUDENTS_VIEW')")
     @GetMapping("/all")
     public ResponseEntity<List<StudentRes>> getAllStudents() {
         List<StudentRes> students = studentService.getAllStudents();
@@ -110,19 +111,45 @@ public class StudentController {
      * Get students list (simplified for table view)
      * GET /api/students
      */
-    @PreAuthorize("hasAuthority('STUDENTS_VIEW')")
+    @PreAuthorize("@perm.has('STUDENTS_VIEW')")
     @GetMapping
     public ResponseEntity<List<StudentList>> getStudentsList() {
         List<StudentList> students = studentService.getStudentsList();
         return ResponseEntity.ok(students);
     }
 
+    /**
+     * Get students list page (keyset-paginated, newest first)
+     * GET /api/students/page?cursor=&limit=
+     *
+     * limit defaults to 50, max 200; pass nextCursor back for the next page
+     */
+    @PreAuthorize("@perm.has('STUDENTS_VIEW')")
+    @GetMapping("/page")
+    public ResponseEntity<PageRes<StudentList>> getStudentsListPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(studentService.getStudentsListPage(cursor, limit));
+    }
+
+    /**
+     * Get students page (detailed, keyset-paginated)
+     * GET /api/students/all/page?cursor=&limit=
+     */
+    @PreAuthorize("@perm.has('STUDENTS_VIEW')")
+    @GetMapping("/all/page")
+    public ResponseEntity<PageRes<StudentRes>> getStudentsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(studentService.getStudentsPage(cursor, limit));
+    }
+
 
     /**
      * Get students by status
      * GET /api/students/status/{status}
      */
-    @PreAuthorize("hasAuthority('STUDENTS_VIEW')")
+    @PreAuthorize("@perm.has('STUDENTS_VIEW')")
     @GetMapping("/status/{status}")
     public ResponseEntity<List<StudentRes>> getStudentsByStatus(
             @PathVariable UserStatus status) {
@@ -134,7 +161,7 @@ public class StudentController {
      * Get students by current level
      * GET /api/students/level/{levelNumber}
      */
-    @PreAuthorize("hasAuthority('STUDENTS_VIEW')")
+    @PreAuthorize("@perm.has('STUDENTS_VIEW')")
     @GetMapping("/level/{placementLevel}")
     public ResponseEntity<List<StudentRes>> getStudentsByPlacementLevel(
             @PathVariable Integer placementLevel) {
@@ -147,7 +174,7 @@ public class StudentController {
      * Get student with all enrollments (history)
      * Frontend filters by session/status as needed
      */
-    @PreAuthorize("hasAuthority('STUDENTS_VIEW')")
+    @PreAuthorize("@perm.has('STUDENTS_VIEW')")
     @GetMapping("/{id}/with-enrollments")
     public ResponseEntity<StudentRes> getStudentWithEnrollments(@PathVariable String id) {
         StudentRes student = studentService.getStudentWithEnrollments(id);
@@ -160,7 +187,7 @@ public class StudentController {
      * Update student
      * PUT /api/students/{id}
      */
-    @PreAuthorize("hasAuthority('STUDENTS_EDIT')")
+    @PreAuthorize("@perm.has('STUDENTS_EDIT')")
     @PutMapping("/{id}")
     public ResponseEntity<StudentRes> updateStudent(
             @PathVariable String id,
@@ -177,7 +204,7 @@ public class StudentController {
 //     * Verify email
 //     * POST /api/students/{id}/verify-email
 //     */
-//    @PreAuthorize("hasAuthority('STUDENTS_EDIT')")
+//    @PreAuthorize("@perm.has('STUDENTS_EDIT')")
 //    @PostMapping("/{id}/verify-email")
 //    public ResponseEntity<StudentRes> verifyEmail(
 //            @PathVariable String id) {
@@ -190,7 +217,7 @@ public class StudentController {
      * Suspend student
      * POST /api/students/{id}/suspend
      */
-    @PreAuthorize("hasAuthority('STUDENTS_EDIT')")
+    @PreAuthorize("@perm.has('STUDENTS_EDIT')")
     @PostMapping("/{id}/suspend")
     public ResponseEntity<StudentRes> suspendStudent(
             @PathVariable String id) {
@@ -203,7 +230,7 @@ public class StudentController {
      * Reactivate student
      * POST /api/students/{id}/reactivate
      */
-    @PreAuthorize("hasAuthority('STUDENTS_EDIT')")
+    @PreAuthorize("@perm.has('STUDENTS_EDIT')")
     @PostMapping("/{id}/reactivate")
     public ResponseEntity<StudentRes> reactivateStudent(
             @PathVariable String id) {
@@ -216,7 +243,7 @@ public class StudentController {
      * Deactivate student
      * POST /api/students/{id}/deactivate
      */
-    @PreAuthorize("hasAuthority('STUDENTS_EDIT')")
+    @PreAuthorize("@perm.has('STUDENTS_EDIT')")
     @PostMapping("/{id}/deactivate")
     public ResponseEntity<StudentRes> deactivateStudent(
             @PathVariable String id) {
@@ -229,7 +256,7 @@ public class StudentController {
      * Delete student (hard delete)
      * DELETE /api/students/{id}
      */
-    @PreAuthorize("hasAuthority('STUDENTS_DELETE')")
+    @PreAuthorize("@perm.has('STUDENTS_DELETE')")
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteStudent(@PathVariable String id) {
         studentService.deleteStudent(id);
@@ -3,8 +3,8 @@ package io.rubyxzzz.lms.backend.controller;
 import io.rubyxzzz.lms.backend.dto.request.CreateSubmReq;
 import io.rubyxzzz.lms.backend.dto.request.GradeSubmReq;
 import io.rubyxzzz.lms.backend.dto.response.SubmissionRes;
-import io.rubyxzzz.lms.backend.model.User;
 import io.rubyxzzz.lms.backend.service.SubmissionService;
+import io.rubyxzzz.lms.backend.security.UserPrincipal;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -26,11 +26,11 @@ public class SubmissionController {
      * Create or resubmit assignment (unified endpoint)
      * POST /api/submissions
      */
-    @PreAuthorize("hasAuthority('SUBMISSIONS_CREATE')")
+    @PreAuthorize("@perm.has('SUBMISSIONS_CREATE')")
     @PostMapping
     public ResponseEntity<SubmissionRes> createSubmission(
             @Valid @RequestBody CreateSubmReq request,
-            @AuthenticationPrincipal User currentUser
+            @AuthenticationPrincipal UserPrincipal currentUser
     ) {
         SubmissionRes response = submissionService.createSubmission(
                 request,
@@ -43,7 +43,7 @@ public class SubmissionController {
      * Get submission by ID
      * GET /api/submissions/{id}
      */
-    @PreAuthorize("hasAnyAuthority('SUBMISSIONS_VIEW_ALL', 'SUBMISSIONS_VIEW_OWN')")
+    @PreAuthorize("@perm.hasAny('SUBMISSIONS_VIEW_ALL', 'SUBMISSIONS_VIEW_OWN')")
     @GetMapping("/{id}")
     public ResponseEntity<SubmissionRes> getSubmission(@PathVariable String id) {
         SubmissionRes response = submissionService.getSubmission(id);
@@ -54,11 +54,11 @@ public class SubmissionController {
      * Grade submission (instructor only)
      * POST /api/submissions/grade
      */
-    @PreAuthorize("hasAuthority('SUBMISSIONS_GRADE')")
+    @PreAuthorize("@perm.has('SUBMISSIONS_GRADE')")
     @PostMapping("/grade")
     public ResponseEntity<SubmissionRes> gradeSubmission(
             @Valid @RequestBody GradeSubmReq request,
-            @AuthenticationPrincipal User currentUser
+            @AuthenticationPrincipal UserPrincipal currentUser
     ) {
         SubmissionRes response = submissionService.gradeSubmission(
                 request,
@@ -71,7 +71,7 @@ public class SubmissionController {
      * Get all submissions for assignment (including MISSING students)
      * GET /api/assignments/{assignmentId}/submissions
      */
-    @PreAuthorize("hasAnyAuthority('SUBMISSIONS_VIEW_ALL')")
+    @PreAuthorize("@perm.hasAny('SUBMISSIONS_VIEW_ALL')")
     @GetMapping("/assignments/{assignmentId}")
     public ResponseEntity<List<SubmissionRes>> getSubmissionsWithMissing(
             @PathVariable String assignmentId
@@ -84,7 +84,7 @@ public class SubmissionController {
      * Get ungraded submissions (instructor)
      * GET /api/assignments/{assignmentId}/submissions/ungraded
      */
-    @PreAuthorize("hasAuthority('SUBMISSIONS_VIEW_ALL')")
+    @PreAuthorize("@perm.has('SUBMISSIONS_VIEW_ALL')")
     @GetMapping("/assignments/{assignmentId}/ungraded")
     public ResponseEntity<List<SubmissionRes>> getUngradedSubmissions(
             @PathVariable String assignmentId
@@ -97,7 +97,7 @@ public class SubmissionController {
      * Get graded submissions (instructor)
      * GET /api/assignments/{assignmentId}/submissions/graded
      */
-    @PreAuthorize("hasAuthority('SUBMISSIONS_VIEW_ALL')")
+    @PreAuthorize("@perm.has('SUBMISSIONS_VIEW_ALL')")
     @GetMapping("/assignments/{assignmentId}/graded")
     public ResponseEntity<List<SubmissionRes>> getGradedSubmissions(
             @PathVariable String assignmentId
@@ -114,7 +114,7 @@ public class SubmissionController {
      * - Student: GET /api/students/{myId}/submissions (view own submissions)
      * - Instructor/Admin: View any student's submissions
      */
-    @PreAuthorize("hasAnyAuthority('SUBMISSIONS_VIEW_ALL', 'SUBMISSIONS_VIEW_OWN')")
+    @PreAuthorize("@perm.hasAny('SUBMISSIONS_VIEW_ALL', 'SUBMISSIONS_VIEW_OWN')")
     @GetMapping("/students/{studentId}")
     public ResponseEntity<List<SubmissionRes>> getSubmissionsByStudent(
             @PathVariable String studentId
@@ -131,7 +131,7 @@ public class SubmissionController {
      * - Student: View own submission
      * - Instructor: View student's submission for grading
      */
-    @PreAuthorize("hasAnyAuthority('SUBMISSIONS_VIEW_ALL', 'SUBMISSIONS_VIEW_OWN')")
+    @PreAuthorize("@perm.hasAny('SUBMISSIONS_VIEW_ALL', 'SUBMISSIONS_VIEW_OWN')")
     @GetMapping("/assignments/{assignmentId}/students/{studentId}")
     public ResponseEntity<SubmissionRes> getStudentLatestSubmission(
             @PathVariable String assignmentId,
@@ -0,0 +1,140 @@
+package io.rubyxzzz.lms.backend.controller;
+
+import io.rubyxzzz.lms.backend.dto.request.JoinWaitlistReq;
+import io.rubyxzzz.lms.backend.dto.response.WaitlistPositionRes;
+import io.rubyxzzz.lms.backend.dto.response.WaitlistRes;
+import io.rubyxzzz.lms.backend.model.UserRole;
+import io.rubyxzzz.lms.backend.security.UserPrincipal;
+import io.rubyxzzz.lms.backend.service.WaitlistService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * Waitlist REST Controller
+ * Handles section waitlist endpoints
+ *
+ * - Students join/leave waitlists of full sections and check their position
+ * - Admins can queue students with a priority and view a section's waitlist
+ * - Seats are handed out automatically when an enrollment is dropped
+ */
+@RestController
+@RequestMapping("/api/waitlists")
+@RequiredArgsConstructor
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    /**
+     * Join a section's waitlist
+     * POST /api/waitlists
+     *
+     * Can be called by:
+     * - Student (self)
+     * - Admin (for a student, optionally with priority)
+     */
+    @PreAuthorize("@perm.has('ENROLLMENTS_CREATE')")
+    @PostMapping
+    public ResponseEntity<WaitlistRes> joinWaitlist(
+            @Valid @RequestBody JoinWaitlistReq request,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+
+        boolean isAdmin = currentUser.getUserRole() == UserRole.ADMIN;
+        if (!isAdmin && !currentUser.getId().equals(request.getStudentId())) {
+            return ResponseEntity.status(403).build();
+        }
+
+        WaitlistRes entry = waitlistService.joinWaitlist(
+                request,
+                isAdmin ? request.getPriority() : null
+        );
+        return new ResponseEntity<>(entry, HttpStatus.CREATED);
+    }
+
+    /**
+     * Leave a waitlist
+     * POST /api/waitlists/{id}/leave
+     */
+    @PreAuthorize("@perm.has('ENROLLMENTS_DROP')")
+    @PostMapping("/{id}/leave")
+    public ResponseEntity<WaitlistRes> leaveWaitlist(
+            @PathVariable String id,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+
+        WaitlistRes entry = waitlistService.leaveWaitlist(
+                id,
+                currentUser.getId(),
+                currentUser.getUserRole() == UserRole.ADMIN
+        );
+        return ResponseEntity.ok(entry);
+    }
+
+    /**
+     * Current student's position in a section's waitlist
+     * GET /api/waitlists/section/{sectionId}/me
+     *
+     * Answered from memory, intended for polling
+     */
+    @PreAuthorize("@perm.has('ENROLLMENTS_VIEW_OWN')")
+    @GetMapping("/section/{sectionId}/me")
+    public ResponseEntity<WaitlistPositionRes> getMyPosition(
+            @PathVariable String sectionId,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+
+        return ResponseEntity.ok(
+                waitlistService.getPosition(sectionId, currentUser.getId())
+        );
+    }
+
+    /**
+     * Current student's waitlists
+     * GET /api/waitlists/me
+     */
+    @PreAuthorize("@perm.has('ENROLLMENTS_VIEW_OWN')")
+    @GetMapping("/me")
+    public ResponseEntity<List<WaitlistRes>> getMyWaitlists(
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+
+        if (currentUser.getUserRole() != UserRole.STUDENT) {
+            return ResponseEntity.status(403)
+                    .body(Collections.emptyList());
+        }
+
+        return ResponseEntity.ok(
+                waitlistService.getWaitlistsByStudent(currentUser.getId())
+        );
+    }
+
+    /**
+     * Position of any student - for admins
+     * GET /api/waitlists/section/{sectionId}/student/{studentId}
+     */
+    @PreAuthorize("@perm.has('ENROLLMENTS_VIEW_ALL')")
+    @GetMapping("/section/{sectionId}/student/{studentId}")
+    public ResponseEntity<WaitlistPositionRes> getPosition(
+            @PathVariable String sectionId,
+            @PathVariable String studentId) {
+
+        return ResponseEntity.ok(waitlistService.getPosition(sectionId, studentId));
+    }
+
+    /**
+     * Section waitlist with history - for admins
+     * GET /api/waitlists/section/{sectionId}
+     */
+    @PreAuthorize("@perm.has('ENROLLMENTS_VIEW_ALL')")
+    @GetMapping("/section/{sectionId}")
+    public ResponseEntity<List<WaitlistRes>> getWaitlistBySection(
+            @PathVariable String sectionId) {
+
+        return ResponseEntity.ok(waitlistService.getWaitlistBySection(sectionId));
+    }
+}
@@ -1,12 +1,15 @@
 package io.rubyxzzz.lms.backend.dto.listItem;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import io.rubyxzzz.lms.backend.model.User;
 import io.rubyxzzz.lms.backend.model.UserStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,4 +26,22 @@ public class AdminList {
     private boolean isSuperAdmin;
     private UserStatus status;
 
+    private LocalDateTime createdAt;
+
+    /**
+     * JPQL projection (AdminRepo) - raw columns, name built here
+     */
+    public AdminList(String id, String employeeNumber, String firstName, String lastName,
+                     String email, String department, String position, Boolean isSuperAdmin,
+                     UserStatus status, LocalDateTime createdAt) {
+        this.id = id;
+        this.employeeNumber = employeeNumber;
+        this.fullName = User.fullName(firstName, lastName);
+        this.email = email;
+        this.department = department;
+        this.position = position;
+        this.isSuperAdmin = Boolean.TRUE.equals(isSuperAdmin);
+        this.status = status;
+        this.createdAt = createdAt;
+    }
 }
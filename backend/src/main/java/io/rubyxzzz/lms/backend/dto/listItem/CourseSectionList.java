@@ -1,7 +1,9 @@
 package io.rubyxzzz.lms.backend.dto.listItem;
 
 import io.rubyxzzz.lms.backend.model.CourseFormat;
+import io.rubyxzzz.lms.backend.model.CourseSection;
 import io.rubyxzzz.lms.backend.model.CourseSectionStatus;
+import io.rubyxzzz.lms.backend.model.User;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -33,9 +35,42 @@ public class CourseSectionList {
 
     private Integer capacity;
     private Integer enrolledCount;
+    private Integer waitlistCount;
     private Integer availableSeats;  // Calculated
 
     private CourseSectionStatus status;
     private Boolean enrollmentLocked;
     private Boolean openForEnrollment;  // Calculated
+
+    /**
+     * JPQL projection (SectionRepo) - raw columns, calculated fields built here
+     */
+    public CourseSectionList(String id, String sectionCode, String courseId, String courseCode,
+                             String courseName, Integer hoursPerWeek, String sessionCode,
+                             CourseFormat courseFormat, String schedule, String location,
+                             String instructorId, String instructorFirstName, String instructorLastName,
+                             Integer capacity, Integer enrolledCount, Integer waitlistCount,
+                             CourseSectionStatus status, Boolean enrollmentLocked) {
+        this.id = id;
+        this.sectionCode = sectionCode;
+        this.courseId = courseId;
+        this.courseCode = courseCode;
+        this.courseName = courseName;
+        this.hoursPerWeek = hoursPerWeek;
+        this.sessionCode = sessionCode;
+        this.courseFormat = courseFormat;
+        this.schedule = schedule;
+        this.location = location;
+        this.instructorId = instructorId;
+        this.instructorName = instructorId != null
+                ? User.fullName(instructorFirstName, instructorLastName)
+                : null;
+        this.capacity = capacity;
+        this.enrolledCount = enrolledCount;
+        this.waitlistCount = waitlistCount;
+        this.availableSeats = CourseSection.availableSeats(capacity, enrolledCount);
+        this.status = status;
+        this.enrollmentLocked = enrollmentLocked;
+        this.openForEnrollment = CourseSection.isOpenForEnrollment(status, enrollmentLocked, capacity, enrolledCount);
+    }
 }
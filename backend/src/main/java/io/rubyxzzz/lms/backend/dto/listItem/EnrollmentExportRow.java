@@ -0,0 +1,31 @@
+package io.rubyxzzz.lms.backend.dto.listItem;
+
+import io.rubyxzzz.lms.backend.model.EnrollmentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the session enrollment export
+ * Built directly by a JPQL constructor expression (field order matters)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentExportRow {
+    private String id;
+    private String studentNumber;
+    private String studentName;
+    private String studentEmail;
+    private String courseCode;
+    private String sectionCode;
+    private String sessionCode;
+    private Integer hoursPerWeek;
+    private EnrollmentStatus status;
+    private LocalDateTime enrolledTime;
+    private LocalDateTime droppedTime;
+    private LocalDateTime completedTime;
+    private Double finalGrade;
+}
@@ -31,4 +31,27 @@ public class EnrollmentList {
     private Double finalGrade;
     private String letterGrade;
 
+    private LocalDateTime createdAt;
+
+    /**
+     * JPQL projection (EnrollmentRepo) - only the columns the list shows
+     */
+    public EnrollmentList(String id, String studentNumber, String studentName, String studentEmail,
+                          String sectionCode, String courseCode, String courseName, String sessionCode,
+                          Integer hoursPerWeek, LocalDateTime enrolledTime, EnrollmentStatus status,
+                          Double finalGrade, LocalDateTime createdAt) {
+        this.id = id;
+        this.studentNumber = studentNumber;
+        this.studentName = studentName;
+        this.studentEmail = studentEmail;
+        this.sectionCode = sectionCode;
+        this.courseCode = courseCode;
+        this.courseName = courseName;
+        this.sessionCode = sessionCode;
+        this.hoursPerWeek = hoursPerWeek;
+        this.enrolledTime = enrolledTime;
+        this.status = status;
+        this.finalGrade = finalGrade;
+        this.createdAt = createdAt;
+    }
 }
@@ -1,11 +1,14 @@
 package io.rubyxzzz.lms.backend.dto.listItem;
 
+import io.rubyxzzz.lms.backend.model.User;
 import io.rubyxzzz.lms.backend.model.UserStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,4 +23,21 @@ public class InstructorList {
     private int teachingCounts;
     private UserStatus status;
 
+    private LocalDateTime createdAt;
+
+    /**
+     * JPQL projection (InstructorRepo) - raw columns, name built here
+     */
+    public InstructorList(String id, String employeeNumber, String firstName, String lastName,
+                          String email, String department, Integer teachingCounts,
+                          UserStatus status, LocalDateTime createdAt) {
+        this.id = id;
+        this.employeeNumber = employeeNumber;
+        this.fullName = User.fullName(firstName, lastName);
+        this.email = email;
+        this.department = department;
+        this.teachingCounts = teachingCounts != null ? teachingCounts : 0;
+        this.status = status;
+        this.createdAt = createdAt;
+    }
 }
@@ -1,12 +1,15 @@
 package io.rubyxzzz.lms.backend.dto.listItem;
 
 import io.rubyxzzz.lms.backend.model.StudentType;
+import io.rubyxzzz.lms.backend.model.User;
 import io.rubyxzzz.lms.backend.model.UserStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Data
 @Builder
 @AllArgsConstructor
@@ -26,4 +29,24 @@ public class StudentList {
 
     private Double gpa;
 
+    private LocalDateTime createdAt;
+
+    /**
+     * JPQL projection (StudentRepo) - raw columns, name built here
+     */
+    public StudentList(String id, String studentNumber, String firstName, String lastName,
+                       String email, UserStatus status, StudentType studentType,
+                       Integer placementLevel, Integer enrolledCounts, Integer totalHoursEnrolled,
+                       LocalDateTime createdAt) {
+        this.id = id;
+        this.studentNumber = studentNumber;
+        this.fullName = User.fullName(firstName, lastName);
+        this.email = email;
+        this.status = status;
+        this.studentType = studentType;
+        this.placementLevel = placementLevel;
+        this.enrolledCounts = enrolledCounts;
+        this.totalHoursEnrolled = totalHoursEnrolled;
+        this.createdAt = createdAt;
+    }
 }
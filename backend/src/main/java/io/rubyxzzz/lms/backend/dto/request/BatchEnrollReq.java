@@ -2,6 +2,7 @@ package io.rubyxzzz.lms.backend.dto.request;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,7 +16,11 @@ import java.util.List;
 @AllArgsConstructor
 public class BatchEnrollReq {
 
+    public static final int MAX_STUDENTS = 500;
+
+    // bounded: the whole list is processed under the section row lock
     @NotEmpty(message = "Student IDs cannot be empty")
+    @Size(max = MAX_STUDENTS, message = "At most " + MAX_STUDENTS + " students per batch")
     private List<String> studentId;
 
     @NotBlank(message = "Course section ID is required")
@@ -0,0 +1,31 @@
+package io.rubyxzzz.lms.backend.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Term-end grading for a whole section
+ * studentId -> final grade
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompleteSectionReq {
+
+    @NotEmpty(message = "Grades cannot be empty")
+    private Map<
+            @NotBlank(message = "Student ID is required") String,
+            @NotNull(message = "Final grade is required")
+            @Min(value = 0, message = "Grade must be between 0 and 100")
+            @Max(value = 100, message = "Grade must be between 0 and 100") Double> grades;
+}
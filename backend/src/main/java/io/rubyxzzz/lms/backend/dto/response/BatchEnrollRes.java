@@ -0,0 +1,41 @@
+package io.rubyxzzz.lms.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Batch enrollment result
+ * One entry per requested student, in request order
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchEnrollRes {
+
+    private String courseSectionId;
+    private String sectionCode;
+    private String courseCode;
+
+    private int requested;
+    private int enrolled;
+    private int failed;
+    private Integer availableSeats;  // after this batch
+
+    private List<StudentResult> results;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class StudentResult {
+        private String studentId;
+        private boolean success;
+        private String enrollmentId;  // when success
+        private String message;       // when failed
+    }
+}
@@ -0,0 +1,44 @@
+package io.rubyxzzz.lms.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Section completion result
+ * One entry per graded student, plus the section statistics after the pass
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CompleteSectionRes {
+
+    private String courseSectionId;
+    private String sectionCode;
+    private String courseCode;
+
+    private int requested;
+    private int completed;
+    private int failed;
+
+    private Double averageGrade;     // over all completed enrollments of the section
+    private Double completionRate;   // completed / non-dropped, in %
+
+    private List<StudentResult> results;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class StudentResult {
+        private String studentId;
+        private boolean success;
+        private String enrollmentId;  // when success
+        private Double finalGrade;    // when success
+        private String message;       // when failed
+    }
+}
@@ -0,0 +1,23 @@
+package io.rubyxzzz.lms.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated list
+ * Pass nextCursor back as ?cursor= to get the following page
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageRes<T> {
+    private List<T> items;
+    private String nextCursor;   // null on the last page
+    private boolean hasMore;
+    private int limit;
+}
@@ -0,0 +1,21 @@
+package io.rubyxzzz.lms.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Seat availability of one section, pushed over the seat stream
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SeatUpdateRes {
+    private String sectionId;
+    private Integer capacity;
+    private Integer enrolledCount;
+    private Integer availableSeats;
+    private Integer waitlistCount;
+}
@@ -56,7 +56,7 @@ public class SectionRes {
     private Integer capacity;
     private Integer minEnrollment;
     private Integer enrolledCount;
-//    private Integer waitlistCount;
+    private Integer waitlistCount;
     private Integer availableSeats;        // Calculated
     private Double capacityUtilization;    // Calculated
 
@@ -0,0 +1,39 @@
+package io.rubyxzzz.lms.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Faceted section search result
+ * Matching sections plus value counts for every facet
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SectionSearchRes {
+
+    private String sessionCode;
+    private long catalogVersion;
+
+    private int total;
+    private List<SectionRes> sections;
+
+    // facet -> values in display order
+    private Map<String, List<FacetCount>> facets;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class FacetCount {
+        private String value;
+        private String label;   // e.g. instructor name
+        private int count;
+    }
+}
@@ -0,0 +1,43 @@
+package io.rubyxzzz.lms.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Session clone job
+ * Progress while running, totals once finished
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SessionCloneRes {
+
+    private String jobId;
+    private String status;              // RUNNING, COMPLETED, FAILED
+
+    private String sourceSessionCode;
+    private String targetSessionCode;
+
+    // ===== Progress =====
+    private int totalCourses;
+    private int processedCourses;
+
+    // ===== Copied =====
+    private int coursesCloned;
+    private int sectionsCloned;
+    private int modulesCloned;
+    private int pagesCloned;
+    private int assignmentsCloned;
+
+    private List<String> skippedCourseCodes;   // already in the target session
+
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String message;                    // failure reason
+}
@@ -0,0 +1,22 @@
+package io.rubyxzzz.lms.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Waitlist position of one student in one section
+ * Served from memory (WaitlistBoard), safe to poll
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WaitlistPositionRes {
+    private String courseSectionId;
+    private String studentId;
+    private boolean waiting;
+    private Integer position;            // 1-based, 0 when not waiting
+    private Integer waitlistSize;
+}
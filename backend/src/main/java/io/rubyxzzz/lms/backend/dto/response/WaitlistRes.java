@@ -0,0 +1,40 @@
+package io.rubyxzzz.lms.backend.dto.response;
+
+import io.rubyxzzz.lms.backend.model.WaitlistStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WaitlistRes {
+    // ===== Identity =====
+    private String id;
+
+    // ===== Student Info =====
+    private String studentId;
+    private String studentNumber;
+    private String studentName;
+
+    // ===== Course Section Info =====
+    private String courseSectionId;
+    private String sectionCode;
+    private String courseCode;
+
+    // ===== Queue =====
+    private Integer priority;
+    private WaitlistStatus status;
+    private LocalDateTime joinedTime;
+    private Integer position;            // 1-based, 0 when no longer waiting
+    private Integer waitlistSize;
+
+    // ===== Outcome =====
+    private LocalDateTime resolvedTime;
+    private String enrollmentId;         // Set when promoted
+    private String note;                 // Reason when skipped
+}
@@ -78,6 +78,25 @@ public class GlobalHandler {
         return new ResponseEntity<>(error, HttpStatus.CONFLICT);
     }
 
+    /**
+     * Handle RegistrationPendingException (outcome unknown, may still commit)
+     */
+    @ExceptionHandler(RegistrationPendingException.class)
+    public ResponseEntity<ErrorRes> handleRegistrationPending(
+            RegistrationPendingException ex,
+            WebRequest request) {
+
+        ErrorRes error = ErrorRes.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.GATEWAY_TIMEOUT.value())
+                .error("Registration Pending")
+                .message(ex.getMessage())
+                .path(request.getDescription(false).replace("uri=", ""))
+                .build();
+
+        return new ResponseEntity<>(error, HttpStatus.GATEWAY_TIMEOUT);
+    }
+
     /**
      * Handle validation errors from @Valid
      */
@@ -0,0 +1,13 @@
+package io.rubyxzzz.lms.backend.exception;
+
+/**
+ * Registration Pending Exception
+ * Thrown when a registration command was not answered in time but may still commit
+ * Results in HTTP 504: the client should check its enrollments instead of retrying
+ */
+public class RegistrationPendingException extends RuntimeException {
+
+    public RegistrationPendingException(String message) {
+        super(message);
+    }
+}
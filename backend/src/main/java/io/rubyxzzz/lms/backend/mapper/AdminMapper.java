@@ -35,6 +35,7 @@ public class AdminMapper {
                 .position(admin.getPosition())
                 .isSuperAdmin(admin.isSuperAdmin())
                 .status(admin.getStatus())
+                .createdAt(admin.getCreatedAt())
                 .build();
     }
 
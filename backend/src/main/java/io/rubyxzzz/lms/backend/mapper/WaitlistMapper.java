@@ -0,0 +1,47 @@
+package io.rubyxzzz.lms.backend.mapper;
+
+import io.rubyxzzz.lms.backend.dto.response.WaitlistRes;
+import io.rubyxzzz.lms.backend.model.WaitlistEntry;
+import io.rubyxzzz.lms.backend.service.WaitlistBoard;
+import org.springframework.beans.BeanUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+public class WaitlistMapper {
+
+    /**
+     * Convert WaitlistEntry entity to response DTO
+     * Position comes from the board snapshot (0 when not waiting)
+     */
+    public WaitlistRes toResponse(WaitlistEntry entry, WaitlistBoard.Queue queue) {
+        if (entry == null) {
+            return null;
+        }
+
+        WaitlistRes response = new WaitlistRes();
+        BeanUtils.copyProperties(entry, response);
+
+        if (entry.getStudent() != null) {
+            response.setStudentId(entry.getStudent().getId());
+        }
+        if (entry.getSection() != null) {
+            response.setCourseSectionId(entry.getSection().getId());
+        }
+
+        if (queue != null) {
+            response.setPosition(entry.isWaiting() ? queue.positionOf(response.getStudentId()) : 0);
+            response.setWaitlistSize(queue.size());
+        }
+
+        return response;
+    }
+
+    public List<WaitlistRes> toResponseList(List<WaitlistEntry> entries, WaitlistBoard.Queue queue) {
+        return entries.stream()
+                .map(entry -> toResponse(entry, queue))
+                .collect(Collectors.toList());
+    }
+}
@@ -17,7 +17,8 @@ import java.util.Set;
         @Index(name = "idx_email", columnList = "email", unique = true),
         @Index(name = "idx_is_super_admin", columnList = "is_super_admin"),
         @Index(name = "idx_department", columnList = "department"),
-        @Index(name = "idx_status", columnList = "status")
+        @Index(name = "idx_status", columnList = "status"),
+        @Index(name = "idx_created_at_id", columnList = "created_at, id")
 })
 @Data
 @NoArgsConstructor
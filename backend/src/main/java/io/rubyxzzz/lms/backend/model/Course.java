@@ -7,6 +7,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * Course Entity
@@ -47,7 +48,8 @@ public class Course extends BaseEntity {
 
     // ===== Basic Info =====
 
-    @Column(name = "course_code", unique = true, nullable = false, length = 50)
+    // Unique per session (idx_course_session), repeated when a session is cloned
+    @Column(name = "course_code", nullable = false, length = 50)
     private String courseCode;
 
     @Column(name = "course_name", nullable = false, length = 200)
@@ -116,12 +118,26 @@ public class Course extends BaseEntity {
             List<String> completedCourses,
             Integer studentPlacementLevel) {
 
+        return meetsPrerequisites(
+                code -> completedCourses != null && completedCourses.contains(code),
+                studentPlacementLevel
+        );
+    }
+
+    /**
+     * Check if student meets prerequisites
+     * Membership test instead of a list, e.g. backed by CourseHistoryIndex
+     */
+    public boolean meetsPrerequisites(
+            Predicate<String> hasTakenCourse,
+            Integer studentPlacementLevel) {
+
         if (!hasPrerequisites()) {
             return true;
         }
 
         // Option 1: Completed prerequisite courses
-        if (meetsPrerequisiteCourses(completedCourses)) {
+        if (meetsPrerequisiteCourses(hasTakenCourse)) {
             return true;
         }
 
@@ -145,6 +161,14 @@ public class Course extends BaseEntity {
                 completedCourses.containsAll(prerequisiteCourses);
     }
 
+    private boolean meetsPrerequisiteCourses(Predicate<String> hasTakenCourse) {
+        if (prerequisiteCourses == null || prerequisiteCourses.isEmpty()) {
+            return true;
+        }
+
+        return prerequisiteCourses.stream().allMatch(hasTakenCourse);
+    }
+
     /**
      * Check if placement level meets requirement
      */
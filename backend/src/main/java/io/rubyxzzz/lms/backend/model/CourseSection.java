@@ -2,8 +2,10 @@ package io.rubyxzzz.lms.backend.model;
 
 
 import io.rubyxzzz.lms.backend.constants.BusinessConstants;
+import io.rubyxzzz.lms.backend.util.MeetingTime;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalTime;
 import java.util.ArrayList;
@@ -20,8 +22,12 @@ import java.util.List;
  * - Belongs to one Session (time period)
  * - Has one Instructor
  * - Has many Enrollments (students)
+ *
+ * Seat, waitlist and grade counters are changed by atomic UPDATEs in SectionRepo;
+ * @DynamicUpdate keeps entity saves from writing stale copies of them back.
  */
 @Entity
+@DynamicUpdate
 @Table(name = "course_sections", indexes = {
         @Index(name = "idx_course_id", columnList = "course_id"),
         @Index(name = "idx_session_id", columnList = "session_id"),
@@ -29,7 +35,8 @@ import java.util.List;
         @Index(name = "idx_program_code", columnList = "program_code"),
         @Index(name = "idx_level_number", columnList = "level_number"),
         @Index(name = "idx_status", columnList = "status"),
-        @Index(name = "idx_session_code", columnList = "session_code")
+        @Index(name = "idx_session_code", columnList = "session_code"),
+        @Index(name = "idx_day_mask_start", columnList = "day_mask, start_minute")
 })
 @Data
 @NoArgsConstructor
@@ -86,6 +93,16 @@ public class CourseSection extends BaseEntity {
     @Column(name = "end_time")
     private LocalTime endTime;
 
+    // Compact meeting pattern, derived from the three fields above on save (see MeetingTime)
+    @Column(name = "day_mask")
+    private Integer dayMask;      // bit 0 = Monday ... bit 6 = Sunday
+
+    @Column(name = "start_minute")
+    private Integer startMinute;  // minutes since midnight
+
+    @Column(name = "end_minute")
+    private Integer endMinute;
+
     @Column(name = "location", length = 100)
     private String location;  // "Room 201" or "Online"
 
@@ -117,8 +134,8 @@ public class CourseSection extends BaseEntity {
     @Column(name = "enrolled_count", nullable = false)
     private Integer enrolledCount = 0;
 
-//    @Column(name = "waitlist_count", nullable = false)
-//    private Integer waitlistCount = 0;
+    @Column(name = "waitlist_count", nullable = false)
+    private Integer waitlistCount = 0;
 
 
     // ===== Status =====
@@ -136,7 +153,18 @@ public class CourseSection extends BaseEntity {
     private Double averageGrade;
 
     @Column(name = "completion_rate")
-    private Double completionRate;
+    private Double completionRate;  // completed / non-dropped, in %
+
+    // Running aggregates behind averageGrade / completionRate
+    // (updated on complete / drop, recomputed by SectionStatsReconciler)
+    @Column(name = "grade_sum")
+    private Double gradeSum = 0.0;
+
+    @Column(name = "graded_count")
+    private Integer gradedCount = 0;
+
+    @Column(name = "completed_count")
+    private Integer completedCount = 0;
 
     @OneToMany(
             mappedBy = "section",
@@ -160,6 +188,13 @@ public class CourseSection extends BaseEntity {
      * Get available seats
      */
     public Integer getAvailableSeats() {
+        return availableSeats(capacity, enrolledCount);
+    }
+
+    /**
+     * Available seats from raw columns (also used by list projections)
+     */
+    public static int availableSeats(Integer capacity, Integer enrolledCount) {
         if (capacity == null || enrolledCount == null) {
             return 0;
         }
@@ -185,19 +220,27 @@ public class CourseSection extends BaseEntity {
      * Check if open for enrollment
      */
     public boolean isOpenForEnrollment() {
-        if (status != CourseSectionStatus.PUBLISHED) {
-            return false;
-        }
+        return isOpenForEnrollment(status, enrollmentLocked, capacity, enrolledCount);
+    }
 
-        if (enrollmentLocked) {
+    /**
+     * Open-for-enrollment check from raw columns (also used by list projections)
+     */
+    public static boolean isOpenForEnrollment(
+            CourseSectionStatus status,
+            Boolean enrollmentLocked,
+            Integer capacity,
+            Integer enrolledCount) {
+        if (status != CourseSectionStatus.PUBLISHED) {
             return false;
         }
 
-        if (isFull()) {
+        if (Boolean.TRUE.equals(enrollmentLocked)) {
             return false;
         }
 
-        return true;
+        boolean full = enrolledCount != null && capacity != null && enrolledCount >= capacity;
+        return !full;
     }
 
     /**
@@ -225,4 +268,17 @@ public class CourseSection extends BaseEntity {
 
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Derive dayMask / startMinute / endMinute from daysOfWeek / startTime / endTime
+     * Runs on every insert and update; called directly by the backfill
+     */
+    @PrePersist
+    @PreUpdate
+    public void syncMeetingPattern() {
+        int mask = MeetingTime.dayMask(daysOfWeek);
+        this.dayMask = mask != 0 ? mask : null;
+        this.startMinute = startTime != null ? MeetingTime.minuteOf(startTime) : null;
+        this.endMinute = endTime != null ? MeetingTime.minuteOf(endTime) : null;
+    }
+}
@@ -22,7 +22,8 @@ import java.time.LocalTime;
         @Index(name = "idx_student_id", columnList = "student_id"),
         @Index(name = "idx_section_id", columnList = "section_id"),
         @Index(name = "idx_status", columnList = "status"),
-        @Index(name = "idx_student_status", columnList = "student_id, status")
+        @Index(name = "idx_student_status", columnList = "student_id, status"),
+        @Index(name = "idx_created_at_id", columnList = "created_at, id")
 })
 @Data
 @NoArgsConstructor
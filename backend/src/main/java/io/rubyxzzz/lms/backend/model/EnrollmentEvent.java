@@ -0,0 +1,59 @@
+package io.rubyxzzz.lms.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Enrollment Event - transactional outbox
+ *
+ * One row per enroll / drop / complete, written in the same transaction
+ * as the enrollment itself. EnrollmentOutboxProcessor reads pending rows
+ * and applies the counter side-effects (student, session) in batches.
+ */
+@Entity
+@Table(name = "enrollment_events", indexes = {
+        @Index(name = "idx_event_pending", columnList = "processed_time, created_at")
+})
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class EnrollmentEvent extends BaseEntity {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 20)
+    private EnrollmentEventType eventType;
+
+    @Column(name = "enrollment_id", nullable = false, length = 36)
+    private String enrollmentId;
+
+    @Column(name = "student_id", nullable = false, length = 36)
+    private String studentId;
+
+    @Column(name = "section_id", length = 36)
+    private String sectionId;
+
+    @Column(name = "session_code", length = 20)
+    private String sessionCode;
+
+    @Column(name = "hours_per_week")
+    private Integer hoursPerWeek;
+
+    // null until the consumer has applied it
+    @Column(name = "processed_time")
+    private LocalDateTime processedTime;
+
+    public static EnrollmentEvent of(EnrollmentEventType type, Enrollment enrollment) {
+        EnrollmentEvent event = new EnrollmentEvent();
+        event.setEventType(type);
+        event.setEnrollmentId(enrollment.getId());
+        event.setStudentId(enrollment.getStudent().getId());
+        event.setSectionId(enrollment.getSection() != null ? enrollment.getSection().getId() : null);
+        event.setSessionCode(enrollment.getSessionCode());
+        event.setHoursPerWeek(enrollment.getHoursPerWeek());
+        return event;
+    }
+}
@@ -0,0 +1,7 @@
+package io.rubyxzzz.lms.backend.model;
+
+public enum EnrollmentEventType {
+    ENROLLED,
+    DROPPED,
+    COMPLETED
+}
@@ -11,7 +11,8 @@ import java.util.List;
         @Index(name = "idx_employee_number", columnList = "employee_number", unique = true),
         @Index(name = "idx_email", columnList = "email", unique = true),
         @Index(name = "idx_department", columnList = "department"),
-        @Index(name = "idx_status", columnList = "status")
+        @Index(name = "idx_status", columnList = "status"),
+        @Index(name = "idx_created_at_id", columnList = "created_at, id")
 })
 @Data
 @NoArgsConstructor
@@ -44,6 +44,7 @@ public enum Permission {
     SESSIONS_VIEW,
     SESSIONS_CREATE,            // ⭐ Super Admin only
     SESSIONS_EDIT,              // ⭐ Super Admin only
+    SESSIONS_CLONE,             // ⭐ Super Admin only: copy courses, sections and content into another session
 
     // ===== Enrollments =====
     ENROLLMENTS_VIEW_ALL,       // Admin: view all enrollments
@@ -3,6 +3,7 @@ package io.rubyxzzz.lms.backend.model;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -14,8 +15,12 @@ import java.util.List;
  * 6 sessions per year
  *
  * Example: 2025-S1 (Jan 6 - Feb 28, 8 weeks)
+ *
+ * totalEnrollments is applied as an atomic delta by the outbox processor;
+ * @DynamicUpdate keeps session edits from writing a stale copy back.
  */
 @Entity
+@DynamicUpdate
 @Table(name = "sessions", indexes = {
         @Index(name = "idx_session_code", columnList = "session_code", unique = true),
         @Index(name = "idx_year_number", columnList = "year, session_number", unique = true),
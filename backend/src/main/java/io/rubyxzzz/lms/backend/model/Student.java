@@ -4,18 +4,23 @@ import io.rubyxzzz.lms.backend.constants.BusinessConstants;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
+// Enrollment counters are applied as atomic deltas by the outbox processor;
+// @DynamicUpdate keeps profile / status saves from writing stale copies back
 @Entity
+@DynamicUpdate
 @Table(name = "students", indexes = {
         @Index(name = "idx_student_number", columnList = "student_number", unique = true),
         @Index(name = "idx_email", columnList = "email", unique = true),
         @Index(name = "idx_student_type", columnList = "student_type"),
         @Index(name = "idx_cur_level_number", columnList = "cur_level_number"),
-        @Index(name = "idx_status", columnList = "status")
+        @Index(name = "idx_status", columnList = "status"),
+        @Index(name = "idx_created_at_id", columnList = "created_at, id")
 })
 @Data
 @NoArgsConstructor
@@ -73,6 +73,13 @@ public abstract class User extends BaseEntity {
 
 
     public String getFullName() {
+        return fullName(firstName, lastName);
+    }
+
+    /**
+     * Display name from raw columns (also used by list projections)
+     */
+    public static String fullName(String firstName, String lastName) {
         if (firstName == null && lastName == null) {
             return "";
         }
@@ -0,0 +1,50 @@
+package io.rubyxzzz.lms.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * User Identity - cross-role lookup index
+ *
+ * One row per Student / Instructor / Admin
+ * - firebaseUid -> (role, entityId) in a single index probe
+ * - email unique across all roles (not only per table)
+ *
+ * Written in the same transaction as the user entity
+ */
+@Entity
+@Table(name = "user_identity", indexes = {
+        @Index(name = "idx_identity_firebase_uid", columnList = "firebase_uid", unique = true),
+        @Index(name = "idx_identity_email", columnList = "email", unique = true),
+        @Index(name = "idx_identity_entity_id", columnList = "entity_id", unique = true)
+})
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class UserIdentity extends BaseEntity {
+
+    @Column(name = "firebase_uid", unique = true, nullable = false, length = 128)
+    private String firebaseUid;
+
+    @Column(name = "email", unique = true, nullable = false, length = 100)
+    private String email;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "role", nullable = false, length = 20)
+    private UserRole role;
+
+    // id of the row in students / instructors / admins
+    @Column(name = "entity_id", unique = true, nullable = false, length = 36)
+    private String entityId;
+
+    public static UserIdentity of(User user) {
+        UserIdentity identity = new UserIdentity();
+        identity.setFirebaseUid(user.getFirebaseUid());
+        identity.setEmail(user.getEmail());
+        identity.setRole(user.getUserRole());
+        identity.setEntityId(user.getId());
+        return identity;
+    }
+}
@@ -0,0 +1,124 @@
+package io.rubyxzzz.lms.backend.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Waitlist Entry Entity
+ * A student waiting for a seat in a full CourseSection
+ *
+ * Queue order per section:
+ * - Higher priority first (admin-assigned, default 0)
+ * - Then first come, first served (joinedTime)
+ */
+@Entity
+@Table(name = "waitlist_entries", indexes = {
+        @Index(name = "idx_waitlist_section_status", columnList = "section_id, status, priority, joined_time"),
+        @Index(name = "idx_waitlist_student_status", columnList = "student_id, status")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class WaitlistEntry extends BaseEntity {
+
+    // ===== Student Association =====
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(
+            name = "student_id",
+            nullable = false,
+            foreignKey = @ForeignKey(name = "fk_waitlist_student")
+    )
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Student student;
+
+    @Column(name = "student_number", length = 20)
+    private String studentNumber;
+
+    @Column(name = "student_name", length = 100)
+    private String studentName;
+
+    // ===== Course Section Association =====
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(
+            name = "section_id",
+            nullable = false,
+            foreignKey = @ForeignKey(name = "fk_waitlist_section")
+    )
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private CourseSection section;
+
+    @Column(name = "section_code", length = 10)
+    private String sectionCode;
+
+    @Column(name = "course_code", length = 50)
+    private String courseCode;
+
+    // ===== Queue =====
+
+    @Column(name = "priority", nullable = false)
+    private Integer priority = 0;
+
+    @Column(name = "joined_time", nullable = false)
+    private LocalDateTime joinedTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private WaitlistStatus status = WaitlistStatus.WAITING;
+
+    // ===== Outcome =====
+
+    @Column(name = "resolved_time")
+    private LocalDateTime resolvedTime;
+
+    @Column(name = "enrollment_id", length = 36)
+    private String enrollmentId;
+
+    @Column(name = "note", length = 255)
+    private String note;
+
+
+    /**
+     * Check if still waiting for a seat
+     */
+    public boolean isWaiting() {
+        return this.status == WaitlistStatus.WAITING;
+    }
+
+    /**
+     * Seat granted, enrollment created
+     */
+    public void promote(String enrollmentId) {
+        this.status = WaitlistStatus.PROMOTED;
+        this.enrollmentId = enrollmentId;
+        this.resolvedTime = LocalDateTime.now();
+    }
+
+    /**
+     * Turn came but the student could not be enrolled
+     */
+    public void skip(String reason) {
+        this.status = WaitlistStatus.SKIPPED;
+        this.note = reason;
+        this.resolvedTime = LocalDateTime.now();
+    }
+
+    /**
+     * Removed from the queue by student or admin
+     */
+    public void leave() {
+        if (!isWaiting()) {
+            throw new IllegalStateException(
+                    "Cannot leave waitlist with status: " + this.status
+            );
+        }
+        this.status = WaitlistStatus.LEFT;
+        this.resolvedTime = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,9 @@
+package io.rubyxzzz.lms.backend.model;
+
+public enum WaitlistStatus {
+    WAITING,     // In the queue
+    PROMOTED,    // Got a seat, enrollment created
+    LEFT,        // Removed by student or admin
+    SKIPPED,     // Could not be enrolled when their turn came (e.g. prerequisites)
+    EXPIRED      // Section was cancelled while waiting
+}
@@ -1,19 +1,49 @@
 package io.rubyxzzz.lms.backend.repository;
 
+import io.rubyxzzz.lms.backend.dto.listItem.AdminList;
 import io.rubyxzzz.lms.backend.model.Admin;
 import io.rubyxzzz.lms.backend.model.Instructor;
 import io.rubyxzzz.lms.backend.model.Student;
 import io.rubyxzzz.lms.backend.model.UserStatus;
+import io.rubyxzzz.lms.backend.util.CursorCodec;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Repository
-public interface AdminRepo extends JpaRepository<Admin, String> {
+public interface AdminRepo extends JpaRepository<Admin, String>, KeysetRepo<Admin> {
+
+    // ===== List projection (only the columns AdminList shows, no managed entities) =====
+
+    String LIST_ROW = "SELECT new io.rubyxzzz.lms.backend.dto.listItem.AdminList(" +
+            "e.id, e.employeeNumber, e.firstName, e.lastName, e.email, e.department, " +
+            "e.position, e.isSuperAdmin, e.status, e.createdAt) " +
+            "FROM Admin e ";
+
+    @Query(LIST_ROW + NEWEST_FIRST)
+    List<AdminList> findListRows(Pageable pageable);
+
+    @Query(LIST_ROW + AFTER_CURSOR + NEWEST_FIRST)
+    List<AdminList> findListRowsAfter(
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") String id,
+            Pageable pageable
+    );
+
+    default List<AdminList> findListPage(CursorCodec.Cursor after, int limit) {
+        return after == null
+                ? findListRows(CursorCodec.probe(limit))
+                : findListRowsAfter(after.createdAt(), after.id(), CursorCodec.probe(limit));
+    }
     Optional<Admin> findByFirebaseUid(String firebaseUid);
 
     Optional<Admin> findByEmail(String email) ;
@@ -32,4 +62,14 @@ public interface AdminRepo extends JpaRepository<Admin, String> {
     @Query("SELECT a FROM Admin a WHERE a.isSuperAdmin = true")
     List<Admin> findSuperAdmins();
 
+    // Auto-activation write-behind (UserActivationQueue)
+    @Modifying
+    @Query("UPDATE Admin a SET a.emailVerified = true, a.updatedAt = :now " +
+            "WHERE a.id IN :ids AND a.emailVerified = false")
+    int markEmailVerified(@Param("ids") Collection<String> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Admin a SET a.status = io.rubyxzzz.lms.backend.model.UserStatus.ACTIVE, a.updatedAt = :now " +
+            "WHERE a.id IN :ids AND a.status = io.rubyxzzz.lms.backend.model.UserStatus.PENDING")
+    int activatePending(@Param("ids") Collection<String> ids, @Param("now") LocalDateTime now);
 }
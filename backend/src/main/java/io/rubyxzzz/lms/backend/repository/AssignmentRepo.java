@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +21,10 @@ public interface AssignmentRepo extends JpaRepository<Assignment, String>{
             "WHERE a.courseSection.id = :sectionId")
     List<Assignment> findByCourseSectionId(@Param("sectionId") String sectionId);
 
+    //Session cloning: assignments of many sections (no submissions)
+    @Query("SELECT a FROM Assignment a WHERE a.courseSection.id IN :sectionIds")
+    List<Assignment> findBySectionIdIn(@Param("sectionIds") Collection<String> sectionIds);
+
     //Find assignment by ID with relations loaded
     @Query("SELECT a FROM Assignment a " +
             "LEFT JOIN FETCH a.courseSection " +
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +20,10 @@ public interface CoursePageRepo extends JpaRepository<CoursePage, String> {
             "ORDER BY p.module.orderNum, p.orderNum, p.createdAt")
     List<CoursePage> findByCourseSectionId(@Param("sectionId") String sectionId);
 
+    //Session cloning: pages of many sections
+    @Query("SELECT p FROM CoursePage p WHERE p.courseSection.id IN :sectionIds")
+    List<CoursePage> findBySectionIdIn(@Param("sectionIds") Collection<String> sectionIds);
+
     //Find page by ID with relations loaded
     @Query("SELECT p FROM CoursePage p " +
             "LEFT JOIN FETCH p.courseSection " +
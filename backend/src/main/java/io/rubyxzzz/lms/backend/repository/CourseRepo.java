@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -12,9 +13,8 @@ import java.util.stream.Collectors;
 @Repository
 public interface CourseRepo extends JpaRepository<Course, String> {
 
-    Optional<Course> findByCourseCode(String courseCode);
-
-    boolean existsByCourseCode(String courseCode);
+    // course codes repeat across sessions (one course per code per session) - latest wins
+    Optional<Course> findFirstByCourseCodeOrderByCreatedAtDesc(String courseCode);
 
     @Query("SELECT DISTINCT c FROM Course c " +
             "LEFT JOIN FETCH c.session " +
@@ -52,7 +52,17 @@ public interface CourseRepo extends JpaRepository<Course, String> {
 
 
 
-    // TODO：used for copy courses between sessions
-    @Query("SELECT c FROM Course c LEFT JOIN FETCH c.sections WHERE c.id = :id")
-    Optional<Course> findByIdWithSections(String id);
+    // ===== Session cloning (chunked: ids first, then one chunk of courses at a time) =====
+
+    @Query("SELECT c.id FROM Course c WHERE c.session.id = :sessionId ORDER BY c.courseCode")
+    List<String> findIdsBySessionId(@Param("sessionId") String sessionId);
+
+    @Query("SELECT c.courseCode FROM Course c WHERE c.session.id = :sessionId")
+    List<String> findCourseCodesBySessionId(@Param("sessionId") String sessionId);
+
+    @Query("SELECT DISTINCT c FROM Course c " +
+            "LEFT JOIN FETCH c.prerequisiteCourses " +
+            "WHERE c.id IN :ids " +
+            "ORDER BY c.courseCode")
+    List<Course> findByIdInWithPrerequisites(@Param("ids") Collection<String> ids);
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package io.rubyxzzz.lms.backend.repository;
+
+import io.rubyxzzz.lms.backend.model.EnrollmentEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Enrollment Event (outbox) Repository
+ */
+@Repository
+public interface EnrollmentEventRepo extends JpaRepository<EnrollmentEvent, String> {
+
+    // oldest pending events; rows held by another consumer instance are skipped
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM EnrollmentEvent e WHERE e.processedTime IS NULL ORDER BY e.createdAt ASC")
+    List<EnrollmentEvent> findPendingForUpdate(Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE EnrollmentEvent e SET e.processedTime = :now WHERE e.id IN :ids")
+    int markProcessed(@Param("ids") Collection<String> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM EnrollmentEvent e WHERE e.processedTime < :cutoff")
+    int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Query("SELECT COUNT(e) FROM EnrollmentEvent e WHERE e.processedTime IS NULL")
+    long countPending();
+
+    // session total delta not yet applied by the outbox processor
+    @Query("SELECT COALESCE(SUM(CASE WHEN e.eventType = 'ENROLLED' THEN 1 " +
+            "WHEN e.eventType = 'DROPPED' THEN -1 ELSE 0 END), 0) " +
+            "FROM EnrollmentEvent e WHERE e.processedTime IS NULL AND e.sessionCode = :sessionCode")
+    long sumPendingSessionDelta(@Param("sessionCode") String sessionCode);
+}
@@ -1,19 +1,54 @@
 package io.rubyxzzz.lms.backend.repository;
 
+import io.rubyxzzz.lms.backend.dto.listItem.EnrollmentExportRow;
+import io.rubyxzzz.lms.backend.dto.listItem.EnrollmentList;
 import io.rubyxzzz.lms.backend.model.Enrollment;
 import io.rubyxzzz.lms.backend.model.EnrollmentMode;
 import io.rubyxzzz.lms.backend.model.EnrollmentStatus;
+import io.rubyxzzz.lms.backend.util.CursorCodec;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
-public interface EnrollmentRepo extends JpaRepository<Enrollment, String> {
+public interface EnrollmentRepo extends JpaRepository<Enrollment, String>, KeysetRepo<Enrollment> {
+
+    // ===== List projection (only the columns EnrollmentList shows, no managed entities) =====
+
+    String LIST_ROW = "SELECT new io.rubyxzzz.lms.backend.dto.listItem.EnrollmentList(" +
+            "e.id, e.studentNumber, e.studentName, e.studentEmail, " +
+            "e.sectionCode, e.courseCode, e.section.courseName, e.sessionCode, " +
+            "e.hoursPerWeek, e.enrolledTime, e.status, e.finalGrade, e.createdAt) " +
+            "FROM Enrollment e ";
+
+    @Query(LIST_ROW + NEWEST_FIRST)
+    List<EnrollmentList> findListRows(Pageable pageable);
+
+    @Query(LIST_ROW + AFTER_CURSOR + NEWEST_FIRST)
+    List<EnrollmentList> findListRowsAfter(
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") String id,
+            Pageable pageable
+    );
+
+    default List<EnrollmentList> findListPage(CursorCodec.Cursor after, int limit) {
+        return after == null
+                ? findListRows(CursorCodec.probe(limit))
+                : findListRowsAfter(after.createdAt(), after.id(), CursorCodec.probe(limit));
+    }
 
 
 
@@ -32,6 +67,10 @@ public interface EnrollmentRepo extends JpaRepository<Enrollment, String> {
     @Query("SELECT e FROM Enrollment e WHERE e.section.id = :sectionId")
     List<Enrollment> findByCourseSectionId(@Param("sectionId") String sectionId);
 
+    // for routing a drop to the section's registration lane
+    @Query("SELECT e.section.id FROM Enrollment e WHERE e.id = :id")
+    Optional<String> findSectionIdById(@Param("id") String id);
+
     // for section detail page to load all students' enrollments
     @Query("SELECT e FROM Enrollment e " +
             "LEFT JOIN FETCH e.student " +
@@ -65,6 +104,43 @@ public interface EnrollmentRepo extends JpaRepository<Enrollment, String> {
             @Param("courseCode") String courseCode
     );
 
+    // batch enrollment: which of these students are already in the course (any section)
+    @Query("SELECT e.student.id FROM Enrollment e " +
+            "WHERE e.student.id IN :studentIds " +
+            "AND e.courseCode = :courseCode " +
+            "AND e.status = 'ENROLLED'")
+    List<String> findStudentIdsEnrolledInCourse(
+            @Param("studentIds") Collection<String> studentIds,
+            @Param("courseCode") String courseCode
+    );
+
+    // prerequisite checks: course codes completed or in progress (projection, no entity graph)
+    @Query("SELECT DISTINCT e.courseCode FROM Enrollment e " +
+            "WHERE e.student.id = :studentId " +
+            "AND (e.status = 'COMPLETED' OR e.status = 'ENROLLED')")
+    List<String> findActiveOrCompletedCourseCodes(@Param("studentId") String studentId);
+
+    // batch enrollment: [studentId, courseCode] history for prerequisite checks
+    @Query("SELECT e.student.id, e.courseCode FROM Enrollment e " +
+            "WHERE e.student.id IN :studentIds " +
+            "AND (e.status = 'COMPLETED' OR e.status = 'ENROLLED')")
+    List<Object[]> findCourseHistoryByStudentIds(@Param("studentIds") Collection<String> studentIds);
+
+    // timetable conflicts: [studentId, courseCode, sectionCode, dayMask, startMinute, endMinute] of active sections
+    @Query("SELECT e.student.id, e.courseCode, e.sectionCode, s.dayMask, s.startMinute, s.endMinute " +
+            "FROM Enrollment e JOIN e.section s " +
+            "WHERE e.student.id IN :studentIds " +
+            "AND s.sessionCode = :sessionCode " +
+            "AND e.status = 'ENROLLED'")
+    List<Object[]> findActiveMeetingTimesByStudentIds(@Param("studentIds") Collection<String> studentIds,
+                                                      @Param("sessionCode") String sessionCode);
+
+    // section completion: [id, studentId, status, finalGrade] of every non-dropped enrollment
+    @Query("SELECT e.id, e.student.id, e.status, e.finalGrade FROM Enrollment e " +
+            "WHERE e.section.id = :sectionId " +
+            "AND e.status <> 'DROPPED'")
+    List<Object[]> findGradingRowsBySectionId(@Param("sectionId") String sectionId);
+
     @Query("SELECT e FROM Enrollment e WHERE e.studentNumber = :studentNumber AND e.sessionCode = :sessionCode")
     List<Enrollment> findByStudentAndSession(
             @Param("studentNumber") String studentNumber,
@@ -79,8 +155,28 @@ public interface EnrollmentRepo extends JpaRepository<Enrollment, String> {
     @Query("SELECT COUNT(e) FROM Enrollment e WHERE e.sessionCode = :sessionCode")
     long countBySessionCode(@Param("sessionCode") String sessionCode);
 
-
-    List<Enrollment> findBySessionCode(String sessionCode); // Used for exporting enrollments by session
+    // what sessions.total_enrollments counts: enrolled + completed, drops excluded
+    @Query("SELECT COUNT(e) FROM Enrollment e WHERE e.sessionCode = :sessionCode AND e.status <> 'DROPPED'")
+    long countNotDroppedBySessionCode(@Param("sessionCode") String sessionCode);
+
+
+    List<Enrollment> findBySessionCode(String sessionCode);
+
+    // session export: forward-only cursor over flat rows (no entities in the persistence context)
+    // must be consumed inside a transaction and closed; fetch size Integer.MIN_VALUE makes
+    // Connector/J stream rows one by one for this query only (no pool-wide cursor fetch)
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT new io.rubyxzzz.lms.backend.dto.listItem.EnrollmentExportRow(" +
+            "e.id, e.studentNumber, e.studentName, e.studentEmail, " +
+            "e.courseCode, e.sectionCode, e.sessionCode, e.hoursPerWeek, e.status, " +
+            "e.enrolledTime, e.droppedTime, e.completedTime, e.finalGrade) " +
+            "FROM Enrollment e " +
+            "WHERE e.sessionCode = :sessionCode " +
+            "ORDER BY e.courseCode, e.sectionCode, e.studentNumber")
+    Stream<EnrollmentExportRow> streamExportRowsBySessionCode(@Param("sessionCode") String sessionCode);
 
     @Query("SELECT e FROM Enrollment e WHERE e.sessionCode = :sessionCode AND e.status = :status")
     List<Enrollment> findBySessionCodeAndStatus(@Param("sessionCode") String sessionCode, @Param("status") EnrollmentStatus status);
@@ -95,5 +191,9 @@ public interface EnrollmentRepo extends JpaRepository<Enrollment, String> {
 
     @Query("SELECT COUNT(e) FROM Enrollment e WHERE e.student.id = :studentId")
     long countByStudentId(@Param("studentId") String studentId);
-}
 
+    // drop: concurrent drops of one enrollment run one after another
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Enrollment e WHERE e.id = :id")
+    Optional<Enrollment> findByIdForUpdate(@Param("id") String id);
+}
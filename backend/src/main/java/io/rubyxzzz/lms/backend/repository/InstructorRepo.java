@@ -1,17 +1,45 @@
 package io.rubyxzzz.lms.backend.repository;
 
+import io.rubyxzzz.lms.backend.dto.listItem.InstructorList;
 import io.rubyxzzz.lms.backend.model.Instructor;
 import io.rubyxzzz.lms.backend.model.UserStatus;
+import io.rubyxzzz.lms.backend.util.CursorCodec;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Repository
-public interface InstructorRepo extends JpaRepository<Instructor, String> {
+public interface InstructorRepo extends JpaRepository<Instructor, String>, KeysetRepo<Instructor> {
+
+    // ===== List projection (only the columns InstructorList shows, no managed entities) =====
+
+    String LIST_ROW = "SELECT new io.rubyxzzz.lms.backend.dto.listItem.InstructorList(" +
+            "e.id, e.employeeNumber, e.firstName, e.lastName, e.email, e.department, " +
+            "e.teachingCounts, e.status, e.createdAt) " +
+            "FROM Instructor e ";
+
+    @Query(LIST_ROW + NEWEST_FIRST)
+    List<InstructorList> findListRows(Pageable pageable);
+
+    @Query(LIST_ROW + AFTER_CURSOR + NEWEST_FIRST)
+    List<InstructorList> findListRowsAfter(
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") String id,
+            Pageable pageable
+    );
+
+    default List<InstructorList> findListPage(CursorCodec.Cursor after, int limit) {
+        return after == null
+                ? findListRows(CursorCodec.probe(limit))
+                : findListRowsAfter(after.createdAt(), after.id(), CursorCodec.probe(limit));
+    }
 
     @Query("SELECT DISTINCT i FROM Instructor i " +
             "LEFT JOIN FETCH i.sections s " +
@@ -34,4 +62,20 @@ public interface InstructorRepo extends JpaRepository<Instructor, String> {
 
     List<Instructor> findByDepartment(String department);
 
+    // Auto-activation write-behind (UserActivationQueue)
+    @Modifying
+    @Query("UPDATE Instructor i SET i.emailVerified = true, i.updatedAt = :now " +
+            "WHERE i.id IN :ids AND i.emailVerified = false")
+    int markEmailVerified(@Param("ids") Collection<String> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Instructor i SET i.status = io.rubyxzzz.lms.backend.model.UserStatus.ACTIVE, i.updatedAt = :now " +
+            "WHERE i.id IN :ids AND i.status = io.rubyxzzz.lms.backend.model.UserStatus.PENDING")
+    int activatePending(@Param("ids") Collection<String> ids, @Param("now") LocalDateTime now);
+
+    // session cloning: one statement per instructor instead of assignedCourse() per section
+    @Modifying
+    @Query("UPDATE Instructor i SET i.teachingCounts = COALESCE(i.teachingCounts, 0) + :count " +
+            "WHERE i.id = :id")
+    int addTeachingCounts(@Param("id") String id, @Param("count") int count);
 }
@@ -0,0 +1,46 @@
+package io.rubyxzzz.lms.backend.repository;
+
+import io.rubyxzzz.lms.backend.model.BaseEntity;
+import io.rubyxzzz.lms.backend.util.CursorCodec;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keyset (cursor) pagination for list endpoints
+ * Newest first, ordered by (createdAt DESC, id DESC)
+ *
+ * Backed by an index on (created_at, id) in each table, so every page
+ * is an index range scan, however deep. See CursorCodec.
+ */
+@NoRepositoryBean
+public interface KeysetRepo<E extends BaseEntity> extends JpaRepository<E, String> {
+
+    // shared by the list projections in the sub-interfaces (root alias must be "e")
+    String AFTER_CURSOR = "WHERE e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.id < :id) ";
+    String NEWEST_FIRST = "ORDER BY e.createdAt DESC, e.id DESC";
+
+    @Query("SELECT e FROM #{#entityName} e " + NEWEST_FIRST)
+    List<E> findFirstPage(Pageable pageable);
+
+    @Query("SELECT e FROM #{#entityName} e " + AFTER_CURSOR + NEWEST_FIRST)
+    List<E> findPageAfter(
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") String id,
+            Pageable pageable
+    );
+
+    /**
+     * Up to limit + 1 rows after the cursor (the extra row signals another page)
+     */
+    default List<E> findPage(CursorCodec.Cursor after, int limit) {
+        return after == null
+                ? findFirstPage(CursorCodec.probe(limit))
+                : findPageAfter(after.createdAt(), after.id(), CursorCodec.probe(limit));
+    }
+}
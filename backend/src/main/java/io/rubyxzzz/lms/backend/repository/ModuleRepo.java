@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,6 +33,10 @@ public interface ModuleRepo extends JpaRepository<Module, String> {
     @Query("SELECT COUNT(m) FROM Module m WHERE m.courseSection.id = :sectionId")
     long countByCourseSectionId(@Param("sectionId") String sectionId);
 
+    // session cloning: modules of many sections
+    @Query("SELECT m FROM Module m WHERE m.courseSection.id IN :sectionIds")
+    List<Module> findBySectionIdIn(@Param("sectionIds") Collection<String> sectionIds);
+
     // get max orderNum in a course section
     @Query("SELECT COALESCE(MAX(m.orderNum), 0) FROM Module m WHERE m.courseSection.id = :sectionId")
     Integer getMaxOrderNumBySection(@Param("sectionId") String sectionId);
@@ -1,12 +1,19 @@
 package io.rubyxzzz.lms.backend.repository;
 
+import io.rubyxzzz.lms.backend.dto.listItem.CourseSectionList;
 import io.rubyxzzz.lms.backend.model.CourseSection;
 import io.rubyxzzz.lms.backend.model.CourseSectionStatus;
+import io.rubyxzzz.lms.backend.util.MeetingTime;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -29,6 +36,110 @@ public interface SectionRepo extends JpaRepository<CourseSection, String> {
             "WHERE cs.course.id = :courseId")
     List<CourseSection> findByCourseId(@Param("courseId") String courseId);
 
+    // sections list (CourseSectionList projection, no managed entities)
+    String LIST_ROW = "SELECT new io.rubyxzzz.lms.backend.dto.listItem.CourseSectionList(" +
+            "cs.id, cs.sectionCode, cs.course.id, cs.courseCode, cs.courseName, cs.hoursPerWeek, " +
+            "cs.sessionCode, cs.courseFormat, cs.schedule, cs.location, " +
+            "i.id, i.firstName, i.lastName, " +
+            "cs.capacity, cs.enrolledCount, cs.waitlistCount, cs.status, cs.enrollmentLocked) " +
+            "FROM CourseSection cs " +
+            "LEFT JOIN cs.instructor i ";
+
+    @Query(LIST_ROW + "WHERE cs.course.id = :courseId")
+    List<CourseSectionList> findListRowsByCourseId(@Param("courseId") String courseId);
+
+    @Query(LIST_ROW + "WHERE cs.id IN :ids ORDER BY cs.courseCode, cs.sectionCode")
+    List<CourseSectionList> findListRowsByIds(@Param("ids") Collection<String> ids);
+
+    // schedule fit: [id, dayMask, startMinute, endMinute] of sections a student can enroll in directly
+    @Query("SELECT cs.id, cs.dayMask, cs.startMinute, cs.endMinute FROM CourseSection cs " +
+            "WHERE cs.status = 'PUBLISHED' " +
+            "AND cs.enrollmentLocked = false " +
+            "AND cs.enrolledCount < cs.capacity " +
+            "AND cs.waitlistCount = 0 " +
+            "AND cs.sessionCode = :sessionCode")
+    List<Object[]> findEnrollableMeetingTimes(@Param("sessionCode") String sessionCode);
+
+    // ===== Meeting pattern (dayMask / startMinute / endMinute) =====
+    // A day filter is expanded to every mask containing one of its days (at most 127 values),
+    // so it is an IN on the indexed day_mask column instead of a LIKE on days_of_week
+
+    @Query(LIST_ROW + "WHERE cs.sessionCode = :sessionCode " +
+            "AND cs.dayMask IN :masks " +
+            "ORDER BY cs.courseCode, cs.sectionCode")
+    List<CourseSectionList> findListRowsByDayMaskIn(
+            @Param("sessionCode") String sessionCode,
+            @Param("masks") Collection<Integer> masks
+    );
+
+    @Query(LIST_ROW + "WHERE cs.sessionCode = :sessionCode " +
+            "AND cs.dayMask IN :masks " +
+            "AND cs.startMinute < :endMinute " +
+            "AND cs.endMinute > :startMinute " +
+            "ORDER BY cs.courseCode, cs.sectionCode")
+    List<CourseSectionList> findListRowsByDayMaskInOverlapping(
+            @Param("sessionCode") String sessionCode,
+            @Param("masks") Collection<Integer> masks,
+            @Param("startMinute") int startMinute,
+            @Param("endMinute") int endMinute
+    );
+
+    /**
+     * Sections of a session meeting on any of the days (day bitmask, bit 0 = Monday)
+     */
+    default List<CourseSectionList> findMeetingOn(String sessionCode, int days) {
+        List<Integer> masks = MeetingTime.masksIntersecting(days);
+        return masks.isEmpty() ? List.of() : findListRowsByDayMaskIn(sessionCode, masks);
+    }
+
+    /**
+     * Sections of a session overlapping a meeting time (shared day and overlapping minutes)
+     */
+    default List<CourseSectionList> findOverlapping(String sessionCode, MeetingTime time) {
+        if (time == null) {
+            return List.of();
+        }
+        return findListRowsByDayMaskInOverlapping(
+                sessionCode,
+                MeetingTime.masksIntersecting(time.getDayMask()),
+                time.getStartMinute(),
+                time.getEndMinute()
+        );
+    }
+
+    // schedule backfill: distinct [daysOfWeek, startTime, endTime] of sections
+    // with a schedule but no derived meeting pattern yet
+    @Query("SELECT DISTINCT cs.daysOfWeek, cs.startTime, cs.endTime FROM CourseSection cs " +
+            "WHERE cs.dayMask IS NULL " +
+            "AND cs.daysOfWeek IS NOT NULL " +
+            "AND cs.startTime IS NOT NULL " +
+            "AND cs.endTime IS NOT NULL")
+    List<Object[]> findMissingMeetingPatterns();
+
+    // schedule backfill: set the pattern columns only, counters are never touched
+    @Modifying
+    @Query("UPDATE CourseSection cs SET cs.dayMask = :dayMask, " +
+            "cs.startMinute = :startMinute, cs.endMinute = :endMinute " +
+            "WHERE cs.dayMask IS NULL " +
+            "AND cs.daysOfWeek = :daysOfWeek " +
+            "AND cs.startTime = :startTime " +
+            "AND cs.endTime = :endTime")
+    int setMeetingPattern(@Param("daysOfWeek") String daysOfWeek,
+                          @Param("startTime") LocalTime startTime,
+                          @Param("endTime") LocalTime endTime,
+                          @Param("dayMask") Integer dayMask,
+                          @Param("startMinute") Integer startMinute,
+                          @Param("endMinute") Integer endMinute);
+
+    // seat stream: [id, capacity, enrolledCount, waitlistCount]
+    @Query("SELECT cs.id, cs.capacity, cs.enrolledCount, cs.waitlistCount FROM CourseSection cs " +
+            "WHERE cs.id IN :ids")
+    List<Object[]> findSeatRowsByIds(@Param("ids") Collection<String> ids);
+
+    // session cloning: sections of one chunk of courses
+    @Query("SELECT cs FROM CourseSection cs WHERE cs.course.id IN :courseIds")
+    List<CourseSection> findByCourseIdIn(@Param("courseIds") Collection<String> courseIds);
+
     @Query("SELECT cs FROM CourseSection cs WHERE cs.course.session.id = :sessionId")
     List<CourseSection> findBySessionId(@Param("sessionId") String sessionId);
 
@@ -73,6 +184,17 @@ public interface SectionRepo extends JpaRepository<CourseSection, String> {
             "AND s.enrolledCount < s.capacity")
     List<CourseSection> findEnrollableSectionsWithRelations();
 
+    // section catalog: reload changed sections (missing ids are no longer enrollable)
+    @Query("SELECT DISTINCT s FROM CourseSection s " +
+            "LEFT JOIN FETCH s.course c " +
+            "LEFT JOIN FETCH c.prerequisiteCourses " +
+            "LEFT JOIN FETCH s.instructor " +
+            "WHERE s.id IN :ids " +
+            "AND s.status = 'PUBLISHED' " +
+            "AND s.enrollmentLocked = false " +
+            "AND s.enrolledCount < s.capacity")
+    List<CourseSection> findEnrollableSectionsWithRelationsByIds(@Param("ids") Collection<String> ids);
+
 
 
     @Query("""
@@ -86,4 +208,97 @@ public interface SectionRepo extends JpaRepository<CourseSection, String> {
     @Query("SELECT COUNT(s) FROM CourseSection s WHERE s.course.id = :courseId")
     long countByCourseId(@Param("courseId") String courseId);
 
+    /**
+     * Atomically claim one seat
+     * Returns 1 if claimed, 0 if the section is full, not published or locked
+     */
+    @Modifying
+    @Query("UPDATE CourseSection s SET s.enrolledCount = s.enrolledCount + 1 " +
+            "WHERE s.id = :id " +
+            "AND s.enrolledCount < s.capacity " +
+            "AND s.status = 'PUBLISHED' " +
+            "AND s.enrollmentLocked = false")
+    int tryReserveSeat(@Param("id") String id);
+
+    /**
+     * Lock the section row (batch enrollment reads seats once, then writes)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CourseSection s WHERE s.id = :id")
+    Optional<CourseSection> findByIdForUpdate(@Param("id") String id);
+
+    /**
+     * Claim several seats at once, never past capacity
+     */
+    @Modifying
+    @Query("UPDATE CourseSection s SET s.enrolledCount = s.enrolledCount + :count " +
+            "WHERE s.id = :id AND s.enrolledCount + :count <= s.capacity")
+    int reserveSeats(@Param("id") String id, @Param("count") int count);
+
+    /**
+     * Atomically give back one seat (drop)
+     */
+    @Modifying
+    @Query("UPDATE CourseSection s SET s.enrolledCount = s.enrolledCount - 1 " +
+            "WHERE s.id = :id AND s.enrolledCount > 0")
+    int releaseSeat(@Param("id") String id);
+
+    // ===== Statistics (running aggregates, see SectionStatsReconciler) =====
+    // Derived columns are assigned first: MySQL evaluates SET left to right
+    // with already-updated values, so they must read the old aggregates.
+
+    /**
+     * Add one completion (and its grade) to the section statistics
+     */
+    @Modifying
+    @Query("UPDATE CourseSection s SET " +
+            "s.averageGrade = (COALESCE(s.gradeSum, 0) + :grade) / (COALESCE(s.gradedCount, 0) + 1), " +
+            "s.completionRate = (COALESCE(s.completedCount, 0) + 1) * 100.0 / NULLIF(s.enrolledCount, 0), " +
+            "s.gradeSum = COALESCE(s.gradeSum, 0) + :grade, " +
+            "s.gradedCount = COALESCE(s.gradedCount, 0) + 1, " +
+            "s.completedCount = COALESCE(s.completedCount, 0) + 1 " +
+            "WHERE s.id = :id")
+    int recordCompletion(@Param("id") String id, @Param("grade") double grade);
+
+    /**
+     * Recompute completionRate after the roster shrank (drop)
+     * Null until the section has a completion
+     */
+    @Modifying
+    @Query("UPDATE CourseSection s SET " +
+            "s.completionRate = NULLIF(COALESCE(s.completedCount, 0), 0) * 100.0 / NULLIF(s.enrolledCount, 0) " +
+            "WHERE s.id = :id")
+    int refreshCompletionRate(@Param("id") String id);
+
+    /**
+     * Recompute every section's statistics from its enrollments, set-wise
+     */
+    @Modifying
+    @Query("UPDATE CourseSection s SET " +
+            "s.averageGrade = (SELECT AVG(e.finalGrade) FROM Enrollment e " +
+            "WHERE e.section = s AND e.status = 'COMPLETED'), " +
+            "s.completionRate = NULLIF((SELECT COUNT(e) FROM Enrollment e " +
+            "WHERE e.section = s AND e.status = 'COMPLETED'), 0) * 100.0 / " +
+            "NULLIF((SELECT COUNT(e) FROM Enrollment e " +
+            "WHERE e.section = s AND e.status <> 'DROPPED'), 0), " +
+            "s.gradeSum = COALESCE((SELECT SUM(e.finalGrade) FROM Enrollment e " +
+            "WHERE e.section = s AND e.status = 'COMPLETED'), 0), " +
+            "s.gradedCount = (SELECT COUNT(e.finalGrade) FROM Enrollment e " +
+            "WHERE e.section = s AND e.status = 'COMPLETED'), " +
+            "s.completedCount = (SELECT COUNT(e) FROM Enrollment e " +
+            "WHERE e.section = s AND e.status = 'COMPLETED')")
+    int reconcileStats();
+
+    /**
+     * Waitlist length counters (kept on the section for list pages)
+     */
+    @Modifying
+    @Query("UPDATE CourseSection s SET s.waitlistCount = s.waitlistCount + 1 WHERE s.id = :id")
+    int incrementWaitlist(@Param("id") String id);
+
+    @Modifying
+    @Query("UPDATE CourseSection s SET s.waitlistCount = s.waitlistCount - 1 " +
+            "WHERE s.id = :id AND s.waitlistCount > 0")
+    int decrementWaitlist(@Param("id") String id);
+
 }
\ No newline at end of file
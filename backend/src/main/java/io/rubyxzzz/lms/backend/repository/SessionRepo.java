@@ -2,8 +2,12 @@ package io.rubyxzzz.lms.backend.repository;
 
 import io.rubyxzzz.lms.backend.model.Session;
 import io.rubyxzzz.lms.backend.model.SessionStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -27,5 +31,20 @@ public interface SessionRepo extends JpaRepository<Session, String> {
     @Query("SELECT s FROM Session s WHERE CURRENT_DATE BETWEEN s.startDate AND s.endDate")
     Optional<Session> findCurrentSession();
 
+    // Enrollment outbox: aggregated enrollment count delta
+    @Modifying
+    @Query("UPDATE Session s SET s.totalEnrollments = GREATEST(s.totalEnrollments + :delta, 0) " +
+            "WHERE s.sessionCode = :sessionCode")
+    int addEnrollments(@Param("sessionCode") String sessionCode, @Param("delta") int delta);
+
+    // Enrollment total reconcile: holds off outbox deltas for this session until commit
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Session s WHERE s.id = :id")
+    Optional<Session> findByIdForUpdate(@Param("id") String id);
+
+    @Modifying
+    @Query("UPDATE Session s SET s.totalEnrollments = :total WHERE s.id = :id")
+    int setTotalEnrollments(@Param("id") String id, @Param("total") int total);
+
 
 }
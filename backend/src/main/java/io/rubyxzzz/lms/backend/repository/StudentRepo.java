@@ -1,20 +1,66 @@
 package io.rubyxzzz.lms.backend.repository;
 
+import io.rubyxzzz.lms.backend.dto.listItem.StudentList;
 import io.rubyxzzz.lms.backend.model.Student;
 import io.rubyxzzz.lms.backend.model.StudentType;
 import io.rubyxzzz.lms.backend.model.UserStatus;
+import io.rubyxzzz.lms.backend.util.CursorCodec;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Repository
-public interface StudentRepo extends JpaRepository<Student, String> {
+public interface StudentRepo extends JpaRepository<Student, String>, KeysetRepo<Student> {
+
+    // ===== List projection (only the columns StudentList shows, no managed entities) =====
+
+    String LIST_ROW = "SELECT new io.rubyxzzz.lms.backend.dto.listItem.StudentList(" +
+            "e.id, e.studentNumber, e.firstName, e.lastName, e.email, e.status, e.studentType, " +
+            "e.placementLevel, e.enrolledCounts, e.totalHoursEnrolled, e.createdAt) " +
+            "FROM Student e ";
+
+    @Query(LIST_ROW + NEWEST_FIRST)
+    List<StudentList> findListRows(Pageable pageable);
+
+    @Query(LIST_ROW + AFTER_CURSOR + NEWEST_FIRST)
+    List<StudentList> findListRowsAfter(
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") String id,
+            Pageable pageable
+    );
+
+    default List<StudentList> findListPage(CursorCodec.Cursor after, int limit) {
+        return after == null
+                ? findListRows(CursorCodec.probe(limit))
+                : findListRowsAfter(after.createdAt(), after.id(), CursorCodec.probe(limit));
+    }
     Optional<Student> findByFirebaseUid(String firebaseUid);
 
+    /**
+     * Lock the student row (serializes one student's own enroll requests,
+     * so a double-submit cannot pass the "already enrolled" check twice)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Student s WHERE s.id = :id")
+    Optional<Student> findByIdForUpdate(@Param("id") String id);
+
+    /**
+     * Lock many student rows, in id order (batch enrollment; a fixed order
+     * keeps two overlapping batches from deadlocking)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Student s WHERE s.id IN :ids ORDER BY s.id")
+    List<Student> findAllByIdForUpdate(@Param("ids") Collection<String> ids);
+
     Optional<Student> findByEmail(String email);
 
     boolean existsByEmail(String email);
@@ -37,4 +83,36 @@ public interface StudentRepo extends JpaRepository<Student, String> {
 
     @Query("SELECT s.studentNumber FROM Student s WHERE s.studentNumber LIKE CONCAT('S', :year, '%') ORDER BY s.studentNumber DESC LIMIT 1")
     Optional<String> findLatestStudentNumberByYear(@Param("year") int year);
-}
\ No newline at end of file
+
+    // Enrollment outbox: aggregated counter deltas for one student
+    @Modifying
+    @Query("UPDATE Student s SET " +
+            "s.enrolledCounts = GREATEST(COALESCE(s.enrolledCounts, 0) + :counts, 0), " +
+            "s.totalHoursEnrolled = GREATEST(COALESCE(s.totalHoursEnrolled, 0) + :hours, 0), " +
+            "s.totalCoursesCompleted = COALESCE(s.totalCoursesCompleted, 0) + :completed " +
+            "WHERE s.id = :id")
+    int applyEnrollmentDelta(
+            @Param("id") String id,
+            @Param("counts") int counts,
+            @Param("hours") int hours,
+            @Param("completed") int completed
+    );
+
+    // Section completion: one set-based bump for every graded student
+    @Modifying
+    @Query("UPDATE Student s SET " +
+            "s.totalCoursesCompleted = COALESCE(s.totalCoursesCompleted, 0) + 1 " +
+            "WHERE s.id IN :ids")
+    int incrementCoursesCompleted(@Param("ids") Collection<String> ids);
+
+    // Auto-activation write-behind (UserActivationQueue)
+    @Modifying
+    @Query("UPDATE Student s SET s.emailVerified = true, s.updatedAt = :now " +
+            "WHERE s.id IN :ids AND s.emailVerified = false")
+    int markEmailVerified(@Param("ids") Collection<String> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Student s SET s.status = io.rubyxzzz.lms.backend.model.UserStatus.ACTIVE, s.updatedAt = :now " +
+            "WHERE s.id IN :ids AND s.status = io.rubyxzzz.lms.backend.model.UserStatus.PENDING")
+    int activatePending(@Param("ids") Collection<String> ids, @Param("now") LocalDateTime now);
+}
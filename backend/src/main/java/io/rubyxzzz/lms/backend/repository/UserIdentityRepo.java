@@ -0,0 +1,25 @@
+package io.rubyxzzz.lms.backend.repository;
+
+import io.rubyxzzz.lms.backend.model.UserIdentity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserIdentityRepo extends JpaRepository<UserIdentity, String> {
+
+    Optional<UserIdentity> findByFirebaseUid(String firebaseUid);
+
+    Optional<UserIdentity> findByEntityId(String entityId);
+
+    boolean existsByEmail(String email);
+
+    void deleteByEntityId(String entityId);
+
+    // Used by the startup backfill
+    @Query("SELECT i.entityId FROM UserIdentity i")
+    List<String> findAllEntityIds();
+}
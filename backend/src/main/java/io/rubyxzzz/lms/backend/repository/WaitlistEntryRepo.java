@@ -0,0 +1,63 @@
+package io.rubyxzzz.lms.backend.repository;
+
+import io.rubyxzzz.lms.backend.model.WaitlistEntry;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Waitlist Entry Repository
+ */
+@Repository
+public interface WaitlistEntryRepo extends JpaRepository<WaitlistEntry, String> {
+
+    // queue order of one section (for the in-memory board)
+    @Query("SELECT w.student.id FROM WaitlistEntry w " +
+            "WHERE w.section.id = :sectionId AND w.status = 'WAITING' " +
+            "ORDER BY w.priority DESC, w.joinedTime ASC, w.id ASC")
+    List<String> findWaitingStudentIds(@Param("sectionId") String sectionId);
+
+    // promotion: head of the queue, rows already claimed by another drop are skipped
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT w FROM WaitlistEntry w " +
+            "WHERE w.section.id = :sectionId AND w.status = 'WAITING' " +
+            "ORDER BY w.priority DESC, w.joinedTime ASC, w.id ASC")
+    List<WaitlistEntry> findHeadForPromotion(@Param("sectionId") String sectionId, Pageable pageable);
+
+    // leave: waits for a promotion holding the row, then sees its final status
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.id = :id")
+    Optional<WaitlistEntry> findByIdForUpdate(@Param("id") String id);
+
+    @Query("SELECT CASE WHEN COUNT(w) > 0 THEN true ELSE false END FROM WaitlistEntry w " +
+            "WHERE w.student.id = :studentId AND w.section.id = :sectionId AND w.status = 'WAITING'")
+    boolean existsWaiting(@Param("studentId") String studentId, @Param("sectionId") String sectionId);
+
+    // admin view: full history of a section's waitlist
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.section.id = :sectionId " +
+            "ORDER BY w.status ASC, w.priority DESC, w.joinedTime ASC")
+    List<WaitlistEntry> findBySectionId(@Param("sectionId") String sectionId);
+
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.student.id = :studentId AND w.status = 'WAITING'")
+    List<WaitlistEntry> findWaitingByStudentId(@Param("studentId") String studentId);
+
+    // section cancelled: close every open entry at once
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = 'EXPIRED', w.resolvedTime = :now, w.note = :note " +
+            "WHERE w.section.id = :sectionId AND w.status = 'WAITING'")
+    int expireWaiting(@Param("sectionId") String sectionId,
+                      @Param("now") LocalDateTime now,
+                      @Param("note") String note);
+}
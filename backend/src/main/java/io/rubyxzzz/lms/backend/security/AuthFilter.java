@@ -1,31 +1,20 @@
 package io.rubyxzzz.lms.backend.security;
 
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.auth.FirebaseAuthException;
-import com.google.firebase.auth.FirebaseToken;
-import io.rubyxzzz.lms.backend.model.*;
-import io.rubyxzzz.lms.backend.repository.AdminRepo;
-import io.rubyxzzz.lms.backend.repository.InstructorRepo;
-import io.rubyxzzz.lms.backend.repository.StudentRepo;
-import io.rubyxzzz.lms.backend.service.FirebaseAuthService;
+import io.rubyxzzz.lms.backend.exception.AuthenticationException;
+import io.rubyxzzz.lms.backend.model.UserStatus;
+import io.rubyxzzz.lms.backend.service.UserActivationQueue;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import java.util.ArrayList;
-import java.util.Set;
-
 import java.io.IOException;
-import java.util.List;
 
 /**
  * Firebase Authentication Filter
@@ -33,8 +22,8 @@ import java.util.List;
  *
  * Flow:
  * 1. Extract Firebase token from Authorization header
- * 2. Verify token with Firebase
- * 3. Find user in local database
+ * 2. Verify token with Firebase (cached until the token expires)
+ * 3. Find user snapshot (UserDirectoryCache, database on miss)
  * 4. Set authentication in SecurityContext
  */
 @Slf4j
@@ -42,11 +31,9 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AuthFilter extends OncePerRequestFilter {
 
-    private final FirebaseAuth firebaseAuth;
-    private final FirebaseAuthService firebaseAuthService;
-    private final StudentRepo studentRepo;
-    private final InstructorRepo instructorRepo;
-    private final AdminRepo adminRepo;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final UserDirectoryCache userDirectoryCache;
+    private final UserActivationQueue userActivationQueue;
 
     @Override
     protected void doFilterInternal(
@@ -60,63 +47,32 @@ public class AuthFilter extends OncePerRequestFilter {
             String firebaseToken = extractToken(request);
 
             if (firebaseToken != null) {
-                // Verify Firebase token
-                FirebaseToken decodedToken = firebaseAuth.verifyIdToken(firebaseToken);
+                // Verify Firebase token (reuses earlier verification of the same token)
+                VerifiedToken decodedToken = verifiedTokenCache.verify(firebaseToken);
                 String firebaseUid = decodedToken.getUid();
 
                 if (firebaseUid != null) {
-                    // Find user in local database
-                    User user = firebaseAuthService.findUserByFirebaseUid(firebaseUid);
+                    // Resolve user snapshot (database only on cache miss)
+                    UserPrincipal principal = userDirectoryCache.get(firebaseUid);
 
                     // check user status
-                    if (user != null) {
-                        if (decodedToken.isEmailVerified() && !user.getEmailVerified()) {
-                            user.setEmailVerified(true);
-                            // uto-activate PENDING users
-                            if (user.getStatus() == UserStatus.PENDING) {
-                                user.setStatus(UserStatus.ACTIVE);
-                            }
-                            // save changes
-                            if (user instanceof Student) {
-                                studentRepo.save((Student) user);
-                            } else if (user instanceof Instructor) {
-                                instructorRepo.save((Instructor) user);
-                            } else if (user instanceof Admin) {
-                                adminRepo.save((Admin) user);
-                            }
-
-                            log.info("User auto-activated: {}", user.getEmail());
+                    if (principal != null) {
+                        if (decodedToken.isEmailVerified() && !principal.isEmailVerified()) {
+                            principal = activate(principal);
                         }
 
                         // only allow active users to login
-                        if (user.getStatus() != UserStatus.ACTIVE){
+                        if (!principal.isActive()) {
                             log.warn("User login blocked - Status: {}, Email: {}",
-                                    user.getStatus(), user.getEmail());
+                                    principal.getStatus(), principal.getEmail());
                         } else {
-                            // create authorities list: role + permissions
-                            List<SimpleGrantedAuthority> authorities = new ArrayList<>();
-
-                            // add role (for role-based checks)
-                            authorities.add(new SimpleGrantedAuthority("ROLE_" + user.getUserRole().name()));
-
-                            // add all permissions for this user ( including superadmin check)
-                            Set<Permission> permissions = RolePermissionMapping.getPermissions(user);
-                            for (Permission permission : permissions) {
-                                authorities.add(new SimpleGrantedAuthority(permission.name()));
-                            }
-
-                            // debug
-                            //log.info(" == Authorities loaded: {}", authorities);
+                            // shared, precomputed authorities for (role, superAdmin)
+                            RoleGrant grant = RolePermissionMapping.getGrant(principal);
 
                             // Create authentication object
-                            UsernamePasswordAuthenticationToken authentication =
-                                    new UsernamePasswordAuthenticationToken(
-                                            user,
-                                            null,
-                                            authorities
-                                    );
-
-                            authentication.setDetails(
+                            PrincipalAuthentication authentication = new PrincipalAuthentication(
+                                    principal,
+                                    grant,
                                     new WebAuthenticationDetailsSource().buildDetails(request)
                             );
 
@@ -124,9 +80,9 @@ public class AuthFilter extends OncePerRequestFilter {
                             SecurityContextHolder.getContext().setAuthentication(authentication);
 
                             log.debug("User authenticated: {} ({}) with {} permissions",
-                                    user.getEmail(),
-                                    user.getUserRole(),
-                                    permissions.size());
+                                    principal.getEmail(),
+                                    principal.getUserRole(),
+                                    grant.getPermissions().size());
                         }
 
                     } else {
@@ -135,7 +91,7 @@ public class AuthFilter extends OncePerRequestFilter {
                 }
             }
 
-        } catch (FirebaseAuthException e) {
+        } catch (AuthenticationException e) {
             log.error("Firebase token verification failed: {}", e.getMessage());
         } catch (Exception e) {
             log.error("Error in Firebase auth filter: {}", e.getMessage());
@@ -145,6 +101,24 @@ public class AuthFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Mark email verified and auto-activate PENDING users
+     * Granted optimistically from the cached snapshot;
+     * the database UPDATE is written behind by UserActivationQueue
+     */
+    private UserPrincipal activate(UserPrincipal principal) {
+        UserPrincipal activated = principal.toBuilder()
+                .emailVerified(true)
+                .status(principal.getStatus() == UserStatus.PENDING ? UserStatus.ACTIVE : principal.getStatus())
+                .build();
+
+        userDirectoryCache.put(activated);
+        userActivationQueue.enqueue(activated);
+
+        log.info("User auto-activated: {}", activated.getEmail());
+        return activated;
+    }
+
     /**
      * Extract Firebase token from Authorization header
      * Format: "Bearer <token>"
@@ -0,0 +1,38 @@
+package io.rubyxzzz.lms.backend.security;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * File Key Source
+ * Local stub keystore: same JSON format as Google's endpoint
+ *
+ * Re-read on every refresh, so keys can be rotated by replacing the file.
+ * Used for offline development and load testing.
+ */
+public class FileKeySource implements SigningKeySource {
+
+    private final Resource resource;
+    private final Duration ttl;
+
+    public FileKeySource(Resource resource, Duration ttl) {
+        this.resource = resource;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public SigningKeys fetch() throws IOException {
+        if (!resource.exists()) {
+            throw new IOException("Signing key file not found: " + resource.getDescription());
+        }
+        try (InputStream in = resource.getInputStream()) {
+            String json = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            return new SigningKeys(PemKeys.parseKeySet(json), Instant.now().plus(ttl));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package io.rubyxzzz.lms.backend.security;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseAuthException;
+import io.rubyxzzz.lms.backend.exception.AuthenticationException;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Firebase Token Verifier
+ * Delegates to the Firebase Admin SDK (keys fetched and cached by the SDK)
+ */
+@RequiredArgsConstructor
+public class FirebaseTokenVerifier implements TokenVerifier {
+
+    private final FirebaseAuth firebaseAuth;
+
+    @Override
+    public VerifiedToken verify(String idToken) {
+        try {
+            return VerifiedToken.from(firebaseAuth.verifyIdToken(idToken));
+        } catch (FirebaseAuthException e) {
+            throw new AuthenticationException("Invalid Firebase token: " + e.getMessage(), e);
+        }
+    }
+}
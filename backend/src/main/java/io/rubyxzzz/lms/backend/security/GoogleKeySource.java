@@ -0,0 +1,76 @@
+package io.rubyxzzz.lms.backend.security;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Google Key Source
+ * Fetches the securetoken x509 certificates over HTTP
+ *
+ * Validity comes from the Cache-Control max-age header.
+ * The URL is configurable so a local stub key server can be used instead.
+ */
+@Slf4j
+public class GoogleKeySource implements SigningKeySource {
+
+    public static final String DEFAULT_URL =
+            "https://www.googleapis.com/robot/v1/metadata/x509/securetoken@system.gserviceaccount.com";
+
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+    private static final Duration DEFAULT_MAX_AGE = Duration.ofHours(1);
+
+    private final URI uri;
+    private final HttpClient httpClient;
+
+    public GoogleKeySource(String url) {
+        this.uri = URI.create(url);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    @Override
+    public SigningKeys fetch() throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while fetching signing keys", e);
+        }
+
+        if (response.statusCode() != 200) {
+            throw new IOException("Signing key fetch failed: HTTP " + response.statusCode());
+        }
+
+        Duration maxAge = response.headers()
+                .firstValue("Cache-Control")
+                .map(GoogleKeySource::parseMaxAge)
+                .orElse(DEFAULT_MAX_AGE);
+
+        SigningKeys keys = new SigningKeys(PemKeys.parseKeySet(response.body()), Instant.now().plus(maxAge));
+        log.debug("Fetched {} signing keys, valid for {}", keys.keys().size(), maxAge);
+        return keys;
+    }
+
+    private static Duration parseMaxAge(String cacheControl) {
+        Matcher matcher = MAX_AGE.matcher(cacheControl);
+        return matcher.find()
+                ? Duration.ofSeconds(Long.parseLong(matcher.group(1)))
+                : DEFAULT_MAX_AGE;
+    }
+}
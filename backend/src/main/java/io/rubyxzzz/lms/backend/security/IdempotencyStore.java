@@ -0,0 +1,126 @@
+package io.rubyxzzz.lms.backend.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Idempotency Store
+ * Bounded LRU of recent Idempotency-Key requests and their responses
+ *
+ * - First request with a key claims it and runs normally
+ * - Duplicates that arrive while it runs wait on the same future
+ * - Later duplicates get the stored response until the TTL passes
+ * - Only successful (2xx) responses are kept; anything else releases
+ *   the key so the client can retry for real
+ */
+@Component
+public class IdempotencyStore {
+
+    @Value("${idempotency.ttl:PT1H}")
+    private Duration ttl;
+
+    @Value("${idempotency.max-entries:10000}")
+    private int maxEntries;
+
+    // access-ordered, guarded by "this"
+    private final Map<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+
+    /**
+     * Response captured from the first request
+     */
+    public record StoredResponse(int status, String contentType, byte[] body) {
+    }
+
+    /**
+     * One key: request fingerprint + (eventual) response
+     */
+    public static final class Entry {
+        private final String fingerprint;
+        private final CompletableFuture<StoredResponse> response = new CompletableFuture<>();
+        private volatile long expiresAtNanos = Long.MAX_VALUE;
+
+        private Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public CompletableFuture<StoredResponse> getResponse() {
+            return response;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+
+    /**
+     * Result of claim(): either we own the key, or someone else already does
+     */
+    public record Claim(Entry entry, boolean owner) {
+    }
+
+    /**
+     * Claim a key, or return the existing entry for it
+     */
+    public synchronized Claim claim(String key, String fingerprint) {
+        long now = System.nanoTime();
+        Entry existing = entries.get(key);
+        if (existing != null && !existing.isExpired(now)) {
+            return new Claim(existing, false);
+        }
+
+        makeRoom(now);
+        Entry entry = new Entry(fingerprint);
+        entries.put(key, entry);
+        return new Claim(entry, true);
+    }
+
+    /**
+     * Keep a successful response for replays
+     */
+    public void complete(String key, Entry entry, StoredResponse response) {
+        entry.expiresAtNanos = System.nanoTime() + ttl.toNanos();
+        entry.response.complete(response);
+    }
+
+    /**
+     * Forget the key (request failed or was not 2xx); waiters retry on their own
+     */
+    public void release(String key, Entry entry) {
+        synchronized (this) {
+            entries.remove(key, entry);
+        }
+        entry.response.complete(null);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Expired entries first, then least recently used completed ones
+     * In-flight entries are never evicted (their waiters hold the future)
+     */
+    private void makeRoom(long now) {
+        if (entries.size() < maxEntries) {
+            return;
+        }
+        entries.values().removeIf(entry -> entry.isExpired(now));
+
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() >= maxEntries && iterator.hasNext()) {
+            if (iterator.next().response.isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package io.rubyxzzz.lms.backend.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.rubyxzzz.lms.backend.exception.AuthenticationException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Local Token Verifier
+ * Verifies Firebase ID tokens fully in-process
+ *
+ * Same checks as the Admin SDK:
+ * - header: alg = RS256, kid known in the cached key set
+ * - signature: SHA256withRSA
+ * - claims: aud = project id, iss = securetoken issuer,
+ *           exp in the future, iat / auth_time not in the future, sub non-empty
+ */
+public class LocalTokenVerifier implements TokenVerifier {
+
+    private static final String ISSUER_PREFIX = "https://securetoken.google.com/";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final SigningKeyCache keyCache;
+    private final String projectId;
+    private final String issuer;
+    private final Duration clockSkew;
+
+    public LocalTokenVerifier(SigningKeyCache keyCache, String projectId, Duration clockSkew) {
+        this.keyCache = keyCache;
+        this.projectId = projectId;
+        this.issuer = ISSUER_PREFIX + projectId;
+        this.clockSkew = clockSkew;
+    }
+
+    @Override
+    public VerifiedToken verify(String idToken) {
+        String[] parts = idToken.split("\\.");
+        if (parts.length != 3) {
+            throw new AuthenticationException("Invalid Firebase token: malformed JWT");
+        }
+
+        JsonNode header = decode(parts[0]);
+        JsonNode claims = decode(parts[1]);
+
+        // Header
+        if (!"RS256".equals(header.path("alg").asText())) {
+            throw new AuthenticationException("Invalid Firebase token: unexpected algorithm");
+        }
+        String kid = header.path("kid").asText(null);
+        if (kid == null) {
+            throw new AuthenticationException("Invalid Firebase token: missing kid");
+        }
+        if (keyCache.isStale()) {
+            throw new AuthenticationException("Invalid Firebase token: signing keys unavailable");
+        }
+        PublicKey key = keyCache.get(kid);
+        if (key == null) {
+            throw new AuthenticationException("Invalid Firebase token: unknown kid " + kid);
+        }
+
+        // Signature
+        if (!signatureValid(key, parts)) {
+            throw new AuthenticationException("Invalid Firebase token: bad signature");
+        }
+
+        // Claims
+        Instant now = Instant.now();
+        if (!projectId.equals(claims.path("aud").asText())) {
+            throw new AuthenticationException("Invalid Firebase token: wrong audience");
+        }
+        if (!issuer.equals(claims.path("iss").asText())) {
+            throw new AuthenticationException("Invalid Firebase token: wrong issuer");
+        }
+
+        Instant expiresAt = epoch(claims, "exp");
+        if (expiresAt == null || !now.minus(clockSkew).isBefore(expiresAt)) {
+            throw new AuthenticationException("Invalid Firebase token: expired");
+        }
+        Instant issuedAt = epoch(claims, "iat");
+        if (issuedAt == null || issuedAt.isAfter(now.plus(clockSkew))) {
+            throw new AuthenticationException("Invalid Firebase token: issued in the future");
+        }
+        Instant authTime = epoch(claims, "auth_time");
+        if (authTime != null && authTime.isAfter(now.plus(clockSkew))) {
+            throw new AuthenticationException("Invalid Firebase token: auth_time in the future");
+        }
+
+        String subject = claims.path("sub").asText("");
+        if (subject.isEmpty() || subject.length() > 128) {
+            throw new AuthenticationException("Invalid Firebase token: invalid subject");
+        }
+
+        return VerifiedToken.builder()
+                .uid(subject)
+                .email(claims.path("email").asText(null))
+                .emailVerified(claims.path("email_verified").asBoolean(false))
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    private static boolean signatureValid(PublicKey key, String[] parts) {
+        try {
+            Signature signature = Signature.getInstance("SHA256withRSA");
+            signature.initVerify(key);
+            signature.update((parts[0] + "." + parts[1]).getBytes(StandardCharsets.US_ASCII));
+            return signature.verify(Base64.getUrlDecoder().decode(parts[2]));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static JsonNode decode(String part) {
+        try {
+            return MAPPER.readTree(Base64.getUrlDecoder().decode(part));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new AuthenticationException("Invalid Firebase token: malformed JWT");
+        }
+    }
+
+    private static Instant epoch(JsonNode claims, String name) {
+        JsonNode value = claims.get(name);
+        return value != null && value.canConvertToLong()
+                ? Instant.ofEpochSecond(value.asLong())
+                : null;
+    }
+}
@@ -0,0 +1,62 @@
+package io.rubyxzzz.lms.backend.security;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.cert.CertificateFactory;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * PEM key parsing shared by the key sources
+ *
+ * Accepts the Google format: {"kid": "-----BEGIN CERTIFICATE-----..."}
+ * Values may also be plain "-----BEGIN PUBLIC KEY-----" RSA keys,
+ * which is easier to produce for a local stub.
+ */
+final class PemKeys {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private PemKeys() {
+    }
+
+    static Map<String, PublicKey> parseKeySet(String json) throws IOException {
+        Map<String, String> pems = MAPPER.readValue(json, new TypeReference<Map<String, String>>() {});
+
+        Map<String, PublicKey> keys = new HashMap<>();
+        for (Map.Entry<String, String> entry : pems.entrySet()) {
+            keys.put(entry.getKey(), parse(entry.getValue()));
+        }
+        return keys;
+    }
+
+    static PublicKey parse(String pem) throws IOException {
+        try {
+            if (pem.contains("BEGIN CERTIFICATE")) {
+                CertificateFactory factory = CertificateFactory.getInstance("X.509");
+                return factory.generateCertificate(
+                        new ByteArrayInputStream(pem.getBytes(StandardCharsets.US_ASCII))
+                ).getPublicKey();
+            }
+
+            String body = pem
+                    .replace("-----BEGIN PUBLIC KEY-----", "")
+                    .replace("-----END PUBLIC KEY-----", "")
+                    .replaceAll("\\s", "");
+            byte[] der = Base64.getDecoder().decode(body);
+            return KeyFactory.getInstance("RSA").generatePublic(new X509EncodedKeySpec(der));
+
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IOException("Invalid signing key: " + e.getMessage(), e);
+        }
+    }
+}
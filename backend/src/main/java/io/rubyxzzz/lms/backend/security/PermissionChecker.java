@@ -0,0 +1,60 @@
+package io.rubyxzzz.lms.backend.security;
+
+import io.rubyxzzz.lms.backend.model.Permission;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Permission Checker
+ * Used from @PreAuthorize as @perm.has('X') / @perm.hasAny('X', 'Y')
+ *
+ * Resolves the permission name once (static lookup table) and tests it
+ * against the RoleGrant EnumSet, instead of scanning the authority list
+ * with string comparisons like hasAuthority() does.
+ *
+ * Unknown permission names never match (same as hasAuthority).
+ */
+@Component("perm")
+public class PermissionChecker {
+
+    private static final Map<String, Permission> BY_NAME = new HashMap<>();
+
+    static {
+        for (Permission permission : Permission.values()) {
+            BY_NAME.put(permission.name(), permission);
+        }
+    }
+
+    public boolean has(String permission) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return false;
+        }
+
+        if (authentication instanceof PrincipalAuthentication) {
+            return ((PrincipalAuthentication) authentication).getGrant().has(BY_NAME.get(permission));
+        }
+
+        // fallback for other Authentication types (e.g. tests)
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (permission.equals(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean hasAny(String... permissions) {
+        for (String permission : permissions) {
+            if (has(permission)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
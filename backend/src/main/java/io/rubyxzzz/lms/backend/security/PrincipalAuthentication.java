@@ -0,0 +1,53 @@
+package io.rubyxzzz.lms.backend.security;
+
+import lombok.Getter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+/**
+ * Principal Authentication
+ * Authentication backed by a cached UserPrincipal and a shared RoleGrant
+ *
+ * Unlike UsernamePasswordAuthenticationToken, authorities are not copied
+ * per request - the precomputed list from RoleGrant is returned as is.
+ */
+@Getter
+public class PrincipalAuthentication implements Authentication {
+
+    private final UserPrincipal principal;
+    private final RoleGrant grant;
+    private final Object details;
+
+    public PrincipalAuthentication(UserPrincipal principal, RoleGrant grant, Object details) {
+        this.principal = principal;
+        this.grant = grant;
+        this.details = details;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return grant.getAuthorities();
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return true;
+    }
+
+    @Override
+    public void setAuthenticated(boolean isAuthenticated) {
+        throw new IllegalArgumentException("PrincipalAuthentication is immutable");
+    }
+
+    @Override
+    public String getName() {
+        return principal.getFirebaseUid();
+    }
+}
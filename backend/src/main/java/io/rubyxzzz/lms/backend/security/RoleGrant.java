@@ -0,0 +1,54 @@
+package io.rubyxzzz.lms.backend.security;
+
+import io.rubyxzzz.lms.backend.model.Permission;
+import io.rubyxzzz.lms.backend.model.UserRole;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Role Grant
+ * Precomputed, immutable permissions for one (role, superAdmin) combination
+ *
+ * - permissions: EnumSet (bit-vector membership test)
+ * - authorities: shared GrantedAuthority list (ROLE_x + one per permission)
+ *
+ * Built once by RolePermissionMapping and shared by every request.
+ */
+@Getter
+public final class RoleGrant {
+
+    private final UserRole role;
+    private final boolean superAdmin;
+    private final Set<Permission> permissions;
+    private final List<GrantedAuthority> authorities;
+
+    // backing EnumSet kept for the bit test, never exposed mutable
+    private final EnumSet<Permission> bits;
+
+    RoleGrant(UserRole role, boolean superAdmin, Set<Permission> permissions) {
+        this.role = role;
+        this.superAdmin = superAdmin;
+        this.bits = permissions.isEmpty()
+                ? EnumSet.noneOf(Permission.class)
+                : EnumSet.copyOf(permissions);
+        this.permissions = Collections.unmodifiableSet(bits);
+
+        List<GrantedAuthority> list = new ArrayList<>(bits.size() + 1);
+        list.add(new SimpleGrantedAuthority("ROLE_" + role.name()));
+        for (Permission permission : bits) {
+            list.add(new SimpleGrantedAuthority(permission.name()));
+        }
+        this.authorities = Collections.unmodifiableList(list);
+    }
+
+    public boolean has(Permission permission) {
+        return permission != null && bits.contains(permission);
+    }
+}
@@ -6,7 +6,8 @@ import io.rubyxzzz.lms.backend.model.User;
 import io.rubyxzzz.lms.backend.model.UserRole;
 
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -170,24 +171,54 @@ public class RolePermissionMapping {
 
             // Session Management (academic calendar control)
             Permission.SESSIONS_CREATE,         // Create new academic sessions
-            Permission.SESSIONS_EDIT            // Edit session dates/status
+            Permission.SESSIONS_EDIT,           // Edit session dates/status
+            Permission.SESSIONS_CLONE           // Clone a session's catalog into another session
     );
 
-    //Get all permissions for a user (including super admin permissions if applicable)
-    public static Set<Permission> getPermissions(User user) {
-        Set<Permission> permissions = new HashSet<>(getBasePermissions(user.getUserRole()));
+    /**
+     * Precomputed grants, built once at class load
+     * One per role, plus the super admin variant of ADMIN
+     */
+    private static final Map<UserRole, RoleGrant> GRANTS = new EnumMap<>(UserRole.class);
+    private static final RoleGrant SUPER_ADMIN_GRANT;
+
+    static {
+        for (UserRole role : UserRole.values()) {
+            GRANTS.put(role, new RoleGrant(role, false, getBasePermissions(role)));
+        }
+
+        Set<Permission> superAdmin = EnumSet.noneOf(Permission.class);
+        superAdmin.addAll(getBasePermissions(UserRole.ADMIN));
+        superAdmin.addAll(SUPER_ADMIN_ONLY_PERMISSIONS);
+        SUPER_ADMIN_GRANT = new RoleGrant(UserRole.ADMIN, true, superAdmin);
+    }
 
-        // Add super admin permissions if applicable
-        if (isSuperAdmin(user)) {
-            permissions.addAll(SUPER_ADMIN_ONLY_PERMISSIONS);
+    //Get the shared grant for a role (superAdmin only applies to ADMIN)
+    public static RoleGrant getGrant(UserRole role, boolean superAdmin) {
+        if (superAdmin && role == UserRole.ADMIN) {
+            return SUPER_ADMIN_GRANT;
         }
+        return GRANTS.get(role);
+    }
+
+    public static RoleGrant getGrant(UserPrincipal principal) {
+        return getGrant(principal.getUserRole(), principal.isSuperAdmin());
+    }
+
+    //Get all permissions for a user (including super admin permissions if applicable)
+    //Returned set is immutable and shared
+    public static Set<Permission> getPermissions(User user) {
+        return getGrant(user.getUserRole(), isSuperAdmin(user)).getPermissions();
+    }
 
-        return permissions;
+    //Get all permissions for a cached principal snapshot
+    public static Set<Permission> getPermissions(UserPrincipal principal) {
+        return getGrant(principal).getPermissions();
     }
 
     //Check if a user has a specific permission
     public static boolean hasPermission(User user, Permission permission) {
-        return getPermissions(user).contains(permission);
+        return getGrant(user.getUserRole(), isSuperAdmin(user)).has(permission);
     }
 
     // Check if a user is super admin
@@ -203,4 +234,4 @@ public class RolePermissionMapping {
     private static Set<Permission> getBasePermissions(UserRole role) {
         return ROLE_PERMISSIONS.getOrDefault(role, Collections.emptySet());
     }
-}
\ No newline at end of file
+}
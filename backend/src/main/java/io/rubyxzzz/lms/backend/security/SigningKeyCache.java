@@ -0,0 +1,140 @@
+package io.rubyxzzz.lms.backend.security;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.security.PublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Signing Key Cache
+ * Keeps the current key set in memory and refreshes it in the background
+ *
+ * - Request threads only read a volatile reference, never wait on the network
+ * - Refresh is scheduled refreshAhead before the key set expires
+ * - On failure the old keys stay in use and the fetch is retried after retryDelay,
+ *   but never longer than maxStaleness past their expiry: after that no key is
+ *   returned and every token is rejected until a refresh succeeds (fail closed)
+ * - An unknown kid (key rotation) triggers an early refresh, rate limited by retryDelay
+ */
+@Slf4j
+public class SigningKeyCache implements AutoCloseable {
+
+    private final SigningKeySource source;
+    private final Duration refreshAhead;
+    private final Duration retryDelay;
+    private final Duration maxStaleness;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "signing-key-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+    private volatile SigningKeySource.SigningKeys current = SigningKeySource.SigningKeys.EMPTY;
+    private volatile Instant lastAttempt = Instant.EPOCH;
+
+    // only one pending scheduled refresh at a time
+    private ScheduledFuture<?> scheduled;
+
+    public SigningKeyCache(SigningKeySource source, Duration refreshAhead, Duration retryDelay, Duration maxStaleness) {
+        this.source = source;
+        this.refreshAhead = refreshAhead;
+        this.retryDelay = retryDelay;
+        this.maxStaleness = maxStaleness;
+    }
+
+    /**
+     * Initial (blocking) load, then background refresh
+     */
+    public void start() {
+        refresh();
+    }
+
+    /**
+     * Key for a kid, or null if unknown or the key set is too stale to trust
+     */
+    public PublicKey get(String kid) {
+        if (isStale()) {
+            requestEarlyRefresh();
+            return null;
+        }
+        PublicKey key = current.keys().get(kid);
+        if (key == null) {
+            requestEarlyRefresh();
+        }
+        return key;
+    }
+
+    /**
+     * True once the key set is more than maxStaleness past its expiry
+     * (or was never loaded)
+     */
+    public boolean isStale() {
+        return Instant.now().isAfter(current.expiresAt().plus(maxStaleness));
+    }
+
+    public int size() {
+        return current.keys().size();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void requestEarlyRefresh() {
+        if (Instant.now().isAfter(lastAttempt.plus(retryDelay)) && !refreshing.get()) {
+            scheduler.execute(this::refresh);
+        }
+    }
+
+    private void refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        lastAttempt = Instant.now();
+        Duration next;
+        try {
+            SigningKeySource.SigningKeys keys = source.fetch();
+            current = keys;
+
+            Duration untilExpiry = Duration.between(Instant.now(), keys.expiresAt());
+            next = untilExpiry.minus(refreshAhead);
+            if (next.compareTo(retryDelay) < 0) {
+                next = retryDelay;
+            }
+            log.info("Signing keys refreshed: {} keys, next refresh in {}", keys.keys().size(), next);
+
+        } catch (Exception e) {
+            next = retryDelay;
+            if (isStale()) {
+                log.error("Signing key refresh failed and cached keys expired at {}, rejecting all tokens: {}",
+                        current.expiresAt(), e.getMessage());
+            } else {
+                log.warn("Signing key refresh failed, keeping {} cached keys: {}", size(), e.getMessage());
+            }
+        } finally {
+            refreshing.set(false);
+        }
+
+        reschedule(next);
+    }
+
+    private synchronized void reschedule(Duration delay) {
+        if (scheduler.isShutdown()) {
+            return;
+        }
+        if (scheduled != null) {
+            scheduled.cancel(false);
+        }
+        scheduled = scheduler.schedule(this::refresh, delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,30 @@
+package io.rubyxzzz.lms.backend.security;
+
+import java.io.IOException;
+import java.security.PublicKey;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Signing Key Source
+ * Where the token signing keys (kid -> public key) come from
+ *
+ * - GoogleKeySource: Google's x509 endpoint (or a local stub server)
+ * - FileKeySource:   a local key file, for offline / load testing
+ */
+public interface SigningKeySource {
+
+    SigningKeys fetch() throws IOException;
+
+    /**
+     * Key set plus the time the source says it stays valid
+     */
+    record SigningKeys(Map<String, PublicKey> keys, Instant expiresAt) {
+
+        public static final SigningKeys EMPTY = new SigningKeys(Map.of(), Instant.EPOCH);
+
+        public SigningKeys {
+            keys = Map.copyOf(keys);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package io.rubyxzzz.lms.backend.security;
+
+import io.rubyxzzz.lms.backend.exception.AuthenticationException;
+
+/**
+ * Token Verifier
+ * Verifies a Firebase ID token and returns its claims
+ *
+ * Implementations (selected by auth.token.verifier):
+ * - firebase: Firebase Admin SDK (default)
+ * - local:    signature + claims checked in-process against a cached key set
+ */
+public interface TokenVerifier {
+
+    /**
+     * @throws AuthenticationException if the token is malformed, expired or not signed by a known key
+     */
+    VerifiedToken verify(String idToken);
+}
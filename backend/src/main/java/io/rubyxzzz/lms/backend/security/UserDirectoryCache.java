@@ -0,0 +1,113 @@
+package io.rubyxzzz.lms.backend.security;
+
+import io.rubyxzzz.lms.backend.model.User;
+import io.rubyxzzz.lms.backend.service.FirebaseAuthService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * User Directory Cache
+ * firebaseUid -> UserPrincipal snapshot
+ *
+ * - Database is only hit on a miss (or after the TTL as a safety net)
+ * - Services evict an entry whenever a user's status or profile changes
+ * - Eviction is repeated after commit so a concurrent miss cannot
+ *   re-populate the cache with pre-commit data
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserDirectoryCache {
+
+    private final FirebaseAuthService firebaseAuthService;
+
+    @Value("${auth.user-cache.ttl:PT5M}")
+    private Duration ttl;
+
+    @Value("${auth.user-cache.max-size:10000}")
+    private int maxSize;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private record Entry(UserPrincipal principal, long expiresAtNanos) {
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+
+    /**
+     * Resolve a firebaseUid, loading from the database on a miss
+     * Returns null when no local user exists
+     */
+    public UserPrincipal get(String firebaseUid) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(firebaseUid);
+        if (entry != null && !entry.isExpired(now)) {
+            return entry.principal();
+        }
+
+        User user = firebaseAuthService.findUserByFirebaseUid(firebaseUid);
+        if (user == null) {
+            entries.remove(firebaseUid);
+            return null;
+        }
+
+        UserPrincipal principal = UserPrincipal.from(user);
+        put(principal);
+        return principal;
+    }
+
+    /**
+     * Store a fresh snapshot (e.g. right after the filter updated the user)
+     */
+    public void put(UserPrincipal principal) {
+        long now = System.nanoTime();
+        makeRoom(now);
+        entries.put(principal.getFirebaseUid(), new Entry(principal, now + ttl.toNanos()));
+    }
+
+    /**
+     * Evict now, and again after the surrounding transaction commits
+     */
+    public void evict(String firebaseUid) {
+        if (firebaseUid == null) {
+            return;
+        }
+        entries.remove(firebaseUid);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    entries.remove(firebaseUid);
+                }
+            });
+        }
+    }
+
+    public void evictAll() {
+        entries.clear();
+    }
+
+    private void makeRoom(long now) {
+        if (entries.size() < maxSize) {
+            return;
+        }
+        entries.values().removeIf(entry -> entry.isExpired(now));
+
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() >= maxSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+}
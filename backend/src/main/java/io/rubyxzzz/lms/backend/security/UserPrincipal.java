@@ -0,0 +1,47 @@
+package io.rubyxzzz.lms.backend.security;
+
+import io.rubyxzzz.lms.backend.model.Admin;
+import io.rubyxzzz.lms.backend.model.User;
+import io.rubyxzzz.lms.backend.model.UserRole;
+import io.rubyxzzz.lms.backend.model.UserStatus;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * User Principal
+ * Detached, immutable snapshot of an authenticated user
+ *
+ * Stored in the SecurityContext instead of the JPA entity,
+ * so it can be cached and shared across requests safely.
+ */
+@Value
+@Builder(toBuilder = true)
+public class UserPrincipal {
+
+    String id;
+    String firebaseUid;
+    String email;
+    UserRole userRole;
+    UserStatus status;
+    boolean emailVerified;
+    boolean superAdmin;
+
+    /**
+     * Snapshot a Student / Instructor / Admin entity
+     */
+    public static UserPrincipal from(User user) {
+        return UserPrincipal.builder()
+                .id(user.getId())
+                .firebaseUid(user.getFirebaseUid())
+                .email(user.getEmail())
+                .userRole(user.getUserRole())
+                .status(user.getStatus())
+                .emailVerified(Boolean.TRUE.equals(user.getEmailVerified()))
+                .superAdmin(user instanceof Admin && Boolean.TRUE.equals(((Admin) user).getIsSuperAdmin()))
+                .build();
+    }
+
+    public boolean isActive() {
+        return status == UserStatus.ACTIVE;
+    }
+}
@@ -0,0 +1,50 @@
+package io.rubyxzzz.lms.backend.security;
+
+import com.google.firebase.auth.FirebaseToken;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Verified Token
+ * Immutable view of the claims we use from a verified Firebase ID token
+ *
+ * Kept independent of FirebaseToken so it can be cached and shared between threads
+ */
+@Value
+@Builder
+public class VerifiedToken {
+
+    String uid;
+    String email;
+    boolean emailVerified;
+
+    // "exp" claim - the token must not be trusted after this instant
+    Instant expiresAt;
+
+    /**
+     * Build from a token verified by the Firebase Admin SDK
+     */
+    public static VerifiedToken from(FirebaseToken token) {
+        return VerifiedToken.builder()
+                .uid(token.getUid())
+                .email(token.getEmail())
+                .emailVerified(token.isEmailVerified())
+                .expiresAt(readExpiry(token.getClaims()))
+                .build();
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt == null || !now.isBefore(expiresAt);
+    }
+
+    private static Instant readExpiry(Map<String, Object> claims) {
+        Object exp = claims.get("exp");
+        if (exp instanceof Number) {
+            return Instant.ofEpochSecond(((Number) exp).longValue());
+        }
+        return null;
+    }
+}
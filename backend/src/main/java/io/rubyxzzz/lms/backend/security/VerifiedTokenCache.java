@@ -0,0 +1,146 @@
+package io.rubyxzzz.lms.backend.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Verified Token Cache
+ * Bounded cache of verified Firebase ID tokens
+ *
+ * - Keyed by SHA-256 of the raw token (raw tokens are never kept in memory)
+ * - Entries expire at the token's own "exp" claim
+ * - Size capped by auth.token-cache.max-size
+ *
+ * A page load fires many API calls with the same bearer token,
+ * so only the first one pays for signature verification.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VerifiedTokenCache {
+
+    private final TokenVerifier tokenVerifier;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${auth.token-cache.max-size:10000}")
+    private int maxSize;
+
+    private final Map<String, VerifiedToken> tokens = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @PostConstruct
+    public void registerMetrics() {
+        FunctionCounter.builder("auth.token.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .description("Token verifications answered from cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("auth.token.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .description("Token verifications that ran full verification")
+                .register(meterRegistry);
+        FunctionCounter.builder("auth.token.cache.evictions", evictions, LongAdder::sum)
+                .register(meterRegistry);
+        Gauge.builder("auth.token.cache.size", tokens, Map::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Verify an ID token, reusing a previous verification when possible
+     * Throws AuthenticationException if the token is invalid
+     */
+    public VerifiedToken verify(String idToken) {
+        String key = hash(idToken);
+        Instant now = Instant.now();
+
+        VerifiedToken cached = tokens.get(key);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                hits.increment();
+                return cached;
+            }
+            tokens.remove(key, cached);
+        }
+
+        misses.increment();
+        VerifiedToken verified = tokenVerifier.verify(idToken);
+
+        if (!verified.isExpired(now)) {
+            makeRoom(now);
+            tokens.put(key, verified);
+        }
+        return verified;
+    }
+
+    /**
+     * Drop a token from the cache (e.g. after the account was disabled)
+     */
+    public void invalidate(String idToken) {
+        tokens.remove(hash(idToken));
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+
+    /**
+     * Keep the cache under maxSize
+     * Expired entries go first, then arbitrary entries until there is room
+     */
+    private void makeRoom(Instant now) {
+        if (tokens.size() < maxSize) {
+            return;
+        }
+
+        tokens.entrySet().removeIf(entry -> {
+            boolean expired = entry.getValue().isExpired(now);
+            if (expired) {
+                evictions.increment();
+            }
+            return expired;
+        });
+
+        Iterator<String> keys = tokens.keySet().iterator();
+        while (tokens.size() >= maxSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+            evictions.increment();
+        }
+    }
+
+    private static String hash(String idToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hashed = digest.digest(idToken.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hashed);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
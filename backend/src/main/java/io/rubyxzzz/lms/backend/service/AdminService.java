@@ -5,17 +5,21 @@ import io.rubyxzzz.lms.backend.dto.request.CreateAdminReq;
 import io.rubyxzzz.lms.backend.dto.request.UpdateAdminReq;
 import io.rubyxzzz.lms.backend.dto.request.UpdateProfileReq;
 import io.rubyxzzz.lms.backend.dto.response.AdminRes;
+import io.rubyxzzz.lms.backend.dto.response.PageRes;
 import io.rubyxzzz.lms.backend.exception.ResourceNotFoundException;
 import io.rubyxzzz.lms.backend.mapper.AdminMapper;
 import io.rubyxzzz.lms.backend.model.Admin;
 import io.rubyxzzz.lms.backend.model.UserStatus;
 import io.rubyxzzz.lms.backend.repository.AdminRepo;
+import io.rubyxzzz.lms.backend.security.UserDirectoryCache;
+import io.rubyxzzz.lms.backend.util.CursorCodec;
 import io.rubyxzzz.lms.backend.util.IdGenerator;
 import io.rubyxzzz.lms.backend.util.UpdateUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,11 +32,13 @@ public class AdminService {
     private final AdminRepo adminRepo;
     private final AdminMapper adminMapper;
     private final UserMgmtService userMgmtService;
+    private final UserDirectoryCache userDirectoryCache;
+    private final UserIdentityService userIdentityService;
 
     @Transactional
     public AdminRes createAdmin(CreateAdminReq request) {
         // Validate email uniqueness
-        if (adminRepo.existsByEmail(request.getEmail())) {
+        if (userIdentityService.existsByEmail(request.getEmail())) {
             throw new IllegalArgumentException(
                     "Email already exists: " + request.getEmail()
             );
@@ -70,6 +76,7 @@ public class AdminService {
 
             // 3. Save admin
             Admin savedAdmin = adminRepo.save(admin);
+            userIdentityService.register(savedAdmin);
             return adminMapper.toResponse(savedAdmin);
 
         } catch (Exception e) {
@@ -93,6 +100,7 @@ public class AdminService {
         UpdateUtil.copyNonNullProperties(request, admin);
 
 
+        userDirectoryCache.evict(admin.getFirebaseUid());
         Admin updatedAdmin = adminRepo.save(admin);
         return adminMapper.toResponse(updatedAdmin);
     }
@@ -111,6 +119,7 @@ public class AdminService {
             admin.setAddress(request.getAddress());
         }
 
+        userDirectoryCache.evict(admin.getFirebaseUid());
         Admin updated = adminRepo.save(admin);
         return adminMapper.toResponse(updated);
     }
@@ -130,7 +139,35 @@ public class AdminService {
     }
 
     public List<AdminList> getAdminsList() {
-        return adminMapper.toListItems(adminRepo.findAll());
+        return adminRepo.findListRows(Pageable.unpaged());
+    }
+
+    /**
+     * Page of admins (detailed)
+     * Keyset-paginated, newest first
+     */
+    @Transactional(readOnly = true)
+    public PageRes<AdminRes> getAdminsPage(String cursor, Integer limit) {
+        int size = CursorCodec.limit(limit);
+        return CursorCodec.toPage(
+                adminRepo.findPage(CursorCodec.decode(cursor), size),
+                size,
+                adminMapper::toResponseList
+        );
+    }
+
+    /**
+     * Page of admins (simplified for table view)
+     * Keyset-paginated, newest first
+     */
+    public PageRes<AdminList> getAdminsListPage(String cursor, Integer limit) {
+        int size = CursorCodec.limit(limit);
+        return CursorCodec.toPage(
+                adminRepo.findListPage(CursorCodec.decode(cursor), size),
+                size,
+                AdminList::getCreatedAt,
+                AdminList::getId
+        );
     }
 
     /**
@@ -173,6 +210,7 @@ public class AdminService {
 
         admin.promoteToSuperAdmin();
 
+        userDirectoryCache.evict(admin.getFirebaseUid());
         Admin updated = adminRepo.save(admin);
         return adminMapper.toResponse(updated);
     }
@@ -187,6 +225,7 @@ public class AdminService {
 
         admin.demoteFromSuperAdmin();
 
+        userDirectoryCache.evict(admin.getFirebaseUid());
         Admin updated = adminRepo.save(admin);
         return adminMapper.toResponse(updated);
     }
@@ -225,6 +264,7 @@ public class AdminService {
 
         admin.setStatus(UserStatus.SUSPENDED);
 
+        userDirectoryCache.evict(admin.getFirebaseUid());
         Admin updated = adminRepo.save(admin);
         return adminMapper.toResponse(updated);
     }
@@ -239,6 +279,7 @@ public class AdminService {
 
         admin.setStatus(UserStatus.ACTIVE);
 
+        userDirectoryCache.evict(admin.getFirebaseUid());
         Admin updated = adminRepo.save(admin);
         return adminMapper.toResponse(updated);
     }
@@ -258,6 +299,7 @@ public class AdminService {
 
         admin.setStatus(UserStatus.INACTIVE);
 
+        userDirectoryCache.evict(admin.getFirebaseUid());
         Admin updated = adminRepo.save(admin);
         return adminMapper.toResponse(updated);
     }
@@ -295,6 +337,8 @@ public class AdminService {
         }
 
         // Hard delete
+        userDirectoryCache.evict(admin.getFirebaseUid());
+        userIdentityService.remove(admin);
         adminRepo.delete(admin);
 
         log.info("Admin deleted: {}", adminId);
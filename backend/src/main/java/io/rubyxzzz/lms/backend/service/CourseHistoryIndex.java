@@ -0,0 +1,195 @@
+package io.rubyxzzz.lms.backend.service;
+
+import io.rubyxzzz.lms.backend.repository.EnrollmentRepo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Course History Index
+ * studentId -> set of course codes the student has completed or is enrolled in
+ *
+ * - Course codes are interned to small ints, each student's set is a BitSet
+ * - Loaded with a single projection query on a miss
+ * - Kept current after commit by enroll / complete / drop
+ *
+ * Used for prerequisite checks so enrolling no longer loads the
+ * student's full enrollment graph.
+ */
+@Component
+@RequiredArgsConstructor
+public class CourseHistoryIndex {
+
+    private final EnrollmentRepo enrollmentRepo;
+
+    @Value("${enrollment.history-cache.ttl:PT30M}")
+    private Duration ttl;
+
+    @Value("${enrollment.history-cache.max-size:20000}")
+    private int maxSize;
+
+    // course code -> bit position (codes are few and stable, never removed)
+    private final Map<String, Integer> codeBits = new ConcurrentHashMap<>();
+    private final AtomicInteger nextBit = new AtomicInteger();
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    // Bumped after every committed change; a load that overlaps one is not cached
+    private final AtomicLong writeStamp = new AtomicLong();
+
+    private record Entry(BitSet courses, long expiresAtNanos) {
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+
+    /**
+     * Immutable view of one student's course history
+     */
+    public final class CourseHistory {
+
+        private final BitSet courses;
+
+        private CourseHistory(BitSet courses) {
+            this.courses = courses;
+        }
+
+        public boolean contains(String courseCode) {
+            Integer bit = courseCode != null ? codeBits.get(courseCode) : null;
+            return bit != null && courses.get(bit);
+        }
+    }
+
+    /**
+     * Course history of one student, loading from the database on a miss
+     */
+    public CourseHistory get(String studentId) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(studentId);
+        if (entry != null && !entry.isExpired(now)) {
+            return new CourseHistory(entry.courses());
+        }
+
+        long stamp = writeStamp.get();
+        BitSet courses = toBits(enrollmentRepo.findActiveOrCompletedCourseCodes(studentId));
+        store(studentId, courses, stamp, now);
+        return new CourseHistory(courses);
+    }
+
+    /**
+     * Course histories of many students, misses loaded with one query
+     */
+    public Map<String, CourseHistory> getAll(Collection<String> studentIds) {
+        long now = System.nanoTime();
+        Map<String, CourseHistory> result = new HashMap<>();
+        Map<String, BitSet> missing = new HashMap<>();
+
+        for (String studentId : studentIds) {
+            Entry entry = entries.get(studentId);
+            if (entry != null && !entry.isExpired(now)) {
+                result.put(studentId, new CourseHistory(entry.courses()));
+            } else {
+                missing.put(studentId, new BitSet());
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            long stamp = writeStamp.get();
+            for (Object[] row : enrollmentRepo.findCourseHistoryByStudentIds(missing.keySet())) {
+                if (row[1] != null) {
+                    missing.get((String) row[0]).set(bitOf((String) row[1]));
+                }
+            }
+            missing.forEach((studentId, courses) -> {
+                store(studentId, courses, stamp, now);
+                result.put(studentId, new CourseHistory(courses));
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Record a new enrollment / completion once the transaction commits
+     */
+    public void recordAfterCommit(String studentId, String courseCode) {
+        afterCommit(() -> entries.computeIfPresent(studentId, (id, entry) -> {
+            BitSet courses = (BitSet) entry.courses().clone();
+            courses.set(bitOf(courseCode));
+            return new Entry(courses, entry.expiresAtNanos());
+        }));
+    }
+
+    /**
+     * Forget a student's history once the transaction commits
+     * Used for drops: another enrollment may still hold the same course code
+     */
+    public void evictAfterCommit(String studentId) {
+        afterCommit(() -> entries.remove(studentId));
+    }
+
+    public void evictAll() {
+        entries.clear();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            writeStamp.incrementAndGet();
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                writeStamp.incrementAndGet();
+                action.run();
+            }
+        });
+    }
+
+    private void store(String studentId, BitSet courses, long stamp, long now) {
+        if (writeStamp.get() != stamp) {
+            return;
+        }
+        makeRoom(now);
+        entries.put(studentId, new Entry(courses, now + ttl.toNanos()));
+    }
+
+    private BitSet toBits(Collection<String> courseCodes) {
+        BitSet courses = new BitSet();
+        for (String courseCode : courseCodes) {
+            if (courseCode != null) {
+                courses.set(bitOf(courseCode));
+            }
+        }
+        return courses;
+    }
+
+    private int bitOf(String courseCode) {
+        return codeBits.computeIfAbsent(courseCode, code -> nextBit.getAndIncrement());
+    }
+
+    private void makeRoom(long now) {
+        if (entries.size() < maxSize) {
+            return;
+        }
+        entries.values().removeIf(entry -> entry.isExpired(now));
+
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() >= maxSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+}
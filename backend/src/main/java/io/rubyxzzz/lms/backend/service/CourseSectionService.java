@@ -11,15 +11,18 @@ import io.rubyxzzz.lms.backend.repository.CourseRepo;
 import io.rubyxzzz.lms.backend.repository.InstructorRepo;
 import io.rubyxzzz.lms.backend.repository.SectionRepo;
 import io.rubyxzzz.lms.backend.repository.SessionRepo;
+import io.rubyxzzz.lms.backend.repository.WaitlistEntryRepo;
+import io.rubyxzzz.lms.backend.util.MeetingTime;
 import io.rubyxzzz.lms.backend.util.UpdateUtil;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -33,6 +36,7 @@ import java.util.stream.Collectors;
  * - Instructor assignment
  * - Status transitions
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class CourseSectionService {
@@ -42,6 +46,12 @@ public class CourseSectionService {
     private final SessionRepo sessionRepo;
     private final InstructorRepo instructorRepo;
     private final SectionMapper sectionMapper;
+    private final SectionCatalog sectionCatalog;
+    private final SeatFeed seatFeed;
+    private final WaitlistEntryRepo waitlistEntryRepo;
+    private final WaitlistBoard waitlistBoard;
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
 
     /**
      * Create a new course section
@@ -114,9 +124,17 @@ public class CourseSectionService {
      */
     @Transactional
     public SectionRes updateSection(String sectionId, UpdateSectionReq request) {
-        CourseSection section = sectionRepo.findByIdWithRelations(sectionId)
+        // Row lock: seat counters read below are current until commit
+        CourseSection section = sectionRepo.findByIdForUpdate(sectionId)
                 .orElseThrow(() -> new ResourceNotFoundException("CourseSection", sectionId));
 
+        if (request.getCapacity() != null && section.getEnrolledCount() != null
+                && request.getCapacity() < section.getEnrolledCount()) {
+            throw new IllegalStateException(
+                    "Capacity cannot be below the enrolled count (" + section.getEnrolledCount() + ")"
+            );
+        }
+
         // Update fields (only non-null values)
         UpdateUtil.copyNonNullProperties(request, section);
 
@@ -146,49 +164,84 @@ public class CourseSectionService {
 
 
         CourseSection updatedSection = sectionRepo.save(section);
+        sectionCatalog.markChangedAfterCommit(updatedSection.getId());
+        seatFeed.publishAfterCommit(updatedSection.getId());
         return sectionMapper.toResponse(updatedSection);
     }
 
     /**
      * Generate schedule display string
+     * "Monday,Wednesday" 10:00-11:30 -> "Mon/Wed 10:00-11:30"
      */
     private String generateSchedule(String daysOfWeek, LocalTime startTime, LocalTime endTime) {
-        if (daysOfWeek == null || daysOfWeek.isBlank() ||
-                startTime == null || endTime == null) {
+        int dayMask = MeetingTime.dayMask(daysOfWeek);
+        if (dayMask == 0 || startTime == null || endTime == null) {
             return null;
         }
 
-        // Abbreviate days: "Monday,Wednesday" -> "Mon/Wed"
-        String[] days = daysOfWeek.split(",");
-        String abbreviatedDays = Arrays.stream(days)
-                .map(String::trim)
-                .map(this::abbreviateDay)
-                .collect(Collectors.joining("/"));
-
-        // Format times: "10:00-11:30"
-        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
-        String timeRange = String.format("%s-%s",
-                startTime.format(timeFormatter),
-                endTime.format(timeFormatter)
+        return String.format("%s %s-%s",
+                MeetingTime.abbreviate(dayMask),
+                startTime.format(TIME_FORMAT),
+                endTime.format(TIME_FORMAT)
         );
+    }
 
-        return String.format("%s %s", abbreviatedDays, timeRange);
+    /**
+     * Sections of a session meeting on any of the given days,
+     * optionally only those overlapping [from, to)
+     */
+    public List<CourseSectionList> getSectionsMeetingOn(
+            String sessionCode,
+            String days,
+            LocalTime from,
+            LocalTime to
+    ) {
+        int dayMask = MeetingTime.dayMask(days);
+        if (dayMask == 0) {
+            throw new IllegalArgumentException("Unknown days: " + days);
+        }
+        if (from == null && to == null) {
+            return sectionRepo.findMeetingOn(sessionCode, dayMask);
+        }
+
+        MeetingTime window = MeetingTime.of(
+                days,
+                from != null ? from : LocalTime.MIN,
+                to != null ? to : LocalTime.MAX
+        );
+        if (window == null) {
+            throw new IllegalArgumentException("Time window must end after it starts");
+        }
+        return sectionRepo.findOverlapping(sessionCode, window);
     }
 
     /**
-     * Abbreviate day name
+     * Fill dayMask / startMinute / endMinute for sections saved before the columns existed
+     * Idempotent - only touches rows without a meeting pattern
+     *
+     * One set-based UPDATE per distinct schedule: runs while requests are already
+     * served, so it must not write seat / waitlist / grade counters back
      */
-    private String abbreviateDay(String day) {
-        switch (day.trim()) {
-            case "Monday": return "Mon";
-            case "Tuesday": return "Tue";
-            case "Wednesday": return "Wed";
-            case "Thursday": return "Thu";
-            case "Friday": return "Fri";
-            case "Saturday": return "Sat";
-            case "Sunday": return "Sun";
-            default: return day;
+    @Transactional
+    public int backfillMeetingPatterns() {
+        int updated = 0;
+        for (Object[] row : sectionRepo.findMissingMeetingPatterns()) {
+            String daysOfWeek = (String) row[0];
+            LocalTime startTime = (LocalTime) row[1];
+            LocalTime endTime = (LocalTime) row[2];
+            int dayMask = MeetingTime.dayMask(daysOfWeek);
+
+            updated += sectionRepo.setMeetingPattern(
+                    daysOfWeek, startTime, endTime,
+                    dayMask != 0 ? dayMask : null,
+                    MeetingTime.minuteOf(startTime),
+                    MeetingTime.minuteOf(endTime)
+            );
         }
+        if (updated > 0) {
+            log.info("Section meeting pattern backfill: {} sections updated", updated);
+        }
+        return updated;
     }
 
     /**
@@ -215,7 +268,7 @@ public class CourseSectionService {
      * Get sections list (simplified)
      */
     public List<CourseSectionList> getSectionsByCourse(String courseId) {
-        return sectionMapper.toListItems(sectionRepo.findByCourseId(courseId));
+        return sectionRepo.findListRowsByCourseId(courseId);
     }
 
     /**
@@ -258,8 +311,14 @@ public class CourseSectionService {
      * Get open sections (available for enrollment)
      */
     public List<SectionRes> getEnrollableSections() {
-        List<CourseSection> sections = sectionRepo.findEnrollableSectionsWithRelations();
-        return sectionMapper.toResponseList(sections);
+        return sectionCatalog.snapshot().sections();
+    }
+
+    /**
+     * Enrollable sections with their catalog version (for ETag / 304)
+     */
+    public SectionCatalog.Snapshot getEnrollableCatalog() {
+        return sectionCatalog.snapshot();
     }
 
 //    /**
@@ -319,7 +378,7 @@ public class CourseSectionService {
      */
     @Transactional
     public SectionRes publishSection(String sectionId) {
-        CourseSection section = sectionRepo.findById(sectionId)
+        CourseSection section = sectionRepo.findByIdForUpdate(sectionId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "CourseSection", sectionId
                 ));
@@ -343,6 +402,8 @@ public class CourseSectionService {
         section.setStatus(CourseSectionStatus.PUBLISHED);
 
         CourseSection updatedSection = sectionRepo.save(section);
+        sectionCatalog.markChangedAfterCommit(updatedSection.getId());
+        seatFeed.publishAfterCommit(updatedSection.getId());
         return sectionMapper.toResponse(updatedSection);
     }
 
@@ -375,7 +436,7 @@ public class CourseSectionService {
      */
     @Transactional
     public SectionRes cancelSection(String sectionId) {
-        CourseSection section = sectionRepo.findById(sectionId)
+        CourseSection section = sectionRepo.findByIdForUpdate(sectionId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "CourseSection", sectionId
                 ));
@@ -387,8 +448,19 @@ public class CourseSectionService {
         }
 
         section.setStatus(CourseSectionStatus.CANCELLED);
+        section.setWaitlistCount(0);
 
         CourseSection updatedSection = sectionRepo.save(section);
+
+        // Nobody can be promoted into a cancelled section
+        int expired = waitlistEntryRepo.expireWaiting(
+                sectionId, LocalDateTime.now(), "Section cancelled");
+        if (expired > 0) {
+            log.info("Expired {} waitlist entries of cancelled section {}", expired, sectionId);
+        }
+        waitlistBoard.refreshAfterCommit(sectionId);
+        sectionCatalog.markChangedAfterCommit(updatedSection.getId());
+        seatFeed.publishAfterCommit(updatedSection.getId());
         return sectionMapper.toResponse(updatedSection);
     }
 
@@ -423,6 +495,7 @@ public class CourseSectionService {
         }
 
         sectionRepo.delete(section);
+        sectionCatalog.markChangedAfterCommit(sectionId);
     }
 
     /**
@@ -109,7 +109,7 @@ public class CourseService {
      * Get course by course code
      */
     public CourseRes getCourseByCourseCode(String courseCode) {
-        Course course = courseRepo.findByCourseCode(courseCode)
+        Course course = courseRepo.findFirstByCourseCodeOrderByCreatedAtDesc(courseCode)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Course", "courseCode", courseCode
                 ));
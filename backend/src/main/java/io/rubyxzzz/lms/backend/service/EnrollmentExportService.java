@@ -0,0 +1,192 @@
+package io.rubyxzzz.lms.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.rubyxzzz.lms.backend.dto.listItem.EnrollmentExportRow;
+import io.rubyxzzz.lms.backend.exception.ResourceNotFoundException;
+import io.rubyxzzz.lms.backend.repository.EnrollmentRepo;
+import io.rubyxzzz.lms.backend.repository.SessionRepo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Enrollment Export Service
+ * Streams a session's enrollments as CSV or NDJSON
+ *
+ * - Rows come from a forward-only, row-by-row streamed result set, as flat DTOs,
+ *   so nothing accumulates in the persistence context
+ * - Each row is written to the output as soon as it is read
+ *
+ * Memory stays constant regardless of how many enrollments the session has.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EnrollmentExportService {
+
+    private static final int FLUSH_EVERY = 500;
+
+    private static final String[] CSV_HEADER = {
+            "id", "studentNumber", "studentName", "studentEmail",
+            "courseCode", "sectionCode", "sessionCode", "hoursPerWeek", "status",
+            "enrolledTime", "droppedTime", "completedTime", "finalGrade"
+    };
+
+    private final EnrollmentRepo enrollmentRepo;
+    private final SessionRepo sessionRepo;
+    private final ObjectMapper objectMapper;
+
+    // async timeout of the download request only
+    @Value("${enrollment.export.timeout:PT10M}")
+    private Duration timeout;
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format from(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported export format: " + value);
+        }
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Fail fast before the response is committed
+     */
+    public void requireSession(String sessionCode) {
+        if (!sessionRepo.existsBySessionCode(sessionCode)) {
+            throw new ResourceNotFoundException("Session", sessionCode);
+        }
+    }
+
+    /**
+     * Write every enrollment of the session to the output stream
+     * Returns the number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long exportSession(String sessionCode, Format format, OutputStream output) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        ObjectWriter jsonWriter = objectMapper.writerFor(EnrollmentExportRow.class);
+        long count = 0;
+
+        try (Stream<EnrollmentExportRow> rows = enrollmentRepo.streamExportRowsBySessionCode(sessionCode)) {
+            if (format == Format.CSV) {
+                writeCsvLine(writer, CSV_HEADER);
+            }
+
+            Iterator<EnrollmentExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                EnrollmentExportRow row = iterator.next();
+                if (format == Format.CSV) {
+                    writeCsvLine(writer, toCsv(row));
+                } else {
+                    writer.write(jsonWriter.writeValueAsString(row));
+                    writer.write('\n');
+                }
+
+                if (++count % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            // client went away mid-download: stop reading, release the cursor
+            throw new UncheckedIOException("Enrollment export aborted after " + count + " rows", e);
+        }
+
+        log.info("Exported {} enrollments of session {} as {}", count, sessionCode, format);
+        return count;
+    }
+
+    private static String[] toCsv(EnrollmentExportRow row) {
+        return new String[]{
+                row.getId(),
+                row.getStudentNumber(),
+                row.getStudentName(),
+                row.getStudentEmail(),
+                row.getCourseCode(),
+                row.getSectionCode(),
+                row.getSessionCode(),
+                valueOf(row.getHoursPerWeek()),
+                valueOf(row.getStatus()),
+                valueOf(row.getEnrolledTime()),
+                valueOf(row.getDroppedTime()),
+                valueOf(row.getCompletedTime()),
+                valueOf(row.getFinalGrade())
+        };
+    }
+
+    private static String valueOf(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private static void writeCsvLine(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCsvValue(writer, values[i]);
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * RFC 4180 quoting; values starting with a formula character are
+     * prefixed with ' so spreadsheets do not evaluate them
+     */
+    private static void writeCsvValue(Writer writer, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        if ("=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
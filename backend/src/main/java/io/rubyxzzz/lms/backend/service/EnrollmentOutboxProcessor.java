@@ -0,0 +1,195 @@
+package io.rubyxzzz.lms.backend.service;
+
+import io.rubyxzzz.lms.backend.model.EnrollmentEvent;
+import io.rubyxzzz.lms.backend.model.Session;
+import io.rubyxzzz.lms.backend.repository.EnrollmentRepo;
+import io.rubyxzzz.lms.backend.repository.EnrollmentEventRepo;
+import io.rubyxzzz.lms.backend.repository.SessionRepo;
+import io.rubyxzzz.lms.backend.repository.StudentRepo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.TreeMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Enrollment Outbox Processor
+ * Applies enrollment side-effects recorded in enrollment_events
+ *
+ * - Pending events are claimed with SELECT ... FOR UPDATE SKIP LOCKED,
+ *   so several app instances can run this without double counting
+ * - Deltas are aggregated per student / session, then applied with one
+ *   UPDATE per key (in key order, so concurrent consumers cannot deadlock),
+ *   and the events are marked processed in the same transaction
+ * - A failed batch rolls back and is picked up again on the next run
+ *
+ * Section seats are not deferred: tryReserveSeat is the oversell guard
+ * and has to stay on the request path.
+ */
+@Slf4j
+@Service
+public class EnrollmentOutboxProcessor {
+
+    private final EnrollmentEventRepo enrollmentEventRepo;
+    private final EnrollmentRepo enrollmentRepo;
+    private final StudentRepo studentRepo;
+    private final SessionRepo sessionRepo;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${enrollment.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${enrollment.outbox.retention:P7D}")
+    private Duration retention;
+
+    public EnrollmentOutboxProcessor(
+            EnrollmentEventRepo enrollmentEventRepo,
+            EnrollmentRepo enrollmentRepo,
+            StudentRepo studentRepo,
+            SessionRepo sessionRepo,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.enrollmentEventRepo = enrollmentEventRepo;
+        this.enrollmentRepo = enrollmentRepo;
+        this.studentRepo = studentRepo;
+        this.sessionRepo = sessionRepo;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Per-student counter delta
+     */
+    private static final class StudentDelta {
+        int counts;
+        int hours;
+        int completed;
+    }
+
+    @Scheduled(fixedDelayString = "${enrollment.outbox.poll-interval:PT1S}")
+    public void process() {
+        try {
+            int processed;
+            do {
+                processed = processBatch();
+            } while (processed == batchSize);
+        } catch (Exception e) {
+            log.error("Enrollment outbox batch failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Claim one batch of pending events and apply it
+     *
+     * @return number of events processed
+     */
+    public int processBatch() {
+        Integer processed = transactionTemplate.execute(status -> {
+            List<EnrollmentEvent> events =
+                    enrollmentEventRepo.findPendingForUpdate(PageRequest.of(0, batchSize));
+            if (events.isEmpty()) {
+                return 0;
+            }
+
+            Map<String, StudentDelta> students = new TreeMap<>();
+            Map<String, Integer> sessions = new TreeMap<>();
+
+            for (EnrollmentEvent event : events) {
+                StudentDelta delta = students.computeIfAbsent(event.getStudentId(), id -> new StudentDelta());
+                int hours = event.getHoursPerWeek() != null ? event.getHoursPerWeek() : 0;
+
+                switch (event.getEventType()) {
+                    case ENROLLED -> {
+                        delta.counts++;
+                        delta.hours += hours;
+                        if (event.getSessionCode() != null) {
+                            sessions.merge(event.getSessionCode(), 1, Integer::sum);
+                        }
+                    }
+                    case DROPPED -> {
+                        delta.counts--;
+                        delta.hours -= hours;
+                        if (event.getSessionCode() != null) {
+                            sessions.merge(event.getSessionCode(), -1, Integer::sum);
+                        }
+                    }
+                    case COMPLETED -> delta.completed++;
+                }
+            }
+
+            students.forEach((studentId, delta) -> {
+                if (delta.counts != 0 || delta.hours != 0 || delta.completed != 0) {
+                    studentRepo.applyEnrollmentDelta(studentId, delta.counts, delta.hours, delta.completed);
+                }
+            });
+            sessions.forEach((sessionCode, delta) -> {
+                if (delta != 0) {
+                    sessionRepo.addEnrollments(sessionCode, delta);
+                }
+            });
+
+            enrollmentEventRepo.markProcessed(
+                    events.stream().map(EnrollmentEvent::getId).toList(),
+                    LocalDateTime.now()
+            );
+
+            log.debug("Enrollment outbox: {} events -> {} students, {} sessions",
+                    events.size(), students.size(), sessions.size());
+            return events.size();
+        });
+        return processed != null ? processed : 0;
+    }
+
+    /**
+     * Recount sessions.total_enrollments from enrollments
+     * (sessions created before the outbox kept the total never had it counted)
+     *
+     * Per session: lock the session row first, so an outbox batch either committed
+     * before the counts below or applies its delta after this commit; events still
+     * pending in the counted snapshot are subtracted and added back by that batch.
+     *
+     * @return number of sessions whose total changed
+     */
+    public int reconcileSessionTotals() {
+        int changed = 0;
+        for (Session session : sessionRepo.findAll()) {
+            Boolean updated = transactionTemplate.execute(status -> {
+                Session locked = sessionRepo.findByIdForUpdate(session.getId()).orElse(null);
+                if (locked == null || locked.getSessionCode() == null) {
+                    return false;
+                }
+                long counted = enrollmentRepo.countNotDroppedBySessionCode(locked.getSessionCode())
+                        - enrollmentEventRepo.sumPendingSessionDelta(locked.getSessionCode());
+                int total = (int) Math.max(counted, 0);
+                if (total == locked.getTotalEnrollments()) {
+                    return false;
+                }
+                sessionRepo.setTotalEnrollments(locked.getId(), total);
+                log.info("Session {} total enrollments reconciled: {} -> {}",
+                        locked.getSessionCode(), locked.getTotalEnrollments(), total);
+                return true;
+            });
+            if (Boolean.TRUE.equals(updated)) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Drop processed events past the retention window
+     */
+    @Scheduled(cron = "${enrollment.outbox.purge-cron:0 30 3 * * *}")
+    public void purge() {
+        Integer deleted = transactionTemplate.execute(status ->
+                enrollmentEventRepo.deleteProcessedBefore(LocalDateTime.now().minus(retention)));
+        log.info("Enrollment outbox purge: {} processed events removed", deleted);
+    }
+}
@@ -5,20 +5,40 @@ import io.rubyxzzz.lms.backend.dto.listItem.EnrollmentList;
 import io.rubyxzzz.lms.backend.dto.request.CompleteEnrollReq;
 import io.rubyxzzz.lms.backend.dto.request.DropCourseReq;
 import io.rubyxzzz.lms.backend.dto.request.EnrollCourseReq;
+import io.rubyxzzz.lms.backend.dto.response.BatchEnrollRes;
+import io.rubyxzzz.lms.backend.dto.response.CompleteSectionRes;
 import io.rubyxzzz.lms.backend.dto.response.EnrollmentRes;
+import io.rubyxzzz.lms.backend.dto.response.PageRes;
 import io.rubyxzzz.lms.backend.exception.ResourceNotFoundException;
 import io.rubyxzzz.lms.backend.mapper.EnrollmentMapper;
 import io.rubyxzzz.lms.backend.model.*;
+import io.rubyxzzz.lms.backend.repository.EnrollmentEventRepo;
 import io.rubyxzzz.lms.backend.repository.EnrollmentRepo;
 import io.rubyxzzz.lms.backend.repository.SectionRepo;
 import io.rubyxzzz.lms.backend.repository.StudentRepo;
+import io.rubyxzzz.lms.backend.repository.WaitlistEntryRepo;
+import io.rubyxzzz.lms.backend.util.CursorCodec;
+import io.rubyxzzz.lms.backend.util.MeetingTime;
+import io.rubyxzzz.lms.backend.util.Timetable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Enrollment Service
@@ -31,6 +51,7 @@ import java.util.Optional;
  * - Attendance recording
  * - Grade completion
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class EnrollmentService {
@@ -39,6 +60,14 @@ public class EnrollmentService {
     private final StudentRepo studentRepo;
     private final SectionRepo sectionRepo;
     private final EnrollmentMapper enrollmentMapper;
+    private final CourseHistoryIndex courseHistoryIndex;
+    private final WaitlistEntryRepo waitlistEntryRepo;
+    private final EnrollmentEventRepo enrollmentEventRepo;
+    private final WaitlistBoard waitlistBoard;
+    private final TimetableService timetableService;
+    private final JdbcTemplate jdbcTemplate;
+    private final SectionCatalog sectionCatalog;
+    private final SeatFeed seatFeed;
 
     /**
      * Enroll a student in a course section
@@ -46,8 +75,8 @@ public class EnrollmentService {
      */
     @Transactional
     public EnrollmentRes enrollCourse(EnrollCourseReq request) {
-        // Validate student exists
-        Student student = studentRepo.findById(request.getStudentId())
+        // Validate student exists (row lock: concurrent requests of one student run one after another)
+        Student student = studentRepo.findByIdForUpdate(request.getStudentId())
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Student", request.getStudentId()
                 ));
@@ -58,6 +87,55 @@ public class EnrollmentService {
                         "CourseSection", request.getCourseSectionId()
                 ));
 
+        validateEnroll(student, section);
+
+        // Claim a seat atomically (conditional UPDATE, cannot oversell)
+        if (sectionRepo.tryReserveSeat(section.getId()) == 0) {
+            throw new IllegalStateException(
+                    "Course section is full. Available seats: 0"
+            );
+        }
+
+        return enrollmentMapper.toResponse(createEnrollment(student, section));
+    }
+
+    /**
+     * Run every enrollCourse check without writing anything
+     * Used by RegistrationEngine to reject a command before it joins a batch transaction
+     */
+    @Transactional(readOnly = true)
+    public void checkEnrollable(EnrollCourseReq request) {
+        Student student = studentRepo.findById(request.getStudentId())
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Student", request.getStudentId()
+                ));
+        CourseSection section = sectionRepo.findById(request.getCourseSectionId())
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "CourseSection", request.getCourseSectionId()
+                ));
+        validateEnroll(student, section);
+    }
+
+    /**
+     * Run every dropCourse check without writing anything
+     */
+    @Transactional(readOnly = true)
+    public void checkDroppable(DropCourseReq request) {
+        Enrollment enrollment = enrollmentRepo.findById(request.getEnrollmentId())
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Enrollment", request.getEnrollmentId()
+                ));
+        if (!enrollment.canDrop()) {
+            throw new IllegalStateException(
+                    "Cannot drop enrollment with status: " + enrollment.getStatus()
+            );
+        }
+    }
+
+    /**
+     * Section open, seats left, no waitlist, student eligible
+     */
+    private void validateEnroll(Student student, CourseSection section) {
         // Check if section is open for enrollment
         if (!section.isOpenForEnrollment()) {
             throw new IllegalStateException(
@@ -73,29 +151,26 @@ public class EnrollmentService {
             );
         }
 
+        // Freed seats belong to the waitlist, no queue jumping
+        if (section.getWaitlistCount() != null && section.getWaitlistCount() > 0) {
+            throw new IllegalStateException(
+                    "Course section has a waitlist. Join the waitlist instead"
+            );
+        }
+
+        // Not already in the course, prerequisites and CEFR requirements, timetable
+        validateStudentEligibility(student, section);
+    }
 
-        // Get related course and session
+    /**
+     * Insert the enrollment and update student stats
+     * Seat must already be reserved
+     */
+    private Enrollment createEnrollment(Student student, CourseSection section) {
         Course course = section.getCourse();
         Session session = course.getSession();
         String courseCode = course.getCourseCode();
 
-        // Check if student not enrolled now
-        Optional<Enrollment> existingCourseEnrollment =
-                enrollmentRepo.findActiveEnrollmentByStudentAndCourse(
-                        request.getStudentId(),
-                        courseCode
-                );
-
-        if (existingCourseEnrollment.isPresent()) {
-            Enrollment existing = existingCourseEnrollment.get();
-            throw new IllegalArgumentException(
-                    "Currently have enrolled in this course:" + existing.getSectionCode()
-            );
-        }
-
-        // Validate prerequisites and CEFR requirements
-        validateCourseRequirements(student, course);
-
         // Build enrollment entity
         Enrollment enrollment = new Enrollment();
 
@@ -116,49 +191,167 @@ public class EnrollmentService {
         enrollment.setEnrolledTime(LocalDateTime.now());
         enrollment.setStatus(EnrollmentStatus.ENROLLED);
 
-        // Save enrollment
+        // Save enrollment (section enrolled count already updated by tryReserveSeat)
         Enrollment savedEnrollment = enrollmentRepo.save(enrollment);
 
-        // Update section enrolled count
-        section.enrollStudent();
-        sectionRepo.save(section);
+        // Student / session counters are applied by EnrollmentOutboxProcessor
+        enrollmentEventRepo.save(EnrollmentEvent.of(EnrollmentEventType.ENROLLED, savedEnrollment));
 
-        // Update student stats
-        student.enrollInCourse(section.getHoursPerWeek());
-        studentRepo.save(student);
+        courseHistoryIndex.recordAfterCommit(student.getId(), courseCode);
+        sectionCatalog.markChangedAfterCommit(section.getId());
+        seatFeed.publishAfterCommit(section.getId());
 
-        return enrollmentMapper.toResponse(savedEnrollment);
+        return savedEnrollment;
     }
 
-//    /**
-//     * Admin batch enrollment
-//     * Enroll multiple students into one CourseSection
-//     */
-//    @Transactional
-//    public List<EnrollmentRes> batchEnrollStudents(
-//            List<String> studentIds,
-//            String sectionId
-//    ) {
-//        List<EnrollmentRes> results = new ArrayList<>();
-//
-//        for (String studentId : studentIds) {
-//            try {
-//                EnrollCourseReq req = new EnrollCourseReq();
-//                req.setStudentId(studentId);
-//                req.setCourseSectionId(sectionId);
-//
-//                EnrollmentRes result = enrollCourse(req);
-//                results.add(result);
-//
-//            } catch (Exception e) {
-//                // Log error and continue with next student
-//                System.err.println("Failed to enroll student ID " + studentId +
-//                        ": " + e.getMessage());
-//            }
-//        }
-//
-//        return results;
-//    }
+    /**
+     * Admin batch enrollment
+     * Enroll multiple students into one CourseSection in one transaction
+     *
+     * Set-based: one query per validation instead of one enrollCourse per student
+     * - same rules as enrollCourse, including the waitlist: while students are
+     *   waiting, no seat is granted here (they are promoted on the next drop)
+     * - student rows locked (in id order), then the section row - the same order
+ *   as enrollCourse - so a concurrent single enroll of one of these students
+ *   waits instead of passing the same checks; seats granted in request order
+     * - enrollments and outbox events inserted with JDBC batching (hibernate.jdbc.batch_size)
+     * - section seats claimed with one statement
+     */
+    @Transactional
+    public BatchEnrollRes batchEnrollStudents(List<String> studentIds, String sectionId) {
+        // Unique ids in request order
+        Set<String> requestedIds = new LinkedHashSet<>(studentIds);
+
+        Map<String, Student> students = requestedIds.isEmpty()
+                ? Map.of()
+                : studentRepo.findAllByIdForUpdate(requestedIds).stream()
+                        .collect(Collectors.toMap(Student::getId, Function.identity()));
+
+        CourseSection section = sectionRepo.findByIdForUpdate(sectionId)
+                .orElseThrow(() -> new ResourceNotFoundException("CourseSection", sectionId));
+
+        if (section.getStatus() != CourseSectionStatus.PUBLISHED
+                || Boolean.TRUE.equals(section.getEnrollmentLocked())) {
+            throw new IllegalStateException(
+                    "Course section is not open for enrollment. Status: " +
+                            section.getStatus()
+            );
+        }
+
+        Course course = section.getCourse();
+        Session session = course.getSession();
+
+        // Set-based lookups
+        Set<String> alreadyEnrolled = new HashSet<>(
+                enrollmentRepo.findStudentIdsEnrolledInCourse(requestedIds, course.getCourseCode())
+        );
+
+        Map<String, CourseHistoryIndex.CourseHistory> history = course.hasPrerequisites()
+                ? courseHistoryIndex.getAll(requestedIds)
+                : Map.of();
+
+        MeetingTime meetingTime = timetableService.meetingTimeOf(section);
+        Map<String, Timetable> timetables = meetingTime != null
+                ? timetableService.forStudents(requestedIds, section.getSessionCode())
+                : Map.of();
+
+        // Decide per student
+        Map<String, String> failures = new HashMap<>();
+        List<Student> eligible = new ArrayList<>();
+        for (String studentId : requestedIds) {
+            Student student = students.get(studentId);
+            if (student == null) {
+                failures.put(studentId, "Student not found");
+            } else if (alreadyEnrolled.contains(studentId)) {
+                failures.put(studentId, "Currently have enrolled in this course");
+            } else if (history.containsKey(studentId) && !course.meetsPrerequisites(
+                    history.get(studentId)::contains, student.getPlacementLevel())) {
+                failures.put(studentId, "Prerequisites not met for " + course.getCourseCode());
+            } else if (timetables.containsKey(studentId)
+                    && !timetables.get(studentId).fits(meetingTime)) {
+                failures.put(studentId, "Schedule conflict with "
+                        + timetables.get(studentId).conflictOf(meetingTime));
+            } else {
+                eligible.add(student);
+            }
+        }
+
+        // Seats (row is locked, so this count is stable)
+        // Freed seats belong to the waitlist, no queue jumping - same rule as enrollCourse
+        boolean hasWaitlist = section.getWaitlistCount() != null && section.getWaitlistCount() > 0;
+        int available = hasWaitlist ? 0 : Math.max(section.getAvailableSeats(), 0);
+        String noSeat = hasWaitlist
+                ? "Course section has a waitlist. Join the waitlist instead"
+                : "Course section is full";
+        List<Student> granted = eligible.subList(0, Math.min(available, eligible.size()));
+        for (Student student : eligible.subList(granted.size(), eligible.size())) {
+            failures.put(student.getId(), noSeat);
+        }
+
+        // Insert enrollments (batched)
+        LocalDateTime now = LocalDateTime.now();
+        List<Enrollment> enrollments = new ArrayList<>(granted.size());
+        for (Student student : granted) {
+            Enrollment enrollment = new Enrollment();
+            enrollment.setStudent(student);
+            enrollment.setSection(section);
+            enrollment.setStudentNumber(student.getStudentNumber());
+            enrollment.setStudentName(student.getFullName());
+            enrollment.setStudentEmail(student.getEmail());
+            enrollment.setCourseCode(course.getCourseCode());
+            enrollment.setSectionCode(section.getSectionCode());
+            enrollment.setSessionCode(session.getSessionCode());
+            enrollment.setHoursPerWeek(section.getHoursPerWeek());
+            enrollment.setEnrolledTime(now);
+            enrollment.setStatus(EnrollmentStatus.ENROLLED);
+            enrollments.add(enrollment);
+        }
+        Map<String, String> enrollmentIds = new HashMap<>();
+        List<EnrollmentEvent> events = new ArrayList<>(granted.size());
+        for (Enrollment saved : enrollmentRepo.saveAll(enrollments)) {
+            enrollmentIds.put(saved.getStudent().getId(), saved.getId());
+            events.add(EnrollmentEvent.of(EnrollmentEventType.ENROLLED, saved));
+            courseHistoryIndex.recordAfterCommit(saved.getStudent().getId(), course.getCourseCode());
+        }
+        enrollmentEventRepo.saveAll(events);
+
+        // Seats, one statement (student / session counters via the outbox)
+        if (!granted.isEmpty() && sectionRepo.reserveSeats(sectionId, granted.size()) == 0) {
+            throw new IllegalStateException("Course section is full");
+        }
+        sectionCatalog.markChangedAfterCommit(sectionId);
+        seatFeed.publishAfterCommit(sectionId);
+
+        // Per-student results in request order
+        List<BatchEnrollRes.StudentResult> results = new ArrayList<>();
+        for (String studentId : studentIds) {
+            String enrollmentId = enrollmentIds.remove(studentId);
+            if (enrollmentId != null) {
+                results.add(BatchEnrollRes.StudentResult.builder()
+                        .studentId(studentId)
+                        .success(true)
+                        .enrollmentId(enrollmentId)
+                        .build());
+            } else {
+                results.add(BatchEnrollRes.StudentResult.builder()
+                        .studentId(studentId)
+                        .success(false)
+                        .message(failures.getOrDefault(studentId, "Duplicate in request"))
+                        .build());
+            }
+        }
+
+        return BatchEnrollRes.builder()
+                .courseSectionId(sectionId)
+                .sectionCode(section.getSectionCode())
+                .courseCode(course.getCourseCode())
+                .requested(studentIds.size())
+                .enrolled(granted.size())
+                .failed(studentIds.size() - granted.size())
+                .availableSeats(available - granted.size())
+                .results(results)
+                .build();
+    }
 
     /**
      * Drop an enrollment
@@ -166,8 +359,9 @@ public class EnrollmentService {
      */
     @Transactional
     public EnrollmentRes dropCourse(DropCourseReq request, String operatorId) {
-        // Find enrollment
-        Enrollment enrollment = enrollmentRepo.findById(request.getEnrollmentId())
+        // Row lock: a second drop of the same enrollment waits here, then fails canDrop(),
+        // so the seat and the counters are released exactly once
+        Enrollment enrollment = enrollmentRepo.findByIdForUpdate(request.getEnrollmentId())
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Enrollment", request.getEnrollmentId()
                 ));
@@ -184,20 +378,81 @@ public class EnrollmentService {
         // Drop enrollment
         Enrollment droppedEnrollment = enrollmentRepo.save(enrollment);
 
-        // Update section and student
+        // Student / session counters are applied by EnrollmentOutboxProcessor
+        enrollmentEventRepo.save(EnrollmentEvent.of(EnrollmentEventType.DROPPED, droppedEnrollment));
+        courseHistoryIndex.evictAfterCommit(enrollment.getStudent().getId());
+
+        // Free the seat and hand it to the head of the waitlist
         CourseSection section = enrollment.getSection();
         if (section != null) {
-            section.dropStudent();
-            sectionRepo.save(section);
+            sectionRepo.releaseSeat(section.getId());
+            promoteFromWaitlist(section);
+            sectionRepo.refreshCompletionRate(section.getId());
+            sectionCatalog.markChangedAfterCommit(section.getId());
+            seatFeed.publishAfterCommit(section.getId());
+        }
+
+        return enrollmentMapper.toResponse(droppedEnrollment);
+    }
+
+    /**
+     * Give free seats to waitlisted students, in queue order
+     * Called after a seat is released (drop) or a student joins a section with free seats
+     *
+     * Head rows are locked with SKIP LOCKED, so concurrent drops promote different students.
+     * Students who can no longer enroll (already in the course, prerequisites) are skipped.
+     *
+     * @return number of students promoted
+     */
+    @Transactional
+    public int promoteFromWaitlist(CourseSection section) {
+        if (section.getStatus() != CourseSectionStatus.PUBLISHED
+                || Boolean.TRUE.equals(section.getEnrollmentLocked())) {
+            return 0;
         }
 
-        Student student = enrollment.getStudent();
-        if (student != null) {
-            student.dropCourse(enrollment.getHoursPerWeek());
-            studentRepo.save(student);
+        int promoted = 0;
+        boolean changed = false;
+        while (true) {
+            List<WaitlistEntry> head = waitlistEntryRepo.findHeadForPromotion(
+                    section.getId(), PageRequest.of(0, 1));
+            if (head.isEmpty()) {
+                break;
+            }
+            WaitlistEntry entry = head.get(0);
+            Student student = entry.getStudent();
+
+            try {
+                validateStudentEligibility(student, section);
+            } catch (IllegalStateException | IllegalArgumentException e) {
+                entry.skip(e.getMessage());
+                waitlistEntryRepo.save(entry);
+                sectionRepo.decrementWaitlist(section.getId());
+                changed = true;
+                continue;
+            }
+
+            // No seat left (someone else got there first) - entry keeps its place
+            if (sectionRepo.tryReserveSeat(section.getId()) == 0) {
+                break;
+            }
+
+            Enrollment enrollment = createEnrollment(student, section);
+            entry.promote(enrollment.getId());
+            waitlistEntryRepo.save(entry);
+            sectionRepo.decrementWaitlist(section.getId());
+            changed = true;
+            promoted++;
+            log.info("Promoted student {} from waitlist of section {}",
+                    student.getStudentNumber(), section.getSectionCode());
         }
 
-        return enrollmentMapper.toResponse(droppedEnrollment);
+        if (changed) {
+            waitlistBoard.refreshAfterCommit(section.getId());
+            sectionCatalog.markChangedAfterCommit(section.getId());
+            seatFeed.publishAfterCommit(section.getId());
+        }
+        return promoted;
     }
 
     /**
@@ -222,24 +477,150 @@ public class EnrollmentService {
 
         Enrollment completedEnrollment = enrollmentRepo.save(enrollment);
 
-        // Update student academic record
-        Student student = enrollment.getStudent();
-        if (student != null) {
-            student.updateAcademicRecord(
-                    enrollment.getFinalGrade()
-            );
-            studentRepo.save(student);
+        // Student academic record is updated by EnrollmentOutboxProcessor
+        enrollmentEventRepo.save(EnrollmentEvent.of(EnrollmentEventType.COMPLETED, completedEnrollment));
+        if (enrollment.getSection() != null) {
+            sectionRepo.recordCompletion(enrollment.getSection().getId(), request.getFinalGrade());
+            sectionCatalog.markChangedAfterCommit(enrollment.getSection().getId());
         }
+        courseHistoryIndex.recordAfterCommit(enrollment.getStudent().getId(), enrollment.getCourseCode());
 
         return enrollmentMapper.toResponse(completedEnrollment);
     }
 
+    /**
+     * Complete a whole section at term end (grade map: studentId -> final grade)
+     * - graded enrollments completed with one batched UPDATE
+     * - Student.totalCoursesCompleted bumped with one set-based UPDATE
+     * - section averageGrade / completionRate recomputed in the same pass
+     *
+     * Student counters are applied here directly, so no COMPLETED outbox
+     * events are written for these rows (they would be counted twice).
+     */
+    @Transactional
+    public CompleteSectionRes completeSection(
+            String sectionId,
+            Map<String, Double> grades,
+            String operatorId,
+            UserRole operatorRole
+    ) {
+        CourseSection section = sectionRepo.findByIdForUpdate(sectionId)
+                .orElseThrow(() -> new ResourceNotFoundException("CourseSection", sectionId));
+
+        if (operatorRole == UserRole.INSTRUCTOR
+                && (section.getInstructor() == null || !section.getInstructor().getId().equals(operatorId))) {
+            throw new IllegalStateException("Access Denied");
+        }
+
+        // One pass over the roster: active enrollments + existing grades
+        Map<String, String> activeByStudent = new HashMap<>();   // studentId -> enrollmentId
+        int roster = 0;
+        int completed = 0;
+        int graded = 0;
+        double gradeSum = 0;
+        for (Object[] row : enrollmentRepo.findGradingRowsBySectionId(sectionId)) {
+            roster++;
+            if (row[2] == EnrollmentStatus.ENROLLED) {
+                activeByStudent.put((String) row[1], (String) row[0]);
+            } else if (row[2] == EnrollmentStatus.COMPLETED) {
+                completed++;
+                if (row[3] != null) {
+                    gradeSum += (Double) row[3];
+                    graded++;
+                }
+            }
+        }
+
+        List<CompleteSectionRes.StudentResult> results = new ArrayList<>(grades.size());
+        List<Object[]> updates = new ArrayList<>(grades.size());
+        LocalDateTime now = LocalDateTime.now();
+
+        for (Map.Entry<String, Double> grade : grades.entrySet()) {
+            String enrollmentId = activeByStudent.get(grade.getKey());
+            if (enrollmentId == null) {
+                results.add(CompleteSectionRes.StudentResult.builder()
+                        .studentId(grade.getKey())
+                        .success(false)
+                        .message("Not actively enrolled in this section")
+                        .build());
+                continue;
+            }
+            updates.add(new Object[]{grade.getValue(), now, now, operatorId, enrollmentId});
+            results.add(CompleteSectionRes.StudentResult.builder()
+                    .studentId(grade.getKey())
+                    .success(true)
+                    .enrollmentId(enrollmentId)
+                    .finalGrade(grade.getValue())
+                    .build());
+
+            completed++;
+            gradeSum += grade.getValue();
+            graded++;
+        }
+
+        if (!updates.isEmpty()) {
+            // Row lock on the section keeps the roster stable, so every row still matches
+            jdbcTemplate.batchUpdate(
+                    "UPDATE enrollments " +
+                            "SET status = 'COMPLETED', final_grade = ?, completed_time = ?, " +
+                            "updated_at = ?, updated_by = ? " +
+                            "WHERE id = ? AND status = 'ENROLLED'",
+                    updates
+            );
+
+            List<String> completedStudentIds = results.stream()
+                    .filter(CompleteSectionRes.StudentResult::isSuccess)
+                    .map(CompleteSectionRes.StudentResult::getStudentId)
+                    .toList();
+            studentRepo.incrementCoursesCompleted(completedStudentIds);
+            completedStudentIds.forEach(studentId ->
+                    courseHistoryIndex.recordAfterCommit(studentId, section.getCourseCode()));
+        }
+
+        // Section statistics, rebuilt from the roster (section row is locked and managed, flushed on commit)
+        section.setGradeSum(gradeSum);
+        section.setGradedCount(graded);
+        section.setCompletedCount(completed);
+        section.setAverageGrade(graded > 0 ? gradeSum / graded : null);
+        section.setCompletionRate(completed > 0 && roster > 0 ? completed * 100.0 / roster : null);
+        sectionCatalog.markChangedAfterCommit(section.getId());
+
+        log.info("Section {} completed: {} of {} graded students",
+                section.getSectionCode(), updates.size(), grades.size());
+
+        return CompleteSectionRes.builder()
+                .courseSectionId(section.getId())
+                .sectionCode(section.getSectionCode())
+                .courseCode(section.getCourseCode())
+                .requested(grades.size())
+                .completed(updates.size())
+                .failed(grades.size() - updates.size())
+                .averageGrade(section.getAverageGrade())
+                .completionRate(section.getCompletionRate())
+                .results(results)
+                .build();
+    }
+
 
     /**
      * Get enrollments list (simplified)
      */
     public List<EnrollmentList> getEnrollmentsList() {
-        return enrollmentMapper.toListItems(enrollmentRepo.findAll());
+        return enrollmentRepo.findListRows(Pageable.unpaged());
+    }
+
+    /**
+     * Page of enrollments (simplified)
+     * Keyset-paginated, newest first
+     */
+    public PageRes<EnrollmentList> getEnrollmentsListPage(String cursor, Integer limit) {
+        int size = CursorCodec.limit(limit);
+        return CursorCodec.toPage(
+                enrollmentRepo.findListPage(CursorCodec.decode(cursor), size),
+                size,
+                EnrollmentList::getCreatedAt,
+                EnrollmentList::getId
+        );
     }
 
 
@@ -359,6 +740,20 @@ public class EnrollmentService {
         return enrollmentMapper.toResponseList(enrollmentRepo.findAll());
     }
 
+    /**
+     * Page of enrollments (detailed)
+     * Keyset-paginated, newest first
+     */
+    @Transactional(readOnly = true)
+    public PageRes<EnrollmentRes> getEnrollmentsPage(String cursor, Integer limit) {
+        int size = CursorCodec.limit(limit);
+        return CursorCodec.toPage(
+                enrollmentRepo.findPage(CursorCodec.decode(cursor), size),
+                size,
+                enrollmentMapper::toResponseList
+        );
+    }
+
 
 
     /**
@@ -384,6 +779,34 @@ public class EnrollmentService {
     }
 
 
+    /**
+     * Validate a student can take the section
+     * - not currently enrolled in another section of the course
+     * - prerequisites and placement
+     * - no clash with the student's current timetable
+     */
+    void validateStudentEligibility(Student student, CourseSection section) {
+        Course course = section.getCourse();
+
+        // Check if student not enrolled now
+        Optional<Enrollment> existingCourseEnrollment =
+                enrollmentRepo.findActiveEnrollmentByStudentAndCourse(
+                        student.getId(),
+                        course.getCourseCode()
+                );
+
+        if (existingCourseEnrollment.isPresent()) {
+            Enrollment existing = existingCourseEnrollment.get();
+            throw new IllegalArgumentException(
+                    "Currently have enrolled in this course:" + existing.getSectionCode()
+            );
+        }
+
+        validateCourseRequirements(student, course);
+
+        timetableService.assertFits(student.getId(), section);
+    }
+
     /**
      * Validate course requirements (prerequisites and placement)
      */
@@ -392,17 +815,11 @@ public class EnrollmentService {
             return;
         }
 
-        // Get all completed and passed courses by this student
-        List<String> completedCourses = enrollmentRepo
-                .findByStudentIdWithRelations(student.getId())
-                .stream()
-                .filter(e -> e.getStatus() == EnrollmentStatus.COMPLETED
-                        || e.getStatus() == EnrollmentStatus.ENROLLED)
-                .map(Enrollment::getCourseCode)
-                .toList();
+        // Completed or in-progress course codes (cached bitset per student)
+        CourseHistoryIndex.CourseHistory history = courseHistoryIndex.get(student.getId());
 
         // Use Course's validation method
-        if (!course.meetsPrerequisites(completedCourses, student.getPlacementLevel())) {
+        if (!course.meetsPrerequisites(history::contains, student.getPlacementLevel())) {
             throw new IllegalStateException("Prerequisites not met for " + course.getCourseCode());
         }
     }
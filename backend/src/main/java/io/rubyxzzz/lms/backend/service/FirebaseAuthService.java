@@ -1,13 +1,13 @@
 package io.rubyxzzz.lms.backend.service;
 
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.auth.FirebaseAuthException;
-import com.google.firebase.auth.FirebaseToken;
 import io.rubyxzzz.lms.backend.exception.AuthenticationException;
 import io.rubyxzzz.lms.backend.model.*;
 import io.rubyxzzz.lms.backend.repository.AdminRepo;
 import io.rubyxzzz.lms.backend.repository.InstructorRepo;
 import io.rubyxzzz.lms.backend.repository.StudentRepo;
+import io.rubyxzzz.lms.backend.repository.UserIdentityRepo;
+import io.rubyxzzz.lms.backend.security.VerifiedToken;
+import io.rubyxzzz.lms.backend.security.VerifiedTokenCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -27,39 +27,68 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class FirebaseAuthService {
 
-    private final FirebaseAuth firebaseAuth;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final StudentRepo studentRepo;
     private final InstructorRepo instructorRepo;
     private final AdminRepo adminRepo;
+    private final UserIdentityRepo userIdentityRepo;
+    private final UserIdentityService userIdentityService;
 
     /**
      * Verify Firebase ID token and return user info
+     * Shares the verified-token cache with AuthFilter
      */
-    public FirebaseToken verifyToken(String firebaseToken) {
+    public VerifiedToken verifyToken(String firebaseToken) {
         try {
-            FirebaseToken decodedToken = firebaseAuth.verifyIdToken(firebaseToken);
+            VerifiedToken decodedToken = verifiedTokenCache.verify(firebaseToken);
             log.info("Firebase token verified for user: {}", decodedToken.getEmail());
             return decodedToken;
 
-        } catch (FirebaseAuthException e) {
+        } catch (AuthenticationException e) {
             log.error("Firebase token verification failed: {}", e.getMessage());
-            throw new AuthenticationException("Invalid Firebase token: " + e.getMessage());
+            throw e;
         }
     }
 
     /**
      * Find user by firbaseUid
      * Returns the User entity (Student, Instructor, or Admin)
+     *
+     * One probe on user_identity, then a primary-key lookup in the right table.
+     * Users without an identity row yet (not backfilled, or conflicting email)
+     * are found through the role tables and indexed on the way.
      */
     @Transactional(readOnly = true)
     public User findUserByFirebaseUid(String firebaseUid) {
-        User user = studentRepo.findByFirebaseUid(firebaseUid).orElse(null);
-        if (user != null) return user;
+        UserIdentity identity = userIdentityRepo.findByFirebaseUid(firebaseUid).orElse(null);
+        if (identity != null) {
+            User user = switch (identity.getRole()) {
+                case STUDENT -> studentRepo.findById(identity.getEntityId()).orElse(null);
+                case INSTRUCTOR -> instructorRepo.findById(identity.getEntityId()).orElse(null);
+                case ADMIN -> adminRepo.findById(identity.getEntityId()).orElse(null);
+                default -> null;
+            };
+            if (user != null) {
+                return user;
+            }
+        }
 
-        user = instructorRepo.findByFirebaseUid(firebaseUid).orElse(null);
-        if (user != null) return user;
+        User user = findInRoleTables(firebaseUid);
+        if (user != null && identity == null) {
+            userIdentityService.registerIfMissing(user);
+        }
+        return user;
+    }
 
-        return adminRepo.findByFirebaseUid(firebaseUid).orElse(null);
+    private User findInRoleTables(String firebaseUid) {
+        User user = studentRepo.findByFirebaseUid(firebaseUid).orElse(null);
+        if (user == null) {
+            user = instructorRepo.findByFirebaseUid(firebaseUid).orElse(null);
+        }
+        if (user == null) {
+            user = adminRepo.findByFirebaseUid(firebaseUid).orElse(null);
+        }
+        return user;
     }
 
 
@@ -70,7 +99,7 @@ public class FirebaseAuthService {
     @Transactional(readOnly = true)
     public User authenticateWithFirebase(String firebaseToken) {
         // Verify Firebase token
-        FirebaseToken decodedToken = verifyToken(firebaseToken);
+        VerifiedToken decodedToken = verifyToken(firebaseToken);
         String firebaseUid = decodedToken.getUid();
 
         // Find user in local database
@@ -5,11 +5,14 @@ import io.rubyxzzz.lms.backend.dto.request.CreateInstructorReq;
 import io.rubyxzzz.lms.backend.dto.request.UpdateInstructorReq;
 import io.rubyxzzz.lms.backend.dto.request.UpdateProfileReq;
 import io.rubyxzzz.lms.backend.dto.response.InstructorRes;
+import io.rubyxzzz.lms.backend.dto.response.PageRes;
 import io.rubyxzzz.lms.backend.exception.ResourceNotFoundException;
 import io.rubyxzzz.lms.backend.mapper.InstructorMapper;
 import io.rubyxzzz.lms.backend.model.Instructor;
 import io.rubyxzzz.lms.backend.model.UserStatus;
 import io.rubyxzzz.lms.backend.repository.InstructorRepo;
+import io.rubyxzzz.lms.backend.security.UserDirectoryCache;
+import io.rubyxzzz.lms.backend.util.CursorCodec;
 import io.rubyxzzz.lms.backend.util.IdGenerator;
 
 import io.rubyxzzz.lms.backend.util.UpdateUtil;
@@ -17,6 +20,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,10 +36,12 @@ public class InstructorService {
     private final IdGenerator idGenerator;
 //    private final PasswordEncoder passwordEncoder;
     private final UserMgmtService userMgmtService;
+    private final UserDirectoryCache userDirectoryCache;
+    private final UserIdentityService userIdentityService;
 
     @Transactional
     public InstructorRes createInstructor(CreateInstructorReq request) {
-        if (instructorRepo.existsByEmail(request.getEmail())) {
+        if (userIdentityService.existsByEmail(request.getEmail())) {
             throw new IllegalArgumentException(
                     "Email already exists: " + request.getEmail()
             );
@@ -64,6 +70,7 @@ public class InstructorService {
 
             // 3. Save instructor
             Instructor savedInstructor = instructorRepo.save(instructor);
+            userIdentityService.register(savedInstructor);
             return instructorMapper.toResponse(savedInstructor);
 
         } catch (Exception e) {
@@ -89,6 +96,7 @@ public class InstructorService {
 
 
 
+        userDirectoryCache.evict(instructor.getFirebaseUid());
         Instructor updatedInstructor = instructorRepo.save(instructor);
         return instructorMapper.toResponse(updatedInstructor);
     }
@@ -107,6 +115,7 @@ public class InstructorService {
             instructor.setAddress(request.getAddress());
         }
 
+        userDirectoryCache.evict(instructor.getFirebaseUid());
         Instructor updated = instructorRepo.save(instructor);
         return instructorMapper.toResponse(updated);
     }
@@ -153,7 +162,35 @@ public class InstructorService {
     }
 
     public List<InstructorList> getInstructorsList() {
-        return instructorMapper.toListItems(instructorRepo.findAll());
+        return instructorRepo.findListRows(Pageable.unpaged());
+    }
+
+    /**
+     * Page of instructors (detailed)
+     * Keyset-paginated, newest first
+     */
+    @Transactional(readOnly = true)
+    public PageRes<InstructorRes> getInstructorsPage(String cursor, Integer limit) {
+        int size = CursorCodec.limit(limit);
+        return CursorCodec.toPage(
+                instructorRepo.findPage(CursorCodec.decode(cursor), size),
+                size,
+                instructorMapper::toResponseList
+        );
+    }
+
+    /**
+     * Page of instructors (simplified for table view)
+     * Keyset-paginated, newest first
+     */
+    public PageRes<InstructorList> getInstructorsListPage(String cursor, Integer limit) {
+        int size = CursorCodec.limit(limit);
+        return CursorCodec.toPage(
+                instructorRepo.findListPage(CursorCodec.decode(cursor), size),
+                size,
+                InstructorList::getCreatedAt,
+                InstructorList::getId
+        );
     }
 
     public List<InstructorRes> getInstructorsByStatus(UserStatus status) {
@@ -184,6 +221,7 @@ public class InstructorService {
 
         instructor.setStatus(UserStatus.SUSPENDED);
 
+        userDirectoryCache.evict(instructor.getFirebaseUid());
         Instructor updated = instructorRepo.save(instructor);
         return instructorMapper.toResponse(updated);
     }
@@ -195,6 +233,7 @@ public class InstructorService {
 
         instructor.setStatus(UserStatus.ACTIVE);
 
+        userDirectoryCache.evict(instructor.getFirebaseUid());
         Instructor updated = instructorRepo.save(instructor);
         return instructorMapper.toResponse(updated);
     }
@@ -206,6 +245,7 @@ public class InstructorService {
 
         instructor.setStatus(UserStatus.INACTIVE);
 
+        userDirectoryCache.evict(instructor.getFirebaseUid());
         Instructor updated = instructorRepo.save(instructor);
         return instructorMapper.toResponse(updated);
     }
@@ -239,6 +279,8 @@ public class InstructorService {
             }
         }
 
+        userDirectoryCache.evict(instructor.getFirebaseUid());
+        userIdentityService.remove(instructor);
         instructorRepo.delete(instructor);
 
         log.info("Instructor deleted:{}", instructorId);
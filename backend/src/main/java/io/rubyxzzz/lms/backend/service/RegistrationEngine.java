@@ -0,0 +1,386 @@
+package io.rubyxzzz.lms.backend.service;
+
+import io.rubyxzzz.lms.backend.dto.request.DropCourseReq;
+import io.rubyxzzz.lms.backend.dto.request.EnrollCourseReq;
+import io.rubyxzzz.lms.backend.dto.response.EnrollmentRes;
+import io.rubyxzzz.lms.backend.exception.RegistrationPendingException;
+import io.rubyxzzz.lms.backend.exception.ResourceNotFoundException;
+import io.rubyxzzz.lms.backend.model.CourseSection;
+import io.rubyxzzz.lms.backend.repository.EnrollmentRepo;
+import io.rubyxzzz.lms.backend.repository.SectionRepo;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Registration Engine
+ * Single-writer lanes for enroll/drop during registration bursts
+ *
+ * Enabled with registration.engine.enabled=true
+ *
+ * - Commands are hashed by section id onto a fixed number of lanes
+ * - Each lane is one virtual thread, so a section only ever has one writer
+ *   and its row is never contended between request threads
+ * - Each lane keeps a seat ledger (capacity / enrolled); accepted enrolls
+ *   reserve their seat in it, so once a section fills the rest of the
+ *   burst is rejected without touching the database
+ * - Every command is checked up front (EnrollmentService.checkEnrollable /
+ *   checkDroppable, read-only), so business-rule failures are answered
+ *   individually and never abort a batch
+ * - Commands are drained in micro-batches; a batch runs one full
+ *   EnrollmentService.enrollCourse / dropCourse call per command inside a
+ *   single transaction. It saves one commit per command, not the writes
+ *   themselves: every command still issues its own statements
+ * - If a batch still fails (a race with a write outside the lane), it is
+ *   rolled back and its commands are replayed one by one
+ * - Commands whose caller already gave up (timeout) are skipped
+ * - A caller that times out gets RegistrationPendingException (504), not a
+ *   rejection: a command already running may still commit, so the client
+ *   has to check its enrollments before retrying
+ */
+@Slf4j
+@Service
+public class RegistrationEngine {
+
+    private final EnrollmentService enrollmentService;
+    private final SectionRepo sectionRepo;
+    private final EnrollmentRepo enrollmentRepo;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${registration.engine.enabled:false}")
+    private boolean enabled;
+
+    @Value("${registration.engine.lanes:0}")
+    private int laneCount;
+
+    @Value("${registration.engine.batch-size:64}")
+    private int batchSize;
+
+    @Value("${registration.engine.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${registration.engine.ledger-ttl:PT5S}")
+    private Duration ledgerTtl;
+
+    @Value("${registration.engine.timeout:PT10S}")
+    private Duration timeout;
+
+    private Lane[] lanes;
+
+    public RegistrationEngine(
+            EnrollmentService enrollmentService,
+            SectionRepo sectionRepo,
+            EnrollmentRepo enrollmentRepo,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.enrollmentService = enrollmentService;
+        this.sectionRepo = sectionRepo;
+        this.enrollmentRepo = enrollmentRepo;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        int count = laneCount > 0 ? laneCount : Runtime.getRuntime().availableProcessors() * 2;
+        lanes = new Lane[count];
+        for (int i = 0; i < count; i++) {
+            lanes[i] = new Lane(i);
+        }
+        log.info("Registration engine started with {} lanes", count);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (lanes != null) {
+            for (Lane lane : lanes) {
+                lane.thread.interrupt();
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enroll through the section's lane (blocks until the batch commits)
+     */
+    public EnrollmentRes enroll(EnrollCourseReq request) {
+        Command command = new Command(request.getCourseSectionId(), request, null, null);
+        return submit(command);
+    }
+
+    /**
+     * Drop through the section's lane (blocks until the batch commits)
+     */
+    public EnrollmentRes drop(DropCourseReq request, String operatorId) {
+        String sectionId = enrollmentRepo.findSectionIdById(request.getEnrollmentId())
+                .orElseThrow(() -> new ResourceNotFoundException("Enrollment", request.getEnrollmentId()));
+
+        Command command = new Command(sectionId, null, request, operatorId);
+        return submit(command);
+    }
+
+    private EnrollmentRes submit(Command command) {
+        Lane lane = lanes[Math.floorMod(command.sectionId.hashCode(), lanes.length)];
+        if (!lane.queue.offer(command)) {
+            throw new IllegalStateException("Registration is busy, please retry");
+        }
+
+        try {
+            return command.result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Registration failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            // Still queued: the lane will skip it. Already running: it may still commit.
+            command.result.cancel(false);
+            throw new RegistrationPendingException(
+                    "Registration is still being processed, check your enrollments before retrying");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            command.result.cancel(false);
+            throw new RegistrationPendingException(
+                    "Registration interrupted, check your enrollments before retrying");
+        }
+    }
+
+    /**
+     * Enroll or drop request waiting in a lane
+     */
+    private static final class Command {
+        final String sectionId;
+        final EnrollCourseReq enroll;
+        final DropCourseReq drop;
+        final String operatorId;
+        final CompletableFuture<EnrollmentRes> result = new CompletableFuture<>();
+
+        // ledger the seat was reserved in (lane thread only)
+        Ledger reservedIn;
+
+        Command(String sectionId, EnrollCourseReq enroll, DropCourseReq drop, String operatorId) {
+            this.sectionId = sectionId;
+            this.enroll = enroll;
+            this.drop = drop;
+            this.operatorId = operatorId;
+        }
+
+        boolean isEnroll() {
+            return enroll != null;
+        }
+
+        boolean isAbandoned() {
+            return result.isDone();
+        }
+    }
+
+    /**
+     * Seats as last seen by the lane
+     */
+    private static final class Ledger {
+        int capacity;
+        int enrolled;
+        long loadedAt;
+
+        boolean isFull() {
+            return enrolled >= capacity;
+        }
+    }
+
+    /**
+     * One single-writer queue + its virtual thread
+     */
+    private final class Lane {
+
+        final BlockingQueue<Command> queue = new ArrayBlockingQueue<>(queueCapacity);
+        final Map<String, Ledger> ledgers = new HashMap<>();
+        final Thread thread;
+
+        Lane(int index) {
+            thread = Thread.ofVirtual()
+                    .name("registration-lane-" + index)
+                    .start(this::run);
+        }
+
+        void run() {
+            List<Command> batch = new ArrayList<>(batchSize);
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    batch.add(queue.take());
+                    queue.drainTo(batch, batchSize - 1);
+                    process(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (Exception e) {
+                    log.error("Registration lane error: {}", e.getMessage(), e);
+                    batch.forEach(command -> command.result.completeExceptionally(e));
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+
+        void process(List<Command> batch) {
+            List<Command> accepted = admit(batch);
+
+            // Callers may have timed out while their command was checked
+            accepted.removeIf(command -> {
+                if (command.isAbandoned()) {
+                    releaseReservation(command);
+                    return true;
+                }
+                return false;
+            });
+            if (accepted.isEmpty()) {
+                return;
+            }
+
+            // One transaction for the whole micro-batch
+            try {
+                List<EnrollmentRes> results = transactionTemplate.execute(status -> {
+                    List<EnrollmentRes> out = new ArrayList<>(accepted.size());
+                    for (Command command : accepted) {
+                        out.add(execute(command));
+                    }
+                    return out;
+                });
+
+                for (int i = 0; i < accepted.size(); i++) {
+                    applyToLedger(accepted.get(i));
+                    accepted.get(i).result.complete(results.get(i));
+                }
+                return;
+
+            } catch (RuntimeException e) {
+                if (accepted.size() == 1) {
+                    onFailure(accepted.get(0), e);
+                    return;
+                }
+                log.debug("Registration batch of {} failed ({}), replaying individually",
+                        accepted.size(), e.getMessage());
+            }
+
+            // Replay one by one so each caller gets its own outcome
+            for (Command command : accepted) {
+                if (command.isAbandoned()) {
+                    releaseReservation(command);
+                    continue;
+                }
+                try {
+                    EnrollmentRes result = transactionTemplate.execute(status -> execute(command));
+                    applyToLedger(command);
+                    command.result.complete(result);
+                } catch (RuntimeException e) {
+                    onFailure(command, e);
+                }
+            }
+        }
+
+        /**
+         * Commands that go into the batch transaction
+         * Rejected commands are completed here, each with its own error
+         */
+        List<Command> admit(List<Command> batch) {
+            List<Command> accepted = new ArrayList<>(batch.size());
+            Set<String> enrolling = new HashSet<>();   // studentId:sectionId
+            // one ledger per section for the whole batch, so a TTL reload cannot drop its reservations
+            Map<String, Ledger> batchLedgers = new HashMap<>();
+            for (Command command : batch) {
+                if (command.isAbandoned()) {
+                    continue;
+                }
+                try {
+                    if (command.isEnroll()) {
+                        Ledger ledger = batchLedgers.computeIfAbsent(command.sectionId, this::ledger);
+                        if (ledger.isFull()) {
+                            throw new IllegalStateException("Course section is full. Available seats: 0");
+                        }
+                        // The checks below cannot see uncommitted rows of this batch
+                        if (!enrolling.add(command.enroll.getStudentId() + ":" + command.sectionId)) {
+                            throw new IllegalStateException("An enrollment request for this section is already in progress");
+                        }
+                        enrollmentService.checkEnrollable(command.enroll);
+                        ledger.enrolled++;
+                        command.reservedIn = ledger;
+                    } else {
+                        enrollmentService.checkDroppable(command.drop);
+                    }
+                    accepted.add(command);
+                } catch (RuntimeException e) {
+                    command.result.completeExceptionally(e);
+                }
+            }
+            return accepted;
+        }
+
+        EnrollmentRes execute(Command command) {
+            return command.isEnroll()
+                    ? enrollmentService.enrollCourse(command.enroll)
+                    : enrollmentService.dropCourse(command.drop, command.operatorId);
+        }
+
+        void applyToLedger(Command command) {
+            // enrolls reserved their seat when admitted; a drop may have
+            // promoted someone off the waitlist - reload next time
+            if (!command.isEnroll()) {
+                ledgers.remove(command.sectionId);
+            }
+        }
+
+        void releaseReservation(Command command) {
+            // only if the ledger was not reloaded since (a reload already excludes the seat)
+            Ledger ledger = command.reservedIn;
+            if (ledger != null && ledgers.get(command.sectionId) == ledger && ledger.enrolled > 0) {
+                ledger.enrolled--;
+            }
+            command.reservedIn = null;
+        }
+
+        void onFailure(Command command, RuntimeException e) {
+            // counts may have changed outside this lane - reload next time
+            ledgers.remove(command.sectionId);
+            command.result.completeExceptionally(e);
+        }
+
+        Ledger ledger(String sectionId) {
+            long now = System.nanoTime();
+            Ledger ledger = ledgers.get(sectionId);
+            if (ledger != null && now - ledger.loadedAt < ledgerTtl.toNanos()) {
+                return ledger;
+            }
+
+            CourseSection section = sectionRepo.findById(sectionId)
+                    .orElseThrow(() -> new ResourceNotFoundException("CourseSection", sectionId));
+
+            ledger = new Ledger();
+            ledger.capacity = section.getCapacity();
+            ledger.enrolled = section.getEnrolledCount();
+            ledger.loadedAt = now;
+            ledgers.put(sectionId, ledger);
+            return ledger;
+        }
+    }
+}
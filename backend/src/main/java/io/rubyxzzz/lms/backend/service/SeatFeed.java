@@ -0,0 +1,267 @@
+package io.rubyxzzz.lms.backend.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.rubyxzzz.lms.backend.dto.response.SeatUpdateRes;
+import io.rubyxzzz.lms.backend.model.CourseSection;
+import io.rubyxzzz.lms.backend.repository.SectionRepo;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Seat Feed
+ * Pushes seat availability of watched sections over Server-Sent Events
+ *
+ * - Enroll / drop mark the section after commit; marks are coalesced and
+ *   published every seats.feed.flush-interval with one projection query,
+ *   only for sections somebody is watching
+ * - Fan-out: sectionId -> concurrent set of subscribers (no locks on publish)
+ * - Backpressure per subscriber: pending updates are kept latest-value-wins
+ *   per section, and one virtual thread at a time drains them, so a slow
+ *   client only ever delays (and coalesces) its own updates
+ *
+ * Idle connections hold no thread (async servlet), which keeps large
+ * numbers of open streams cheap.
+ */
+@Slf4j
+@Service
+public class SeatFeed {
+
+    private final SectionRepo sectionRepo;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${seats.feed.timeout:PT30M}")
+    private Duration timeout;
+
+    @Value("${seats.feed.max-sections:100}")
+    private int maxSections;
+
+    private final Map<String, Set<Subscriber>> watchers = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Set<String> changed = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    public SeatFeed(SectionRepo sectionRepo, MeterRegistry meterRegistry) {
+        this.sectionRepo = sectionRepo;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("seats.feed.subscribers", subscribers, Set::size)
+                .description("Open seat availability streams")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    /**
+     * Open a stream for some sections; current seats are sent first
+     */
+    public SseEmitter subscribe(Collection<String> sectionIds) {
+        Set<String> ids = new HashSet<>(sectionIds);
+        ids.remove(null);
+        if (ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one section id is required");
+        }
+        if (ids.size() > maxSections) {
+            throw new IllegalArgumentException("Cannot watch more than " + maxSections + " sections");
+        }
+
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeout.toMillis()), ids);
+        subscriber.emitter.onCompletion(() -> unsubscribe(subscriber));
+        subscriber.emitter.onTimeout(() -> unsubscribe(subscriber));
+        subscriber.emitter.onError(error -> unsubscribe(subscriber));
+
+        subscribers.add(subscriber);
+        for (String id : ids) {
+            watchers.computeIfAbsent(id, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+
+        for (SeatUpdateRes update : load(ids)) {
+            subscriber.offer(update);
+        }
+        return subscriber.emitter;
+    }
+
+    /**
+     * Publish the section's seats once the transaction commits
+     */
+    public void publishAfterCommit(String sectionId) {
+        if (sectionId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            changed.add(sectionId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                changed.add(sectionId);
+            }
+        });
+    }
+
+    /**
+     * Send coalesced seat changes to their watchers
+     */
+    @Scheduled(fixedDelayString = "${seats.feed.flush-interval:PT0.25S}")
+    public void flush() {
+        if (changed.isEmpty()) {
+            return;
+        }
+        Set<String> ids = new HashSet<>(changed);
+        changed.removeAll(ids);
+        ids.retainAll(watchers.keySet());
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        for (SeatUpdateRes update : load(ids)) {
+            Set<Subscriber> watching = watchers.get(update.getSectionId());
+            if (watching != null) {
+                watching.forEach(subscriber -> subscriber.offer(update));
+            }
+        }
+    }
+
+    /**
+     * Keep idle streams alive through proxies and detect closed connections
+     */
+    @Scheduled(fixedDelayString = "${seats.feed.heartbeat-interval:PT25S}")
+    public void heartbeat() {
+        subscribers.forEach(Subscriber::ping);
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private List<SeatUpdateRes> load(Collection<String> ids) {
+        List<SeatUpdateRes> updates = new ArrayList<>(ids.size());
+        for (Object[] row : sectionRepo.findSeatRowsByIds(ids)) {
+            Integer capacity = (Integer) row[1];
+            Integer enrolled = (Integer) row[2];
+            updates.add(SeatUpdateRes.builder()
+                    .sectionId((String) row[0])
+                    .capacity(capacity)
+                    .enrolledCount(enrolled)
+                    .availableSeats(CourseSection.availableSeats(capacity, enrolled))
+                    .waitlistCount((Integer) row[3])
+                    .build());
+        }
+        return updates;
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        for (String id : subscriber.sectionIds) {
+            watchers.computeIfPresent(id, (key, watching) -> {
+                watching.remove(subscriber);
+                return watching.isEmpty() ? null : watching;
+            });
+        }
+    }
+
+    /**
+     * One open stream
+     */
+    private final class Subscriber {
+
+        final SseEmitter emitter;
+        final Set<String> sectionIds;
+
+        // sectionId -> latest unsent update (bounded by the watched sections)
+        final Map<String, SeatUpdateRes> pending = new ConcurrentHashMap<>();
+        final AtomicBoolean ping = new AtomicBoolean();
+        final AtomicInteger draining = new AtomicInteger();
+
+        Subscriber(SseEmitter emitter, Set<String> sectionIds) {
+            this.emitter = emitter;
+            this.sectionIds = sectionIds;
+        }
+
+        void offer(SeatUpdateRes update) {
+            pending.put(update.getSectionId(), update);
+            schedule();
+        }
+
+        void ping() {
+            ping.set(true);
+            schedule();
+        }
+
+        // At most one sender per subscriber; offers during a drain are picked up by it
+        void schedule() {
+            if (draining.getAndIncrement() == 0) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RuntimeException e) {
+                    draining.set(0);    // shutting down
+                }
+            }
+        }
+
+        void drain() {
+            int seen = draining.get();
+            while (true) {
+                try {
+                    send();
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Seat stream closed: {}", e.getMessage());
+                    unsubscribe(this);
+                    emitter.completeWithError(e);
+                    return;
+                }
+                // Exit only if nothing was offered since the last pass
+                int remaining = draining.addAndGet(-seen);
+                if (remaining == 0) {
+                    return;
+                }
+                seen = remaining;
+            }
+        }
+
+        void send() throws IOException {
+            for (String sectionId : pending.keySet()) {
+                SeatUpdateRes update = pending.remove(sectionId);
+                if (update != null) {
+                    emitter.send(SseEmitter.event()
+                            .name("seats")
+                            .data(update));
+                }
+            }
+            if (ping.compareAndSet(true, false)) {
+                emitter.send(SseEmitter.event().comment("ping"));
+            }
+        }
+    }
+}
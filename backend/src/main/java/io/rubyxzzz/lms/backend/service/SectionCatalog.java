@@ -0,0 +1,206 @@
+package io.rubyxzzz.lms.backend.service;
+
+import io.rubyxzzz.lms.backend.dto.response.SectionRes;
+import io.rubyxzzz.lms.backend.mapper.SectionMapper;
+import io.rubyxzzz.lms.backend.model.CourseSection;
+import io.rubyxzzz.lms.backend.repository.SectionRepo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Section Catalog
+ * Versioned in-memory snapshot of enrollable sections
+ *
+ * - Readers get an immutable Snapshot from a volatile field, no locking
+ * - Writers mark sections changed after commit (publish / cancel / edit,
+ *   seat and waitlist counters); changed sections are reloaded in one
+ *   query and mapped again, the rest of the snapshot is reused
+ * - A periodic full rebuild catches changes made outside these paths
+ *   (e.g. course edits)
+ *
+ * Each snapshot has a version and an ETag, so clients polling during
+ * registration can be answered with 304 Not Modified. A new version is
+ * only published when the content actually differs.
+ */
+@Slf4j
+@Component
+public class SectionCatalog {
+
+    private static final Comparator<SectionRes> ORDER = Comparator
+            .comparing(SectionRes::getCourseCode, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(SectionRes::getSectionCode, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(SectionRes::getId);
+
+    // ETags from another instance (or before a restart) never match ours
+    private static final String BOOT_ID = Long.toString(System.currentTimeMillis(), 36);
+
+    private final SectionRepo sectionRepo;
+    private final SectionMapper sectionMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Set<String> changed = ConcurrentHashMap.newKeySet();
+    private final Object writeLock = new Object();
+
+    private volatile Snapshot snapshot;
+
+    public SectionCatalog(
+            SectionRepo sectionRepo,
+            SectionMapper sectionMapper,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.sectionRepo = sectionRepo;
+        this.sectionMapper = sectionMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Immutable catalog version
+     * Sections are shared between readers and must not be modified
+     */
+    public record Snapshot(long version, List<SectionRes> sections, Map<String, SectionRes> byId, String etag) {
+
+        /**
+         * True if an If-None-Match header already names this version
+         */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+                return false;
+            }
+            for (String tag : ifNoneMatch.split(",")) {
+                String candidate = tag.trim();
+                if (candidate.startsWith("W/")) {
+                    candidate = candidate.substring(2);
+                }
+                if (candidate.equals("*") || candidate.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Current snapshot (built on first use)
+     */
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (writeLock) {
+            return snapshot != null ? snapshot : rebuild();
+        }
+    }
+
+    /**
+     * Reload a section into the catalog once the transaction commits
+     */
+    public void markChangedAfterCommit(String sectionId) {
+        if (sectionId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            changed.add(sectionId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                changed.add(sectionId);
+            }
+        });
+    }
+
+    /**
+     * Apply pending section changes to a new snapshot
+     */
+    @Scheduled(fixedDelayString = "${section.catalog.refresh-interval:PT0.5S}")
+    public void applyChanges() {
+        if (changed.isEmpty() || snapshot == null) {
+            return;
+        }
+        synchronized (writeLock) {
+            // Marks arriving after this point are reloaded next round (the query below sees them anyway)
+            Set<String> ids = new HashSet<>(changed);
+            changed.removeAll(ids);
+            if (ids.isEmpty()) {
+                return;
+            }
+
+            List<CourseSection> reloaded = transactionTemplate.execute(status ->
+                    sectionRepo.findEnrollableSectionsWithRelationsByIds(ids));
+
+            Map<String, SectionRes> byId = new HashMap<>(snapshot.byId());
+            byId.keySet().removeAll(ids);   // no longer enrollable unless reloaded below
+            for (CourseSection section : reloaded) {
+                byId.put(section.getId(), sectionMapper.toResponse(section));
+            }
+            publish(byId);
+            log.debug("Section catalog v{}: {} sections reloaded", snapshot.version(), ids.size());
+        }
+    }
+
+    /**
+     * Rebuild the whole catalog from the database
+     */
+    @Scheduled(
+            initialDelayString = "${section.catalog.rebuild-interval:PT5M}",
+            fixedDelayString = "${section.catalog.rebuild-interval:PT5M}"
+    )
+    public Snapshot rebuild() {
+        synchronized (writeLock) {
+            List<CourseSection> sections = transactionTemplate.execute(status ->
+                    sectionRepo.findEnrollableSectionsWithRelations());
+
+            Map<String, SectionRes> byId = new HashMap<>();
+            for (CourseSection section : sections) {
+                byId.put(section.getId(), sectionMapper.toResponse(section));
+            }
+            Snapshot previous = snapshot;
+            Snapshot rebuilt = publish(byId);
+            if (rebuilt != previous) {
+                log.info("Section catalog v{} rebuilt: {} enrollable sections", rebuilt.version(), byId.size());
+            }
+            return rebuilt;
+        }
+    }
+
+    /**
+     * Publish byId as the next version, or keep the current snapshot
+     * (and its ETag) when nothing differs
+     */
+    private Snapshot publish(Map<String, SectionRes> byId) {
+        Snapshot current = snapshot;
+        if (current != null && current.byId().equals(byId)) {
+            return current;
+        }
+
+        List<SectionRes> sections = new ArrayList<>(byId.values());
+        sections.sort(ORDER);
+
+        long version = current != null ? current.version() + 1 : 1;
+        Snapshot next = new Snapshot(
+                version,
+                List.copyOf(sections),
+                Map.copyOf(byId),
+                "\"" + BOOT_ID + "-" + version + "\""
+        );
+        snapshot = next;
+        return next;
+    }
+}
@@ -0,0 +1,261 @@
+package io.rubyxzzz.lms.backend.service;
+
+import io.rubyxzzz.lms.backend.dto.response.SectionRes;
+import io.rubyxzzz.lms.backend.dto.response.SectionSearchRes;
+import io.rubyxzzz.lms.backend.util.FacetIndex;
+import io.rubyxzzz.lms.backend.util.MeetingTime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Section Search Service
+ * Faceted search over the enrollable sections of one session
+ *
+ * - One FacetIndex per session, built from the SectionCatalog snapshot;
+ *   after a version change it is rebuilt once (under the session's map
+ *   entry) and only if that session's sections changed
+ * - Only sessions present in the catalog are indexed; indexes of sessions
+ *   that left the catalog are dropped
+ * - Facets: program (course code prefix), level (required placement level),
+ *   day, time (start time window), format, instructor, seats (seats left)
+ */
+@Service
+@RequiredArgsConstructor
+public class SectionSearchService {
+
+    public static final String PROGRAM = "program";
+    public static final String LEVEL = "level";
+    public static final String DAY = "day";
+    public static final String TIME = "time";
+    public static final String FORMAT = "format";
+    public static final String INSTRUCTOR = "instructor";
+    public static final String SEATS = "seats";
+
+    private static final LocalTime AFTERNOON = LocalTime.NOON;
+    private static final LocalTime EVENING = LocalTime.of(17, 0);
+
+    private static final List<String> DAYS = Arrays.stream(DayOfWeek.values()).map(DayOfWeek::name).toList();
+    private static final List<String> TIMES = List.of("MORNING", "AFTERNOON", "EVENING");
+    private static final List<String> SEAT_BANDS = List.of("1-5", "6-15", "16+");
+
+    private final SectionCatalog sectionCatalog;
+
+    private final Map<String, SessionIndex> indexes = new ConcurrentHashMap<>();
+    private final Object groupLock = new Object();
+
+    private volatile SessionGroups groups;
+
+    /**
+     * Catalog sections split by session, at one catalog version
+     */
+    private record SessionGroups(long version, Map<String, List<SectionRes>> bySession) {
+    }
+
+    /**
+     * Index of one session at one catalog version
+     */
+    private record SessionIndex(
+            long version,
+            List<SectionRes> sections,
+            FacetIndex index,
+            Map<String, String> instructorNames
+    ) {
+
+        SessionIndex withVersion(long newVersion) {
+            return new SessionIndex(newVersion, sections, index, instructorNames);
+        }
+    }
+
+    /**
+     * Search enrollable sections of a session
+     *
+     * @param selected facet -> accepted values (OR within a facet, AND across facets)
+     */
+    public SectionSearchRes search(String sessionCode, Map<String, List<String>> selected) {
+        SessionIndex session = indexFor(sessionCode);
+        Map<String, List<String>> filters = normalize(selected);
+
+        BitSet hits = session.index().match(filters);
+        List<SectionRes> sections = new ArrayList<>(hits.cardinality());
+        for (int doc = hits.nextSetBit(0); doc >= 0; doc = hits.nextSetBit(doc + 1)) {
+            sections.add(session.sections().get(doc));
+        }
+
+        Map<String, List<SectionSearchRes.FacetCount>> facets = new LinkedHashMap<>();
+        session.index().counts(filters).forEach((facet, counts) -> {
+            List<SectionSearchRes.FacetCount> values = new ArrayList<>(counts.size());
+            counts.forEach((value, count) -> values.add(SectionSearchRes.FacetCount.builder()
+                    .value(value)
+                    .label(INSTRUCTOR.equals(facet) ? session.instructorNames().get(value) : value)
+                    .count(count)
+                    .build()));
+            facets.put(facet, values);
+        });
+
+        return SectionSearchRes.builder()
+                .sessionCode(sessionCode)
+                .catalogVersion(session.version())
+                .total(sections.size())
+                .sections(sections)
+                .facets(facets)
+                .build();
+    }
+
+    private SessionIndex indexFor(String sessionCode) {
+        SessionGroups catalog = groups();
+        long version = catalog.version();
+        List<SectionRes> sections = sessionCode != null ? catalog.bySession().get(sessionCode) : null;
+        if (sections == null) {
+            // unknown session: answer empty, never cache
+            return build(version, List.of());
+        }
+
+        SessionIndex current = indexes.get(sessionCode);
+        if (current != null && current.version() >= version) {
+            return current;
+        }
+
+        // one build per session and version; concurrent callers wait for it
+        return indexes.compute(sessionCode, (code, previous) -> {
+            if (previous != null && previous.version() >= version) {
+                return previous;
+            }
+            if (previous != null && sameSections(previous.sections(), sections)) {
+                return previous.withVersion(version);
+            }
+            return build(version, sections);
+        });
+    }
+
+    /**
+     * Current catalog split by session; regrouped once per catalog version
+     */
+    private SessionGroups groups() {
+        SectionCatalog.Snapshot catalog = sectionCatalog.snapshot();
+        SessionGroups current = groups;
+        if (current != null && current.version() >= catalog.version()) {
+            return current;
+        }
+        synchronized (groupLock) {
+            current = groups;
+            if (current != null && current.version() >= catalog.version()) {
+                return current;
+            }
+            Map<String, List<SectionRes>> bySession = catalog.sections().stream()
+                    .filter(section -> section.getSessionCode() != null)
+                    .collect(Collectors.groupingBy(SectionRes::getSessionCode, Collectors.toUnmodifiableList()));
+
+            indexes.keySet().retainAll(bySession.keySet());
+            current = new SessionGroups(catalog.version(), Map.copyOf(bySession));
+            groups = current;
+            return current;
+        }
+    }
+
+    /**
+     * The catalog reuses SectionRes instances of unchanged sections,
+     * so identity tells whether a session is affected by a new version
+     */
+    private static boolean sameSections(List<SectionRes> previous, List<SectionRes> sections) {
+        if (previous.size() != sections.size()) {
+            return false;
+        }
+        for (int i = 0; i < sections.size(); i++) {
+            if (previous.get(i) != sections.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private SessionIndex build(long version, List<SectionRes> sections) {
+        FacetIndex.Builder builder = FacetIndex.builder(sections.size())
+                .values(DAY, DAYS)
+                .values(TIME, TIMES)
+                .values(SEATS, SEAT_BANDS);
+        Map<String, String> instructorNames = new HashMap<>();
+
+        for (int doc = 0; doc < sections.size(); doc++) {
+            SectionRes section = sections.get(doc);
+
+            builder.add(doc, PROGRAM, programOf(section.getCourseCode()));
+            builder.add(doc, LEVEL, section.getRequiredPlacementLevel() != null
+                    ? section.getRequiredPlacementLevel().toString() : null);
+            builder.add(doc, FORMAT, section.getCourseFormat() != null ? section.getCourseFormat().name() : null);
+            builder.add(doc, TIME, timeWindowOf(section.getStartTime()));
+            builder.add(doc, SEATS, seatBandOf(section.getAvailableSeats()));
+
+            int days = MeetingTime.dayMask(section.getDaysOfWeek());
+            for (int bit = 0; bit < DAYS.size(); bit++) {
+                if ((days & (1 << bit)) != 0) {
+                    builder.add(doc, DAY, DAYS.get(bit));
+                }
+            }
+
+            if (section.getInstructorId() != null) {
+                builder.add(doc, INSTRUCTOR, section.getInstructorId());
+                instructorNames.put(section.getInstructorId(), section.getInstructorName());
+            }
+        }
+
+        return new SessionIndex(version, sections, builder.build(), instructorNames);
+    }
+
+    // Values are matched upper-case, except instructor ids
+    private Map<String, List<String>> normalize(Map<String, List<String>> selected) {
+        Map<String, List<String>> filters = new HashMap<>();
+        selected.forEach((facet, values) -> {
+            if (values == null || values.isEmpty()) {
+                return;
+            }
+            filters.put(facet, INSTRUCTOR.equals(facet)
+                    ? values
+                    : values.stream().map(value -> value.trim().toUpperCase(Locale.ROOT)).toList());
+        });
+        return filters;
+    }
+
+    /**
+     * "GE-101" -> "GE"
+     */
+    private static String programOf(String courseCode) {
+        if (courseCode == null || courseCode.isBlank()) {
+            return null;
+        }
+        int dash = courseCode.indexOf('-');
+        return (dash > 0 ? courseCode.substring(0, dash) : courseCode).toUpperCase(Locale.ROOT);
+    }
+
+    private static String timeWindowOf(LocalTime startTime) {
+        if (startTime == null) {
+            return null;
+        }
+        if (startTime.isBefore(AFTERNOON)) {
+            return "MORNING";
+        }
+        return startTime.isBefore(EVENING) ? "AFTERNOON" : "EVENING";
+    }
+
+    private static String seatBandOf(Integer availableSeats) {
+        if (availableSeats == null || availableSeats <= 0) {
+            return null;
+        }
+        if (availableSeats <= 5) {
+            return "1-5";
+        }
+        return availableSeats <= 15 ? "6-15" : "16+";
+    }
+}
@@ -0,0 +1,33 @@
+package io.rubyxzzz.lms.backend.service;
+
+import io.rubyxzzz.lms.backend.repository.SectionRepo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Section Stats Reconciler
+ * Recomputes CourseSection averageGrade / completionRate and their running
+ * aggregates (gradeSum, gradedCount, completedCount) from enrollments
+ *
+ * - Complete / drop keep the aggregates current incrementally;
+ *   this job repairs drift (enrollments after grading started, manual data fixes)
+ * - One set-based UPDATE over all sections, no rows loaded into memory
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SectionStatsReconciler {
+
+    private final SectionRepo sectionRepo;
+
+    @Scheduled(cron = "${section.stats.reconcile-cron:0 0 4 * * *}")
+    @Transactional
+    public int reconcile() {
+        int updated = sectionRepo.reconcileStats();
+        log.info("Section stats reconciled: {} sections", updated);
+        return updated;
+    }
+}
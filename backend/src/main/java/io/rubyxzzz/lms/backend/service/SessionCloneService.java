@@ -0,0 +1,392 @@
+package io.rubyxzzz.lms.backend.service;
+
+import io.rubyxzzz.lms.backend.dto.response.SessionCloneRes;
+import io.rubyxzzz.lms.backend.exception.ResourceNotFoundException;
+import io.rubyxzzz.lms.backend.model.Assignment;
+import io.rubyxzzz.lms.backend.model.Course;
+import io.rubyxzzz.lms.backend.model.CoursePage;
+import io.rubyxzzz.lms.backend.model.CourseSection;
+import io.rubyxzzz.lms.backend.model.CourseSectionStatus;
+import io.rubyxzzz.lms.backend.model.Module;
+import io.rubyxzzz.lms.backend.model.Session;
+import io.rubyxzzz.lms.backend.repository.AssignmentRepo;
+import io.rubyxzzz.lms.backend.repository.CoursePageRepo;
+import io.rubyxzzz.lms.backend.repository.CourseRepo;
+import io.rubyxzzz.lms.backend.repository.InstructorRepo;
+import io.rubyxzzz.lms.backend.repository.ModuleRepo;
+import io.rubyxzzz.lms.backend.repository.SectionRepo;
+import io.rubyxzzz.lms.backend.repository.SessionRepo;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Session Clone Service
+ * Copies a session's catalog (courses with prerequisites, sections,
+ * modules, pages, assignments) into another session
+ *
+ * - Runs as a background job in one transaction: all or nothing
+ * - Courses are processed in chunks of session.clone.chunk-size:
+ *   one query per entity type per chunk, batched inserts
+ *   (hibernate.jdbc.batch_size), then flush + clear so memory stays flat
+ * - Progress is readable while the job runs (getJob)
+ *
+ * Clones start fresh: sections are DRAFT with no enrollments or statistics,
+ * content is unpublished, and assignment due dates move by the
+ * difference between the two session start dates. Courses whose code
+ * already exists in the target session are skipped.
+ */
+@Slf4j
+@Service
+public class SessionCloneService {
+
+    private final SessionRepo sessionRepo;
+    private final CourseRepo courseRepo;
+    private final SectionRepo sectionRepo;
+    private final ModuleRepo moduleRepo;
+    private final CoursePageRepo coursePageRepo;
+    private final AssignmentRepo assignmentRepo;
+    private final InstructorRepo instructorRepo;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${session.clone.chunk-size:50}")
+    private int chunkSize;
+
+    @Value("${session.clone.job-retention:PT1H}")
+    private Duration jobRetention;
+
+    private final Map<String, CloneJob> jobs = new ConcurrentHashMap<>();
+
+    public SessionCloneService(
+            SessionRepo sessionRepo,
+            CourseRepo courseRepo,
+            SectionRepo sectionRepo,
+            ModuleRepo moduleRepo,
+            CoursePageRepo coursePageRepo,
+            AssignmentRepo assignmentRepo,
+            InstructorRepo instructorRepo,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.sessionRepo = sessionRepo;
+        this.courseRepo = courseRepo;
+        this.sectionRepo = sectionRepo;
+        this.moduleRepo = moduleRepo;
+        this.coursePageRepo = coursePageRepo;
+        this.assignmentRepo = assignmentRepo;
+        this.instructorRepo = instructorRepo;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Running / finished clone job
+     */
+    private static final class CloneJob {
+        final String id = UUID.randomUUID().toString();
+        final String sourceSessionId;
+        final String targetSessionId;
+        final String sourceSessionCode;
+        final String targetSessionCode;
+        final LocalDateTime startedAt = LocalDateTime.now();
+
+        final AtomicInteger processedCourses = new AtomicInteger();
+        final AtomicInteger courses = new AtomicInteger();
+        final AtomicInteger sections = new AtomicInteger();
+        final AtomicInteger modules = new AtomicInteger();
+        final AtomicInteger pages = new AtomicInteger();
+        final AtomicInteger assignments = new AtomicInteger();
+        final List<String> skipped = Collections.synchronizedList(new ArrayList<>());
+
+        volatile int totalCourses;
+        volatile String status = "RUNNING";
+        volatile String message;
+        volatile LocalDateTime finishedAt;
+
+        CloneJob(Session source, Session target) {
+            this.sourceSessionId = source.getId();
+            this.targetSessionId = target.getId();
+            this.sourceSessionCode = source.getSessionCode();
+            this.targetSessionCode = target.getSessionCode();
+        }
+
+        boolean isRunning() {
+            return finishedAt == null;
+        }
+
+        SessionCloneRes toResponse() {
+            return SessionCloneRes.builder()
+                    .jobId(id)
+                    .status(status)
+                    .sourceSessionCode(sourceSessionCode)
+                    .targetSessionCode(targetSessionCode)
+                    .totalCourses(totalCourses)
+                    .processedCourses(processedCourses.get())
+                    .coursesCloned(courses.get())
+                    .sectionsCloned(sections.get())
+                    .modulesCloned(modules.get())
+                    .pagesCloned(pages.get())
+                    .assignmentsCloned(assignments.get())
+                    .skippedCourseCodes(List.copyOf(skipped))
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .message(message)
+                    .build();
+        }
+    }
+
+    /**
+     * Start cloning sourceSessionId into targetSessionId
+     * Returns immediately; poll getJob for progress
+     */
+    public SessionCloneRes startClone(String sourceSessionId, String targetSessionId) {
+        if (sourceSessionId.equals(targetSessionId)) {
+            throw new IllegalArgumentException("Source and target session must be different");
+        }
+        Session source = sessionRepo.findById(sourceSessionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Session", sourceSessionId));
+        Session target = sessionRepo.findById(targetSessionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Session", targetSessionId));
+
+        pruneFinishedJobs();
+        CloneJob job = new CloneJob(source, target);
+        synchronized (jobs) {
+            boolean busy = jobs.values().stream()
+                    .anyMatch(other -> other.isRunning() && other.targetSessionId.equals(targetSessionId));
+            if (busy) {
+                throw new IllegalStateException("A clone into " + target.getSessionCode() + " is already running");
+            }
+            jobs.put(job.id, job);
+        }
+
+        // Keep the caller's identity for createdBy / updatedBy auditing
+        Runnable work = DelegatingSecurityContextRunnable.create(() -> run(job), SecurityContextHolder.getContext());
+        Thread.ofVirtual().name("session-clone-" + target.getSessionCode()).start(work);
+
+        log.info("Session clone {} started: {} -> {}", job.id, source.getSessionCode(), target.getSessionCode());
+        return job.toResponse();
+    }
+
+    public SessionCloneRes getJob(String jobId) {
+        CloneJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("SessionCloneJob", jobId);
+        }
+        return job.toResponse();
+    }
+
+    private void run(CloneJob job) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> copy(job));
+            job.status = "COMPLETED";
+            log.info("Session clone {} completed: {} courses, {} sections, {} modules, {} pages, {} assignments",
+                    job.id, job.courses.get(), job.sections.get(), job.modules.get(),
+                    job.pages.get(), job.assignments.get());
+        } catch (Exception e) {
+            job.status = "FAILED";
+            job.message = e.getMessage();
+            log.error("Session clone {} failed and was rolled back: {}", job.id, e.getMessage(), e);
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+        }
+    }
+
+    private void copy(CloneJob job) {
+        Session source = sessionRepo.findById(job.sourceSessionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Session", job.sourceSessionId));
+        Session target = sessionRepo.findById(job.targetSessionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Session", job.targetSessionId));
+        long shiftDays = source.getStartDate() != null && target.getStartDate() != null
+                ? ChronoUnit.DAYS.between(source.getStartDate(), target.getStartDate())
+                : 0;
+
+        Set<String> existingCodes = new HashSet<>(courseRepo.findCourseCodesBySessionId(target.getId()));
+        List<String> courseIds = courseRepo.findIdsBySessionId(source.getId());
+        job.totalCourses = courseIds.size();
+
+        Map<String, Integer> teaching = new HashMap<>();   // instructorId -> sections cloned
+
+        for (int from = 0; from < courseIds.size(); from += chunkSize) {
+            List<String> chunk = courseIds.subList(from, Math.min(from + chunkSize, courseIds.size()));
+            copyChunk(job, chunk, target.getId(), existingCodes, shiftDays, teaching);
+
+            // Chunk written: send the batches and drop it from the persistence context
+            entityManager.flush();
+            entityManager.clear();
+            job.processedCourses.addAndGet(chunk.size());
+        }
+
+        teaching.forEach(instructorRepo::addTeachingCounts);
+    }
+
+    private void copyChunk(
+            CloneJob job,
+            List<String> courseIds,
+            String targetSessionId,
+            Set<String> existingCodes,
+            long shiftDays,
+            Map<String, Integer> teaching
+    ) {
+        Session target = sessionRepo.getReferenceById(targetSessionId);
+
+        // Courses
+        Map<String, Course> courses = new HashMap<>();   // source course id -> clone
+        for (Course course : courseRepo.findByIdInWithPrerequisites(courseIds)) {
+            if (!existingCodes.add(course.getCourseCode())) {
+                job.skipped.add(course.getCourseCode());
+                continue;
+            }
+            courses.put(course.getId(), cloneCourse(course, target));
+        }
+        if (courses.isEmpty()) {
+            return;
+        }
+        courseRepo.saveAll(courses.values());
+        job.courses.addAndGet(courses.size());
+
+        // Sections
+        Map<String, CourseSection> sections = new HashMap<>();   // source section id -> clone
+        for (CourseSection section : sectionRepo.findByCourseIdIn(courses.keySet())) {
+            Course course = courses.get(section.getCourse().getId());
+            sections.put(section.getId(), cloneSection(section, course));
+            if (section.getInstructor() != null) {
+                teaching.merge(section.getInstructor().getId(), 1, Integer::sum);
+            }
+        }
+        if (sections.isEmpty()) {
+            return;
+        }
+        sectionRepo.saveAll(sections.values());
+        job.sections.addAndGet(sections.size());
+
+        // Modules
+        Map<String, Module> modules = new HashMap<>();   // source module id -> clone
+        for (Module module : moduleRepo.findBySectionIdIn(sections.keySet())) {
+            modules.put(module.getId(), cloneModule(module, sections.get(module.getCourseSection().getId())));
+        }
+        moduleRepo.saveAll(modules.values());
+        job.modules.addAndGet(modules.size());
+
+        // Pages
+        List<CoursePage> pages = new ArrayList<>();
+        for (CoursePage page : coursePageRepo.findBySectionIdIn(sections.keySet())) {
+            Module module = modules.get(page.getModule().getId());
+            if (module != null) {
+                pages.add(clonePage(page, sections.get(page.getCourseSection().getId()), module));
+            }
+        }
+        coursePageRepo.saveAll(pages);
+        job.pages.addAndGet(pages.size());
+
+        // Assignments
+        List<Assignment> assignments = new ArrayList<>();
+        for (Assignment assignment : assignmentRepo.findBySectionIdIn(sections.keySet())) {
+            assignments.add(cloneAssignment(assignment, sections.get(assignment.getCourseSection().getId()), shiftDays));
+        }
+        assignmentRepo.saveAll(assignments);
+        job.assignments.addAndGet(assignments.size());
+    }
+
+    private Course cloneCourse(Course source, Session target) {
+        Course course = new Course();
+        course.setSession(target);
+        course.setSessionCode(target.getSessionCode());
+        course.setCourseCode(source.getCourseCode());
+        course.setCourseName(source.getCourseName());
+        course.setCourseDescription(source.getCourseDescription());
+        course.setPrerequisiteCourses(new HashSet<>(source.getPrerequisiteCourses()));
+        course.setRequiredPlacementLevel(source.getRequiredPlacementLevel());
+        course.setAllowHigherPlacement(source.getAllowHigherPlacement());
+        course.setHoursPerWeek(source.getHoursPerWeek());
+        course.setIsActive(source.getIsActive());
+        return course;
+    }
+
+    private CourseSection cloneSection(CourseSection source, Course course) {
+        CourseSection section = new CourseSection();
+        section.setCourse(course);
+        section.setCourseCode(course.getCourseCode());
+        section.setCourseName(course.getCourseName());
+        section.setHoursPerWeek(source.getHoursPerWeek());
+        section.setSectionCode(source.getSectionCode());
+        section.setSessionCode(course.getSessionCode());
+        section.setCourseFormat(source.getCourseFormat());
+        section.setSchedule(source.getSchedule());
+        section.setDaysOfWeek(source.getDaysOfWeek());
+        section.setStartTime(source.getStartTime());
+        section.setEndTime(source.getEndTime());
+        section.setLocation(source.getLocation());
+        section.setInstructor(source.getInstructor());
+        section.setInstructorName(source.getInstructorName());
+        section.setInstructorEmail(source.getInstructorEmail());
+        section.setCapacity(source.getCapacity());
+        section.setMinEnrollment(source.getMinEnrollment());
+        section.setEnrolledCount(0);
+        section.setWaitlistCount(0);
+        section.setStatus(CourseSectionStatus.DRAFT);
+        section.setEnrollmentLocked(false);
+        return section;
+    }
+
+    private Module cloneModule(Module source, CourseSection section) {
+        Module module = new Module();
+        module.setCourseSection(section);
+        module.setName(source.getName());
+        module.setDescription(source.getDescription());
+        module.setOrderNum(source.getOrderNum());
+        module.setIsPublished(false);
+        return module;
+    }
+
+    private CoursePage clonePage(CoursePage source, CourseSection section, Module module) {
+        CoursePage page = new CoursePage();
+        page.setCourseSection(section);
+        page.setModule(module);
+        page.setTitle(source.getTitle());
+        page.setBody(source.getBody());
+        page.setOrderNum(source.getOrderNum());
+        page.setIsPublished(false);
+        return page;
+    }
+
+    private Assignment cloneAssignment(Assignment source, CourseSection section, long shiftDays) {
+        Assignment assignment = new Assignment();
+        assignment.setCourseSection(section);
+        assignment.setTitle(source.getTitle());
+        assignment.setContent(source.getContent());
+        assignment.setAssignmentType(source.getAssignmentType());
+        assignment.setSubmissionType(source.getSubmissionType());
+        assignment.setMaxAttempts(source.getMaxAttempts());
+        assignment.setTotalPoints(source.getTotalPoints());
+        assignment.setDueDate(source.getDueDate() != null ? source.getDueDate().plusDays(shiftDays) : null);
+        assignment.setTimeLimit(source.getTimeLimit());
+        assignment.setShowCorrectAnswers(source.getShowCorrectAnswers());
+        assignment.setIsPublished(false);
+        return assignment;
+    }
+
+    private void pruneFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+}
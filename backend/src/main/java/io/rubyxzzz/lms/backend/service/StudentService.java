@@ -4,16 +4,20 @@ import io.rubyxzzz.lms.backend.dto.listItem.StudentList;
 import io.rubyxzzz.lms.backend.dto.request.CreateStudentReq;
 import io.rubyxzzz.lms.backend.dto.request.UpdateProfileReq;
 import io.rubyxzzz.lms.backend.dto.request.UpdateStudentReq;
+import io.rubyxzzz.lms.backend.dto.response.PageRes;
 import io.rubyxzzz.lms.backend.dto.response.StudentRes;
 import io.rubyxzzz.lms.backend.exception.ResourceNotFoundException;
 import io.rubyxzzz.lms.backend.mapper.StudentMapper;
 import io.rubyxzzz.lms.backend.model.*;
 import io.rubyxzzz.lms.backend.repository.StudentRepo;
+import io.rubyxzzz.lms.backend.security.UserDirectoryCache;
+import io.rubyxzzz.lms.backend.util.CursorCodec;
 import io.rubyxzzz.lms.backend.util.IdGenerator;
 import io.rubyxzzz.lms.backend.util.UpdateUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,9 +33,12 @@ public class StudentService {
     private final StudentMapper studentMapper;
     private final IdGenerator idGenerator;
     private final UserMgmtService userMgmtService;
+    private final UserDirectoryCache userDirectoryCache;
+    private final UserIdentityService userIdentityService;
 
+    @Transactional
     public StudentRes createStudent(CreateStudentReq request) {
-        if (studentRepo.existsByEmail(request.getEmail())) {
+        if (userIdentityService.existsByEmail(request.getEmail())) {
             throw new IllegalArgumentException(
                     "Email already registered: " + request.getEmail()
             );
@@ -57,6 +64,7 @@ public class StudentService {
 
             // 3. Save to database
             Student savedStudent = studentRepo.save(student);
+            userIdentityService.register(savedStudent);
             return studentMapper.toResponse(savedStudent);
 
         } catch (Exception e) {
@@ -82,6 +90,7 @@ public class StudentService {
         // Update fields (only non-null)
         UpdateUtil.copyNonNullProperties(request, student);
 
+        userDirectoryCache.evict(student.getFirebaseUid());
         Student updated = studentRepo.save(student);
         return studentMapper.toResponse(updated);
     }
@@ -93,6 +102,7 @@ public class StudentService {
 
         UpdateUtil.copyNonNullProperties(request, student);
 
+        userDirectoryCache.evict(student.getFirebaseUid());
         Student updatedStudent = studentRepo.save(student);
         return studentMapper.toResponse(updatedStudent);
     }
@@ -132,7 +142,35 @@ public class StudentService {
     }
 
     public List<StudentList> getStudentsList() {
-        return studentMapper.toListItems(studentRepo.findAll());
+        return studentRepo.findListRows(Pageable.unpaged());
+    }
+
+    /**
+     * Page of students (detailed)
+     * Keyset-paginated, newest first
+     */
+    @Transactional(readOnly = true)
+    public PageRes<StudentRes> getStudentsPage(String cursor, Integer limit) {
+        int size = CursorCodec.limit(limit);
+        return CursorCodec.toPage(
+                studentRepo.findPage(CursorCodec.decode(cursor), size),
+                size,
+                studentMapper::toResponseList
+        );
+    }
+
+    /**
+     * Page of students (simplified for table view)
+     * Keyset-paginated, newest first
+     */
+    public PageRes<StudentList> getStudentsListPage(String cursor, Integer limit) {
+        int size = CursorCodec.limit(limit);
+        return CursorCodec.toPage(
+                studentRepo.findListPage(CursorCodec.decode(cursor), size),
+                size,
+                StudentList::getCreatedAt,
+                StudentList::getId
+        );
     }
 
     public List<StudentRes> getStudentsByStatus(UserStatus status) {
@@ -176,6 +214,7 @@ public class StudentService {
         student.setStatus(UserStatus.SUSPENDED);
 
 
+        userDirectoryCache.evict(student.getFirebaseUid());
         Student updated = studentRepo.save(student);
         return studentMapper.toResponse(updated);
     }
@@ -188,6 +227,7 @@ public class StudentService {
         student.setStatus(UserStatus.ACTIVE);
 
 
+        userDirectoryCache.evict(student.getFirebaseUid());
         Student updated = studentRepo.save(student);
         return studentMapper.toResponse(updated);
     }
@@ -199,6 +239,7 @@ public class StudentService {
 
         student.setStatus(UserStatus.INACTIVE);
 
+        userDirectoryCache.evict(student.getFirebaseUid());
         Student updated = studentRepo.save(student);
         return studentMapper.toResponse(updated);
     }
@@ -237,6 +278,8 @@ public class StudentService {
             }
         }
 
+        userDirectoryCache.evict(student.getFirebaseUid());
+        userIdentityService.remove(student);
         studentRepo.delete(student);
 
         log.info("Student deleted:{}", studentId);
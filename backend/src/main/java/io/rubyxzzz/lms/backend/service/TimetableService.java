@@ -0,0 +1,104 @@
+package io.rubyxzzz.lms.backend.service;
+
+import io.rubyxzzz.lms.backend.dto.listItem.CourseSectionList;
+import io.rubyxzzz.lms.backend.model.CourseSection;
+import io.rubyxzzz.lms.backend.repository.EnrollmentRepo;
+import io.rubyxzzz.lms.backend.repository.SectionRepo;
+import io.rubyxzzz.lms.backend.util.MeetingTime;
+import io.rubyxzzz.lms.backend.util.Timetable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Timetable Service
+ * Student schedule conflicts, using MeetingTime / Timetable
+ *
+ * - A student's timetable is built from one projection query over their
+ *   active enrollments in one session (no entity graph); sessions never
+ *   overlap, so classes of other terms cannot clash
+ * - A conflict check is a day-mask AND plus minute comparisons
+ */
+@Service
+@RequiredArgsConstructor
+public class TimetableService {
+
+    private final EnrollmentRepo enrollmentRepo;
+    private final SectionRepo sectionRepo;
+
+    /**
+     * Active meeting times of one student in a session
+     */
+    public Timetable forStudent(String studentId, String sessionCode) {
+        return forStudents(List.of(studentId), sessionCode).getOrDefault(studentId, Timetable.EMPTY);
+    }
+
+    /**
+     * Active meeting times of many students in a session, one query
+     * Students without scheduled enrollments are absent from the map
+     */
+    public Map<String, Timetable> forStudents(Collection<String> studentIds, String sessionCode) {
+        Map<String, Timetable> timetables = new HashMap<>();
+        if (studentIds.isEmpty()) {
+            return timetables;
+        }
+        for (Object[] row : enrollmentRepo.findActiveMeetingTimesByStudentIds(studentIds, sessionCode)) {
+            MeetingTime time = MeetingTime.ofMinutes((Integer) row[3], (Integer) row[4], (Integer) row[5]);
+            if (time != null) {
+                String label = row[1] + " " + row[2];
+                timetables.merge((String) row[0], Timetable.EMPTY.add(time, label),
+                        (current, added) -> current.add(time, label));
+            }
+        }
+        return timetables;
+    }
+
+    /**
+     * Throws IllegalStateException if the section overlaps the timetable
+     */
+    public void assertFits(Timetable timetable, CourseSection section) {
+        String conflict = timetable.conflictOf(meetingTimeOf(section));
+        if (conflict != null) {
+            throw new IllegalStateException(
+                    "Schedule conflict with " + conflict + " (" + section.getSchedule() + ")"
+            );
+        }
+    }
+
+    public void assertFits(String studentId, CourseSection section) {
+        MeetingTime time = meetingTimeOf(section);
+        if (time != null) {
+            assertFits(forStudent(studentId, section.getSessionCode()), section);
+        }
+    }
+
+    public MeetingTime meetingTimeOf(CourseSection section) {
+        return MeetingTime.of(section.getDaysOfWeek(), section.getStartTime(), section.getEndTime());
+    }
+
+    /**
+     * Sections of the session the student could enroll in right now
+     * (published, unlocked, free seats, no waitlist) that do not clash
+     * with the student's timetable in that session
+     */
+    @Transactional(readOnly = true)
+    public List<CourseSectionList> findFittingSections(String studentId, String sessionCode) {
+        Timetable timetable = forStudent(studentId, sessionCode);
+
+        List<String> fitting = new ArrayList<>();
+        for (Object[] row : sectionRepo.findEnrollableMeetingTimes(sessionCode)) {
+            MeetingTime time = MeetingTime.ofMinutes((Integer) row[1], (Integer) row[2], (Integer) row[3]);
+            if (timetable.fits(time)) {
+                fitting.add((String) row[0]);
+            }
+        }
+
+        return fitting.isEmpty() ? List.of() : sectionRepo.findListRowsByIds(fitting);
+    }
+}
@@ -0,0 +1,136 @@
+package io.rubyxzzz.lms.backend.service;
+
+import io.rubyxzzz.lms.backend.model.UserRole;
+import io.rubyxzzz.lms.backend.repository.AdminRepo;
+import io.rubyxzzz.lms.backend.repository.InstructorRepo;
+import io.rubyxzzz.lms.backend.repository.StudentRepo;
+import io.rubyxzzz.lms.backend.security.UserPrincipal;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * User Activation Queue
+ * Write-behind for AuthFilter's auto-activation (email verified -> ACTIVE)
+ *
+ * - enqueue() is called on the request path and only adds an id to a set
+ * - repeated logins of the same user coalesce into one pending entry
+ * - flush() runs on the scheduler and applies the pending ids per role
+ *   with batched UPDATE ... WHERE id IN (...) statements in one transaction
+ * - failed batches are put back and retried on the next flush
+ */
+@Slf4j
+@Service
+public class UserActivationQueue {
+
+    private final StudentRepo studentRepo;
+    private final InstructorRepo instructorRepo;
+    private final AdminRepo adminRepo;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${auth.activation.batch-size:500}")
+    private int batchSize;
+
+    private final Map<UserRole, Set<String>> pending = new EnumMap<>(UserRole.class);
+
+    public UserActivationQueue(
+            StudentRepo studentRepo,
+            InstructorRepo instructorRepo,
+            AdminRepo adminRepo,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.studentRepo = studentRepo;
+        this.instructorRepo = instructorRepo;
+        this.adminRepo = adminRepo;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        pending.put(UserRole.STUDENT, ConcurrentHashMap.newKeySet());
+        pending.put(UserRole.INSTRUCTOR, ConcurrentHashMap.newKeySet());
+        pending.put(UserRole.ADMIN, ConcurrentHashMap.newKeySet());
+    }
+
+    /**
+     * Queue a user for activation (non-blocking)
+     */
+    public void enqueue(UserPrincipal principal) {
+        Set<String> ids = pending.get(principal.getUserRole());
+        if (ids == null) {
+            log.warn("Auto-activation not supported for role {}", principal.getUserRole());
+            return;
+        }
+        ids.add(principal.getId());
+    }
+
+    public int pendingCount() {
+        return pending.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @Scheduled(fixedDelayString = "${auth.activation.flush-interval:PT1S}")
+    public void flush() {
+        for (Map.Entry<UserRole, Set<String>> entry : pending.entrySet()) {
+            List<String> ids = drain(entry.getValue());
+            for (int from = 0; from < ids.size(); from += batchSize) {
+                List<String> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+                apply(entry.getKey(), batch, entry.getValue());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void apply(UserRole role, List<String> batch, Set<String> retry) {
+        try {
+            Integer activated = transactionTemplate.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                return switch (role) {
+                    case STUDENT -> {
+                        studentRepo.markEmailVerified(batch, now);
+                        yield studentRepo.activatePending(batch, now);
+                    }
+                    case INSTRUCTOR -> {
+                        instructorRepo.markEmailVerified(batch, now);
+                        yield instructorRepo.activatePending(batch, now);
+                    }
+                    case ADMIN -> {
+                        adminRepo.markEmailVerified(batch, now);
+                        yield adminRepo.activatePending(batch, now);
+                    }
+                    default -> 0;
+                };
+            });
+            log.info("Auto-activation flushed: {} {} users verified, {} activated",
+                    batch.size(), role, activated);
+
+        } catch (Exception e) {
+            retry.addAll(batch);
+            log.error("Auto-activation flush failed for {} {} users, will retry: {}",
+                    batch.size(), role, e.getMessage());
+        }
+    }
+
+    private static List<String> drain(Set<String> ids) {
+        List<String> drained = new ArrayList<>();
+        Iterator<String> iterator = ids.iterator();
+        while (iterator.hasNext()) {
+            drained.add(iterator.next());
+            iterator.remove();
+        }
+        return drained;
+    }
+}
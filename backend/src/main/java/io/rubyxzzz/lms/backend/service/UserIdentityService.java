@@ -0,0 +1,152 @@
+package io.rubyxzzz.lms.backend.service;
+
+import io.rubyxzzz.lms.backend.model.User;
+import io.rubyxzzz.lms.backend.model.UserIdentity;
+import io.rubyxzzz.lms.backend.repository.AdminRepo;
+import io.rubyxzzz.lms.backend.repository.InstructorRepo;
+import io.rubyxzzz.lms.backend.repository.StudentRepo;
+import io.rubyxzzz.lms.backend.repository.UserIdentityRepo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * User Identity Service
+ * Keeps the user_identity index in sync with students / instructors / admins
+ *
+ * All write methods join the caller's transaction,
+ * so the identity row and the user row commit (or roll back) together.
+ * Emails are set on create only (no update request carries one),
+ * so the index never has to follow an email change.
+ *
+ * Users created before the index get their row from the startup backfill,
+ * or lazily on first login (registerIfMissing). Each of those inserts runs
+ * in its own transaction, so one conflict (e.g. an email shared by a student
+ * and an instructor) only affects that user, who keeps logging in through
+ * the role tables.
+ */
+@Slf4j
+@Service
+public class UserIdentityService {
+
+    private final UserIdentityRepo userIdentityRepo;
+    private final StudentRepo studentRepo;
+    private final InstructorRepo instructorRepo;
+    private final AdminRepo adminRepo;
+    private final TransactionTemplate newTransaction;
+
+    // entity ids whose identity row cannot be inserted (duplicate email / firebaseUid)
+    private final Set<String> conflicts = ConcurrentHashMap.newKeySet();
+
+    public UserIdentityService(
+            UserIdentityRepo userIdentityRepo,
+            StudentRepo studentRepo,
+            InstructorRepo instructorRepo,
+            AdminRepo adminRepo,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.userIdentityRepo = userIdentityRepo;
+        this.studentRepo = studentRepo;
+        this.instructorRepo = instructorRepo;
+        this.adminRepo = adminRepo;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Outcome of the startup backfill
+     */
+    public record BackfillResult(int created, List<String> conflicts) {
+    }
+
+    /**
+     * Email uniqueness across all roles
+     * Also probes the role tables: users the backfill could not index
+     * (conflicts) or has not reached yet have no identity row
+     */
+    @Transactional(readOnly = true)
+    public boolean existsByEmail(String email) {
+        return userIdentityRepo.existsByEmail(email)
+                || studentRepo.existsByEmail(email)
+                || instructorRepo.existsByEmail(email)
+                || adminRepo.existsByEmail(email);
+    }
+
+    /**
+     * Register a newly saved user
+     * Flushes so a duplicate email / firebaseUid fails inside the caller's try block
+     */
+    @Transactional
+    public void register(User user) {
+        userIdentityRepo.saveAndFlush(UserIdentity.of(user));
+    }
+
+    @Transactional
+    public void remove(User user) {
+        userIdentityRepo.deleteByEntityId(user.getId());
+    }
+
+    /**
+     * Create the identity row of a pre-existing user found through the role tables
+     * Runs in its own transaction; returns false if the row conflicts with another user
+     */
+    public boolean registerIfMissing(User user) {
+        if (conflicts.contains(user.getId())) {
+            return false;
+        }
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                if (userIdentityRepo.findByEntityId(user.getId()).isEmpty()) {
+                    userIdentityRepo.saveAndFlush(UserIdentity.of(user));
+                }
+            });
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            conflicts.add(user.getId());
+            log.warn("User identity conflict for {} {} ({}): {}",
+                    user.getUserRole(), user.getId(), user.getEmail(), e.getMostSpecificCause().getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Create identity rows for users that existed before the index
+     * One transaction per row, conflicts are reported instead of aborting the run
+     */
+    public BackfillResult backfill() {
+        Set<String> indexed = new HashSet<>(userIdentityRepo.findAllEntityIds());
+
+        List<User> users = new ArrayList<>();
+        users.addAll(studentRepo.findAll());
+        users.addAll(instructorRepo.findAll());
+        users.addAll(adminRepo.findAll());
+
+        int created = 0;
+        List<String> failed = new ArrayList<>();
+        for (User user : users) {
+            if (indexed.contains(user.getId())) {
+                continue;
+            }
+            if (registerIfMissing(user)) {
+                created++;
+            } else {
+                failed.add(user.getUserRole() + " " + user.getEmail());
+            }
+        }
+
+        if (created > 0 || !failed.isEmpty()) {
+            log.info("User identity backfill: {} rows created, {} conflicts", created, failed.size());
+        }
+        return new BackfillResult(created, failed);
+    }
+}
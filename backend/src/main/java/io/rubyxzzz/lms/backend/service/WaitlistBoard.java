@@ -0,0 +1,158 @@
+package io.rubyxzzz.lms.backend.service;
+
+import io.rubyxzzz.lms.backend.repository.WaitlistEntryRepo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Waitlist Board
+ * In-memory read model of every section's waitlist
+ *
+ * - Each section holds an immutable snapshot: queue order + studentId -> position
+ * - Position and length lookups are O(1) map reads, no database access
+ * - A section is (re)loaded from waitlist_entries on first read and
+ *   after every committed change to its queue
+ * - Sections nobody has read for idle-ttl are dropped by a periodic sweep
+ *
+ * The database stays the source of truth; this only absorbs the
+ * "where am I in the queue" polling.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WaitlistBoard {
+
+    private final WaitlistEntryRepo waitlistEntryRepo;
+
+    @Value("${waitlist.board.idle-ttl:PT30M}")
+    private Duration idleTtl;
+
+    private final Map<String, Slot> sections = new ConcurrentHashMap<>();
+
+    // Taken before each load; a slower, older load never replaces a newer snapshot
+    private final AtomicLong loadStamp = new AtomicLong();
+
+    private static final class Slot {
+        final Queue queue;
+        final long stamp;
+        volatile long lastReadNanos;
+
+        Slot(Queue queue, long stamp, long now) {
+            this.queue = queue;
+            this.stamp = stamp;
+            this.lastReadNanos = now;
+        }
+    }
+
+    /**
+     * Snapshot of one section's queue
+     */
+    public record Queue(List<String> studentIds, Map<String, Integer> positions) {
+
+        static final Queue EMPTY = new Queue(List.of(), Map.of());
+
+        static Queue of(List<String> studentIds) {
+            Map<String, Integer> positions = new HashMap<>(studentIds.size() * 2);
+            for (int i = 0; i < studentIds.size(); i++) {
+                positions.putIfAbsent(studentIds.get(i), i + 1);
+            }
+            return new Queue(List.copyOf(studentIds), Map.copyOf(positions));
+        }
+
+        public int size() {
+            return studentIds.size();
+        }
+
+        /**
+         * 1-based position, or 0 when the student is not waiting
+         */
+        public int positionOf(String studentId) {
+            return positions.getOrDefault(studentId, 0);
+        }
+    }
+
+    public Queue get(String sectionId) {
+        Slot slot = sections.get(sectionId);
+        if (slot != null) {
+            slot.lastReadNanos = System.nanoTime();
+            return slot.queue;
+        }
+        return reload(sectionId);
+    }
+
+    public int positionOf(String sectionId, String studentId) {
+        return get(sectionId).positionOf(studentId);
+    }
+
+    public int size(String sectionId) {
+        return get(sectionId).size();
+    }
+
+    /**
+     * Rebuild a section's snapshot once the current transaction commits
+     */
+    public void refreshAfterCommit(String sectionId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reload(sectionId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    reload(sectionId);
+                } catch (RuntimeException e) {
+                    // next read loads it again
+                    sections.remove(sectionId);
+                    log.warn("Waitlist reload failed for section {}: {}", sectionId, e.getMessage());
+                }
+            }
+        });
+    }
+
+    public void evict(String sectionId) {
+        sections.remove(sectionId);
+    }
+
+    public void evictAll() {
+        sections.clear();
+    }
+
+    /**
+     * Drop sections that have not been read for idle-ttl
+     */
+    @Scheduled(fixedDelayString = "${waitlist.board.sweep-interval:PT1M}")
+    public void evictIdle() {
+        long cutoff = System.nanoTime() - idleTtl.toNanos();
+        int before = sections.size();
+        sections.values().removeIf(slot -> slot.lastReadNanos - cutoff < 0);
+        int evicted = before - sections.size();
+        if (evicted > 0) {
+            log.debug("Waitlist board evicted {} idle sections", evicted);
+        }
+    }
+
+    /**
+     * Query outside the map so no bin lock is held during I/O;
+     * the stamp taken before the query decides which of two racing loads wins
+     */
+    private Queue reload(String sectionId) {
+        long stamp = loadStamp.incrementAndGet();
+        List<String> studentIds = waitlistEntryRepo.findWaitingStudentIds(sectionId);
+        Slot loaded = new Slot(studentIds.isEmpty() ? Queue.EMPTY : Queue.of(studentIds), stamp, System.nanoTime());
+        return sections.merge(sectionId, loaded,
+                (current, fresh) -> fresh.stamp > current.stamp ? fresh : current).queue;
+    }
+}
@@ -0,0 +1,184 @@
+package io.rubyxzzz.lms.backend.service;
+
+import io.rubyxzzz.lms.backend.dto.request.JoinWaitlistReq;
+import io.rubyxzzz.lms.backend.dto.response.WaitlistPositionRes;
+import io.rubyxzzz.lms.backend.dto.response.WaitlistRes;
+import io.rubyxzzz.lms.backend.exception.ResourceNotFoundException;
+import io.rubyxzzz.lms.backend.mapper.WaitlistMapper;
+import io.rubyxzzz.lms.backend.model.CourseSection;
+import io.rubyxzzz.lms.backend.model.CourseSectionStatus;
+import io.rubyxzzz.lms.backend.model.Student;
+import io.rubyxzzz.lms.backend.model.WaitlistEntry;
+import io.rubyxzzz.lms.backend.model.WaitlistStatus;
+import io.rubyxzzz.lms.backend.repository.SectionRepo;
+import io.rubyxzzz.lms.backend.repository.StudentRepo;
+import io.rubyxzzz.lms.backend.repository.WaitlistEntryRepo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Waitlist Service
+ * Business logic for section waitlists
+ *
+ * Responsibilities:
+ * - Join / leave a full section's waitlist
+ * - Position lookups (served from WaitlistBoard, no database access)
+ *
+ * Promotion happens in EnrollmentService when a seat is released.
+ */
+@Service
+@RequiredArgsConstructor
+public class WaitlistService {
+
+    private final WaitlistEntryRepo waitlistEntryRepo;
+    private final SectionRepo sectionRepo;
+    private final StudentRepo studentRepo;
+    private final EnrollmentService enrollmentService;
+    private final WaitlistBoard waitlistBoard;
+    private final SectionCatalog sectionCatalog;
+    private final SeatFeed seatFeed;
+    private final WaitlistMapper waitlistMapper;
+
+    /**
+     * Join a section's waitlist
+     * Only allowed when the section is full (or already has a queue)
+     */
+    @Transactional
+    public WaitlistRes joinWaitlist(JoinWaitlistReq request, Integer priority) {
+        // Same lock order as enrollCourse (student, then section): concurrent joins of one
+        // section queue up here, so the existsWaiting check below cannot race its own insert
+        Student student = studentRepo.findByIdForUpdate(request.getStudentId())
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Student", request.getStudentId()
+                ));
+
+        CourseSection section = sectionRepo.findByIdForUpdate(request.getCourseSectionId())
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "CourseSection", request.getCourseSectionId()
+                ));
+
+        if (section.getStatus() != CourseSectionStatus.PUBLISHED
+                || Boolean.TRUE.equals(section.getEnrollmentLocked())) {
+            throw new IllegalStateException(
+                    "Course section is not open for enrollment. Status: " +
+                            section.getStatus()
+            );
+        }
+
+        boolean hasQueue = section.getWaitlistCount() != null && section.getWaitlistCount() > 0;
+        if (section.hasAvailableSeats() && !hasQueue) {
+            throw new IllegalStateException(
+                    "Course section has available seats. Enroll directly"
+            );
+        }
+
+        if (waitlistEntryRepo.existsWaiting(student.getId(), section.getId())) {
+            throw new IllegalArgumentException("Already on the waitlist for this section");
+        }
+
+        // Reject early what promotion would reject anyway
+        enrollmentService.validateStudentEligibility(student, section);
+
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setStudent(student);
+        entry.setSection(section);
+        entry.setStudentNumber(student.getStudentNumber());
+        entry.setStudentName(student.getFullName());
+        entry.setSectionCode(section.getSectionCode());
+        entry.setCourseCode(section.getCourseCode());
+        entry.setPriority(priority != null ? priority : 0);
+        entry.setJoinedTime(LocalDateTime.now());
+        entry.setStatus(WaitlistStatus.WAITING);
+
+        WaitlistEntry saved = waitlistEntryRepo.save(entry);
+        sectionRepo.incrementWaitlist(section.getId());
+        waitlistBoard.refreshAfterCommit(section.getId());
+        sectionCatalog.markChangedAfterCommit(section.getId());
+        seatFeed.publishAfterCommit(section.getId());
+
+        // A seat freed up while nobody was promoted (e.g. capacity raised)
+        if (section.hasAvailableSeats()) {
+            enrollmentService.promoteFromWaitlist(section);
+        }
+
+        // Board is refreshed after commit, so compute the position from the database here
+        List<String> queue = waitlistEntryRepo.findWaitingStudentIds(section.getId());
+        WaitlistRes response = waitlistMapper.toResponse(saved, null);
+        response.setPosition(queue.indexOf(student.getId()) + 1);
+        response.setWaitlistSize(queue.size());
+        return response;
+    }
+
+    /**
+     * Leave a waitlist
+     * Students may only remove their own entries
+     */
+    @Transactional
+    public WaitlistRes leaveWaitlist(String entryId, String currentUserId, boolean isAdmin) {
+        // Row lock: a second leave, or a promotion of this entry, cannot run in between;
+        // entry.leave() rejects anything no longer WAITING, so waitlist_count drops once
+        WaitlistEntry entry = waitlistEntryRepo.findByIdForUpdate(entryId)
+                .orElseThrow(() -> new ResourceNotFoundException("WaitlistEntry", entryId));
+
+        if (!isAdmin && !entry.getStudent().getId().equals(currentUserId)) {
+            throw new IllegalStateException("Access Denied");
+        }
+
+        entry.leave();
+        WaitlistEntry saved = waitlistEntryRepo.save(entry);
+
+        String sectionId = entry.getSection().getId();
+        sectionRepo.decrementWaitlist(sectionId);
+        waitlistBoard.refreshAfterCommit(sectionId);
+        sectionCatalog.markChangedAfterCommit(sectionId);
+        seatFeed.publishAfterCommit(sectionId);
+
+        return waitlistMapper.toResponse(saved, null);
+    }
+
+    /**
+     * Position of a student in a section's waitlist
+     * In-memory only
+     */
+    public WaitlistPositionRes getPosition(String sectionId, String studentId) {
+        WaitlistBoard.Queue queue = waitlistBoard.get(sectionId);
+        int position = queue.positionOf(studentId);
+
+        return WaitlistPositionRes.builder()
+                .courseSectionId(sectionId)
+                .studentId(studentId)
+                .waiting(position > 0)
+                .position(position)
+                .waitlistSize(queue.size())
+                .build();
+    }
+
+    /**
+     * Waitlists a student is currently in
+     */
+    @Transactional(readOnly = true)
+    public List<WaitlistRes> getWaitlistsByStudent(String studentId) {
+        return waitlistEntryRepo.findWaitingByStudentId(studentId).stream()
+                .map(entry -> waitlistMapper.toResponse(
+                        entry, waitlistBoard.get(entry.getSection().getId())))
+                .toList();
+    }
+
+    /**
+     * Full waitlist history of a section (for admin)
+     */
+    @Transactional(readOnly = true)
+    public List<WaitlistRes> getWaitlistBySection(String sectionId) {
+        sectionRepo.findById(sectionId)
+                .orElseThrow(() -> new ResourceNotFoundException("CourseSection", sectionId));
+
+        return waitlistMapper.toResponseList(
+                waitlistEntryRepo.findBySectionId(sectionId),
+                waitlistBoard.get(sectionId)
+        );
+    }
+}
@@ -0,0 +1,125 @@
+package io.rubyxzzz.lms.backend.util;
+
+import io.rubyxzzz.lms.backend.constants.BusinessConstants;
+import io.rubyxzzz.lms.backend.dto.response.PageRes;
+import io.rubyxzzz.lms.backend.model.BaseEntity;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset pagination helpers
+ *
+ * Lists are ordered by (createdAt DESC, id DESC), which is unique and stable.
+ * The cursor is the sort key of the last row on the page, base64url encoded,
+ * so the next page is a range scan from that key - page 1000 costs the same
+ * as page 1 (no OFFSET).
+ */
+public final class CursorCodec {
+
+    private static final char SEPARATOR = '|';
+
+    private CursorCodec() {
+    }
+
+    /**
+     * Decoded position: rows strictly after (createdAt, id) in list order
+     */
+    public record Cursor(LocalDateTime createdAt, String id) {
+    }
+
+    public static String encode(BaseEntity last) {
+        return encode(last.getCreatedAt(), last.getId());
+    }
+
+    public static String encode(LocalDateTime createdAt, String id) {
+        String raw = createdAt + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Null / blank means first page
+     */
+    public static Cursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int split = raw.indexOf(SEPARATOR);
+            if (split <= 0 || split == raw.length() - 1) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new Cursor(
+                    LocalDateTime.parse(raw.substring(0, split)),
+                    raw.substring(split + 1)
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Clamp the requested page size to 1..MAX_PAGE_SIZE
+     */
+    public static int limit(Integer requested) {
+        if (requested == null) {
+            return BusinessConstants.DEFAULT_PAGE_SIZE;
+        }
+        if (requested < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        return Math.min(requested, BusinessConstants.MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Fetch one extra row to know whether another page exists
+     */
+    public static Pageable probe(int limit) {
+        return PageRequest.of(0, limit + 1);
+    }
+
+    public static <E extends BaseEntity, T> PageRes<T> toPage(
+            List<E> rows,
+            int limit,
+            Function<List<E>, List<T>> mapper
+    ) {
+        boolean hasMore = rows.size() > limit;
+        List<E> page = hasMore ? rows.subList(0, limit) : rows;
+
+        return PageRes.<T>builder()
+                .items(mapper.apply(page))
+                .nextCursor(hasMore ? encode(page.get(page.size() - 1)) : null)
+                .hasMore(hasMore)
+                .limit(limit)
+                .build();
+    }
+
+    /**
+     * Same as above for rows that are already DTOs (list projections)
+     */
+    public static <T> PageRes<T> toPage(
+            List<T> rows,
+            int limit,
+            Function<T, LocalDateTime> createdAt,
+            Function<T, String> id
+    ) {
+        boolean hasMore = rows.size() > limit;
+        List<T> page = hasMore ? rows.subList(0, limit) : rows;
+        T last = hasMore ? page.get(page.size() - 1) : null;
+
+        return PageRes.<T>builder()
+                .items(page)
+                .nextCursor(last != null ? encode(createdAt.apply(last), id.apply(last)) : null)
+                .hasMore(hasMore)
+                .limit(limit)
+                .build();
+    }
+}
@@ -0,0 +1,144 @@
+package io.rubyxzzz.lms.backend.util;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Facet Index
+ * Inverted index of facet values over a fixed list of documents (0..size-1)
+ *
+ * - One BitSet posting per (facet, value)
+ * - Query: OR of the selected values within a facet, AND across facets
+ * - Counts are disjunctive: a facet's counts ignore its own selection,
+ *   so the client can still offer the other values of that facet
+ *
+ * Immutable once built; values keep the order they were first added in
+ */
+public final class FacetIndex {
+
+    private final int size;
+    private final Map<String, Map<String, BitSet>> postings;
+
+    private FacetIndex(int size, Map<String, Map<String, BitSet>> postings) {
+        this.size = size;
+        this.postings = postings;
+    }
+
+    public static Builder builder(int size) {
+        return new Builder(size);
+    }
+
+    public static final class Builder {
+
+        private final int size;
+        private final Map<String, Map<String, BitSet>> postings = new LinkedHashMap<>();
+
+        private Builder(int size) {
+            this.size = size;
+        }
+
+        /**
+         * Declare values up front (fixes their order, reported with count 0 if unused)
+         */
+        public Builder values(String facet, List<String> values) {
+            Map<String, BitSet> facetPostings = postings.computeIfAbsent(facet, f -> new LinkedHashMap<>());
+            for (String value : values) {
+                facetPostings.computeIfAbsent(value, v -> new BitSet(size));
+            }
+            return this;
+        }
+
+        /**
+         * Document doc has this facet value (null values are ignored)
+         */
+        public Builder add(int doc, String facet, String value) {
+            if (value != null) {
+                postings.computeIfAbsent(facet, f -> new LinkedHashMap<>())
+                        .computeIfAbsent(value, v -> new BitSet(size))
+                        .set(doc);
+            }
+            return this;
+        }
+
+        public FacetIndex build() {
+            return new FacetIndex(size, postings);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Documents matching every selected facet
+     * Facets missing from selected (or with no values) do not filter
+     */
+    public BitSet match(Map<String, ? extends Collection<String>> selected) {
+        BitSet result = all();
+        for (Map.Entry<String, ? extends Collection<String>> facet : selected.entrySet()) {
+            BitSet filter = filter(facet.getKey(), facet.getValue());
+            if (filter != null) {
+                result.and(filter);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * facet -> value -> number of documents, each facet counted under
+     * the selection of all the other facets
+     */
+    public Map<String, Map<String, Integer>> counts(Map<String, ? extends Collection<String>> selected) {
+        Map<String, BitSet> filters = new LinkedHashMap<>();
+        selected.forEach((facet, values) -> {
+            BitSet filter = filter(facet, values);
+            if (filter != null) {
+                filters.put(facet, filter);
+            }
+        });
+
+        Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<String, BitSet>> facet : postings.entrySet()) {
+            BitSet base = all();
+            filters.forEach((other, filter) -> {
+                if (!other.equals(facet.getKey())) {
+                    base.and(filter);
+                }
+            });
+
+            Map<String, Integer> valueCounts = new LinkedHashMap<>();
+            facet.getValue().forEach((value, posting) -> {
+                BitSet hits = (BitSet) posting.clone();
+                hits.and(base);
+                valueCounts.put(value, hits.cardinality());
+            });
+            counts.put(facet.getKey(), valueCounts);
+        }
+        return counts;
+    }
+
+    // OR of the selected values' postings, null when the facet does not filter
+    private BitSet filter(String facet, Collection<String> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        Map<String, BitSet> facetPostings = postings.getOrDefault(facet, Map.of());
+        BitSet filter = new BitSet(size);
+        for (String value : values) {
+            BitSet posting = facetPostings.get(value);
+            if (posting != null) {
+                filter.or(posting);
+            }
+        }
+        return filter;
+    }
+
+    private BitSet all() {
+        BitSet all = new BitSet(size);
+        all.set(0, size);
+        return all;
+    }
+}
@@ -0,0 +1,140 @@
+package io.rubyxzzz.lms.backend.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Meeting Time
+ * A section's weekly meeting pattern as a day bitmask plus a minute interval
+ *
+ * - dayMask: bit 0 = Monday ... bit 6 = Sunday
+ * - [startMinute, endMinute) minutes since midnight, end exclusive,
+ *   so 10:00-11:00 and 11:00-12:00 do not overlap
+ *
+ * Parsed from CourseSection.daysOfWeek ("Monday,Wednesday"; "Mon/Wed" also accepted),
+ * or read back from the persisted day_mask / start_minute / end_minute columns
+ */
+public final class MeetingTime {
+
+    private final int dayMask;
+    private final int startMinute;
+    private final int endMinute;
+
+    private MeetingTime(int dayMask, int startMinute, int endMinute) {
+        this.dayMask = dayMask;
+        this.startMinute = startMinute;
+        this.endMinute = endMinute;
+    }
+
+    /**
+     * Null when the section has no complete schedule (nothing to conflict with)
+     */
+    public static MeetingTime of(String daysOfWeek, LocalTime startTime, LocalTime endTime) {
+        if (startTime == null || endTime == null) {
+            return null;
+        }
+        int mask = dayMask(daysOfWeek);
+        int start = minuteOf(startTime);
+        int end = minuteOf(endTime);
+        if (mask == 0 || end <= start) {
+            return null;
+        }
+        return new MeetingTime(mask, start, end);
+    }
+
+    /**
+     * From persisted columns (CourseSection.dayMask / startMinute / endMinute)
+     */
+    public static MeetingTime ofMinutes(Integer dayMask, Integer startMinute, Integer endMinute) {
+        if (dayMask == null || dayMask == 0 || startMinute == null || endMinute == null
+                || endMinute <= startMinute) {
+            return null;
+        }
+        return new MeetingTime(dayMask, startMinute, endMinute);
+    }
+
+    public static int minuteOf(LocalTime time) {
+        return time.toSecondOfDay() / 60;
+    }
+
+    /**
+     * 0b0000101 -> "Mon/Wed" (week order)
+     */
+    public static String abbreviate(int dayMask) {
+        StringBuilder days = new StringBuilder();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if ((dayMask & (1 << (day.getValue() - 1))) != 0) {
+                if (!days.isEmpty()) {
+                    days.append('/');
+                }
+                days.append(day.getDisplayName(TextStyle.SHORT, Locale.ENGLISH));
+            }
+        }
+        return days.toString();
+    }
+
+    /**
+     * Every day mask sharing at least one day with days (for IN queries on day_mask)
+     */
+    public static List<Integer> masksIntersecting(int days) {
+        List<Integer> masks = new ArrayList<>();
+        for (int mask = 1; mask < 1 << 7; mask++) {
+            if ((mask & days) != 0) {
+                masks.add(mask);
+            }
+        }
+        return masks;
+    }
+
+    /**
+     * "Monday,Wednesday" -> 0b0000101, unknown names are ignored
+     */
+    public static int dayMask(String daysOfWeek) {
+        if (daysOfWeek == null || daysOfWeek.isBlank()) {
+            return 0;
+        }
+        int mask = 0;
+        for (String day : daysOfWeek.split("[,/]")) {
+            DayOfWeek parsed = parseDay(day.trim());
+            if (parsed != null) {
+                mask |= 1 << (parsed.getValue() - 1);
+            }
+        }
+        return mask;
+    }
+
+    private static DayOfWeek parseDay(String day) {
+        if (day.length() < 3) {
+            return null;
+        }
+        String prefix = day.substring(0, 3).toUpperCase(Locale.ROOT);
+        for (DayOfWeek candidate : DayOfWeek.values()) {
+            if (candidate.name().startsWith(prefix)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    public boolean overlaps(MeetingTime other) {
+        return (dayMask & other.dayMask) != 0
+                && startMinute < other.endMinute
+                && other.startMinute < endMinute;
+    }
+
+    public int getDayMask() {
+        return dayMask;
+    }
+
+    public int getStartMinute() {
+        return startMinute;
+    }
+
+    public int getEndMinute() {
+        return endMinute;
+    }
+}
@@ -0,0 +1,77 @@
+package io.rubyxzzz.lms.backend.util;
+
+import java.util.Arrays;
+
+/**
+ * Timetable
+ * A student's active meeting times, packed for fast conflict checks
+ *
+ * - busyDays: union of all day masks, so a section on free days is
+ *   accepted with one AND
+ * - otherwise each slot is checked with a day-mask AND and two
+ *   minute comparisons (a student has at most a handful of slots)
+ *
+ * Immutable; build with add()
+ */
+public final class Timetable {
+
+    public static final Timetable EMPTY = new Timetable(0, new int[0], new int[0], new int[0], new String[0]);
+
+    private final int busyDays;
+    private final int[] dayMasks;
+    private final int[] starts;
+    private final int[] ends;
+    private final String[] labels;
+
+    private Timetable(int busyDays, int[] dayMasks, int[] starts, int[] ends, String[] labels) {
+        this.busyDays = busyDays;
+        this.dayMasks = dayMasks;
+        this.starts = starts;
+        this.ends = ends;
+        this.labels = labels;
+    }
+
+    /**
+     * Copy with one more slot (null meeting time = unscheduled, ignored)
+     */
+    public Timetable add(MeetingTime time, String label) {
+        if (time == null) {
+            return this;
+        }
+        int n = dayMasks.length;
+        int[] masks = Arrays.copyOf(dayMasks, n + 1);
+        int[] newStarts = Arrays.copyOf(starts, n + 1);
+        int[] newEnds = Arrays.copyOf(ends, n + 1);
+        String[] newLabels = Arrays.copyOf(labels, n + 1);
+        masks[n] = time.getDayMask();
+        newStarts[n] = time.getStartMinute();
+        newEnds[n] = time.getEndMinute();
+        newLabels[n] = label;
+        return new Timetable(busyDays | time.getDayMask(), masks, newStarts, newEnds, newLabels);
+    }
+
+    /**
+     * Label of the first slot the meeting time overlaps, or null if it fits
+     */
+    public String conflictOf(MeetingTime time) {
+        if (time == null || (busyDays & time.getDayMask()) == 0) {
+            return null;
+        }
+        for (int i = 0; i < dayMasks.length; i++) {
+            if ((dayMasks[i] & time.getDayMask()) != 0
+                    && starts[i] < time.getEndMinute()
+                    && time.getStartMinute() < ends[i]) {
+                return labels[i];
+            }
+        }
+        return null;
+    }
+
+    public boolean fits(MeetingTime time) {
+        return conflictOf(time) == null;
+    }
+
+    public int size() {
+        return dayMasks.length;
+    }
+}
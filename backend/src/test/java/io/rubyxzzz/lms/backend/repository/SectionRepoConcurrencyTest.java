@@ -0,0 +1,157 @@
+package io.rubyxzzz.lms.backend.repository;
+
+import io.rubyxzzz.lms.backend.config.AuditingConfig;
+import io.rubyxzzz.lms.backend.model.Course;
+import io.rubyxzzz.lms.backend.model.CourseSection;
+import io.rubyxzzz.lms.backend.model.CourseSectionStatus;
+import io.rubyxzzz.lms.backend.model.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Seat reservation under contention
+ * Each attempt runs in its own transaction, like concurrent enroll requests
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:seats;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(AuditingConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SectionRepoConcurrencyTest {
+
+    private static final int CAPACITY = 30;
+    private static final int ATTEMPTS = 3000;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private SectionRepo sectionRepo;
+
+    @Autowired
+    private CourseRepo courseRepo;
+
+    @Autowired
+    private SessionRepo sessionRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void parallelReservationsNeverOversell() throws Exception {
+        String sectionId = createPublishedSection(CAPACITY);
+
+        int granted = runConcurrently(ATTEMPTS, () -> sectionRepo.tryReserveSeat(sectionId));
+
+        assertThat(granted).isEqualTo(CAPACITY);
+        assertThat(sectionRepo.findById(sectionId).orElseThrow().getEnrolledCount()).isEqualTo(CAPACITY);
+    }
+
+    @Test
+    void parallelReleasesNeverGoBelowZero() throws Exception {
+        String sectionId = createPublishedSection(CAPACITY);
+        runConcurrently(CAPACITY, () -> sectionRepo.tryReserveSeat(sectionId));
+
+        int released = runConcurrently(ATTEMPTS, () -> sectionRepo.releaseSeat(sectionId));
+
+        assertThat(released).isEqualTo(CAPACITY);
+        assertThat(sectionRepo.findById(sectionId).orElseThrow().getEnrolledCount()).isZero();
+    }
+
+    @Test
+    void lockedSectionRejectsReservations() throws Exception {
+        String sectionId = createPublishedSection(CAPACITY);
+        CourseSection section = sectionRepo.findById(sectionId).orElseThrow();
+        section.setEnrollmentLocked(true);
+        sectionRepo.save(section);
+
+        int granted = runConcurrently(100, () -> sectionRepo.tryReserveSeat(sectionId));
+
+        assertThat(granted).isZero();
+    }
+
+    /**
+     * Fire all attempts at once, each in its own transaction
+     * Returns the sum of affected rows
+     */
+    private int runConcurrently(int attempts, UpdateCall call) throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger affected = new AtomicInteger();
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < attempts; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    Integer rows = tx.execute(status -> call.run());
+                    affected.addAndGet(rows == null ? 0 : rows);
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return affected.get();
+    }
+
+    private String createPublishedSection(int capacity) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+        Session session = new Session();
+        session.setSessionCode("T" + suffix);
+        session.setStartDate(LocalDate.now());
+        session.setEndDate(LocalDate.now().plusWeeks(8));
+        session = sessionRepo.save(session);
+
+        Course course = new Course();
+        course.setSession(session);
+        course.setSessionCode(session.getSessionCode());
+        course.setCourseCode("C-" + suffix);
+        course.setCourseName("Concurrency " + suffix);
+        course = courseRepo.save(course);
+
+        CourseSection section = new CourseSection();
+        section.setCourse(course);
+        section.setCourseCode(course.getCourseCode());
+        section.setSectionCode("A");
+        section.setSessionCode(session.getSessionCode());
+        section.setCapacity(capacity);
+        section.setMinEnrollment(1);
+        section.setStatus(CourseSectionStatus.PUBLISHED);
+        return sectionRepo.save(section).getId();
+    }
+
+    @FunctionalInterface
+    private interface UpdateCall {
+        int run();
+    }
+}
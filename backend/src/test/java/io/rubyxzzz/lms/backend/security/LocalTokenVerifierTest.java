@@ -0,0 +1,197 @@
+package io.rubyxzzz.lms.backend.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.rubyxzzz.lms.backend.exception.AuthenticationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Offline token verification against the fixture key set
+ * (src/test/resources/firebase/signing-keys*.json)
+ */
+class LocalTokenVerifierTest {
+
+    private static final String PROJECT_ID = "lms-test";
+    private static final String KEY_1 = "test-key-1";
+    private static final String KEY_2 = "test-key-2";
+
+    private static final Duration HOUR = Duration.ofHours(1);
+    private static final Duration SKEW = Duration.ofMinutes(5);
+
+    @TempDir
+    Path tempDir;
+
+    private StubTokenIssuer issuer;
+    private SigningKeyCache keyCache;
+    private LocalTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        issuer = StubTokenIssuer.fromResource(PROJECT_ID, new ClassPathResource("firebase/signing-keys.private.json"));
+        keyCache = new SigningKeyCache(
+                new FileKeySource(new ClassPathResource("firebase/signing-keys.json"), HOUR),
+                Duration.ofMinutes(10), Duration.ofMillis(10), HOUR);
+        keyCache.start();
+        verifier = new LocalTokenVerifier(keyCache, PROJECT_ID, SKEW);
+    }
+
+    @AfterEach
+    void tearDown() {
+        keyCache.close();
+    }
+
+    @Test
+    void acceptsValidToken() {
+        VerifiedToken token = verifier.verify(issuer.mint(KEY_1, "uid-1", "a@test.local", HOUR));
+
+        assertThat(token.getUid()).isEqualTo("uid-1");
+        assertThat(token.getEmail()).isEqualTo("a@test.local");
+        assertThat(token.isEmailVerified()).isTrue();
+    }
+
+    @Test
+    void rejectsTamperedSignature() {
+        String token = issuer.mint(KEY_1, "uid-1", "a@test.local", HOUR);
+        String[] parts = token.split("\\.");
+        String forged = issuer.mint(KEY_1, "uid-2", "a@test.local", HOUR).split("\\.")[1];
+
+        assertRejected(parts[0] + "." + forged + "." + parts[2], "bad signature");
+    }
+
+    @Test
+    void rejectsTokenSignedWithAnotherKid() {
+        String token = issuer.mint(KEY_1, "uid-1", "a@test.local", HOUR);
+        String[] parts = token.split("\\.");
+        String otherHeader = issuer.mint(KEY_2, "uid-1", "a@test.local", HOUR).split("\\.")[0];
+
+        assertRejected(otherHeader + "." + parts[1] + "." + parts[2], "bad signature");
+    }
+
+    @Test
+    void rejectsWrongAudience() {
+        Map<String, Object> claims = issuer.claims("uid-1", "a@test.local", HOUR);
+        claims.put("aud", "other-project");
+
+        assertRejected(issuer.mint(KEY_1, claims), "wrong audience");
+    }
+
+    @Test
+    void rejectsWrongIssuer() {
+        Map<String, Object> claims = issuer.claims("uid-1", "a@test.local", HOUR);
+        claims.put("iss", "https://securetoken.google.com/other-project");
+
+        assertRejected(issuer.mint(KEY_1, claims), "wrong issuer");
+    }
+
+    @Test
+    void rejectsExpiredTokenBeyondClockSkew() {
+        Map<String, Object> claims = issuer.claims("uid-1", "a@test.local", HOUR);
+        long past = Instant.now().minus(SKEW).minusSeconds(60).getEpochSecond();
+        claims.put("iat", past - 3600);
+        claims.put("auth_time", past - 3600);
+        claims.put("exp", past);
+
+        assertRejected(issuer.mint(KEY_1, claims), "expired");
+    }
+
+    @Test
+    void acceptsRecentlyExpiredTokenWithinClockSkew() {
+        Map<String, Object> claims = issuer.claims("uid-1", "a@test.local", HOUR);
+        claims.put("exp", Instant.now().minusSeconds(30).getEpochSecond());
+
+        assertThat(verifier.verify(issuer.mint(KEY_1, claims)).getUid()).isEqualTo("uid-1");
+    }
+
+    @Test
+    void picksUpRotatedKeyAfterUnknownKid() throws Exception {
+        Path keyFile = tempDir.resolve("signing-keys.json");
+        Files.writeString(keyFile, keySetWithOnly(KEY_1));
+
+        try (SigningKeyCache rotating = new SigningKeyCache(
+                new FileKeySource(new FileSystemResource(keyFile), HOUR),
+                Duration.ofMinutes(10), Duration.ofMillis(10), HOUR)) {
+            rotating.start();
+            LocalTokenVerifier rotatingVerifier = new LocalTokenVerifier(rotating, PROJECT_ID, SKEW);
+            String rotatedToken = issuer.mint(KEY_2, "uid-1", "a@test.local", HOUR);
+
+            assertThatThrownBy(() -> rotatingVerifier.verify(rotatedToken))
+                    .isInstanceOf(AuthenticationException.class)
+                    .hasMessageContaining("unknown kid");
+
+            // key published: the unknown kid triggers an early refresh
+            Files.writeString(keyFile, readFixture("firebase/signing-keys.json"));
+            Thread.sleep(20);
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            VerifiedToken verified = null;
+            while (verified == null && System.nanoTime() < deadline) {
+                try {
+                    verified = rotatingVerifier.verify(rotatedToken);
+                } catch (AuthenticationException e) {
+                    Thread.sleep(20);
+                }
+            }
+            assertThat(verified).isNotNull();
+            assertThat(verified.getUid()).isEqualTo("uid-1");
+        }
+    }
+
+    @Test
+    void failsClosedOnceKeysAreTooStale() {
+        SigningKeySource expired = () -> new SigningKeySource.SigningKeys(
+                Map.of(KEY_1, publicKey(KEY_1)), Instant.now().minus(Duration.ofHours(2)));
+
+        try (SigningKeyCache stale = new SigningKeyCache(expired, Duration.ofMinutes(10), HOUR, HOUR)) {
+            stale.start();
+            LocalTokenVerifier staleVerifier = new LocalTokenVerifier(stale, PROJECT_ID, SKEW);
+
+            assertThat(stale.isStale()).isTrue();
+            assertThatThrownBy(() -> staleVerifier.verify(issuer.mint(KEY_1, "uid-1", "a@test.local", HOUR)))
+                    .isInstanceOf(AuthenticationException.class)
+                    .hasMessageContaining("signing keys unavailable");
+        }
+    }
+
+    private void assertRejected(String token, String reason) {
+        assertThatThrownBy(() -> verifier.verify(token))
+                .isInstanceOf(AuthenticationException.class)
+                .hasMessageContaining(reason);
+    }
+
+    private static PublicKey publicKey(String kid) {
+        try {
+            return PemKeys.parseKeySet(readFixture("firebase/signing-keys.json")).get(kid);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String keySetWithOnly(String kid) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        String pem = mapper.readTree(readFixture("firebase/signing-keys.json")).get(kid).asText();
+        return mapper.writeValueAsString(Map.of(kid, pem));
+    }
+
+    private static String readFixture(String path) throws IOException {
+        try (InputStream in = new ClassPathResource(path).getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
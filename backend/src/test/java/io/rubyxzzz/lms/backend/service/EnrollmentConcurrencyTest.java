@@ -0,0 +1,349 @@
+package io.rubyxzzz.lms.backend.service;
+
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.FirebaseOptions;
+import io.rubyxzzz.lms.backend.dto.request.CompleteEnrollReq;
+import io.rubyxzzz.lms.backend.dto.request.DropCourseReq;
+import io.rubyxzzz.lms.backend.dto.request.EnrollCourseReq;
+import io.rubyxzzz.lms.backend.dto.request.UpdateSectionReq;
+import io.rubyxzzz.lms.backend.model.Course;
+import io.rubyxzzz.lms.backend.model.CourseSection;
+import io.rubyxzzz.lms.backend.model.CourseSectionStatus;
+import io.rubyxzzz.lms.backend.model.Session;
+import io.rubyxzzz.lms.backend.model.Student;
+import io.rubyxzzz.lms.backend.model.StudentType;
+import io.rubyxzzz.lms.backend.model.UserStatus;
+import io.rubyxzzz.lms.backend.repository.CourseRepo;
+import io.rubyxzzz.lms.backend.repository.SectionRepo;
+import io.rubyxzzz.lms.backend.repository.SessionRepo;
+import io.rubyxzzz.lms.backend.repository.StudentRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Registration rush through EnrollmentService.enrollCourse
+ * Every student submits twice at the same moment (double-click), all at one section:
+ * duplicate, prerequisite, waitlist and timetable checks, seat claim and outbox write
+ * all run under contention
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:enroll-rush;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class EnrollmentConcurrencyTest {
+
+    private static final int CAPACITY = 30;
+    private static final int STUDENTS = 1000;
+    private static final int REQUESTS_PER_STUDENT = 2;
+    private static final int THREADS = 64;
+
+    static {
+        // Offline FirebaseApp, so FirebaseConfig skips the service account file
+        if (FirebaseApp.getApps().isEmpty()) {
+            FirebaseApp.initializeApp(FirebaseOptions.builder()
+                    .setCredentials(GoogleCredentials.create(new AccessToken("test", null)))
+                    .setProjectId("lms-test")
+                    .build());
+        }
+    }
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private CourseSectionService courseSectionService;
+
+    @Autowired
+    private SectionRepo sectionRepo;
+
+    @Autowired
+    private CourseRepo courseRepo;
+
+    @Autowired
+    private SessionRepo sessionRepo;
+
+    @Autowired
+    private StudentRepo studentRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void registrationRushNeverOversellsOrDuplicates() throws Exception {
+        String sectionId = createPublishedSection(CAPACITY);
+        List<String> studentIds = createStudents(STUDENTS);
+
+        List<String> requests = new ArrayList<>();
+        for (String studentId : studentIds) {
+            for (int i = 0; i < REQUESTS_PER_STUDENT; i++) {
+                requests.add(studentId);
+            }
+        }
+        Collections.shuffle(requests, new Random(42));
+
+        Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+        int enrolled = runConcurrently(requests, studentId -> {
+            try {
+                enrollmentService.enrollCourse(new EnrollCourseReq(studentId, sectionId));
+                return true;
+            } catch (IllegalStateException | IllegalArgumentException e) {
+                outcomes.computeIfAbsent(e.getClass().getSimpleName(), key -> new LongAdder()).increment();
+                return false;
+            }
+        });
+
+        // Seats: exactly capacity granted, counter matches the rows
+        assertThat(enrolled).isEqualTo(CAPACITY);
+        assertThat(sectionRepo.findById(sectionId).orElseThrow().getEnrolledCount()).isEqualTo(CAPACITY);
+        assertThat(count("SELECT COUNT(*) FROM enrollments WHERE section_id = ? AND status = 'ENROLLED'", sectionId))
+                .isEqualTo(CAPACITY);
+
+        // No student holds two enrollments
+        assertThat(count("SELECT COUNT(*) FROM (SELECT student_id FROM enrollments WHERE section_id = ? "
+                + "GROUP BY student_id HAVING COUNT(*) > 1) d", sectionId)).isZero();
+
+        // One outbox event per enrollment
+        assertThat(count("SELECT COUNT(*) FROM enrollment_events e JOIN enrollments n ON n.id = e.enrollment_id "
+                + "WHERE n.section_id = ? AND e.event_type = 'ENROLLED'", sectionId)).isEqualTo(CAPACITY);
+
+        // Every other request was rejected by a business rule, not by an unexpected error
+        long rejected = outcomes.values().stream().mapToLong(LongAdder::sum).sum();
+        assertThat(enrolled + rejected).isEqualTo(requests.size());
+    }
+
+    @Test
+    void adminEditsDuringRushKeepTheSeatCounter() throws Exception {
+        String sectionId = createPublishedSection(CAPACITY);
+        List<String> studentIds = createStudents(STUDENTS);
+
+        // An admin keeps editing the section while students enroll
+        AtomicBoolean rushing = new AtomicBoolean(true);
+        AtomicInteger edits = new AtomicInteger();
+        Thread editor = editContinuously(sectionId, rushing, edits);
+
+        int enrolled;
+        try {
+            enrolled = runConcurrently(studentIds, studentId -> {
+                try {
+                    enrollmentService.enrollCourse(new EnrollCourseReq(studentId, sectionId));
+                    return true;
+                } catch (IllegalStateException | IllegalArgumentException e) {
+                    return false;
+                }
+            });
+        } finally {
+            rushing.set(false);
+            editor.join(TimeUnit.SECONDS.toMillis(30));
+        }
+
+        assertThat(edits.get()).isPositive();
+        assertThat(enrolled).isEqualTo(CAPACITY);
+        assertThat(sectionRepo.findById(sectionId).orElseThrow().getEnrolledCount()).isEqualTo(CAPACITY);
+        assertThat(count("SELECT COUNT(*) FROM enrollments WHERE section_id = ? AND status = 'ENROLLED'", sectionId))
+                .isEqualTo(CAPACITY);
+    }
+
+    @Test
+    void doubleDropReleasesEachSeatOnce() throws Exception {
+        String sectionId = createPublishedSection(CAPACITY);
+        List<String> enrollmentIds = new ArrayList<>();
+        for (String studentId : createStudents(CAPACITY)) {
+            enrollmentIds.add(enrollmentService.enrollCourse(new EnrollCourseReq(studentId, sectionId)).getId());
+        }
+
+        // Student and admin (or a client retry) drop the same enrollment at once
+        List<String> drops = new ArrayList<>(enrollmentIds);
+        drops.addAll(enrollmentIds);
+        Collections.shuffle(drops, new Random(7));
+
+        int dropped = runConcurrently(drops, enrollmentId -> {
+            try {
+                enrollmentService.dropCourse(DropCourseReq.builder().enrollmentId(enrollmentId).build(), "test");
+                return true;
+            } catch (IllegalStateException e) {
+                return false;
+            }
+        });
+
+        assertThat(dropped).isEqualTo(CAPACITY);
+        assertThat(sectionRepo.findById(sectionId).orElseThrow().getEnrolledCount()).isZero();
+        assertThat(count("SELECT COUNT(*) FROM enrollment_events e JOIN enrollments n ON n.id = e.enrollment_id "
+                + "WHERE n.section_id = ? AND e.event_type = 'DROPPED'", sectionId)).isEqualTo(CAPACITY);
+    }
+
+    @Test
+    void gradesRecordedWhileSectionIsEditedAreKept() throws Exception {
+        String sectionId = createPublishedSection(CAPACITY);
+        List<String> enrollmentIds = new ArrayList<>();
+        for (String studentId : createStudents(CAPACITY)) {
+            enrollmentIds.add(enrollmentService.enrollCourse(new EnrollCourseReq(studentId, sectionId)).getId());
+        }
+
+        AtomicBoolean grading = new AtomicBoolean(true);
+        AtomicInteger edits = new AtomicInteger();
+        Thread editor = editContinuously(sectionId, grading, edits);
+
+        int completed;
+        try {
+            completed = runConcurrently(enrollmentIds, enrollmentId -> {
+                enrollmentService.completeEnrollment(CompleteEnrollReq.builder()
+                        .enrollmentId(enrollmentId)
+                        .finalGrade(80.0)
+                        .build());
+                return true;
+            });
+        } finally {
+            grading.set(false);
+            editor.join(TimeUnit.SECONDS.toMillis(30));
+        }
+
+        assertThat(edits.get()).isPositive();
+        assertThat(completed).isEqualTo(CAPACITY);
+        Map<String, Object> stats = jdbcTemplate.queryForMap(
+                "SELECT grade_sum, graded_count, completed_count FROM course_sections WHERE id = ?", sectionId);
+        assertThat(((Number) stats.get("grade_sum")).doubleValue()).isEqualTo(80.0 * CAPACITY);
+        assertThat(((Number) stats.get("graded_count")).intValue()).isEqualTo(CAPACITY);
+        assertThat(((Number) stats.get("completed_count")).intValue()).isEqualTo(CAPACITY);
+    }
+
+    /**
+     * Admin edits (location only) in a loop until running is cleared
+     */
+    private Thread editContinuously(String sectionId, AtomicBoolean running, AtomicInteger edits) {
+        Thread editor = new Thread(() -> {
+            while (running.get()) {
+                courseSectionService.updateSection(sectionId,
+                        UpdateSectionReq.builder().location("Room " + edits.incrementAndGet()).build());
+            }
+        });
+        editor.start();
+        return editor;
+    }
+
+    /**
+     * Fire all requests at once from a fixed pool
+     * Returns the number of calls that returned true
+     */
+    private int runConcurrently(List<String> ids, Call call) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (String id : ids) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    if (call.run(id)) {
+                        succeeded.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(120, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return succeeded.get();
+    }
+
+    private int count(String sql, String sectionId) {
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, sectionId);
+        return count == null ? 0 : count;
+    }
+
+    private String createPublishedSection(int capacity) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+        Session session = new Session();
+        session.setSessionCode("T" + suffix);
+        session.setStartDate(LocalDate.now().plusWeeks(2));
+        session.setEndDate(LocalDate.now().plusWeeks(10));
+        session.setRegistrationOpenDate(LocalDate.now());
+        session.setAddDropDeadline(LocalDate.now().plusWeeks(3));
+        session = sessionRepo.save(session);
+
+        Course course = new Course();
+        course.setSession(session);
+        course.setSessionCode(session.getSessionCode());
+        course.setCourseCode("C-" + suffix);
+        course.setCourseName("Concurrency " + suffix);
+        course.setHoursPerWeek(4);
+        course = courseRepo.save(course);
+
+        CourseSection section = new CourseSection();
+        section.setCourse(course);
+        section.setCourseCode(course.getCourseCode());
+        section.setCourseName(course.getCourseName());
+        section.setHoursPerWeek(course.getHoursPerWeek());
+        section.setSectionCode("A");
+        section.setSessionCode(session.getSessionCode());
+        section.setDaysOfWeek("Monday,Wednesday");
+        section.setStartTime(LocalTime.of(9, 0));
+        section.setEndTime(LocalTime.of(11, 0));
+        section.setCapacity(capacity);
+        section.setMinEnrollment(1);
+        section.setEnrolledCount(0);
+        section.setWaitlistCount(0);
+        section.setEnrollmentLocked(false);
+        section.setStatus(CourseSectionStatus.PUBLISHED);
+        return sectionRepo.save(section).getId();
+    }
+
+    private List<String> createStudents(int count) {
+        String suffix = UUID.randomUUID().toString().substring(0, 6);
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Student student = new Student();
+            student.setStudentNumber(String.format("R%s%05d", suffix, i));
+            student.setFirstName("Student");
+            student.setLastName(String.valueOf(i));
+            student.setEmail("rush" + suffix + "-" + i + "@test.local");
+            student.setFirebaseUid("rush-" + suffix + "-" + i);
+            student.setStudentType(StudentType.FLEXIBLE);
+            student.setStatus(UserStatus.ACTIVE);
+            student.setEmailVerified(true);
+            student.setPlacementLevel(3);
+            students.add(student);
+        }
+        return studentRepo.saveAll(students).stream().map(Student::getId).toList();
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        boolean run(String id);
+    }
+}
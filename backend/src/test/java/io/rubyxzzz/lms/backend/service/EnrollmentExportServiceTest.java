@@ -0,0 +1,124 @@
+package io.rubyxzzz.lms.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.rubyxzzz.lms.backend.dto.listItem.EnrollmentExportRow;
+import io.rubyxzzz.lms.backend.model.EnrollmentStatus;
+import io.rubyxzzz.lms.backend.repository.EnrollmentRepo;
+import io.rubyxzzz.lms.backend.repository.SessionRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * CSV / NDJSON output of the session export (repository mocked)
+ */
+class EnrollmentExportServiceTest {
+
+    private static final String SESSION = "2026-S1";
+    private static final LocalDateTime ENROLLED = LocalDateTime.of(2026, 1, 5, 9, 30);
+
+    private EnrollmentRepo enrollmentRepo;
+    private EnrollmentExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        enrollmentRepo = mock(EnrollmentRepo.class);
+        exportService = new EnrollmentExportService(
+                enrollmentRepo, mock(SessionRepo.class), new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    void writesHeaderAndPlainRows() {
+        String csv = exportCsv(row("S001", "Ada Lovelace", 92.5));
+
+        String[] lines = csv.split("\r\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).isEqualTo("id,studentNumber,studentName,studentEmail,courseCode,sectionCode,"
+                + "sessionCode,hoursPerWeek,status,enrolledTime,droppedTime,completedTime,finalGrade");
+        assertThat(lines[1]).isEqualTo("e-1,S001,Ada Lovelace,s001@test.local,ESL-101,A,2026-S1,4,ENROLLED,"
+                + "2026-01-05T09:30,,,92.5");
+    }
+
+    @Test
+    void quotesCommasQuotesAndLineBreaks() {
+        String csv = exportCsv(
+                row("S001", "Doe, Jo", null),
+                row("S002", "Jo \"JJ\" Doe", null),
+                row("S003", "Line\nBreak", null));
+
+        assertThat(csv).contains(",\"Doe, Jo\",");
+        assertThat(csv).contains(",\"Jo \"\"JJ\"\" Doe\",");
+        assertThat(csv).contains(",\"Line\nBreak\",");
+    }
+
+    @Test
+    void prefixesFormulaValues() {
+        String csv = exportCsv(
+                row("S001", "=1+1", null),
+                row("S002", "+SUM(A1)", null),
+                row("S003", "-2", null),
+                row("S004", "@cmd", null),
+                row("S005", "=HYPERLINK(\"x\")", null));
+
+        assertThat(csv).contains(",'=1+1,");
+        assertThat(csv).contains(",'+SUM(A1),");
+        assertThat(csv).contains(",'-2,");
+        assertThat(csv).contains(",'@cmd,");
+        // prefixed, then quoted because of the embedded quotes
+        assertThat(csv).contains(",\"'=HYPERLINK(\"\"x\"\")\",");
+    }
+
+    @Test
+    void writesOneJsonObjectPerLine() throws Exception {
+        when(enrollmentRepo.streamExportRowsBySessionCode(SESSION))
+                .thenReturn(Stream.of(row("S001", "Ada", 90.0), row("S002", "Bob", null)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = exportService.exportSession(SESSION, EnrollmentExportService.Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(count).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        JsonNode first = new ObjectMapper().readTree(lines[0]);
+        assertThat(first.get("studentNumber").asText()).isEqualTo("S001");
+        assertThat(first.get("finalGrade").asDouble()).isEqualTo(90.0);
+        assertThat(new ObjectMapper().readTree(lines[1]).get("finalGrade").isNull()).isTrue();
+    }
+
+    @Test
+    void closesTheCursor() {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(enrollmentRepo.streamExportRowsBySessionCode(SESSION))
+                .thenReturn(Stream.of(row("S001", "Ada", null)).onClose(() -> closed.set(true)));
+
+        exportService.exportSession(SESSION, EnrollmentExportService.Format.CSV, new ByteArrayOutputStream());
+
+        assertThat(closed).isTrue();
+    }
+
+    private String exportCsv(EnrollmentExportRow... rows) {
+        when(enrollmentRepo.streamExportRowsBySessionCode(SESSION)).thenReturn(Stream.of(rows));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = exportService.exportSession(SESSION, EnrollmentExportService.Format.CSV, out);
+        assertThat(count).isEqualTo(rows.length);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static EnrollmentExportRow row(String studentNumber, String studentName, Double finalGrade) {
+        return new EnrollmentExportRow(
+                "e-" + studentNumber.substring(studentNumber.length() - 1),
+                studentNumber, studentName, studentNumber.toLowerCase() + "@test.local",
+                "ESL-101", "A", SESSION, 4, EnrollmentStatus.ENROLLED,
+                ENROLLED, null, null, finalGrade);
+    }
+}
@@ -0,0 +1,149 @@
+package io.rubyxzzz.lms.backend.service;
+
+import io.rubyxzzz.lms.backend.dto.response.SectionRes;
+import io.rubyxzzz.lms.backend.dto.response.SectionSearchRes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Index reuse across catalog versions (catalog mocked)
+ *
+ * A reused index keeps answering from the facet values it was built with,
+ * so mutating a SectionRes in place shows whether the index was rebuilt
+ */
+class SectionSearchServiceTest {
+
+    private static final String S1 = "2026-S1";
+    private static final String S2 = "2026-S2";
+
+    private SectionCatalog sectionCatalog;
+    private SectionSearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        sectionCatalog = mock(SectionCatalog.class);
+        searchService = new SectionSearchService(sectionCatalog);
+    }
+
+    @Test
+    void unchangedSessionKeepsItsIndex() {
+        SectionRes ge = section("s1", S1, "GE-101");
+        SectionRes other = section("s2", S2, "IELTS-201");
+        catalog(1, ge, other);
+        assertThat(programs(S1)).containsEntry("GE", 1);
+
+        // new version, S1 untouched (same instances); only S2 changed
+        ge.setCourseCode("TOEFL-101");
+        catalog(2, ge, section("s2", S2, "IELTS-202"));
+
+        SectionSearchRes res = searchService.search(S1, Map.of());
+        assertThat(res.getCatalogVersion()).isEqualTo(2);
+        assertThat(programs(S1)).containsEntry("GE", 1).doesNotContainKey("TOEFL");
+    }
+
+    @Test
+    void changedSessionIsRebuilt() {
+        SectionRes ge = section("s1", S1, "GE-101");
+        catalog(1, ge);
+        assertThat(programs(S1)).containsEntry("GE", 1);
+
+        // the catalog hands out a new instance for a changed section
+        catalog(2, section("s1", S1, "TOEFL-101"));
+
+        SectionSearchRes res = searchService.search(S1, Map.of());
+        assertThat(res.getCatalogVersion()).isEqualTo(2);
+        assertThat(programs(S1)).containsEntry("TOEFL", 1).doesNotContainKey("GE");
+    }
+
+    @Test
+    void addedSectionRebuildsTheSession() {
+        SectionRes ge = section("s1", S1, "GE-101");
+        catalog(1, ge);
+        assertThat(searchService.search(S1, Map.of()).getTotal()).isEqualTo(1);
+
+        catalog(2, ge, section("s3", S1, "IELTS-201"));
+
+        assertThat(searchService.search(S1, Map.of()).getTotal()).isEqualTo(2);
+        assertThat(programs(S1)).containsEntry("GE", 1).containsEntry("IELTS", 1);
+    }
+
+    @Test
+    void unknownSessionIsEmptyAndNotCached() {
+        catalog(1, section("s1", S1, "GE-101"));
+
+        SectionSearchRes missing = searchService.search(S2, Map.of());
+        assertThat(missing.getTotal()).isZero();
+        assertThat(missing.getCatalogVersion()).isEqualTo(1);
+
+        catalog(2, section("s1", S1, "GE-101"), section("s2", S2, "IELTS-201"));
+        assertThat(searchService.search(S2, Map.of()).getTotal()).isEqualTo(1);
+    }
+
+    @Test
+    void sessionLeavingTheCatalogIsDropped() {
+        SectionRes ge = section("s1", S1, "GE-101");
+        catalog(1, ge);
+        assertThat(programs(S1)).containsEntry("GE", 1);
+
+        catalog(2, section("s2", S2, "IELTS-201"));
+        assertThat(searchService.search(S1, Map.of()).getTotal()).isZero();
+
+        // back with the very same instance: the old index was dropped, so this is a fresh build
+        ge.setCourseCode("TOEFL-101");
+        catalog(3, ge);
+        assertThat(programs(S1)).containsEntry("TOEFL", 1).doesNotContainKey("GE");
+    }
+
+    @Test
+    void filtersAndCountsGoThroughTheIndex() {
+        catalog(1,
+                section("s1", S1, "GE-101"),
+                section("s2", S1, "GE-102"),
+                section("s3", S1, "IELTS-201"));
+
+        SectionSearchRes res = searchService.search(S1, Map.of("program", List.of(" ge ")));
+
+        assertThat(res.getTotal()).isEqualTo(2);
+        assertThat(res.getSections()).extracting(SectionRes::getId).containsExactly("s1", "s2");
+        assertThat(programs(res)).containsEntry("GE", 2).containsEntry("IELTS", 1);
+    }
+
+    private void catalog(long version, SectionRes... sections) {
+        List<SectionRes> list = List.of(sections);
+        Map<String, SectionRes> byId = list.stream()
+                .collect(Collectors.toMap(SectionRes::getId, Function.identity()));
+        when(sectionCatalog.snapshot())
+                .thenReturn(new SectionCatalog.Snapshot(version, list, byId, "\"" + version + "\""));
+    }
+
+    private Map<String, Integer> programs(String sessionCode) {
+        return programs(searchService.search(sessionCode, Map.of()));
+    }
+
+    private static Map<String, Integer> programs(SectionSearchRes res) {
+        return res.getFacets().getOrDefault(SectionSearchService.PROGRAM, List.of()).stream()
+                .collect(Collectors.toMap(SectionSearchRes.FacetCount::getValue, SectionSearchRes.FacetCount::getCount));
+    }
+
+    private static SectionRes section(String id, String sessionCode, String courseCode) {
+        return SectionRes.builder()
+                .id(id)
+                .sessionCode(sessionCode)
+                .courseCode(courseCode)
+                .daysOfWeek("Monday")
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(11, 0))
+                .availableSeats(10)
+                .build();
+    }
+}
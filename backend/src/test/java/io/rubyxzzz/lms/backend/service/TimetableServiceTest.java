@@ -0,0 +1,183 @@
+package io.rubyxzzz.lms.backend.service;
+
+import io.rubyxzzz.lms.backend.config.AuditingConfig;
+import io.rubyxzzz.lms.backend.dto.listItem.CourseSectionList;
+import io.rubyxzzz.lms.backend.model.Course;
+import io.rubyxzzz.lms.backend.model.CourseSection;
+import io.rubyxzzz.lms.backend.model.CourseSectionStatus;
+import io.rubyxzzz.lms.backend.model.Enrollment;
+import io.rubyxzzz.lms.backend.model.EnrollmentStatus;
+import io.rubyxzzz.lms.backend.model.Session;
+import io.rubyxzzz.lms.backend.model.Student;
+import io.rubyxzzz.lms.backend.model.StudentType;
+import io.rubyxzzz.lms.backend.model.UserStatus;
+import io.rubyxzzz.lms.backend.repository.CourseRepo;
+import io.rubyxzzz.lms.backend.repository.EnrollmentRepo;
+import io.rubyxzzz.lms.backend.repository.SectionRepo;
+import io.rubyxzzz.lms.backend.repository.SessionRepo;
+import io.rubyxzzz.lms.backend.repository.StudentRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Timetables are scoped to one session: a class this term never
+ * blocks the same slot next term
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:timetable;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(AuditingConfig.class)
+class TimetableServiceTest {
+
+    @Autowired
+    private EnrollmentRepo enrollmentRepo;
+
+    @Autowired
+    private SectionRepo sectionRepo;
+
+    @Autowired
+    private CourseRepo courseRepo;
+
+    @Autowired
+    private SessionRepo sessionRepo;
+
+    @Autowired
+    private StudentRepo studentRepo;
+
+    private TimetableService timetableService;
+
+    private Session current;
+    private Session next;
+    private Student student;
+
+    @BeforeEach
+    void setUp() {
+        timetableService = new TimetableService(enrollmentRepo, sectionRepo);
+        current = createSession(LocalDate.now());
+        next = createSession(LocalDate.now().plusWeeks(9));
+        student = createStudent();
+    }
+
+    @Test
+    void timetableOnlyHoldsTheRequestedSession() {
+        enroll(createSection(current, "Monday,Wednesday", 9, 11));
+
+        assertThat(timetableService.forStudent(student.getId(), current.getSessionCode()).size()).isEqualTo(1);
+        assertThat(timetableService.forStudent(student.getId(), next.getSessionCode()).size()).isZero();
+        assertThat(timetableService.forStudents(List.of(student.getId()), next.getSessionCode())).isEmpty();
+    }
+
+    @Test
+    void sameSlotNextSessionFits() {
+        enroll(createSection(current, "Monday,Wednesday", 9, 11));
+        CourseSection sameSlotThisTerm = createSection(current, "Monday", 10, 12);
+        CourseSection sameSlotNextTerm = createSection(next, "Monday,Wednesday", 9, 11);
+
+        assertThatThrownBy(() -> timetableService.assertFits(student.getId(), sameSlotThisTerm))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Schedule conflict");
+        assertThatCode(() -> timetableService.assertFits(student.getId(), sameSlotNextTerm))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void droppedEnrollmentsDoNotBlock() {
+        Enrollment enrollment = enroll(createSection(current, "Tuesday", 13, 15));
+        enrollment.setStatus(EnrollmentStatus.DROPPED);
+        enrollmentRepo.save(enrollment);
+
+        assertThat(timetableService.forStudent(student.getId(), current.getSessionCode()).size()).isZero();
+    }
+
+    @Test
+    void fittingSectionsUseTheSessionTimetable() {
+        enroll(createSection(current, "Monday,Wednesday", 9, 11));
+        enroll(createSection(next, "Friday", 13, 15));
+        CourseSection busyThisTermOnly = createSection(next, "Monday", 9, 10);
+        CourseSection clashNextTerm = createSection(next, "Friday", 14, 16);
+
+        List<String> fitting = timetableService.findFittingSections(student.getId(), next.getSessionCode())
+                .stream().map(CourseSectionList::getId).toList();
+
+        assertThat(fitting).contains(busyThisTermOnly.getId());
+        assertThat(fitting).doesNotContain(clashNextTerm.getId());
+    }
+
+    private Session createSession(LocalDate start) {
+        Session session = new Session();
+        session.setSessionCode("T" + UUID.randomUUID().toString().substring(0, 8));
+        session.setStartDate(start);
+        session.setEndDate(start.plusWeeks(8));
+        return sessionRepo.save(session);
+    }
+
+    private CourseSection createSection(Session session, String days, int startHour, int endHour) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+        Course course = new Course();
+        course.setSession(session);
+        course.setSessionCode(session.getSessionCode());
+        course.setCourseCode("C-" + suffix);
+        course.setCourseName("Timetable " + suffix);
+        course = courseRepo.save(course);
+
+        CourseSection section = new CourseSection();
+        section.setCourse(course);
+        section.setCourseCode(course.getCourseCode());
+        section.setSectionCode("A");
+        section.setSessionCode(session.getSessionCode());
+        section.setDaysOfWeek(days);
+        section.setStartTime(LocalTime.of(startHour, 0));
+        section.setEndTime(LocalTime.of(endHour, 0));
+        section.setCapacity(30);
+        section.setMinEnrollment(1);
+        section.setEnrolledCount(0);
+        section.setWaitlistCount(0);
+        section.setEnrollmentLocked(false);
+        section.setStatus(CourseSectionStatus.PUBLISHED);
+        return sectionRepo.save(section);
+    }
+
+    private Student createStudent() {
+        String suffix = UUID.randomUUID().toString().substring(0, 6);
+        Student created = new Student();
+        created.setStudentNumber("TT" + suffix);
+        created.setFirstName("Time");
+        created.setLastName("Table");
+        created.setEmail("tt" + suffix + "@test.local");
+        created.setFirebaseUid("tt-" + suffix);
+        created.setStudentType(StudentType.FLEXIBLE);
+        created.setStatus(UserStatus.ACTIVE);
+        created.setEmailVerified(true);
+        created.setPlacementLevel(3);
+        return studentRepo.save(created);
+    }
+
+    private Enrollment enroll(CourseSection section) {
+        Enrollment enrollment = new Enrollment();
+        enrollment.setStudent(student);
+        enrollment.setSection(section);
+        enrollment.setCourseCode(section.getCourseCode());
+        enrollment.setSectionCode(section.getSectionCode());
+        enrollment.setSessionCode(section.getSessionCode());
+        enrollment.setStatus(EnrollmentStatus.ENROLLED);
+        return enrollmentRepo.save(enrollment);
+    }
+}
@@ -0,0 +1,93 @@
+package io.rubyxzzz.lms.backend.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Matching (OR within a facet, AND across facets) and disjunctive counts
+ */
+class FacetIndexTest {
+
+    // doc 0: GE, MONDAY          doc 1: GE, TUESDAY
+    // doc 2: IELTS, MONDAY       doc 3: IELTS, MONDAY + TUESDAY
+    private FacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = FacetIndex.builder(4)
+                .values("day", List.of("MONDAY", "TUESDAY", "SUNDAY"))
+                .add(0, "program", "GE").add(0, "day", "MONDAY")
+                .add(1, "program", "GE").add(1, "day", "TUESDAY")
+                .add(2, "program", "IELTS").add(2, "day", "MONDAY")
+                .add(3, "program", "IELTS").add(3, "day", "MONDAY").add(3, "day", "TUESDAY")
+                .add(3, "level", null)
+                .build();
+    }
+
+    @Test
+    void noSelectionMatchesEverything() {
+        assertThat(docs(index.match(Map.of()))).containsExactly(0, 1, 2, 3);
+        assertThat(docs(index.match(Map.of("program", List.of())))).containsExactly(0, 1, 2, 3);
+    }
+
+    @Test
+    void valuesOfOneFacetAreOred() {
+        assertThat(docs(index.match(Map.of("program", List.of("GE"))))).containsExactly(0, 1);
+        assertThat(docs(index.match(Map.of("program", List.of("GE", "IELTS"))))).containsExactly(0, 1, 2, 3);
+    }
+
+    @Test
+    void facetsAreAnded() {
+        assertThat(docs(index.match(Map.of(
+                "program", List.of("IELTS"),
+                "day", List.of("TUESDAY"))))).containsExactly(3);
+        assertThat(docs(index.match(Map.of(
+                "program", List.of("GE"),
+                "day", List.of("SUNDAY"))))).isEmpty();
+    }
+
+    @Test
+    void unknownValuesMatchNothing() {
+        assertThat(docs(index.match(Map.of("program", List.of("TOEFL"))))).isEmpty();
+        assertThat(docs(index.match(Map.of("format", List.of("ONLINE"))))).isEmpty();
+    }
+
+    @Test
+    void countsIgnoreTheirOwnFacetSelection() {
+        Map<String, Map<String, Integer>> counts = index.counts(Map.of("program", List.of("GE")));
+
+        // program counts are taken over all documents, so IELTS is still offered
+        assertThat(counts.get("program")).hasSize(2).containsEntry("GE", 2).containsEntry("IELTS", 2);
+        // other facets are counted under the program selection
+        assertThat(counts.get("day")).containsEntry("MONDAY", 1).containsEntry("TUESDAY", 1);
+    }
+
+    @Test
+    void countsApplyEveryOtherFacet() {
+        Map<String, Map<String, Integer>> counts = index.counts(Map.of(
+                "program", List.of("IELTS"),
+                "day", List.of("TUESDAY")));
+
+        assertThat(counts.get("program")).containsEntry("GE", 1).containsEntry("IELTS", 1);
+        assertThat(counts.get("day")).containsEntry("MONDAY", 2).containsEntry("TUESDAY", 1);
+    }
+
+    @Test
+    void declaredValuesKeepTheirOrderAndZeroCounts() {
+        Map<String, Integer> days = index.counts(Map.of()).get("day");
+
+        assertThat(days.keySet()).containsExactly("MONDAY", "TUESDAY", "SUNDAY");
+        assertThat(days).containsEntry("SUNDAY", 0);
+        assertThat(index.counts(Map.of())).doesNotContainKey("level");
+    }
+
+    private static List<Integer> docs(BitSet hits) {
+        return hits.stream().boxed().toList();
+    }
+}
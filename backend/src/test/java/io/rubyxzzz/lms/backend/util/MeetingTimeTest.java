@@ -0,0 +1,82 @@
+package io.rubyxzzz.lms.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Day mask parsing and interval overlap
+ */
+class MeetingTimeTest {
+
+    private static final int MON = 1;
+    private static final int TUE = 1 << 1;
+    private static final int WED = 1 << 2;
+    private static final int THU = 1 << 3;
+    private static final int SUN = 1 << 6;
+
+    @Test
+    void parsesFullAndAbbreviatedDayNames() {
+        assertThat(MeetingTime.dayMask("Monday,Wednesday")).isEqualTo(MON | WED);
+        assertThat(MeetingTime.dayMask("Mon/Wed")).isEqualTo(MON | WED);
+        assertThat(MeetingTime.dayMask(" monday , WEDNESDAY ")).isEqualTo(MON | WED);
+        assertThat(MeetingTime.dayMask("Tue/Thu")).isEqualTo(TUE | THU);
+        assertThat(MeetingTime.dayMask("Sunday")).isEqualTo(SUN);
+    }
+
+    @Test
+    void ignoresUnknownAndEmptyDays() {
+        assertThat(MeetingTime.dayMask(null)).isZero();
+        assertThat(MeetingTime.dayMask("  ")).isZero();
+        assertThat(MeetingTime.dayMask("Mo,Xyz")).isZero();
+        assertThat(MeetingTime.dayMask("Monday,Someday")).isEqualTo(MON);
+    }
+
+    @Test
+    void abbreviatesInWeekOrder() {
+        assertThat(MeetingTime.abbreviate(WED | MON)).isEqualTo("Mon/Wed");
+        assertThat(MeetingTime.abbreviate(SUN | TUE)).isEqualTo("Tue/Sun");
+    }
+
+    @Test
+    void incompleteOrEmptyScheduleHasNoMeetingTime() {
+        assertThat(MeetingTime.of("Monday", null, LocalTime.of(10, 0))).isNull();
+        assertThat(MeetingTime.of("", LocalTime.of(9, 0), LocalTime.of(10, 0))).isNull();
+        assertThat(MeetingTime.of("Monday", LocalTime.of(10, 0), LocalTime.of(10, 0))).isNull();
+        assertThat(MeetingTime.ofMinutes(0, 540, 600)).isNull();
+        assertThat(MeetingTime.ofMinutes(MON, 600, 540)).isNull();
+    }
+
+    @Test
+    void intervalsAreEndExclusive() {
+        MeetingTime first = MeetingTime.of("Monday", LocalTime.of(10, 0), LocalTime.of(11, 0));
+        MeetingTime next = MeetingTime.of("Monday", LocalTime.of(11, 0), LocalTime.of(12, 0));
+        MeetingTime overlapping = MeetingTime.of("Monday", LocalTime.of(10, 59), LocalTime.of(12, 0));
+
+        assertThat(first.overlaps(next)).isFalse();
+        assertThat(next.overlaps(first)).isFalse();
+        assertThat(first.overlaps(overlapping)).isTrue();
+    }
+
+    @Test
+    void sameTimeOnOtherDaysDoesNotOverlap() {
+        MeetingTime monWed = MeetingTime.of("Mon/Wed", LocalTime.of(9, 0), LocalTime.of(11, 0));
+        MeetingTime tueThu = MeetingTime.of("Tue/Thu", LocalTime.of(9, 0), LocalTime.of(11, 0));
+        MeetingTime wedFri = MeetingTime.of("Wed/Fri", LocalTime.of(10, 0), LocalTime.of(10, 30));
+
+        assertThat(monWed.overlaps(tueThu)).isFalse();
+        assertThat(monWed.overlaps(wedFri)).isTrue();
+    }
+
+    @Test
+    void persistedColumnsRoundTrip() {
+        MeetingTime parsed = MeetingTime.of("Monday,Wednesday", LocalTime.of(9, 30), LocalTime.of(11, 0));
+        MeetingTime stored = MeetingTime.ofMinutes(parsed.getDayMask(), parsed.getStartMinute(), parsed.getEndMinute());
+
+        assertThat(stored.getDayMask()).isEqualTo(MON | WED);
+        assertThat(stored.getStartMinute()).isEqualTo(570);
+        assertThat(stored.getEndMinute()).isEqualTo(660);
+    }
+}
@@ -0,0 +1,75 @@
+package io.rubyxzzz.lms.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Conflict checks against a student's timetable
+ */
+class TimetableTest {
+
+    private static MeetingTime at(String days, int startHour, int endHour) {
+        return MeetingTime.of(days, LocalTime.of(startHour, 0), LocalTime.of(endHour, 0));
+    }
+
+    @Test
+    void emptyTimetableFitsEverything() {
+        assertThat(Timetable.EMPTY.conflictOf(at("Monday", 9, 11))).isNull();
+        assertThat(Timetable.EMPTY.fits(null)).isTrue();
+    }
+
+    @Test
+    void reportsTheOverlappingSlot() {
+        Timetable timetable = Timetable.EMPTY
+                .add(at("Monday,Wednesday", 9, 11), "ESL-101 A")
+                .add(at("Tuesday", 13, 15), "ESL-201 B");
+
+        assertThat(timetable.conflictOf(at("Wednesday", 10, 12))).isEqualTo("ESL-101 A");
+        assertThat(timetable.conflictOf(at("Tue/Thu", 14, 16))).isEqualTo("ESL-201 B");
+    }
+
+    @Test
+    void backToBackClassesFit() {
+        Timetable timetable = Timetable.EMPTY.add(at("Monday", 9, 11), "ESL-101 A");
+
+        assertThat(timetable.fits(at("Monday", 11, 13))).isTrue();
+        assertThat(timetable.fits(at("Monday", 7, 9))).isTrue();
+        assertThat(timetable.fits(at("Monday", 8, 10))).isFalse();
+    }
+
+    @Test
+    void freeDaysSkipTheSlotScan() {
+        // busy Mon/Wed; a Tuesday class at the same hour passes on the day mask alone
+        Timetable timetable = Timetable.EMPTY.add(at("Mon/Wed", 9, 11), "ESL-101 A");
+
+        assertThat(timetable.fits(at("Tuesday", 9, 11))).isTrue();
+        // one shared day is enough to check the slot
+        assertThat(timetable.fits(at("Tue/Wed", 9, 11))).isFalse();
+    }
+
+    @Test
+    void busyDaysOfDifferentSlotsDoNotCombine() {
+        // Monday morning and Wednesday afternoon: a Wednesday morning class fits,
+        // even though both the day and the hour are busy somewhere in the week
+        Timetable timetable = Timetable.EMPTY
+                .add(at("Monday", 9, 11), "ESL-101 A")
+                .add(at("Wednesday", 14, 16), "ESL-201 B");
+
+        assertThat(timetable.fits(at("Wednesday", 9, 11))).isTrue();
+    }
+
+    @Test
+    void unscheduledSlotsAreIgnoredAndAddIsImmutable() {
+        Timetable base = Timetable.EMPTY.add(at("Monday", 9, 11), "ESL-101 A");
+        Timetable same = base.add(null, "TBA");
+        Timetable more = base.add(at("Friday", 9, 11), "ESL-301 C");
+
+        assertThat(same).isSameAs(base);
+        assertThat(base.size()).isEqualTo(1);
+        assertThat(more.size()).isEqualTo(2);
+        assertThat(Timetable.EMPTY.size()).isZero();
+    }
+}
@@ -0,0 +1,64 @@
+package io.rubyxzzz.lms.loadsim;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * When each simulated request arrives, relative to the start of the run
+ */
+public enum ArrivalPattern {
+
+    // registration opens: everyone at once
+    BURST {
+        @Override
+        long[] offsets(int requests, Duration window, Random random) {
+            return new long[requests];
+        }
+    },
+
+    // constant rate over the window
+    UNIFORM {
+        @Override
+        long[] offsets(int requests, Duration window, Random random) {
+            long[] offsets = new long[requests];
+            long step = window.toNanos() / Math.max(requests, 1);
+            for (int i = 0; i < requests; i++) {
+                offsets[i] = i * step;
+            }
+            return offsets;
+        }
+    },
+
+    // rate grows linearly from 0 to peak at the end of the window
+    RAMP {
+        @Override
+        long[] offsets(int requests, Duration window, Random random) {
+            long[] offsets = new long[requests];
+            double total = window.toNanos();
+            for (int i = 0; i < requests; i++) {
+                offsets[i] = (long) (total * Math.sqrt((double) i / requests));
+            }
+            return offsets;
+        }
+    },
+
+    // independent arrivals, exponential gaps, same mean rate as UNIFORM
+    POISSON {
+        @Override
+        long[] offsets(int requests, Duration window, Random random) {
+            long[] offsets = new long[requests];
+            double meanGap = (double) window.toNanos() / Math.max(requests, 1);
+            double t = 0;
+            for (int i = 0; i < requests; i++) {
+                offsets[i] = (long) t;
+                t += -Math.log(1 - random.nextDouble()) * meanGap;
+            }
+            return offsets;
+        }
+    };
+
+    /**
+     * Arrival offsets in nanoseconds, non-decreasing
+     */
+    abstract long[] offsets(int requests, Duration window, Random random);
+}
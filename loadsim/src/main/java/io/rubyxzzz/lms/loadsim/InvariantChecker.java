@@ -0,0 +1,114 @@
+package io.rubyxzzz.lms.loadsim;
+
+import io.rubyxzzz.lms.backend.service.EnrollmentOutboxProcessor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Invariant Checker
+ * Consistency checks run on the database after the traffic has stopped
+ * and the enrollment outbox has been drained
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InvariantChecker {
+
+    private static final int SAMPLE_ROWS = 5;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EnrollmentOutboxProcessor enrollmentOutboxProcessor;
+
+    /**
+     * One invariant and the rows that break it
+     */
+    public record Check(String name, String description, long violations, List<Map<String, Object>> samples) {
+        public boolean passed() {
+            return violations == 0;
+        }
+    }
+
+    public List<Check> check(String sessionCode) {
+        int drained = 0;
+        int batch;
+        while ((batch = enrollmentOutboxProcessor.processBatch()) > 0) {
+            drained += batch;
+        }
+        log.info("Outbox drained: {} events applied before checking", drained);
+
+        List<Check> checks = new ArrayList<>();
+
+        checks.add(run("oversell",
+                "sections with more ENROLLED rows than capacity",
+                "SELECT s.id, s.course_code, s.section_code, s.capacity, COUNT(e.id) AS enrolled " +
+                        "FROM course_sections s " +
+                        "JOIN enrollments e ON e.section_id = s.id AND e.status = 'ENROLLED' " +
+                        "GROUP BY s.id, s.course_code, s.section_code, s.capacity " +
+                        "HAVING COUNT(e.id) > s.capacity"));
+
+        checks.add(run("seat-counter-drift",
+                "enrolled_count differs from ENROLLED rows (higher = phantom seats / undersell)",
+                "SELECT s.id, s.course_code, s.section_code, s.enrolled_count, COUNT(e.id) AS enrolled " +
+                        "FROM course_sections s " +
+                        "LEFT JOIN enrollments e ON e.section_id = s.id AND e.status = 'ENROLLED' " +
+                        "GROUP BY s.id, s.course_code, s.section_code, s.enrolled_count " +
+                        "HAVING s.enrolled_count <> COUNT(e.id)"));
+
+        checks.add(run("undersell",
+                "sections with free seats while students are still waiting",
+                "SELECT s.id, s.course_code, s.section_code, s.capacity, s.enrolled_count, s.waitlist_count " +
+                        "FROM course_sections s " +
+                        "WHERE s.enrolled_count < s.capacity AND EXISTS (" +
+                        "SELECT 1 FROM waitlist_entries w WHERE w.section_id = s.id AND w.status = 'WAITING')"));
+
+        checks.add(run("waitlist-counter-drift",
+                "waitlist_count differs from WAITING entries",
+                "SELECT s.id, s.waitlist_count, COUNT(w.id) AS waiting " +
+                        "FROM course_sections s " +
+                        "LEFT JOIN waitlist_entries w ON w.section_id = s.id AND w.status = 'WAITING' " +
+                        "GROUP BY s.id, s.waitlist_count " +
+                        "HAVING s.waitlist_count <> COUNT(w.id)"));
+
+        checks.add(run("duplicate-enrollment",
+                "students ENROLLED twice in the same course",
+                "SELECT e.student_id, e.course_code, COUNT(*) AS enrollments " +
+                        "FROM enrollments e WHERE e.status = 'ENROLLED' " +
+                        "GROUP BY e.student_id, e.course_code HAVING COUNT(*) > 1"));
+
+        checks.add(run("student-counter-drift",
+                "students.enrolled_counts differs from ENROLLED rows (after outbox)",
+                "SELECT st.id, st.enrolled_counts, COUNT(e.id) AS enrolled " +
+                        "FROM students st " +
+                        "LEFT JOIN enrollments e ON e.student_id = st.id AND e.status = 'ENROLLED' " +
+                        "GROUP BY st.id, st.enrolled_counts " +
+                        "HAVING st.enrolled_counts <> COUNT(e.id)"));
+
+        checks.add(run("session-counter-drift",
+                "sessions.total_enrollments differs from non-dropped enrollments (after outbox)",
+                "SELECT ss.session_code, ss.total_enrollments, " +
+                        "(SELECT COUNT(*) FROM enrollments e " +
+                        " WHERE e.session_code = ss.session_code AND e.status <> 'DROPPED') AS enrolled " +
+                        "FROM sessions ss WHERE ss.session_code = ? AND ss.total_enrollments <> " +
+                        "(SELECT COUNT(*) FROM enrollments e " +
+                        " WHERE e.session_code = ss.session_code AND e.status <> 'DROPPED')",
+                sessionCode));
+
+        return checks;
+    }
+
+    private Check run(String name, String description, String sql, Object... args) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(sql, args);
+        return new Check(
+                name,
+                description,
+                rows.size(),
+                rows.subList(0, Math.min(rows.size(), SAMPLE_ROWS))
+        );
+    }
+}
@@ -0,0 +1,46 @@
+package io.rubyxzzz.lms.loadsim;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed-size latency log for one operation type
+ * Lock-free append, percentiles computed once at the end
+ */
+final class LatencyRecorder {
+
+    private final long[] nanos;
+    private final AtomicInteger count = new AtomicInteger();
+
+    LatencyRecorder(int capacity) {
+        this.nanos = new long[capacity];
+    }
+
+    void record(long latencyNanos) {
+        int slot = count.getAndIncrement();
+        if (slot < nanos.length) {
+            nanos[slot] = latencyNanos;
+        }
+    }
+
+    int count() {
+        return Math.min(count.get(), nanos.length);
+    }
+
+    /**
+     * Sorted copy of the recorded values
+     */
+    long[] sorted() {
+        long[] copy = Arrays.copyOf(nanos, count());
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+}
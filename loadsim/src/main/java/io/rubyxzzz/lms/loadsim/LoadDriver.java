@@ -0,0 +1,259 @@
+package io.rubyxzzz.lms.loadsim;
+
+import io.rubyxzzz.lms.backend.dto.request.DropCourseReq;
+import io.rubyxzzz.lms.backend.dto.request.EnrollCourseReq;
+import io.rubyxzzz.lms.backend.dto.request.JoinWaitlistReq;
+import io.rubyxzzz.lms.backend.dto.response.EnrollmentRes;
+import io.rubyxzzz.lms.backend.exception.AuthenticationException;
+import io.rubyxzzz.lms.backend.exception.RegistrationPendingException;
+import io.rubyxzzz.lms.backend.exception.ResourceNotFoundException;
+import io.rubyxzzz.lms.backend.security.VerifiedTokenCache;
+import io.rubyxzzz.lms.backend.service.EnrollmentService;
+import io.rubyxzzz.lms.backend.service.RegistrationEngine;
+import io.rubyxzzz.lms.backend.service.WaitlistService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load Driver
+ * Replays a pre-generated request plan against EnrollmentService
+ * (or RegistrationEngine when enabled), one virtual thread per request
+ *
+ * Latency is measured from the planned arrival time, not from when the
+ * thread actually started, so queueing delay is included in the numbers.
+ *
+ * With loadsim.run.authenticate each request first verifies the student's
+ * ID token through VerifiedTokenCache (as AuthFilter does). Tokens are
+ * minted before the run so signing is not part of the measured latency.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoadDriver {
+
+    private static final String OPERATOR_ID = "loadsim";
+
+    private final EnrollmentService enrollmentService;
+    private final RegistrationEngine registrationEngine;
+    private final WaitlistService waitlistService;
+    private final DataSource dataSource;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final StubTokenIssuer stubTokenIssuer;
+    private final LoadSimProperties properties;
+
+    private record Planned(boolean drop, String studentId, String sectionId, String token) {
+    }
+
+    /**
+     * Everything measured during one run
+     */
+    public record Result(
+            long elapsedNanos,
+            int requests,
+            Map<String, Long> outcomes,
+            long[] enrollLatencies,
+            long[] dropLatencies,
+            LockWaitSampler.Stats lockWaits
+    ) {
+    }
+
+    public Result run(SessionSeeder.SeededSession session, LoadSimProperties.Run config, Random random) {
+        int requests = config.getRequests();
+        Planned[] plan = plan(session, config, random);
+        long[] offsets = config.getPattern().offsets(requests, config.getDuration(), random);
+
+        LatencyRecorder enrollLatency = new LatencyRecorder(requests);
+        LatencyRecorder dropLatency = new LatencyRecorder(requests);
+        Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+        Queue<String> droppable = new ConcurrentLinkedQueue<>();
+
+        log.info("Driving {} requests, pattern {} over {} ({})",
+                requests, config.getPattern(), config.getDuration(),
+                registrationEngine.isEnabled() ? "registration engine" : "direct service calls");
+
+        LockWaitSampler sampler = new LockWaitSampler(dataSource, config.getLockSampleInterval());
+        sampler.start();
+
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                Planned planned = plan[i];
+                long due = start + offsets[i];
+                executor.submit(() -> {
+                    parkUntil(due);
+                    execute(planned, config, droppable, outcomes, enrollLatency, dropLatency, due);
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        try {
+            sampler.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        Map<String, Long> counts = new TreeMap<>();
+        outcomes.forEach((outcome, adder) -> counts.put(outcome, adder.sum()));
+
+        return new Result(
+                elapsed,
+                requests,
+                counts,
+                enrollLatency.sorted(),
+                dropLatency.sorted(),
+                sampler.stats()
+        );
+    }
+
+    private Planned[] plan(SessionSeeder.SeededSession session, LoadSimProperties.Run config, Random random) {
+        ZipfSampler sections = new ZipfSampler(session.sectionIds().size(), config.getHotness());
+        String[] studentIds = new String[config.getRequests()];
+        String[] sectionIds = new String[config.getRequests()];
+        boolean[] drops = new boolean[config.getRequests()];
+        for (int i = 0; i < studentIds.length; i++) {
+            drops[i] = random.nextDouble() < config.getDropRatio();
+            studentIds[i] = session.studentIds().get(random.nextInt(session.studentIds().size()));
+            sectionIds[i] = session.sectionIds().get(sections.next(random));
+        }
+
+        Map<String, String> tokens = config.isAuthenticate() ? mintTokens(studentIds) : Map.of();
+
+        Planned[] plan = new Planned[studentIds.length];
+        for (int i = 0; i < plan.length; i++) {
+            plan[i] = new Planned(drops[i], studentIds[i], sectionIds[i], tokens.get(studentIds[i]));
+        }
+        return plan;
+    }
+
+    /**
+     * One token per distinct student (signing is CPU-bound, done in parallel)
+     */
+    private Map<String, String> mintTokens(String[] studentIds) {
+        long started = System.nanoTime();
+        String kid = stubTokenIssuer.keyIds().iterator().next();
+        Map<String, String> tokens = new ConcurrentHashMap<>();
+        new HashSet<>(Arrays.asList(studentIds)).parallelStream().forEach(studentId ->
+                tokens.put(studentId, stubTokenIssuer.mint(
+                        kid, studentId, studentId + "@loadsim.local", properties.getAuth().getTokenTtl())));
+        log.info("Minted {} ID tokens in {} ms", tokens.size(), (System.nanoTime() - started) / 1_000_000);
+        return tokens;
+    }
+
+    private void execute(
+            Planned planned,
+            LoadSimProperties.Run config,
+            Queue<String> droppable,
+            Map<String, LongAdder> outcomes,
+            LatencyRecorder enrollLatency,
+            LatencyRecorder dropLatency,
+            long due
+    ) {
+        if (planned.token() != null) {
+            try {
+                verifiedTokenCache.verify(planned.token());
+            } catch (AuthenticationException e) {
+                (planned.drop() ? dropLatency : enrollLatency).record(System.nanoTime() - due);
+                count(outcomes, "auth.rejected");
+                return;
+            }
+        }
+
+        String enrollmentId = planned.drop() ? droppable.poll() : null;
+
+        if (enrollmentId != null) {
+            String outcome;
+            try {
+                DropCourseReq request = new DropCourseReq(enrollmentId, "loadsim");
+                if (registrationEngine.isEnabled()) {
+                    registrationEngine.drop(request, OPERATOR_ID);
+                } else {
+                    enrollmentService.dropCourse(request, OPERATOR_ID);
+                }
+                outcome = "drop.ok";
+            } catch (RuntimeException e) {
+                outcome = "drop." + classify(e);
+            }
+            dropLatency.record(System.nanoTime() - due);
+            count(outcomes, outcome);
+            return;
+        }
+
+        String outcome;
+        try {
+            EnrollCourseReq request = new EnrollCourseReq(planned.studentId(), planned.sectionId());
+            EnrollmentRes enrollment = registrationEngine.isEnabled()
+                    ? registrationEngine.enroll(request)
+                    : enrollmentService.enrollCourse(request);
+            droppable.add(enrollment.getId());
+            outcome = "enroll.ok";
+        } catch (RuntimeException e) {
+            outcome = "enroll." + classify(e);
+            if (outcome.equals("enroll.full") && config.isWaitlistOnFull()) {
+                outcome = joinWaitlist(planned);
+            }
+        }
+        enrollLatency.record(System.nanoTime() - due);
+        count(outcomes, outcome);
+    }
+
+    private String joinWaitlist(Planned planned) {
+        try {
+            waitlistService.joinWaitlist(
+                    new JoinWaitlistReq(planned.studentId(), planned.sectionId(), null), null);
+            return "enroll.waitlisted";
+        } catch (RuntimeException e) {
+            return "enroll.full";
+        }
+    }
+
+    /**
+     * full / rejected (business rule) / lock-timeout / pending (engine timeout) / error:Type
+     */
+    static String classify(RuntimeException e) {
+        if (e instanceof RegistrationPendingException) {
+            return "pending";
+        }
+        if (e instanceof PessimisticLockingFailureException
+                || e instanceof jakarta.persistence.PessimisticLockException
+                || e instanceof jakarta.persistence.LockTimeoutException) {
+            return "lock-timeout";
+        }
+        if (e instanceof IllegalStateException) {
+            String message = String.valueOf(e.getMessage()).toLowerCase();
+            return message.contains("full") || message.contains("waitlist") ? "full" : "rejected";
+        }
+        if (e instanceof IllegalArgumentException || e instanceof ResourceNotFoundException) {
+            return "rejected";
+        }
+        return "error:" + e.getClass().getSimpleName();
+    }
+
+    private static void count(Map<String, LongAdder> outcomes, String outcome) {
+        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    private static void parkUntil(long due) {
+        long wait;
+        while ((wait = due - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package io.rubyxzzz.lms.loadsim;
+
+import io.rubyxzzz.lms.backend.BackendApplication;
+import io.rubyxzzz.lms.backend.config.FirebaseConfig;
+import io.rubyxzzz.lms.backend.config.SecurityConfig;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Registration-rush load simulator
+ *
+ * Boots the backend's services and repositories against an embedded H2
+ * database (no web server, no Firebase, no MySQL), seeds a session and
+ * drives enroll/drop traffic. See LoadSimRunner.
+ *
+ * Excluded from the backend:
+ * - BackendApplication (this class replaces it)
+ * - SecurityConfig (HTTP only)
+ * - FirebaseConfig (replaced by an offline FirebaseApp in LoadSimFirebaseConfig)
+ *
+ * Configuration is read from loadsim.yml so the backend's application.yml
+ * (also on the classpath) never points the simulator at MySQL.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@EnableConfigurationProperties(LoadSimProperties.class)
+@ComponentScan(
+        basePackages = {"io.rubyxzzz.lms.backend", "io.rubyxzzz.lms.loadsim"},
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = {BackendApplication.class, SecurityConfig.class, FirebaseConfig.class}
+        )
+)
+@EntityScan("io.rubyxzzz.lms.backend.model")
+@EnableJpaRepositories("io.rubyxzzz.lms.backend.repository")
+public class LoadSimApplication {
+
+    public static void main(String[] args) {
+        System.exit(SpringApplication.exit(new SpringApplicationBuilder(LoadSimApplication.class)
+                .properties("spring.config.name=loadsim")
+                .run(args)));
+    }
+}
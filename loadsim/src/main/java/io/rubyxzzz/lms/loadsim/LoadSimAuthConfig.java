@@ -0,0 +1,27 @@
+package io.rubyxzzz.lms.loadsim;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ResourceLoader;
+
+import java.io.IOException;
+
+/**
+ * Offline tokens
+ * Signs Firebase-shaped ID tokens with the loadsim key pair; the backend's
+ * LocalTokenVerifier checks them against auth.token.keys.file (public half)
+ */
+@Configuration
+public class LoadSimAuthConfig {
+
+    @Bean
+    public StubTokenIssuer stubTokenIssuer(
+            LoadSimProperties properties,
+            @Value("${auth.token.project-id}") String projectId,
+            ResourceLoader resourceLoader
+    ) throws IOException {
+        return StubTokenIssuer.fromResource(projectId,
+                resourceLoader.getResource(properties.getAuth().getPrivateKeys()));
+    }
+}
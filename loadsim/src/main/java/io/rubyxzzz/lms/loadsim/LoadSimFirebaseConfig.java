@@ -0,0 +1,30 @@
+package io.rubyxzzz.lms.loadsim;
+
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.FirebaseOptions;
+import com.google.firebase.auth.FirebaseAuth;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Offline Firebase
+ * A FirebaseApp with a dummy access token, so beans that depend on
+ * FirebaseAuth can be created. Enroll/drop never call Firebase.
+ */
+@Configuration
+public class LoadSimFirebaseConfig {
+
+    @Bean
+    public FirebaseAuth firebaseAuth() {
+        if (FirebaseApp.getApps().isEmpty()) {
+            FirebaseOptions options = FirebaseOptions.builder()
+                    .setCredentials(GoogleCredentials.create(new AccessToken("loadsim", null)))
+                    .setProjectId("loadsim")
+                    .build();
+            FirebaseApp.initializeApp(options);
+        }
+        return FirebaseAuth.getInstance();
+    }
+}
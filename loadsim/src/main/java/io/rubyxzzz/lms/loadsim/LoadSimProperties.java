@@ -0,0 +1,75 @@
+package io.rubyxzzz.lms.loadsim;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Load simulator settings (loadsim.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "loadsim")
+public class LoadSimProperties {
+
+    private Seed seed = new Seed();
+    private Run run = new Run();
+    private Auth auth = new Auth();
+
+    /**
+     * Shape of the seeded session
+     */
+    @Data
+    public static class Seed {
+        private String sessionCode = "SIM-S1";
+        private int courses = 400;
+        private int sectionsPerCourse = 5;
+        private int students = 30000;
+        private int instructors = 200;
+        private int capacity = 20;
+
+        // share of courses gated by placement level / by a prerequisite course
+        private double placementRatio = 0.25;
+        private double prerequisiteRatio = 0.10;
+
+        private int batchSize = 1000;
+    }
+
+    /**
+     * Traffic
+     */
+    @Data
+    public static class Run {
+        private ArrivalPattern pattern = ArrivalPattern.BURST;
+        private int requests = 60000;
+
+        // arrival window (ignored by BURST)
+        private Duration duration = Duration.ofSeconds(60);
+
+        // share of operations that drop an earlier successful enrollment
+        private double dropRatio = 0.10;
+
+        // Zipf exponent of section popularity (0 = uniform, ~1 = few hot sections)
+        private double hotness = 1.0;
+
+        // join the waitlist when a section is full
+        private boolean waitlistOnFull = true;
+
+        private long randomSeed = 42L;
+
+        // lock-wait sampling interval
+        private Duration lockSampleInterval = Duration.ofMillis(20);
+
+        // verify a stub-signed ID token before each request, like AuthFilter
+        private boolean authenticate = true;
+    }
+
+    /**
+     * Stub token signing (public half is auth.token.keys.file)
+     */
+    @Data
+    public static class Auth {
+        private String privateKeys = "classpath:loadsim-keys/signing-keys.private.json";
+        private Duration tokenTtl = Duration.ofHours(1);
+    }
+}
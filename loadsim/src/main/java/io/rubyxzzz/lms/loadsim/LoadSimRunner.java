@@ -0,0 +1,56 @@
+package io.rubyxzzz.lms.loadsim;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Load Sim Runner
+ * seed -> drive traffic -> drain outbox -> check invariants -> report
+ *
+ * Exits with 1 when any invariant fails, so the run can gate CI.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoadSimRunner implements ApplicationRunner, ExitCodeGenerator {
+
+    private final LoadSimProperties properties;
+    private final SessionSeeder sessionSeeder;
+    private final LoadDriver loadDriver;
+    private final InvariantChecker invariantChecker;
+
+    private int exitCode = 0;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Random random = new Random(properties.getRun().getRandomSeed());
+
+        long seedStart = System.nanoTime();
+        SessionSeeder.SeededSession session = sessionSeeder.seed(properties.getSeed(), random);
+        log.info("Seeded {} sections / {} students in {} ms",
+                session.sectionIds().size(), session.studentIds().size(),
+                (System.nanoTime() - seedStart) / 1_000_000);
+
+        LoadDriver.Result result = loadDriver.run(session, properties.getRun(), random);
+        List<InvariantChecker.Check> checks = invariantChecker.check(session.sessionCode());
+
+        log.info(SimulationReport.render(properties, session, result, checks));
+
+        if (checks.stream().anyMatch(check -> !check.passed())) {
+            log.error("Invariant violations detected");
+            exitCode = 1;
+        }
+    }
+
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+}
@@ -0,0 +1,84 @@
+package io.rubyxzzz.lms.loadsim;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Lock Wait Sampler
+ * Polls H2's INFORMATION_SCHEMA.SESSIONS on its own connection and counts
+ * sessions blocked on another session's lock (BLOCKER_ID set)
+ *
+ * Gives the average / peak number of transactions waiting on row locks
+ * and an estimate of total lock-wait time (blocked sessions x interval)
+ */
+@Slf4j
+final class LockWaitSampler implements AutoCloseable {
+
+    private static final String BLOCKED_SQL =
+            "SELECT COUNT(*) FROM INFORMATION_SCHEMA.SESSIONS WHERE BLOCKER_ID IS NOT NULL";
+
+    private final DataSource dataSource;
+    private final Duration interval;
+    private final Thread thread;
+
+    private volatile boolean running = true;
+    private long samples;
+    private long blockedTotal;
+    private long blockedMax;
+
+    LockWaitSampler(DataSource dataSource, Duration interval) {
+        this.dataSource = dataSource;
+        this.interval = interval;
+        this.thread = Thread.ofPlatform().name("loadsim-lock-sampler").daemon().unstarted(this::run);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    private void run() {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(BLOCKED_SQL)) {
+            while (running) {
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    long blocked = resultSet.getLong(1);
+                    synchronized (this) {
+                        samples++;
+                        blockedTotal += blocked;
+                        blockedMax = Math.max(blockedMax, blocked);
+                    }
+                }
+                Thread.sleep(interval);
+            }
+        } catch (SQLException e) {
+            log.warn("Lock wait sampling unavailable: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        thread.join(interval.toMillis() * 10 + 1000);
+    }
+
+    synchronized Stats stats() {
+        return new Stats(
+                samples,
+                samples == 0 ? 0 : (double) blockedTotal / samples,
+                blockedMax,
+                blockedTotal * interval.toNanos() / 1_000_000
+        );
+    }
+
+    record Stats(long samples, double averageBlocked, long maxBlocked, long estimatedWaitMillis) {
+    }
+}
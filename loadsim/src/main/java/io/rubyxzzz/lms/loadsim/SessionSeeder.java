@@ -0,0 +1,183 @@
+package io.rubyxzzz.lms.loadsim;
+
+import io.rubyxzzz.lms.backend.model.Course;
+import io.rubyxzzz.lms.backend.model.CourseFormat;
+import io.rubyxzzz.lms.backend.model.CourseSection;
+import io.rubyxzzz.lms.backend.model.CourseSectionStatus;
+import io.rubyxzzz.lms.backend.model.Instructor;
+import io.rubyxzzz.lms.backend.model.Session;
+import io.rubyxzzz.lms.backend.model.Student;
+import io.rubyxzzz.lms.backend.model.StudentType;
+import io.rubyxzzz.lms.backend.model.UserStatus;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * Session Seeder
+ * Inserts one registration-ready session through JPA, in batches:
+ * instructors, courses (some gated by placement / prerequisite),
+ * PUBLISHED sections and ACTIVE students with placement levels 1-6
+ */
+@Slf4j
+@Component
+public class SessionSeeder {
+
+    private static final String[] SECTION_CODES = {"A", "B", "C", "D", "E", "F", "G", "H"};
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    public SessionSeeder(EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * What was seeded (ids only, entities are detached)
+     */
+    public record SeededSession(
+            String sessionCode,
+            List<String> sectionIds,
+            List<String> studentIds,
+            int totalSeats
+    ) {
+    }
+
+    public SeededSession seed(LoadSimProperties.Seed config, Random random) {
+        long started = System.nanoTime();
+
+        Session session = transactionTemplate.execute(status -> {
+            Session s = new Session();
+            s.setSessionCode(config.getSessionCode());
+            s.setStartDate(LocalDate.now().plusWeeks(2));
+            s.setEndDate(LocalDate.now().plusWeeks(12));
+            s.setRegistrationOpenDate(LocalDate.now());
+            s.setAddDropDeadline(LocalDate.now().plusWeeks(3));
+            entityManager.persist(s);
+            return s;
+        });
+
+        List<Instructor> instructors = inBatches(config.getInstructors(), config.getBatchSize(), i -> {
+            Instructor instructor = new Instructor();
+            instructor.setEmployeeNumber(String.format("SIMI%05d", i));
+            instructor.setFirstName("Instructor");
+            instructor.setLastName(String.valueOf(i));
+            instructor.setEmail("instructor" + i + "@loadsim.local");
+            instructor.setFirebaseUid("sim-instructor-" + i);
+            instructor.setStatus(UserStatus.ACTIVE);
+            instructor.setEmailVerified(true);
+            return instructor;
+        });
+
+        List<String> courseCodes = new ArrayList<>();
+        List<Course> courses = inBatches(config.getCourses(), config.getBatchSize(), i -> {
+            Course course = new Course();
+            course.setSession(entityManager.getReference(Session.class, session.getId()));
+            course.setSessionCode(session.getSessionCode());
+            course.setCourseCode(String.format("SIM-%04d", i));
+            course.setCourseName("Simulated Course " + i);
+            course.setHoursPerWeek(4 + random.nextInt(3) * 2);
+            course.setIsActive(true);
+
+            double gate = random.nextDouble();
+            if (gate < config.getPrerequisiteRatio() && !courseCodes.isEmpty()) {
+                // prerequisite course OR high enough placement
+                course.setPrerequisiteCourses(Set.of(courseCodes.get(random.nextInt(courseCodes.size()))));
+                course.setRequiredPlacementLevel(4 + random.nextInt(3));
+                course.setAllowHigherPlacement(true);
+            } else if (gate < config.getPrerequisiteRatio() + config.getPlacementRatio()) {
+                course.setRequiredPlacementLevel(1 + random.nextInt(6));
+                course.setAllowHigherPlacement(random.nextBoolean());
+            }
+            courseCodes.add(course.getCourseCode());
+            return course;
+        });
+
+        int sectionsPerCourse = Math.min(config.getSectionsPerCourse(), SECTION_CODES.length);
+        List<CourseSection> sections = inBatches(courses.size() * sectionsPerCourse, config.getBatchSize(), i -> {
+            Course course = courses.get(i / sectionsPerCourse);
+            Instructor instructor = instructors.get(i % instructors.size());
+
+            CourseSection section = new CourseSection();
+            section.setCourse(entityManager.getReference(Course.class, course.getId()));
+            section.setCourseCode(course.getCourseCode());
+            section.setCourseName(course.getCourseName());
+            section.setHoursPerWeek(course.getHoursPerWeek());
+            section.setSectionCode(SECTION_CODES[i % sectionsPerCourse]);
+            section.setSessionCode(session.getSessionCode());
+            section.setCourseFormat(CourseFormat.values()[i % CourseFormat.values().length]);
+            section.setInstructor(entityManager.getReference(Instructor.class, instructor.getId()));
+            section.setInstructorName(instructor.getFullName());
+            section.setInstructorEmail(instructor.getEmail());
+            section.setCapacity(config.getCapacity());
+            section.setMinEnrollment(Math.max(1, config.getCapacity() / 4));
+            section.setEnrolledCount(0);
+            section.setWaitlistCount(0);
+            section.setStatus(CourseSectionStatus.PUBLISHED);
+            section.setEnrollmentLocked(false);
+            return section;
+        });
+
+        List<Student> students = inBatches(config.getStudents(), config.getBatchSize(), i -> {
+            Student student = new Student();
+            student.setStudentNumber(String.format("SIM%07d", i));
+            student.setFirstName("Student");
+            student.setLastName(String.valueOf(i));
+            student.setEmail("student" + i + "@loadsim.local");
+            student.setFirebaseUid("sim-student-" + i);
+            student.setStudentType(StudentType.FLEXIBLE);
+            student.setStatus(UserStatus.ACTIVE);
+            student.setEmailVerified(true);
+            student.setPlacementLevel(1 + random.nextInt(6));
+            return student;
+        });
+
+        // popularity rank is independent of course order
+        List<String> sectionIds = new ArrayList<>(sections.stream().map(CourseSection::getId).toList());
+        Collections.shuffle(sectionIds, random);
+
+        log.info("Seeded {}: {} instructors, {} courses, {} sections, {} students in {} ms",
+                session.getSessionCode(), instructors.size(), courses.size(), sections.size(),
+                students.size(), (System.nanoTime() - started) / 1_000_000);
+
+        return new SeededSession(
+                session.getSessionCode(),
+                List.copyOf(sectionIds),
+                students.stream().map(Student::getId).toList(),
+                sections.size() * config.getCapacity()
+        );
+    }
+
+    /**
+     * Build and persist count entities, one transaction per batch,
+     * clearing the persistence context in between
+     */
+    private <T> List<T> inBatches(int count, int batchSize, IntFunction<T> factory) {
+        List<T> created = new ArrayList<>(count);
+        for (int from = 0; from < count; from += batchSize) {
+            int to = Math.min(from + batchSize, count);
+            int start = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = start; i < to; i++) {
+                    T entity = factory.apply(i);
+                    entityManager.persist(entity);
+                    created.add(entity);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        return created;
+    }
+}
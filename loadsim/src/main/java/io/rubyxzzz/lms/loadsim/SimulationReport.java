@@ -0,0 +1,82 @@
+package io.rubyxzzz.lms.loadsim;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Simulation Report
+ * Plain-text summary of one run: throughput, latency percentiles,
+ * outcomes, lock contention and invariant checks
+ */
+final class SimulationReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private SimulationReport() {
+    }
+
+    static String render(
+            LoadSimProperties properties,
+            SessionSeeder.SeededSession session,
+            LoadDriver.Result result,
+            List<InvariantChecker.Check> checks
+    ) {
+        StringBuilder out = new StringBuilder();
+        double seconds = result.elapsedNanos() / 1_000_000_000.0;
+        LoadSimProperties.Run run = properties.getRun();
+
+        out.append("\n=== Registration rush simulation ===\n");
+        out.append(String.format("session %s: %d sections, %d students, %d seats%n",
+                session.sessionCode(), session.sectionIds().size(),
+                session.studentIds().size(), session.totalSeats()));
+        out.append(String.format("pattern %s, %d requests over %s, drop ratio %.2f, hotness %.2f%n",
+                run.getPattern(), result.requests(), run.getDuration(),
+                run.getDropRatio(), run.getHotness()));
+        out.append(String.format("elapsed %.2fs, throughput %.0f req/s%n",
+                seconds, seconds > 0 ? result.requests() / seconds : 0));
+
+        out.append("\n--- latency (ms, from planned arrival) ---\n");
+        appendLatency(out, "enroll", result.enrollLatencies());
+        appendLatency(out, "drop", result.dropLatencies());
+
+        out.append("\n--- outcomes ---\n");
+        for (Map.Entry<String, Long> outcome : result.outcomes().entrySet()) {
+            out.append(String.format("%-24s %8d%n", outcome.getKey(), outcome.getValue()));
+        }
+
+        LockWaitSampler.Stats locks = result.lockWaits();
+        out.append("\n--- lock contention (sampled) ---\n");
+        out.append(String.format("samples %d, avg blocked sessions %.2f, max blocked %d, est. total wait %s%n",
+                locks.samples(), locks.averageBlocked(), locks.maxBlocked(),
+                Duration.ofMillis(locks.estimatedWaitMillis())));
+
+        out.append("\n--- invariants ---\n");
+        for (InvariantChecker.Check check : checks) {
+            out.append(String.format("%-24s %s  (%s)%n",
+                    check.name(),
+                    check.passed() ? "OK" : "FAILED x" + check.violations(),
+                    check.description()));
+            for (Map<String, Object> sample : check.samples()) {
+                out.append("    ").append(sample).append('\n');
+            }
+        }
+        return out.toString();
+    }
+
+    private static void appendLatency(StringBuilder out, String operation, long[] sorted) {
+        out.append(String.format("%-8s n=%-8d", operation, sorted.length));
+        for (double percentile : PERCENTILES) {
+            out.append(String.format(" p%s=%.1f", formatPercentile(percentile),
+                    LatencyRecorder.percentileMillis(sorted, percentile)));
+        }
+        double max = sorted.length > 0 ? sorted[sorted.length - 1] / 1_000_000.0 : 0;
+        out.append(String.format(" max=%.1f%n", max));
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile)
+                ? String.valueOf((long) percentile)
+                : String.valueOf(percentile);
+    }
+}
@@ -0,0 +1,31 @@
+package io.rubyxzzz.lms.loadsim;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Picks an index in [0, n) with Zipf-distributed popularity
+ * (index 0 is the most popular). Exponent 0 gives a uniform pick.
+ */
+final class ZipfSampler {
+
+    private final double[] cumulative;
+
+    ZipfSampler(int n, double exponent) {
+        cumulative = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1.0 / Math.pow(i + 1, exponent);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    int next(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int slot = index >= 0 ? index : -index - 1;
+        return Math.min(slot, cumulative.length - 1);
+    }
+}